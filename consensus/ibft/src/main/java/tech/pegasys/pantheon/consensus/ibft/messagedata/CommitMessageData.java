@@ -30,7 +30,7 @@ public class CommitMessageData extends AbstractIbftMessageData {
   }
 
   public Commit decode() {
-    return Commit.decode(data);
+    return Commit.decode(getData());
   }
 
   public static CommitMessageData create(final Commit commit) {
@@ -30,7 +30,7 @@ public class PrepareMessageData extends AbstractIbftMessageData {
   }
 
   public Prepare decode() {
-    return Prepare.decode(data);
+    return Prepare.decode(getData());
   }
 
   public static PrepareMessageData create(final Prepare preapare) {
@@ -30,7 +30,7 @@ public class ProposalMessageData extends AbstractIbftMessageData {
   }
 
   public Proposal decode() {
-    return Proposal.decode(data);
+    return Proposal.decode(getData());
   }
 
   public static ProposalMessageData create(final Proposal proposal) {
@@ -30,7 +30,7 @@ public class RoundChangeMessageData extends AbstractIbftMessageData {
   }
 
   public RoundChange decode() {
-    return RoundChange.decode(data);
+    return RoundChange.decode(getData());
   }
 
   public static RoundChangeMessageData create(final RoundChange signedPayload) {
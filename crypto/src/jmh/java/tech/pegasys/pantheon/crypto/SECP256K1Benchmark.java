@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the native libsecp256k1 backend against Bouncy Castle for the operations on the block
+ * import and transaction pool paths. The native case is skipped if the library can't be loaded.
+ */
+@State(Scope.Benchmark)
+public class SECP256K1Benchmark {
+
+  @Param({"native", "bouncycastle"})
+  public String backend;
+
+  private SECP256K1.KeyPair keyPair;
+  private Bytes32 dataHash;
+  private SECP256K1.Signature signature;
+
+  @Setup
+  public void prepare() {
+    if (backend.equals("native")) {
+      if (!SECP256K1.enableNative()) {
+        throw new IllegalStateException("Native secp256k1 library is not available");
+      }
+    } else {
+      SECP256K1.disableNative();
+    }
+    keyPair = SECP256K1.KeyPair.generate();
+    dataHash =
+        Hash.keccak256(BytesValue.wrap("benchmark payload".getBytes(StandardCharsets.UTF_8)));
+    signature = SECP256K1.sign(dataHash, keyPair);
+  }
+
+  @TearDown
+  public void restore() {
+    SECP256K1.enableNative();
+  }
+
+  @Benchmark
+  public SECP256K1.Signature sign() {
+    return SECP256K1.sign(dataHash, keyPair);
+  }
+
+  @Benchmark
+  public boolean verify() {
+    return SECP256K1.verify(dataHash, signature, keyPair.getPublicKey());
+  }
+
+  @Benchmark
+  public Optional<SECP256K1.PublicKey> recover() {
+    return SECP256K1.PublicKey.recoverFromSignature(dataHash, signature);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares pairing checks, as done by the alt_bn128 pairing precompile, between the Montgomery
+ * form implementation and the BigInteger based reference classes. Each input pairs points so that
+ * the check succeeds, which is what a zk-SNARK verifier sends.
+ */
+@State(Scope.Thread)
+public class AltBn128PairingBenchmark {
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+  private static final BytesValue G2 =
+      BytesValue.fromHexString(
+          "0x198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+              + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+              + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+              + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa");
+
+  @Param({"2", "4"})
+  public int pairs;
+
+  private BytesValue input;
+  private List<AltBn128Point> g1;
+  private List<AltBn128Fq2Point> g2;
+
+  @Setup
+  public void prepare() {
+    final List<BytesValue> encoded = new ArrayList<>();
+    g1 = new ArrayList<>();
+    g2 = new ArrayList<>();
+    for (int i = 0; i < pairs; i++) {
+      // Alternate between [k]G1 and -[k]G1 so that the product of the pairings is one.
+      final BigInteger k = BigInteger.valueOf(i / 2 + 1);
+      final AltBn128Point point =
+          AltBn128Point.g1().multiply(i % 2 == 0 ? k : CURVE_ORDER.subtract(k));
+      g1.add(point);
+      g2.add(AltBn128Fq2Point.g2());
+      encoded.add(encode(point.getX()));
+      encoded.add(encode(point.getY()));
+      encoded.add(G2);
+    }
+    input = BytesValues.concatenate(encoded.toArray(new BytesValue[0]));
+  }
+
+  @Benchmark
+  public Optional<Boolean> pairingCheck() {
+    return AltBn128Operations.pairingCheck(input);
+  }
+
+  @Benchmark
+  public boolean pairingCheckReference() {
+    Fq12 product = Fq12.one();
+    for (int i = 0; i < pairs; i++) {
+      if (!g1.get(i).isOnCurve() || !g2.get(i).isOnCurve() || !g2.get(i).isInGroup()) {
+        return false;
+      }
+      product = product.multiply(AltBn128Fq12Pairer.pair(g1.get(i), g2.get(i)));
+    }
+    return AltBn128Fq12Pairer.finalize(product).equals(Fq12.one());
+  }
+
+  private static BytesValue encode(final Fq value) {
+    final BytesValue bytes = value.toBytesValue();
+    return BytesValues.concatenate(BytesValue.wrap(new byte[32 - bytes.size()]), bytes);
+  }
+}
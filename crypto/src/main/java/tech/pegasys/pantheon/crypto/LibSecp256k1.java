@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto;
+
+import java.io.File;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import com.sun.jna.Platform;
+import com.sun.jna.Pointer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * JNA binding to the native libsecp256k1 library, which must be built with the recovery module.
+ *
+ * <p>Only the copy of the library bundled with this module is loaded, from {@link
+ * #LIBRARY_RESOURCE}. The build compiles it from a pinned libsecp256k1 release, so copies found on
+ * the {@code jna.library.path} or the system library path are never used. If it can't be loaded
+ * {@link #CONTEXT} is {@code null}, and {@link SECP256K1} uses Bouncy Castle instead.
+ *
+ * <p>The library is only loaded when this class is first used, which {@link SECP256K1} doesn't do
+ * until the native backend is enabled.
+ *
+ * <p>The opaque structures of the library (public keys, signatures) are passed as byte arrays of
+ * their documented size.
+ */
+class LibSecp256k1 {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final int PUBKEY_SIZE = 64;
+  static final int SIGNATURE_SIZE = 64;
+  static final int RECOVERABLE_SIGNATURE_SIZE = 65;
+
+  static final int SECP256K1_EC_UNCOMPRESSED = 2;
+
+  private static final int SECP256K1_CONTEXT_VERIFY = 0x101;
+  private static final int SECP256K1_CONTEXT_SIGN = 0x201;
+
+  static final String LIBRARY_RESOURCE =
+      "/tech/pegasys/pantheon/crypto/secp256k1/"
+          + Platform.RESOURCE_PREFIX
+          + "/"
+          + System.mapLibraryName("secp256k1");
+
+  /** The context shared by all operations, or {@code null} if the library isn't available. */
+  static final Pointer CONTEXT = createContext();
+
+  private static Pointer createContext() {
+    // size_t arguments are mapped to long.
+    if (Native.SIZE_T_SIZE != 8) {
+      return null;
+    }
+    if (LibSecp256k1.class.getResource(LIBRARY_RESOURCE) == null) {
+      LOG.info(
+          "No bundled secp256k1 library for {}, using Bouncy Castle", Platform.RESOURCE_PREFIX);
+      return null;
+    }
+    try {
+      final File library =
+          Native.extractFromResourcePath(LIBRARY_RESOURCE, LibSecp256k1.class.getClassLoader());
+      Native.register(LibSecp256k1.class, NativeLibrary.getInstance(library.getAbsolutePath()));
+      final Pointer context =
+          secp256k1_context_create(SECP256K1_CONTEXT_VERIFY | SECP256K1_CONTEXT_SIGN);
+      // Protect the context against side channel attacks on signing.
+      final byte[] seed = new byte[32];
+      SecureRandomProvider.createSecureRandom().nextBytes(seed);
+      if (secp256k1_context_randomize(context, seed) != 1) {
+        return null;
+      }
+      return context;
+    } catch (final Throwable t) {
+      LOG.warn("Bundled secp256k1 library couldn't be loaded, using Bouncy Castle", t);
+      return null;
+    }
+  }
+
+  static native Pointer secp256k1_context_create(int flags);
+
+  static native int secp256k1_context_randomize(Pointer context, byte[] seed32);
+
+  static native int secp256k1_ec_pubkey_parse(
+      Pointer context, byte[] pubkey, byte[] input, long inputLength);
+
+  static native int secp256k1_ec_pubkey_serialize(
+      Pointer context, byte[] output, long[] outputLength, byte[] pubkey, int flags);
+
+  static native int secp256k1_ec_pubkey_create(Pointer context, byte[] pubkey, byte[] secretKey);
+
+  static native int secp256k1_ecdsa_signature_parse_compact(
+      Pointer context, byte[] signature, byte[] input64);
+
+  static native int secp256k1_ecdsa_signature_normalize(
+      Pointer context, byte[] signatureOut, byte[] signatureIn);
+
+  static native int secp256k1_ecdsa_verify(
+      Pointer context, byte[] signature, byte[] message32, byte[] pubkey);
+
+  static native int secp256k1_ecdsa_sign_recoverable(
+      Pointer context,
+      byte[] signature,
+      byte[] message32,
+      byte[] secretKey,
+      Pointer nonceFunction,
+      Pointer nonceData);
+
+  static native int secp256k1_ecdsa_recoverable_signature_parse_compact(
+      Pointer context, byte[] signature, byte[] input64, int recId);
+
+  static native int secp256k1_ecdsa_recoverable_signature_serialize_compact(
+      Pointer context, byte[] output64, int[] recId, byte[] signature);
+
+  static native int secp256k1_ecdsa_recover(
+      Pointer context, byte[] pubkey, byte[] signature, byte[] message32);
+}
@@ -79,6 +79,9 @@ public class SECP256K1 {
   private static final KeyPairGenerator KEY_PAIR_GENERATOR;
   private static final BigInteger CURVE_ORDER;
 
+  // Off by default so the native library is only loaded once enabled at startup.
+  private static volatile boolean useNative = false;
+
   static {
     Security.addProvider(new BouncyCastleProvider());
 
@@ -99,6 +102,22 @@ public class SECP256K1 {
     }
   }
 
+  /**
+   * Uses the bundled native libsecp256k1 library for signing, signature verification and public
+   * key recovery if it can be loaded. Bouncy Castle is used until this is called.
+   *
+   * @return {@code true} if the native library is used, {@code false} if it isn't available.
+   */
+  public static boolean enableNative() {
+    useNative = LibSecp256k1.CONTEXT != null;
+    return useNative;
+  }
+
+  /** Uses Bouncy Castle for all operations, even if the native library is available. */
+  public static void disableNative() {
+    useNative = false;
+  }
+
   /** Decompress a compressed public key (x co-ord and low-bit of y-coord). */
   private static ECPoint decompressKey(final BigInteger xBN, final boolean yBit) {
     final X9IntegerConverter x9 = new X9IntegerConverter();
@@ -189,6 +208,13 @@ public class SECP256K1 {
   }
 
   public static Signature sign(final Bytes32 dataHash, final KeyPair keyPair) {
+    if (useNative) {
+      final Optional<Signature> signature = signNative(dataHash, keyPair);
+      if (signature.isPresent()) {
+        return signature.get();
+      }
+    }
+
     final ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
 
     final ECPrivateKeyParameters privKey =
@@ -234,6 +260,29 @@ public class SECP256K1 {
     return new Signature(r, s, (byte) recId);
   }
 
+  private static Optional<Signature> signNative(final Bytes32 dataHash, final KeyPair keyPair) {
+    // Like above, the nonce is derived as per RFC 6979 and the S component is in the lower half of
+    // the curve order, so the signature is the same.
+    final byte[] signature = new byte[LibSecp256k1.RECOVERABLE_SIGNATURE_SIZE];
+    if (LibSecp256k1.secp256k1_ecdsa_sign_recoverable(
+            LibSecp256k1.CONTEXT,
+            signature,
+            dataHash.extractArray(),
+            keyPair.getPrivateKey().getEncodedBytes().extractArray(),
+            null,
+            null)
+        != 1) {
+      return Optional.empty();
+    }
+    final byte[] compact = new byte[64];
+    final int[] recId = new int[1];
+    LibSecp256k1.secp256k1_ecdsa_recoverable_signature_serialize_compact(
+        LibSecp256k1.CONTEXT, compact, recId, signature);
+    final BigInteger r = new BigInteger(1, Arrays.copyOfRange(compact, 0, 32));
+    final BigInteger s = new BigInteger(1, Arrays.copyOfRange(compact, 32, 64));
+    return Optional.of(new Signature(r, s, (byte) recId[0]));
+  }
+
   /**
    * Verifies the given ECDSA signature against the message bytes using the public key bytes.
    *
@@ -247,6 +296,13 @@ public class SECP256K1 {
    */
   public static boolean verify(
       final BytesValue data, final Signature signature, final PublicKey pub) {
+    if (useNative && data.size() == Bytes32.SIZE) {
+      final Optional<Boolean> verified = verifyNative(data, signature, pub);
+      if (verified.isPresent()) {
+        return verified.get();
+      }
+    }
+
     final ECDSASigner signer = new ECDSASigner();
     final BytesValue toDecode = BytesValue.wrap(BytesValue.of((byte) 4), pub.getEncodedBytes());
     final ECPublicKeyParameters params =
@@ -262,6 +318,51 @@ public class SECP256K1 {
     }
   }
 
+  private static Optional<Boolean> verifyNative(
+      final BytesValue data, final Signature signature, final PublicKey pub) {
+    final byte[] pubkey = parsePublicKeyNative(pub);
+    final byte[] parsedSignature = new byte[LibSecp256k1.SIGNATURE_SIZE];
+    if (pubkey == null
+        || LibSecp256k1.secp256k1_ecdsa_signature_parse_compact(
+                LibSecp256k1.CONTEXT, parsedSignature, signature.compactBytes())
+            != 1) {
+      return Optional.empty();
+    }
+    // The native library only accepts signatures with the lower S value, while Bouncy Castle
+    // accepts both equivalent forms.
+    final byte[] normalizedSignature = new byte[LibSecp256k1.SIGNATURE_SIZE];
+    LibSecp256k1.secp256k1_ecdsa_signature_normalize(
+        LibSecp256k1.CONTEXT, normalizedSignature, parsedSignature);
+    return Optional.of(
+        LibSecp256k1.secp256k1_ecdsa_verify(
+                LibSecp256k1.CONTEXT, normalizedSignature, data.extractArray(), pubkey)
+            == 1);
+  }
+
+  private static byte[] parsePublicKeyNative(final PublicKey publicKey) {
+    final byte[] input =
+        BytesValues.concatenate(BytesValue.of(0x04), publicKey.getEncodedBytes()).extractArray();
+    final byte[] pubkey = new byte[LibSecp256k1.PUBKEY_SIZE];
+    return LibSecp256k1.secp256k1_ec_pubkey_parse(
+                LibSecp256k1.CONTEXT, pubkey, input, input.length)
+            == 1
+        ? pubkey
+        : null;
+  }
+
+  private static BytesValue serializePublicKeyNative(final byte[] pubkey) {
+    final byte[] output = new byte[65];
+    final long[] outputLength = {output.length};
+    LibSecp256k1.secp256k1_ec_pubkey_serialize(
+        LibSecp256k1.CONTEXT,
+        output,
+        outputLength,
+        pubkey,
+        LibSecp256k1.SECP256K1_EC_UNCOMPRESSED);
+    // We remove the prefix
+    return BytesValue.wrap(output, 1, 64);
+  }
+
   /**
    * Verifies the given ECDSA signature using the public key bytes against the message bytes,
    * previously passed through a preprocessor function, which is normally a hashing function.
@@ -407,6 +508,15 @@ public class SECP256K1 {
     private final BytesValue encoded;
 
     public static PublicKey create(final PrivateKey privateKey) {
+      if (useNative) {
+        final byte[] pubkey = new byte[LibSecp256k1.PUBKEY_SIZE];
+        if (LibSecp256k1.secp256k1_ec_pubkey_create(
+                LibSecp256k1.CONTEXT, pubkey, privateKey.getEncodedBytes().extractArray())
+            == 1) {
+          return PublicKey.create(serializePublicKeyNative(pubkey));
+        }
+      }
+
       BigInteger privKey = asUnsignedBigInteger(privateKey.getEncodedBytes());
 
       /*
@@ -444,6 +554,24 @@ public class SECP256K1 {
 
     public static Optional<PublicKey> recoverFromSignature(
         final Bytes32 dataHash, final Signature signature) {
+      if (useNative) {
+        final byte[] parsedSignature = new byte[LibSecp256k1.RECOVERABLE_SIGNATURE_SIZE];
+        if (LibSecp256k1.secp256k1_ecdsa_recoverable_signature_parse_compact(
+                LibSecp256k1.CONTEXT,
+                parsedSignature,
+                signature.compactBytes(),
+                signature.getRecId())
+            == 1) {
+          final byte[] pubkey = new byte[LibSecp256k1.PUBKEY_SIZE];
+          if (LibSecp256k1.secp256k1_ecdsa_recover(
+                  LibSecp256k1.CONTEXT, pubkey, parsedSignature, dataHash.extractArray())
+              != 1) {
+            return Optional.empty();
+          }
+          return Optional.of(PublicKey.create(serializePublicKeyNative(pubkey)));
+        }
+      }
+
       final BigInteger publicKeyBI =
           SECP256K1.recoverFromSignature(
               signature.getRecId(), signature.getR(), signature.getS(), dataHash);
@@ -644,6 +772,13 @@ public class SECP256K1 {
       return SECP256K1.Signature.create(r, s, recId);
     }
 
+    private byte[] compactBytes() {
+      final MutableBytesValue bytes = MutableBytesValue.create(64);
+      UInt256Bytes.of(r).copyTo(bytes, 0);
+      UInt256Bytes.of(s).copyTo(bytes, 32);
+      return bytes.getArrayUnsafe();
+    }
+
     public BytesValue encodedBytes() {
       final MutableBytesValue bytes = MutableBytesValue.create(BYTES_REQUIRED);
       UInt256Bytes.of(r).copyTo(bytes, 0);
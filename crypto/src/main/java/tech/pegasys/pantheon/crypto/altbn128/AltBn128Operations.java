@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The alt_bn128 operations of EIP-196 and EIP-197 over the byte encodings the precompiled
+ * contracts use. Inputs shorter than expected are right-padded with zeros.
+ *
+ * <p>This implementation works on Montgomery form field elements with 64-bit limbs and computes
+ * pairing checks with a single optimal ate Miller loop. The {@link Fq}, {@link Fq2} and {@link
+ * Fq12} based classes follow the py_ecc reference and are kept as a readable specification.
+ */
+public final class AltBn128Operations {
+
+  private static final int FIELD_LENGTH = 32;
+  private static final int G1_LENGTH = 2 * FIELD_LENGTH;
+  private static final int PAIR_LENGTH = 6 * FIELD_LENGTH;
+
+  private AltBn128Operations() {}
+
+  /**
+   * Adds two curve points.
+   *
+   * @param input the affine coordinates {@code x1, y1, x2, y2} as 32 byte big-endian integers.
+   * @return the 64 byte encoding of the sum, or empty if either point is invalid.
+   */
+  public static Optional<BytesValue> add(final BytesValue input) {
+    final CurvePoint p1 = extractCurvePoint(input, 0);
+    final CurvePoint p2 = extractCurvePoint(input, G1_LENGTH);
+    if (p1 == null || p2 == null) {
+      return Optional.empty();
+    }
+    return Optional.of(encode(p1.add(p2)));
+  }
+
+  /**
+   * Multiplies a curve point by a scalar.
+   *
+   * @param input the affine coordinates {@code x, y} and the scalar as 32 byte big-endian
+   *     integers.
+   * @return the 64 byte encoding of the product, or empty if the point is invalid.
+   */
+  public static Optional<BytesValue> multiply(final BytesValue input) {
+    final CurvePoint p = extractCurvePoint(input, 0);
+    if (p == null) {
+      return Optional.empty();
+    }
+    return Optional.of(encode(p.multiply(extractParameter(input, G1_LENGTH))));
+  }
+
+  /**
+   * Checks whether the product of the pairings of the given points is one.
+   *
+   * @param input a sequence of 192 byte pairs, each made of a curve point {@code x, y} followed by
+   *     a twist point {@code x_imaginary, x_real, y_imaginary, y_real}.
+   * @return whether the pairing product is one, or empty if the input length isn't a multiple of
+   *     192 or any point is invalid.
+   */
+  public static Optional<Boolean> pairingCheck(final BytesValue input) {
+    if (input.size() % PAIR_LENGTH != 0) {
+      return Optional.empty();
+    }
+    final int pairs = input.size() / PAIR_LENGTH;
+    final List<CurvePoint> g1 = new ArrayList<>(pairs);
+    final List<TwistPoint> g2 = new ArrayList<>(pairs);
+    for (int i = 0; i < pairs; i++) {
+      final int offset = i * PAIR_LENGTH;
+      final CurvePoint p = extractCurvePoint(input, offset);
+      if (p == null) {
+        return Optional.empty();
+      }
+      final TwistPoint q = extractTwistPoint(input, offset + G1_LENGTH);
+      if (q == null || !q.isInGroup()) {
+        return Optional.empty();
+      }
+      g1.add(p);
+      g2.add(q);
+    }
+    return Optional.of(OptimalAtePairing.pairingCheck(g1, g2));
+  }
+
+  private static CurvePoint extractCurvePoint(final BytesValue input, final int offset) {
+    final MontgomeryFq x = extractFieldElement(input, offset);
+    final MontgomeryFq y = extractFieldElement(input, offset + FIELD_LENGTH);
+    if (x == null || y == null) {
+      return null;
+    }
+    return CurvePoint.fromAffine(x, y);
+  }
+
+  private static TwistPoint extractTwistPoint(final BytesValue input, final int offset) {
+    final MontgomeryFq xImaginary = extractFieldElement(input, offset);
+    final MontgomeryFq xReal = extractFieldElement(input, offset + FIELD_LENGTH);
+    final MontgomeryFq yImaginary = extractFieldElement(input, offset + 2 * FIELD_LENGTH);
+    final MontgomeryFq yReal = extractFieldElement(input, offset + 3 * FIELD_LENGTH);
+    if (xImaginary == null || xReal == null || yImaginary == null || yReal == null) {
+      return null;
+    }
+    return TwistPoint.fromAffine(
+        new MontgomeryFq2(xReal, xImaginary), new MontgomeryFq2(yReal, yImaginary));
+  }
+
+  private static MontgomeryFq extractFieldElement(final BytesValue input, final int offset) {
+    final BigInteger value = extractParameter(input, offset);
+    if (value.compareTo(FieldElement.FIELD_MODULUS) >= 0) {
+      return null;
+    }
+    return MontgomeryFq.create(value);
+  }
+
+  private static BigInteger extractParameter(final BytesValue input, final int offset) {
+    final byte[] raw = new byte[FIELD_LENGTH];
+    final int available = Math.min(FIELD_LENGTH, input.size() - offset);
+    for (int i = 0; i < available; i++) {
+      raw[i] = input.get(offset + i);
+    }
+    return new BigInteger(1, raw);
+  }
+
+  private static BytesValue encode(final CurvePoint point) {
+    final byte[] result = new byte[G1_LENGTH];
+    final CurvePoint affine = point.toAffine();
+    if (!affine.isInfinity()) {
+      copyRightAligned(affine.x.toBigInteger(), result, 0);
+      copyRightAligned(affine.y.toBigInteger(), result, FIELD_LENGTH);
+    }
+    return BytesValue.wrap(result);
+  }
+
+  private static void copyRightAligned(
+      final BigInteger value, final byte[] target, final int offset) {
+    final byte[] bytes = value.toByteArray();
+    final int length = Math.min(bytes.length, FIELD_LENGTH);
+    System.arraycopy(
+        bytes, bytes.length - length, target, offset + FIELD_LENGTH - length, length);
+  }
+}
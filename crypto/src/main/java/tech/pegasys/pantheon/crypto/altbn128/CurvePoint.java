@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+
+/**
+ * A point of the alt_bn128 curve {@code y^2 = x^3 + 3} over Fq, in Jacobian coordinates {@code
+ * (X, Y, Z)} representing the affine point {@code (X / Z^2, Y / Z^3)}. Infinity has {@code Z = 0}.
+ */
+final class CurvePoint {
+
+  private static final MontgomeryFq B = MontgomeryFq.create(3);
+
+  static final CurvePoint INFINITY =
+      new CurvePoint(MontgomeryFq.ONE, MontgomeryFq.ONE, MontgomeryFq.ZERO);
+
+  final MontgomeryFq x;
+  final MontgomeryFq y;
+  final MontgomeryFq z;
+
+  private CurvePoint(final MontgomeryFq x, final MontgomeryFq y, final MontgomeryFq z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+
+  /**
+   * Creates a point from affine coordinates, where {@code (0, 0)} encodes infinity.
+   *
+   * @return the point, or {@code null} if it isn't on the curve.
+   */
+  static CurvePoint fromAffine(final MontgomeryFq x, final MontgomeryFq y) {
+    if (x.isZero() && y.isZero()) {
+      return INFINITY;
+    }
+    if (!y.square().equals(x.square().multiply(x).add(B))) {
+      return null;
+    }
+    return new CurvePoint(x, y, MontgomeryFq.ONE);
+  }
+
+  boolean isInfinity() {
+    return z.isZero();
+  }
+
+  CurvePoint negate() {
+    return new CurvePoint(x, y.negate(), z);
+  }
+
+  /** Converts to a point with {@code Z = 1}, or infinity. */
+  CurvePoint toAffine() {
+    if (isInfinity() || z.equals(MontgomeryFq.ONE)) {
+      return this;
+    }
+    final MontgomeryFq zInverse = z.inverse();
+    final MontgomeryFq zInverseSquared = zInverse.square();
+    return new CurvePoint(
+        x.multiply(zInverseSquared),
+        y.multiply(zInverseSquared).multiply(zInverse),
+        MontgomeryFq.ONE);
+  }
+
+  /** Doubling, using the "dbl-2009-l" formulas for {@code a = 0}. */
+  CurvePoint doub() {
+    if (isInfinity()) {
+      return this;
+    }
+    final MontgomeryFq a = x.square();
+    final MontgomeryFq b = y.square();
+    final MontgomeryFq c = b.square();
+    final MontgomeryFq d = x.add(b).square().subtract(a).subtract(c).doubled();
+    final MontgomeryFq e = a.doubled().add(a);
+    final MontgomeryFq x3 = e.square().subtract(d.doubled());
+    final MontgomeryFq y3 = e.multiply(d.subtract(x3)).subtract(c.doubled().doubled().doubled());
+    final MontgomeryFq z3 = y.multiply(z).doubled();
+    return new CurvePoint(x3, y3, z3);
+  }
+
+  /** Addition, using the "add-2007-bl" formulas. */
+  CurvePoint add(final CurvePoint other) {
+    if (isInfinity()) {
+      return other;
+    }
+    if (other.isInfinity()) {
+      return this;
+    }
+    final MontgomeryFq z1z1 = z.square();
+    final MontgomeryFq z2z2 = other.z.square();
+    final MontgomeryFq u1 = x.multiply(z2z2);
+    final MontgomeryFq u2 = other.x.multiply(z1z1);
+    final MontgomeryFq s1 = y.multiply(other.z).multiply(z2z2);
+    final MontgomeryFq s2 = other.y.multiply(z).multiply(z1z1);
+    final MontgomeryFq h = u2.subtract(u1);
+    final MontgomeryFq r = s2.subtract(s1).doubled();
+    if (h.isZero()) {
+      return r.isZero() ? doub() : INFINITY;
+    }
+    final MontgomeryFq i = h.doubled().square();
+    final MontgomeryFq j = h.multiply(i);
+    final MontgomeryFq v = u1.multiply(i);
+    final MontgomeryFq x3 = r.square().subtract(j).subtract(v.doubled());
+    final MontgomeryFq y3 = r.multiply(v.subtract(x3)).subtract(s1.multiply(j).doubled());
+    final MontgomeryFq z3 = z.add(other.z).square().subtract(z1z1).subtract(z2z2).multiply(h);
+    return new CurvePoint(x3, y3, z3);
+  }
+
+  CurvePoint multiply(final BigInteger scalar) {
+    CurvePoint result = INFINITY;
+    for (int i = scalar.bitLength() - 1; i >= 0; i--) {
+      result = result.doub();
+      if (scalar.testBit(i)) {
+        result = result.add(this);
+      }
+    }
+    return result;
+  }
+}
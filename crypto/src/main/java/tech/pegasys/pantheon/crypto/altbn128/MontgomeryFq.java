@@ -0,0 +1,281 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * An element of the alt_bn128 base field held as four little-endian 64-bit limbs in Montgomery
+ * form, that is {@code a * 2^256 mod p}. Values are always fully reduced so limb-wise equality is
+ * field equality.
+ *
+ * <p>Multiplication uses the coarsely integrated operand scanning (CIOS) method described in
+ * "Analyzing and Comparing Montgomery Multiplication Algorithms" by Koc, Acar and Kaliski.
+ */
+final class MontgomeryFq {
+
+  private static final int LIMBS = 4;
+  private static final long[] P = toLimbs(FieldElement.FIELD_MODULUS);
+  // -p^-1 mod 2^64
+  private static final long INV = -inverseModWord(P[0]);
+  private static final long[] R_SQUARED =
+      toLimbs(BigInteger.ONE.shiftLeft(2 * 64 * LIMBS).mod(FieldElement.FIELD_MODULUS));
+  private static final BigInteger P_MINUS_TWO =
+      FieldElement.FIELD_MODULUS.subtract(BigInteger.valueOf(2));
+
+  static final MontgomeryFq ZERO = new MontgomeryFq(new long[LIMBS]);
+  static final MontgomeryFq ONE = create(BigInteger.ONE);
+
+  private final long[] limbs;
+
+  private MontgomeryFq(final long[] limbs) {
+    this.limbs = limbs;
+  }
+
+  /**
+   * Converts a value into Montgomery form.
+   *
+   * @param value the value, which must be in the range {@code [0, p)}.
+   * @return the field element.
+   */
+  static MontgomeryFq create(final BigInteger value) {
+    if (value.signum() < 0 || value.compareTo(FieldElement.FIELD_MODULUS) >= 0) {
+      throw new IllegalArgumentException("Value is not a valid field element: " + value);
+    }
+    return new MontgomeryFq(montgomeryMultiply(toLimbs(value), R_SQUARED));
+  }
+
+  static MontgomeryFq create(final long value) {
+    return create(BigInteger.valueOf(value));
+  }
+
+  BigInteger toBigInteger() {
+    final long[] one = new long[LIMBS];
+    one[0] = 1;
+    final long[] value = montgomeryMultiply(limbs, one);
+    BigInteger result = BigInteger.ZERO;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      result = result.shiftLeft(64).or(unsigned(value[i]));
+    }
+    return result;
+  }
+
+  boolean isZero() {
+    for (final long limb : limbs) {
+      if (limb != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  MontgomeryFq add(final MontgomeryFq other) {
+    final long[] result = new long[LIMBS];
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long sum = limbs[i] + other.limbs[i] + carry;
+      carry = carryOut(limbs[i], sum, carry);
+      result[i] = sum;
+    }
+    // The modulus is below 2^254 so the sum can't overflow the top limb.
+    if (!lessThanModulus(result)) {
+      subtractModulus(result);
+    }
+    return new MontgomeryFq(result);
+  }
+
+  MontgomeryFq doubled() {
+    return add(this);
+  }
+
+  MontgomeryFq subtract(final MontgomeryFq other) {
+    final long[] result = new long[LIMBS];
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long difference = limbs[i] - other.limbs[i] - borrow;
+      borrow = borrowOut(limbs[i], other.limbs[i], borrow);
+      result[i] = difference;
+    }
+    if (borrow != 0) {
+      long carry = 0;
+      for (int i = 0; i < LIMBS; i++) {
+        final long sum = result[i] + P[i] + carry;
+        carry = carryOut(result[i], sum, carry);
+        result[i] = sum;
+      }
+    }
+    return new MontgomeryFq(result);
+  }
+
+  MontgomeryFq negate() {
+    return isZero() ? this : ZERO.subtract(this);
+  }
+
+  MontgomeryFq multiply(final MontgomeryFq other) {
+    return new MontgomeryFq(montgomeryMultiply(limbs, other.limbs));
+  }
+
+  MontgomeryFq square() {
+    return multiply(this);
+  }
+
+  MontgomeryFq power(final BigInteger exponent) {
+    MontgomeryFq result = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      result = result.square();
+      if (exponent.testBit(i)) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the multiplicative inverse using Fermat's little theorem.
+   *
+   * @return the inverse, or zero if this element is zero.
+   */
+  MontgomeryFq inverse() {
+    return power(P_MINUS_TWO);
+  }
+
+  private static long[] montgomeryMultiply(final long[] a, final long[] b) {
+    final long[] t = new long[LIMBS + 2];
+    for (int i = 0; i < LIMBS; i++) {
+      long carry = 0;
+      for (int j = 0; j < LIMBS; j++) {
+        carry = multiplyAdd(t, j, t[j], a[j], b[i], carry);
+      }
+      long sum = t[LIMBS] + carry;
+      t[LIMBS + 1] = Long.compareUnsigned(sum, carry) < 0 ? 1 : 0;
+      t[LIMBS] = sum;
+
+      // Add a multiple of the modulus that clears the lowest limb, then shift down one limb.
+      final long m = t[0] * INV;
+      carry = multiplyAdd(t, 0, t[0], m, P[0], 0);
+      for (int j = 1; j < LIMBS; j++) {
+        carry = multiplyAdd(t, j - 1, t[j], m, P[j], carry);
+      }
+      sum = t[LIMBS] + carry;
+      t[LIMBS - 1] = sum;
+      t[LIMBS] = t[LIMBS + 1] + (Long.compareUnsigned(sum, carry) < 0 ? 1 : 0);
+    }
+    final long[] result = Arrays.copyOf(t, LIMBS);
+    if (t[LIMBS] != 0 || !lessThanModulus(result)) {
+      subtractModulus(result);
+    }
+    return result;
+  }
+
+  /**
+   * Stores the low word of {@code addend + a * b + carry} at {@code out[index]} and returns the
+   * high word, treating all values as unsigned.
+   */
+  private static long multiplyAdd(
+      final long[] out,
+      final int index,
+      final long addend,
+      final long a,
+      final long b,
+      final long carry) {
+    final long low = a * b;
+    long high = unsignedMultiplyHigh(a, b);
+    final long sum = low + addend;
+    if (Long.compareUnsigned(sum, low) < 0) {
+      high++;
+    }
+    final long total = sum + carry;
+    if (Long.compareUnsigned(total, sum) < 0) {
+      high++;
+    }
+    out[index] = total;
+    return high;
+  }
+
+  private static long unsignedMultiplyHigh(final long a, final long b) {
+    return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+  }
+
+  private static long carryOut(final long addend, final long sum, final long carryIn) {
+    final int comparison = Long.compareUnsigned(sum, addend);
+    return comparison < 0 || (comparison == 0 && carryIn != 0) ? 1 : 0;
+  }
+
+  private static long borrowOut(final long minuend, final long subtrahend, final long borrowIn) {
+    final int comparison = Long.compareUnsigned(minuend, subtrahend);
+    return comparison < 0 || (comparison == 0 && borrowIn != 0) ? 1 : 0;
+  }
+
+  private static boolean lessThanModulus(final long[] value) {
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final int comparison = Long.compareUnsigned(value[i], P[i]);
+      if (comparison != 0) {
+        return comparison < 0;
+      }
+    }
+    return false;
+  }
+
+  private static void subtractModulus(final long[] value) {
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long difference = value[i] - P[i] - borrow;
+      borrow = borrowOut(value[i], P[i], borrow);
+      value[i] = difference;
+    }
+  }
+
+  private static long[] toLimbs(final BigInteger value) {
+    final long[] result = new long[LIMBS];
+    for (int i = 0; i < LIMBS; i++) {
+      result[i] = value.shiftRight(64 * i).longValue();
+    }
+    return result;
+  }
+
+  private static BigInteger unsigned(final long value) {
+    final BigInteger result = BigInteger.valueOf(value & Long.MAX_VALUE);
+    return value < 0 ? result.setBit(63) : result;
+  }
+
+  /** Newton iteration for the inverse of an odd number modulo 2^64. */
+  private static long inverseModWord(final long value) {
+    long inverse = value;
+    for (int i = 0; i < 5; i++) {
+      inverse *= 2 - value * inverse;
+    }
+    return inverse;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq)) {
+      return false;
+    }
+    return Arrays.equals(limbs, ((MontgomeryFq) obj).limbs);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(limbs);
+  }
+
+  @Override
+  public String toString() {
+    return toBigInteger().toString();
+  }
+}
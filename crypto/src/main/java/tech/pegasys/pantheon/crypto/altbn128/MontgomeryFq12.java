@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * An element {@code c0 + c1 * w} of the quadratic extension Fq6[w] / (w^2 - v), which is the
+ * target group field of the optimal ate pairing.
+ */
+final class MontgomeryFq12 {
+
+  static final MontgomeryFq12 ONE = new MontgomeryFq12(MontgomeryFq6.ONE, MontgomeryFq6.ZERO);
+
+  // xi^(k * (p - 1) / 6) for k = 0..5, the factors w^k picks up under the Frobenius map.
+  private static final MontgomeryFq2[] FROBENIUS_COEFFICIENTS = frobeniusCoefficients();
+
+  final MontgomeryFq6 c0;
+  final MontgomeryFq6 c1;
+
+  MontgomeryFq12(final MontgomeryFq6 c0, final MontgomeryFq6 c1) {
+    this.c0 = c0;
+    this.c1 = c1;
+  }
+
+  boolean isOne() {
+    return equals(ONE);
+  }
+
+  MontgomeryFq12 multiply(final MontgomeryFq12 other) {
+    final MontgomeryFq6 v0 = c0.multiply(other.c0);
+    final MontgomeryFq6 v1 = c1.multiply(other.c1);
+    final MontgomeryFq6 cross = c0.add(c1).multiply(other.c0.add(other.c1));
+    return new MontgomeryFq12(v0.add(v1.multiplyByV()), cross.subtract(v0).subtract(v1));
+  }
+
+  /**
+   * Multiplies by the sparse element {@code l0 + l1 * w + l3 * w^3} that line functions evaluate
+   * to.
+   */
+  MontgomeryFq12 multiplyByLine(
+      final MontgomeryFq2 l0, final MontgomeryFq2 l1, final MontgomeryFq2 l3) {
+    final MontgomeryFq6 v0 = c0.multiply(l0);
+    final MontgomeryFq6 v1 = c1.multiply(l1, l3);
+    final MontgomeryFq6 cross = c0.add(c1).multiply(l0.add(l1), l3);
+    return new MontgomeryFq12(v0.add(v1.multiplyByV()), cross.subtract(v0).subtract(v1));
+  }
+
+  MontgomeryFq12 square() {
+    final MontgomeryFq6 cross = c0.multiply(c1);
+    final MontgomeryFq6 r0 =
+        c0.add(c1).multiply(c0.add(c1.multiplyByV())).subtract(cross).subtract(cross.multiplyByV());
+    return new MontgomeryFq12(r0, cross.add(cross));
+  }
+
+  /**
+   * Squares an element of the cyclotomic subgroup, which everything is in after the easy part of
+   * the final exponentiation, using the formulas from "Faster Squaring in the Cyclotomic Subgroup
+   * of Sixth Degree Extensions" by Granger and Scott.
+   */
+  MontgomeryFq12 cyclotomicSquare() {
+    final MontgomeryFq2 z0 = c0.c0;
+    final MontgomeryFq2 z4 = c0.c1;
+    final MontgomeryFq2 z3 = c0.c2;
+    final MontgomeryFq2 z2 = c1.c0;
+    final MontgomeryFq2 z1 = c1.c1;
+    final MontgomeryFq2 z5 = c1.c2;
+
+    // (t0 + t1 * s)^2 = (z0 + z1 * s)^2 in Fq4 = Fq2[s] / (s^2 - xi), and likewise for the others.
+    MontgomeryFq2 product = z0.multiply(z1);
+    final MontgomeryFq2 t0 =
+        z0.add(z1)
+            .multiply(z1.multiplyByNonResidue().add(z0))
+            .subtract(product)
+            .subtract(product.multiplyByNonResidue());
+    final MontgomeryFq2 t1 = product.doubled();
+    product = z2.multiply(z3);
+    final MontgomeryFq2 t2 =
+        z2.add(z3)
+            .multiply(z3.multiplyByNonResidue().add(z2))
+            .subtract(product)
+            .subtract(product.multiplyByNonResidue());
+    final MontgomeryFq2 t3 = product.doubled();
+    product = z4.multiply(z5);
+    final MontgomeryFq2 t4 =
+        z4.add(z5)
+            .multiply(z5.multiplyByNonResidue().add(z4))
+            .subtract(product)
+            .subtract(product.multiplyByNonResidue());
+    final MontgomeryFq2 t5 = product.doubled();
+
+    final MontgomeryFq2 xiT5 = t5.multiplyByNonResidue();
+    return new MontgomeryFq12(
+        new MontgomeryFq6(
+            t0.subtract(z0).doubled().add(t0),
+            t2.subtract(z4).doubled().add(t2),
+            t4.subtract(z3).doubled().add(t4)),
+        new MontgomeryFq6(
+            xiT5.add(z2).doubled().add(xiT5),
+            t1.add(z1).doubled().add(t1),
+            t3.add(z5).doubled().add(t3)));
+  }
+
+  /** Raises an element of the cyclotomic subgroup to the given power. */
+  MontgomeryFq12 cyclotomicPower(final BigInteger exponent) {
+    MontgomeryFq12 result = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      result = result.cyclotomicSquare();
+      if (exponent.testBit(i)) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  /** The Frobenius map {@code x -> x^(p^6)}, which is the inverse for unitary elements. */
+  MontgomeryFq12 conjugate() {
+    return new MontgomeryFq12(c0, c1.negate());
+  }
+
+  MontgomeryFq12 inverse() {
+    final MontgomeryFq6 normInverse = c0.square().subtract(c1.square().multiplyByV()).inverse();
+    return new MontgomeryFq12(c0.multiply(normInverse), c1.multiply(normInverse).negate());
+  }
+
+  /** The Frobenius map {@code x -> x^p}. */
+  MontgomeryFq12 frobenius() {
+    final MontgomeryFq2[] gamma = FROBENIUS_COEFFICIENTS;
+    return new MontgomeryFq12(
+        new MontgomeryFq6(
+            c0.c0.conjugate(),
+            c0.c1.conjugate().multiply(gamma[2]),
+            c0.c2.conjugate().multiply(gamma[4])),
+        new MontgomeryFq6(
+            c1.c0.conjugate().multiply(gamma[1]),
+            c1.c1.conjugate().multiply(gamma[3]),
+            c1.c2.conjugate().multiply(gamma[5])));
+  }
+
+  MontgomeryFq12 power(final BigInteger exponent) {
+    MontgomeryFq12 result = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      result = result.square();
+      if (exponent.testBit(i)) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  static MontgomeryFq2 frobeniusCoefficient(final int k) {
+    return FROBENIUS_COEFFICIENTS[k];
+  }
+
+  private static MontgomeryFq2[] frobeniusCoefficients() {
+    final MontgomeryFq2 xi = MontgomeryFq2.ONE.multiplyByNonResidue();
+    final BigInteger exponent =
+        FieldElement.FIELD_MODULUS.subtract(BigInteger.ONE).divide(BigInteger.valueOf(6));
+    final MontgomeryFq2 gamma = xi.power(exponent);
+    final MontgomeryFq2[] coefficients = new MontgomeryFq2[6];
+    coefficients[0] = MontgomeryFq2.ONE;
+    for (int k = 1; k < coefficients.length; k++) {
+      coefficients[k] = coefficients[k - 1].multiply(gamma);
+    }
+    return coefficients;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq12)) {
+      return false;
+    }
+    final MontgomeryFq12 other = (MontgomeryFq12) obj;
+    return c0.equals(other.c0) && c1.equals(other.c1);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(c0, c1);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + c0 + ", " + c1 + ")";
+  }
+}
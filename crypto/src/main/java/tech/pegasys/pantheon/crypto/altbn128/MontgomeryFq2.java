@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/** An element {@code c0 + c1 * i} of the quadratic extension Fq[i] / (i^2 + 1). */
+final class MontgomeryFq2 {
+
+  static final MontgomeryFq2 ZERO = new MontgomeryFq2(MontgomeryFq.ZERO, MontgomeryFq.ZERO);
+  static final MontgomeryFq2 ONE = new MontgomeryFq2(MontgomeryFq.ONE, MontgomeryFq.ZERO);
+
+  final MontgomeryFq c0;
+  final MontgomeryFq c1;
+
+  MontgomeryFq2(final MontgomeryFq c0, final MontgomeryFq c1) {
+    this.c0 = c0;
+    this.c1 = c1;
+  }
+
+  static MontgomeryFq2 create(final BigInteger c0, final BigInteger c1) {
+    return new MontgomeryFq2(MontgomeryFq.create(c0), MontgomeryFq.create(c1));
+  }
+
+  boolean isZero() {
+    return c0.isZero() && c1.isZero();
+  }
+
+  MontgomeryFq2 add(final MontgomeryFq2 other) {
+    return new MontgomeryFq2(c0.add(other.c0), c1.add(other.c1));
+  }
+
+  MontgomeryFq2 doubled() {
+    return new MontgomeryFq2(c0.doubled(), c1.doubled());
+  }
+
+  MontgomeryFq2 subtract(final MontgomeryFq2 other) {
+    return new MontgomeryFq2(c0.subtract(other.c0), c1.subtract(other.c1));
+  }
+
+  MontgomeryFq2 negate() {
+    return new MontgomeryFq2(c0.negate(), c1.negate());
+  }
+
+  /** The Frobenius map {@code x -> x^p}, which is conjugation as {@code p = 3 mod 4}. */
+  MontgomeryFq2 conjugate() {
+    return new MontgomeryFq2(c0, c1.negate());
+  }
+
+  MontgomeryFq2 multiply(final MontgomeryFq2 other) {
+    final MontgomeryFq v0 = c0.multiply(other.c0);
+    final MontgomeryFq v1 = c1.multiply(other.c1);
+    final MontgomeryFq cross = c0.add(c1).multiply(other.c0.add(other.c1));
+    return new MontgomeryFq2(v0.subtract(v1), cross.subtract(v0).subtract(v1));
+  }
+
+  MontgomeryFq2 multiply(final MontgomeryFq scalar) {
+    return new MontgomeryFq2(c0.multiply(scalar), c1.multiply(scalar));
+  }
+
+  MontgomeryFq2 square() {
+    final MontgomeryFq cross = c0.multiply(c1);
+    return new MontgomeryFq2(c0.add(c1).multiply(c0.subtract(c1)), cross.doubled());
+  }
+
+  /** Multiplies by the non-residue {@code xi = 9 + i} that defines the sextic extension. */
+  MontgomeryFq2 multiplyByNonResidue() {
+    final MontgomeryFq nineC0 = c0.doubled().doubled().doubled().add(c0);
+    final MontgomeryFq nineC1 = c1.doubled().doubled().doubled().add(c1);
+    return new MontgomeryFq2(nineC0.subtract(c1), nineC1.add(c0));
+  }
+
+  MontgomeryFq2 inverse() {
+    final MontgomeryFq normInverse = c0.square().add(c1.square()).inverse();
+    return new MontgomeryFq2(c0.multiply(normInverse), c1.negate().multiply(normInverse));
+  }
+
+  MontgomeryFq2 power(final BigInteger exponent) {
+    MontgomeryFq2 result = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      result = result.square();
+      if (exponent.testBit(i)) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq2)) {
+      return false;
+    }
+    final MontgomeryFq2 other = (MontgomeryFq2) obj;
+    return c0.equals(other.c0) && c1.equals(other.c1);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(c0, c1);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + c0 + ", " + c1 + ")";
+  }
+}
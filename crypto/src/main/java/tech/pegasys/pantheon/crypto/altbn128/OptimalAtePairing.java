@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The optimal ate pairing on alt_bn128, computed with a single Miller loop shared by all pairs of
+ * a pairing check. The twist points are kept in Jacobian coordinates and the lines through them
+ * are multiplied into the accumulator as sparse Fq12 elements, scaled by Fq2 factors that the
+ * final exponentiation removes.
+ */
+final class OptimalAtePairing {
+
+  // The curve parameter u, with p = 36u^4 + 36u^3 + 24u^2 + 6u + 1.
+  static final BigInteger U = new BigInteger("4965661367192848881");
+  private static final BigInteger ATE_LOOP_COUNT =
+      U.multiply(BigInteger.valueOf(6)).add(BigInteger.valueOf(2));
+
+  private OptimalAtePairing() {}
+
+  /**
+   * Checks whether the product of the pairings {@code e(g1[i], g2[i])} is one.
+   *
+   * @param g1 points of the curve over Fq, with {@code Z = 1} or at infinity.
+   * @param g2 points of the twist in the order {@code r} subgroup, with {@code Z = 1} or at
+   *     infinity.
+   * @return {@code true} if the product of the pairings is one.
+   */
+  static boolean pairingCheck(final List<CurvePoint> g1, final List<TwistPoint> g2) {
+    return finalExponentiation(millerLoop(g1, g2)).isOne();
+  }
+
+  static MontgomeryFq12 millerLoop(final List<CurvePoint> g1, final List<TwistPoint> g2) {
+    final List<LineEvaluator> pairs = new ArrayList<>(g1.size());
+    for (int i = 0; i < g1.size(); i++) {
+      if (!g1.get(i).isInfinity() && !g2.get(i).isInfinity()) {
+        pairs.add(new LineEvaluator(g1.get(i), g2.get(i)));
+      }
+    }
+
+    MontgomeryFq12 f = MontgomeryFq12.ONE;
+    if (pairs.isEmpty()) {
+      return f;
+    }
+    for (int i = ATE_LOOP_COUNT.bitLength() - 2; i >= 0; i--) {
+      f = f.square();
+      for (final LineEvaluator pair : pairs) {
+        f = pair.doubleAndEvaluate(f);
+      }
+      if (ATE_LOOP_COUNT.testBit(i)) {
+        for (final LineEvaluator pair : pairs) {
+          f = pair.addAndEvaluate(f, pair.q);
+        }
+      }
+    }
+    for (final LineEvaluator pair : pairs) {
+      final TwistPoint q1 = pair.q.frobenius();
+      final TwistPoint q2 = q1.frobenius();
+      f = pair.addAndEvaluate(f, q1);
+      f = pair.addAndEvaluate(f, q2.negate());
+    }
+    return f;
+  }
+
+  /**
+   * Raises to the power {@code (p^12 - 1) / r}. The easy part {@code (p^6 - 1)(p^2 + 1)} uses the
+   * Frobenius map, the hard part {@code (p^4 - p^2 + 1) / r} the addition chain in u from "On
+   * the Final Exponentiation for Calculating Pairings on Ordinary Elliptic Curves" by Scott et
+   * al.
+   */
+  static MontgomeryFq12 finalExponentiation(final MontgomeryFq12 f) {
+    MontgomeryFq12 t1 = f.conjugate().multiply(f.inverse());
+    t1 = t1.multiply(t1.frobenius().frobenius());
+
+    final MontgomeryFq12 fp = t1.frobenius();
+    final MontgomeryFq12 fp2 = fp.frobenius();
+    final MontgomeryFq12 fp3 = fp2.frobenius();
+
+    final MontgomeryFq12 fu = t1.cyclotomicPower(U);
+    final MontgomeryFq12 fu2 = fu.cyclotomicPower(U);
+    final MontgomeryFq12 fu3 = fu2.cyclotomicPower(U);
+
+    final MontgomeryFq12 y0 = fp.multiply(fp2).multiply(fp3);
+    final MontgomeryFq12 y1 = t1.conjugate();
+    final MontgomeryFq12 y2 = fu2.frobenius().frobenius();
+    final MontgomeryFq12 y3 = fu.frobenius().conjugate();
+    final MontgomeryFq12 y4 = fu.multiply(fu2.frobenius()).conjugate();
+    final MontgomeryFq12 y5 = fu2.conjugate();
+    final MontgomeryFq12 y6 = fu3.multiply(fu3.frobenius()).conjugate();
+
+    MontgomeryFq12 t0 = y6.cyclotomicSquare().multiply(y4).multiply(y5);
+    MontgomeryFq12 t = y3.multiply(y5).multiply(t0);
+    t0 = t0.multiply(y2);
+    t = t.cyclotomicSquare().multiply(t0).cyclotomicSquare();
+    t0 = t.multiply(y1);
+    t = t.multiply(y0);
+    return t0.cyclotomicSquare().multiply(t);
+  }
+
+  /** The state of one pair in the Miller loop: the fixed points and the running twist point. */
+  private static final class LineEvaluator {
+    private final MontgomeryFq negatedPx;
+    private final MontgomeryFq py;
+    private final TwistPoint q;
+    private TwistPoint t;
+
+    private LineEvaluator(final CurvePoint p, final TwistPoint q) {
+      this.negatedPx = p.x.negate();
+      this.py = p.y;
+      this.q = q;
+      this.t = q;
+    }
+
+    /**
+     * Doubles the running point and multiplies {@code f} by the tangent line at it. With {@code
+     * E = 3X^2} the line is {@code Z3 * Z^2 * yP - E * Z^2 * xP * w + (E * X - 2Y^2) * w^3}.
+     */
+    private MontgomeryFq12 doubleAndEvaluate(final MontgomeryFq12 f) {
+      final MontgomeryFq2 zSquared = t.z.square();
+      final MontgomeryFq2 a = t.x.square();
+      final MontgomeryFq2 b = t.y.square();
+      final MontgomeryFq2 c = b.square();
+      final MontgomeryFq2 d = t.x.add(b).square().subtract(a).subtract(c).doubled();
+      final MontgomeryFq2 e = a.doubled().add(a);
+      final MontgomeryFq2 x3 = e.square().subtract(d.doubled());
+      final MontgomeryFq2 y3 =
+          e.multiply(d.subtract(x3)).subtract(c.doubled().doubled().doubled());
+      final MontgomeryFq2 z3 = t.y.multiply(t.z).doubled();
+
+      final MontgomeryFq2 l0 = z3.multiply(zSquared).multiply(py);
+      final MontgomeryFq2 l1 = e.multiply(zSquared).multiply(negatedPx);
+      final MontgomeryFq2 l3 = e.multiply(t.x).subtract(b.doubled());
+      t = new TwistPoint(x3, y3, z3);
+      return f.multiplyByLine(l0, l1, l3);
+    }
+
+    /**
+     * Adds the affine point {@code r} to the running point and multiplies {@code f} by the line
+     * through them. With {@code R = 2(S2 - Y)} the line is {@code Z3 * yP - R * xP * w + (R * xR
+     * - Z3 * yR) * w^3}.
+     */
+    private MontgomeryFq12 addAndEvaluate(final MontgomeryFq12 f, final TwistPoint r) {
+      final MontgomeryFq2 zSquared = t.z.square();
+      final MontgomeryFq2 u2 = r.x.multiply(zSquared);
+      final MontgomeryFq2 s2 = r.y.multiply(t.z).multiply(zSquared);
+      final MontgomeryFq2 h = u2.subtract(t.x);
+      final MontgomeryFq2 hh = h.square();
+      final MontgomeryFq2 i = hh.doubled().doubled();
+      final MontgomeryFq2 j = h.multiply(i);
+      final MontgomeryFq2 slope = s2.subtract(t.y).doubled();
+      final MontgomeryFq2 v = t.x.multiply(i);
+      final MontgomeryFq2 x3 = slope.square().subtract(j).subtract(v.doubled());
+      final MontgomeryFq2 y3 =
+          slope.multiply(v.subtract(x3)).subtract(t.y.multiply(j).doubled());
+      final MontgomeryFq2 z3 = t.z.add(h).square().subtract(zSquared).subtract(hh);
+
+      final MontgomeryFq2 l0 = z3.multiply(py);
+      final MontgomeryFq2 l1 = slope.multiply(negatedPx);
+      final MontgomeryFq2 l3 = slope.multiply(r.x).subtract(z3.multiply(r.y));
+      t = new TwistPoint(x3, y3, z3);
+      return f.multiplyByLine(l0, l1, l3);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+
+/**
+ * A point of the sextic twist {@code y^2 = x^3 + 3 / (9 + i)} over Fq2, in Jacobian coordinates.
+ * The twist is isomorphic to the order {@code r} subgroup of the curve over Fq12 through {@code
+ * (x, y) -> (x * w^2, y * w^3)}.
+ */
+final class TwistPoint {
+
+  private static final MontgomeryFq2 B =
+      new MontgomeryFq2(MontgomeryFq.create(3), MontgomeryFq.ZERO)
+          .multiply(MontgomeryFq2.ONE.multiplyByNonResidue().inverse());
+
+  static final TwistPoint INFINITY =
+      new TwistPoint(MontgomeryFq2.ONE, MontgomeryFq2.ONE, MontgomeryFq2.ZERO);
+
+  final MontgomeryFq2 x;
+  final MontgomeryFq2 y;
+  final MontgomeryFq2 z;
+
+  TwistPoint(final MontgomeryFq2 x, final MontgomeryFq2 y, final MontgomeryFq2 z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+
+  /**
+   * Creates a point from affine coordinates, where {@code (0, 0)} encodes infinity.
+   *
+   * @return the point, or {@code null} if it isn't on the twist.
+   */
+  static TwistPoint fromAffine(final MontgomeryFq2 x, final MontgomeryFq2 y) {
+    if (x.isZero() && y.isZero()) {
+      return INFINITY;
+    }
+    if (!y.square().equals(x.square().multiply(x).add(B))) {
+      return null;
+    }
+    return new TwistPoint(x, y, MontgomeryFq2.ONE);
+  }
+
+  boolean isInfinity() {
+    return z.isZero();
+  }
+
+  /**
+   * Checks membership of the order {@code r} subgroup with the endomorphism based test {@code
+   * [u + 1]Q + psi([u]Q) + psi^2([u]Q) = psi^3([2u]Q)} from "Fast Subgroup Membership Testings for
+   * G1, G2 and GT on Pairing-friendly Curves" by Dai, Lin, Zhao and Zhou, which only needs a
+   * scalar multiplication by the 63 bit curve parameter rather than by {@code r}.
+   */
+  boolean isInGroup() {
+    final TwistPoint uQ = multiply(OptimalAtePairing.U);
+    final TwistPoint psiUQ = uQ.frobenius();
+    final TwistPoint psi2UQ = psiUQ.frobenius();
+    final TwistPoint left = uQ.add(this).add(psiUQ).add(psi2UQ);
+    final TwistPoint right = psi2UQ.frobenius().doub();
+    return left.add(right.negate()).isInfinity();
+  }
+
+  TwistPoint negate() {
+    return new TwistPoint(x, y.negate(), z);
+  }
+
+  /** The Frobenius endomorphism {@code (x, y) -> (x^p, y^p)} carried over the twist isomorphism. */
+  TwistPoint frobenius() {
+    return new TwistPoint(
+        x.conjugate().multiply(MontgomeryFq12.frobeniusCoefficient(2)),
+        y.conjugate().multiply(MontgomeryFq12.frobeniusCoefficient(3)),
+        z.conjugate());
+  }
+
+  /** Converts to a point with {@code Z = 1}, or infinity. */
+  TwistPoint toAffine() {
+    if (isInfinity() || z.equals(MontgomeryFq2.ONE)) {
+      return this;
+    }
+    final MontgomeryFq2 zInverse = z.inverse();
+    final MontgomeryFq2 zInverseSquared = zInverse.square();
+    return new TwistPoint(
+        x.multiply(zInverseSquared),
+        y.multiply(zInverseSquared).multiply(zInverse),
+        MontgomeryFq2.ONE);
+  }
+
+  /** Doubling, using the "dbl-2009-l" formulas for {@code a = 0}. */
+  TwistPoint doub() {
+    if (isInfinity()) {
+      return this;
+    }
+    final MontgomeryFq2 a = x.square();
+    final MontgomeryFq2 b = y.square();
+    final MontgomeryFq2 c = b.square();
+    final MontgomeryFq2 d = x.add(b).square().subtract(a).subtract(c).doubled();
+    final MontgomeryFq2 e = a.doubled().add(a);
+    final MontgomeryFq2 x3 = e.square().subtract(d.doubled());
+    final MontgomeryFq2 y3 = e.multiply(d.subtract(x3)).subtract(c.doubled().doubled().doubled());
+    final MontgomeryFq2 z3 = y.multiply(z).doubled();
+    return new TwistPoint(x3, y3, z3);
+  }
+
+  /** Addition, using the "add-2007-bl" formulas. */
+  TwistPoint add(final TwistPoint other) {
+    if (isInfinity()) {
+      return other;
+    }
+    if (other.isInfinity()) {
+      return this;
+    }
+    final MontgomeryFq2 z1z1 = z.square();
+    final MontgomeryFq2 z2z2 = other.z.square();
+    final MontgomeryFq2 u1 = x.multiply(z2z2);
+    final MontgomeryFq2 u2 = other.x.multiply(z1z1);
+    final MontgomeryFq2 s1 = y.multiply(other.z).multiply(z2z2);
+    final MontgomeryFq2 s2 = other.y.multiply(z).multiply(z1z1);
+    final MontgomeryFq2 h = u2.subtract(u1);
+    final MontgomeryFq2 r = s2.subtract(s1).doubled();
+    if (h.isZero()) {
+      return r.isZero() ? doub() : INFINITY;
+    }
+    final MontgomeryFq2 i = h.doubled().square();
+    final MontgomeryFq2 j = h.multiply(i);
+    final MontgomeryFq2 v = u1.multiply(i);
+    final MontgomeryFq2 x3 = r.square().subtract(j).subtract(v.doubled());
+    final MontgomeryFq2 y3 = r.multiply(v.subtract(x3)).subtract(s1.multiply(j).doubled());
+    final MontgomeryFq2 z3 = z.add(other.z).square().subtract(z1z1).subtract(z2z2).multiply(h);
+    return new TwistPoint(x3, y3, z3);
+  }
+
+  TwistPoint multiply(final BigInteger scalar) {
+    TwistPoint result = INFINITY;
+    for (int i = scalar.bitLength() - 1; i >= 0; i--) {
+      result = result.doub();
+      if (scalar.testBit(i)) {
+        result = result.add(this);
+      }
+    }
+    return result;
+  }
+}
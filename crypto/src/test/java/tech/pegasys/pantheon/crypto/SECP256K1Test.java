@@ -17,6 +17,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 import static tech.pegasys.pantheon.crypto.Hash.keccak256;
 import static tech.pegasys.pantheon.util.bytes.BytesValue.fromHexString;
 
@@ -29,6 +30,7 @@ import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+import org.junit.After;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -48,6 +50,11 @@ public class SECP256K1Test {
     suiteName = clazz.getSimpleName() + "-" + suiteStartTime;
   }
 
+  @After
+  public void restoreBackend() {
+    SECP256K1.enableNative();
+  }
+
   public static String suiteName() {
     return suiteName;
   }
@@ -243,6 +250,43 @@ public class SECP256K1Test {
     assertTrue(SECP256K1.verify(data, signature, keyPair.getPublicKey(), Hash::keccak256));
   }
 
+  @Test
+  public void nativeAndBouncyCastleBackendsAgree() {
+    // Builds that bundle the native library must be able to load it.
+    if (Boolean.getBoolean("pantheon.secp256k1.native.bundled")) {
+      assertTrue(SECP256K1.enableNative());
+    } else {
+      assumeTrue(SECP256K1.enableNative());
+    }
+    try {
+      assertNativeAndBouncyCastleBackendsAgree();
+    } finally {
+      SECP256K1.disableNative();
+    }
+  }
+
+  private void assertNativeAndBouncyCastleBackendsAgree() {
+    final SECP256K1.KeyPair keyPair = SECP256K1.KeyPair.generate();
+    final Bytes32 dataHash =
+        keccak256(BytesValue.wrap("This is an example of a signed message.".getBytes(UTF_8)));
+
+    final SECP256K1.Signature nativeSignature = SECP256K1.sign(dataHash, keyPair);
+    SECP256K1.disableNative();
+    final SECP256K1.Signature bouncyCastleSignature = SECP256K1.sign(dataHash, keyPair);
+    assertEquals(bouncyCastleSignature, nativeSignature);
+    assertTrue(SECP256K1.verify(dataHash, nativeSignature, keyPair.getPublicKey()));
+    assertEquals(
+        keyPair.getPublicKey(),
+        SECP256K1.PublicKey.recoverFromSignature(dataHash, nativeSignature).get());
+
+    SECP256K1.enableNative();
+    assertTrue(SECP256K1.verify(dataHash, bouncyCastleSignature, keyPair.getPublicKey()));
+    assertEquals(
+        keyPair.getPublicKey(),
+        SECP256K1.PublicKey.recoverFromSignature(dataHash, bouncyCastleSignature).get());
+    assertEquals(keyPair.getPublicKey(), SECP256K1.PublicKey.create(keyPair.getPrivateKey()));
+  }
+
   @Test
   public void fileContainsValidPrivateKey() throws Exception {
     final File file =
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class AltBn128OperationsTest {
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+  private static final BytesValue G1 =
+      BytesValue.fromHexString(
+          "0x0000000000000000000000000000000000000000000000000000000000000001"
+              + "0000000000000000000000000000000000000000000000000000000000000002");
+  private static final BytesValue NEGATED_G1 =
+      BytesValue.fromHexString(
+          "0x0000000000000000000000000000000000000000000000000000000000000001"
+              + "30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd45");
+  private static final BytesValue G2 =
+      BytesValue.fromHexString(
+          "0x198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+              + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+              + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+              + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa");
+  private static final BytesValue G2_OUTSIDE_SUBGROUP =
+      BytesValue.fromHexString(
+          "0x1382cd45e5674247f9c900b5c6f6cabbc189c2fabe2df0bf5acd84c97818f508"
+              + "1246178655ab8f2f26956b189894b7eb93cd4215b9937e7969e44305f80f521e"
+              + "08331c0a261a74e7e75db1232956663cbc88110f726159c5cba1857ecd03fa64"
+              + "1fbf8045ce3e79b5cde4112d38bcd0efbdb1295d2eefdf58151ae309d7ded7db");
+  private static final BytesValue INFINITY = BytesValue.wrap(new byte[64]);
+
+  @Test
+  public void shouldAddLikeReferenceImplementation() {
+    for (int i = 1; i < 10; i++) {
+      final AltBn128Point a = AltBn128Point.g1().multiply(BigInteger.valueOf(i * 7919));
+      final AltBn128Point b = AltBn128Point.g1().multiply(BigInteger.valueOf(i * 104729));
+      assertThat(AltBn128Operations.add(BytesValues.concatenate(encode(a), encode(b))))
+          .isEqualTo(Optional.of(encode(a.add(b))));
+    }
+  }
+
+  @Test
+  public void shouldHandleInfinityAndDoublingInAdd() {
+    assertThat(AltBn128Operations.add(BytesValues.concatenate(G1, NEGATED_G1)))
+        .isEqualTo(Optional.of(INFINITY));
+    assertThat(AltBn128Operations.add(BytesValues.concatenate(G1, G1)))
+        .isEqualTo(Optional.of(encode(AltBn128Point.g1().doub())));
+    assertThat(AltBn128Operations.add(G1)).isEqualTo(Optional.of(G1));
+    assertThat(AltBn128Operations.add(BytesValue.EMPTY)).isEqualTo(Optional.of(INFINITY));
+  }
+
+  @Test
+  public void shouldMultiplyLikeReferenceImplementation() {
+    final BigInteger[] scalars = {
+      BigInteger.ZERO,
+      BigInteger.ONE,
+      BigInteger.valueOf(2),
+      CURVE_ORDER.subtract(BigInteger.ONE),
+      CURVE_ORDER,
+      BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE),
+      new BigInteger("30644e72e131a029b85045b68181585d2833e84879b9709143e1f593f0000001", 16)
+    };
+    final AltBn128Point point = AltBn128Point.g1().multiply(BigInteger.valueOf(31337));
+    for (final BigInteger scalar : scalars) {
+      final BytesValue input = BytesValues.concatenate(encode(point), encodeScalar(scalar));
+      assertThat(AltBn128Operations.multiply(input))
+          .isEqualTo(Optional.of(encode(point.multiply(scalar))));
+    }
+  }
+
+  @Test
+  public void shouldRejectPointsNotOnCurve() {
+    final BytesValue offCurve =
+        BytesValue.fromHexString(
+            "0x0000000000000000000000000000000000000000000000000000000000000001"
+                + "0000000000000000000000000000000000000000000000000000000000000003");
+    assertThat(AltBn128Operations.add(BytesValues.concatenate(G1, offCurve))).isEmpty();
+    assertThat(AltBn128Operations.multiply(offCurve)).isEmpty();
+    assertThat(AltBn128Operations.pairingCheck(BytesValues.concatenate(offCurve, G2))).isEmpty();
+  }
+
+  @Test
+  public void shouldRejectCoordinatesOutsideTheField() {
+    final BytesValue unreduced =
+        BytesValues.concatenate(
+            encodeScalar(FieldElement.FIELD_MODULUS.add(BigInteger.ONE)),
+            BytesValue.fromHexString(
+                "0x0000000000000000000000000000000000000000000000000000000000000002"));
+    assertThat(AltBn128Operations.add(unreduced)).isEmpty();
+  }
+
+  @Test
+  public void shouldAcceptEmptyPairingInput() {
+    assertThat(AltBn128Operations.pairingCheck(BytesValue.EMPTY)).isEqualTo(Optional.of(true));
+  }
+
+  @Test
+  public void shouldRejectPairingInputOfInvalidLength() {
+    assertThat(AltBn128Operations.pairingCheck(G1)).isEmpty();
+  }
+
+  @Test
+  public void shouldCheckPairingOfNegatedPoints() {
+    assertThat(AltBn128Operations.pairingCheck(BytesValues.concatenate(G1, G2, NEGATED_G1, G2)))
+        .isEqualTo(Optional.of(true));
+    assertThat(AltBn128Operations.pairingCheck(BytesValues.concatenate(G1, G2, G1, G2)))
+        .isEqualTo(Optional.of(false));
+    assertThat(AltBn128Operations.pairingCheck(BytesValues.concatenate(G1, G2)))
+        .isEqualTo(Optional.of(false));
+  }
+
+  @Test
+  public void shouldBeBilinear() {
+    final BigInteger a = BigInteger.valueOf(0xdeadbeefL);
+    final BigInteger b = BigInteger.valueOf(0xcafebabeL);
+    final AltBn128Fq2Point bG2 = AltBn128Fq2Point.g2().multiply(b);
+    final AltBn128Point abG1 =
+        AltBn128Point.g1().multiply(CURVE_ORDER.subtract(a.multiply(b)));
+    final BytesValue input =
+        BytesValues.concatenate(
+            encode(AltBn128Point.g1().multiply(a)), encode(bG2), encode(abG1), G2);
+    assertThat(AltBn128Operations.pairingCheck(input)).isEqualTo(Optional.of(true));
+  }
+
+  @Test
+  public void shouldIgnorePairsWithPointsAtInfinity() {
+    final BytesValue g2Infinity = BytesValue.wrap(new byte[128]);
+    assertThat(
+            AltBn128Operations.pairingCheck(
+                BytesValues.concatenate(INFINITY, G2, G1, g2Infinity, G1, G2, NEGATED_G1, G2)))
+        .isEqualTo(Optional.of(true));
+  }
+
+  @Test
+  public void shouldRejectTwistPointsOutsideSubgroup() {
+    assertThat(
+            AltBn128Operations.pairingCheck(
+                BytesValues.concatenate(G1, G2_OUTSIDE_SUBGROUP, NEGATED_G1, G2_OUTSIDE_SUBGROUP)))
+        .isEmpty();
+  }
+
+  private static BytesValue encode(final AltBn128Point point) {
+    return BytesValues.concatenate(encodeField(point.getX()), encodeField(point.getY()));
+  }
+
+  private static BytesValue encode(final AltBn128Fq2Point point) {
+    final Fq[] x = point.getX().getCoefficients();
+    final Fq[] y = point.getY().getCoefficients();
+    return BytesValues.concatenate(
+        encodeField(x[1]), encodeField(x[0]), encodeField(y[1]), encodeField(y[0]));
+  }
+
+  private static BytesValue encodeField(final Fq value) {
+    final BytesValue bytes = value.toBytesValue();
+    return BytesValues.concatenate(BytesValue.wrap(new byte[32 - bytes.size()]), bytes);
+  }
+
+  private static BytesValue encodeScalar(final BigInteger scalar) {
+    final byte[] bytes = scalar.toByteArray();
+    final byte[] result = new byte[32];
+    final int length = Math.min(bytes.length, 32);
+    System.arraycopy(bytes, bytes.length - length, result, 32 - length, length);
+    return BytesValue.wrap(result);
+  }
+}
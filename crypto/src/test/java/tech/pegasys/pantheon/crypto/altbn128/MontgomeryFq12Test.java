@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MontgomeryFq12Test {
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+  private static final BigInteger P = FieldElement.FIELD_MODULUS;
+
+  private final Random random = new Random(1);
+
+  @Test
+  public void shouldSquareLikeMultiply() {
+    final MontgomeryFq12 a = randomFq12();
+    assertThat(a.square()).isEqualTo(a.multiply(a));
+  }
+
+  @Test
+  public void shouldInvert() {
+    final MontgomeryFq12 a = randomFq12();
+    assertThat(a.multiply(a.inverse()).isOne()).isTrue();
+    final MontgomeryFq6 b = randomFq6();
+    assertThat(b.multiply(b.inverse())).isEqualTo(MontgomeryFq6.ONE);
+    final MontgomeryFq2 c = randomFq2();
+    assertThat(c.multiply(c.inverse())).isEqualTo(MontgomeryFq2.ONE);
+  }
+
+  @Test
+  public void shouldMatchPowerOfModulusUnderFrobenius() {
+    final MontgomeryFq12 a = randomFq12();
+    assertThat(a.frobenius()).isEqualTo(a.power(P));
+    final MontgomeryFq2 b = randomFq2();
+    assertThat(b.conjugate()).isEqualTo(b.power(P));
+  }
+
+  @Test
+  public void shouldMultiplyByLineLikeDenseMultiplication() {
+    final MontgomeryFq12 a = randomFq12();
+    final MontgomeryFq2 l0 = randomFq2();
+    final MontgomeryFq2 l1 = randomFq2();
+    final MontgomeryFq2 l3 = randomFq2();
+    final MontgomeryFq12 line =
+        new MontgomeryFq12(
+            new MontgomeryFq6(l0, MontgomeryFq2.ZERO, MontgomeryFq2.ZERO),
+            new MontgomeryFq6(l1, l3, MontgomeryFq2.ZERO));
+    assertThat(a.multiplyByLine(l0, l1, l3)).isEqualTo(a.multiply(line));
+  }
+
+  @Test
+  public void shouldMultiplyByNonResidue() {
+    final MontgomeryFq2 a = randomFq2();
+    final MontgomeryFq2 xi = new MontgomeryFq2(MontgomeryFq.create(9), MontgomeryFq.ONE);
+    assertThat(a.multiplyByNonResidue()).isEqualTo(a.multiply(xi));
+  }
+
+  @Test
+  public void shouldSquareInCyclotomicSubgroup() {
+    final MontgomeryFq12 a = randomFq12();
+    final MontgomeryFq12 easy = a.conjugate().multiply(a.inverse());
+    final MontgomeryFq12 cyclotomic = easy.frobenius().frobenius().multiply(easy);
+    assertThat(cyclotomic.cyclotomicSquare()).isEqualTo(cyclotomic.square());
+    assertThat(cyclotomic.cyclotomicPower(BigInteger.valueOf(12345)))
+        .isEqualTo(cyclotomic.power(BigInteger.valueOf(12345)));
+  }
+
+  @Test
+  public void shouldMatchFullFinalExponentiation() {
+    final MontgomeryFq12 a = randomFq12();
+    final BigInteger hardPart =
+        P.pow(4).subtract(P.pow(2)).add(BigInteger.ONE).divide(CURVE_ORDER);
+    final MontgomeryFq12 easy = a.conjugate().multiply(a.inverse());
+    final MontgomeryFq12 expected = easy.frobenius().frobenius().multiply(easy).power(hardPart);
+    assertThat(OptimalAtePairing.finalExponentiation(a)).isEqualTo(expected);
+  }
+
+  private MontgomeryFq12 randomFq12() {
+    return new MontgomeryFq12(randomFq6(), randomFq6());
+  }
+
+  private MontgomeryFq6 randomFq6() {
+    return new MontgomeryFq6(randomFq2(), randomFq2(), randomFq2());
+  }
+
+  private MontgomeryFq2 randomFq2() {
+    return new MontgomeryFq2(randomFq(), randomFq());
+  }
+
+  private MontgomeryFq randomFq() {
+    return MontgomeryFq.create(new BigInteger(254, random).mod(P));
+  }
+}
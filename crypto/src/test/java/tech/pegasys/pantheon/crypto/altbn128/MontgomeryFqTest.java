@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MontgomeryFqTest {
+
+  private static final BigInteger P = FieldElement.FIELD_MODULUS;
+
+  @Test
+  public void shouldRoundTripThroughMontgomeryForm() {
+    for (final BigInteger value : values()) {
+      assertThat(MontgomeryFq.create(value).toBigInteger()).isEqualTo(value);
+    }
+  }
+
+  @Test
+  public void shouldMatchBigIntegerArithmetic() {
+    final List<BigInteger> values = values();
+    for (final BigInteger a : values) {
+      final MontgomeryFq x = MontgomeryFq.create(a);
+      assertThat(x.negate().toBigInteger()).isEqualTo(a.negate().mod(P));
+      assertThat(x.square().toBigInteger()).isEqualTo(a.multiply(a).mod(P));
+      for (final BigInteger b : values) {
+        final MontgomeryFq y = MontgomeryFq.create(b);
+        assertThat(x.add(y).toBigInteger()).isEqualTo(a.add(b).mod(P));
+        assertThat(x.subtract(y).toBigInteger()).isEqualTo(a.subtract(b).mod(P));
+        assertThat(x.multiply(y).toBigInteger()).isEqualTo(a.multiply(b).mod(P));
+      }
+    }
+  }
+
+  @Test
+  public void shouldInvert() {
+    for (final BigInteger value : values()) {
+      if (value.signum() != 0) {
+        final MontgomeryFq x = MontgomeryFq.create(value);
+        assertThat(x.inverse().toBigInteger()).isEqualTo(value.modInverse(P));
+        assertThat(x.multiply(x.inverse())).isEqualTo(MontgomeryFq.ONE);
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectFieldModulus() {
+    MontgomeryFq.create(P);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNegativeValues() {
+    MontgomeryFq.create(BigInteger.ONE.negate());
+  }
+
+  private static List<BigInteger> values() {
+    final List<BigInteger> values = new ArrayList<>();
+    values.add(BigInteger.ZERO);
+    values.add(BigInteger.ONE);
+    values.add(BigInteger.valueOf(2));
+    values.add(P.subtract(BigInteger.ONE));
+    values.add(P.subtract(BigInteger.valueOf(2)));
+    values.add(BigInteger.ONE.shiftLeft(64));
+    values.add(BigInteger.ONE.shiftLeft(253));
+    final Random random = new Random(1);
+    for (int i = 0; i < 20; i++) {
+      values.add(new BigInteger(254, random).mod(P));
+    }
+    return values;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TwistPointTest {
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+
+  private static final TwistPoint GENERATOR =
+      twistPoint(
+          "10857046999023057135944570762232829481370756359578518086990519993285655852781",
+          "11559732032986387107991004021392285783925812861821192530917403151452391805634",
+          "8495653923123431417604973247489272438418190587263600148770280649306958101930",
+          "4082367875863433681332203403145435568316851327593401208105741076214120093531");
+
+  // A point on the twist that isn't in the order r subgroup.
+  private static final TwistPoint OUTSIDE_SUBGROUP =
+      twistPoint(
+          "0x1246178655ab8f2f26956b189894b7eb93cd4215b9937e7969e44305f80f521e",
+          "0x1382cd45e5674247f9c900b5c6f6cabbc189c2fabe2df0bf5acd84c97818f508",
+          "0x1fbf8045ce3e79b5cde4112d38bcd0efbdb1295d2eefdf58151ae309d7ded7db",
+          "0x08331c0a261a74e7e75db1232956663cbc88110f726159c5cba1857ecd03fa64");
+
+  @Test
+  public void shouldAcceptGeneratorAndInfinity() {
+    assertThat(GENERATOR.isInGroup()).isTrue();
+    assertThat(TwistPoint.INFINITY.isInGroup()).isTrue();
+    assertThat(GENERATOR.multiply(CURVE_ORDER).isInfinity()).isTrue();
+  }
+
+  @Test
+  public void shouldRejectPointOutsideSubgroup() {
+    assertThat(OUTSIDE_SUBGROUP.isInGroup()).isFalse();
+  }
+
+  @Test
+  public void shouldAgreeWithMultiplicationByCurveOrder() {
+    final Random random = new Random(1);
+    for (int i = 0; i < 10; i++) {
+      final BigInteger a = new BigInteger(254, random);
+      final BigInteger b = new BigInteger(64, random);
+      final TwistPoint inGroup = GENERATOR.multiply(a);
+      final TwistPoint outside = OUTSIDE_SUBGROUP.multiply(b).add(inGroup);
+      assertThat(inGroup.isInGroup()).isTrue();
+      assertThat(outside.isInGroup()).isEqualTo(outside.multiply(CURVE_ORDER).isInfinity());
+      assertThat(outside.toAffine().isInGroup()).isEqualTo(outside.isInGroup());
+    }
+  }
+
+  @Test
+  public void shouldMatchMultiplicationByModulusUnderFrobenius() {
+    final TwistPoint point = GENERATOR.multiply(BigInteger.valueOf(12345));
+    final TwistPoint viaFrobenius = point.frobenius().toAffine();
+    final TwistPoint viaScalar = point.multiply(FieldElement.FIELD_MODULUS).toAffine();
+    assertThat(viaFrobenius.x).isEqualTo(viaScalar.x);
+    assertThat(viaFrobenius.y).isEqualTo(viaScalar.y);
+  }
+
+  @Test
+  public void shouldRejectPointsNotOnTwist() {
+    assertThat(TwistPoint.fromAffine(GENERATOR.x, GENERATOR.x)).isNull();
+  }
+
+  private static TwistPoint twistPoint(
+      final String xReal, final String xImaginary, final String yReal, final String yImaginary) {
+    return TwistPoint.fromAffine(
+        MontgomeryFq2.create(parse(xReal), parse(xImaginary)),
+        MontgomeryFq2.create(parse(yReal), parse(yImaginary)));
+  }
+
+  private static BigInteger parse(final String value) {
+    return value.startsWith("0x") ? new BigInteger(value.substring(2), 16) : new BigInteger(value);
+  }
+}
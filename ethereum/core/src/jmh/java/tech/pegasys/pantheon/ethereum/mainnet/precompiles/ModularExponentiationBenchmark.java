@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import tech.pegasys.pantheon.ethereum.mainnet.SpuriousDragonGasCalculator;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Runs the modexp precompile over the EIP-198 examples, RSA sized operands and a small modulus with
+ * a long exponent, next to a plain {@link BigInteger#modPow} over the same operands.
+ */
+@State(Scope.Thread)
+public class ModularExponentiationBenchmark {
+
+  private static final String SECP256K1_P =
+      "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2f";
+  private static final String SECP256K1_P_MINUS_1 =
+      "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2e";
+
+  @Param({
+    "eip198Fermat",
+    "eip198EmptyBase",
+    "rsa2048",
+    "rsa2048FullExponent",
+    "rsa4096",
+    "smallModulusLongExponent"
+  })
+  public String vector;
+
+  private BigIntegerModularExponentiationPrecompiledContract contract;
+  private BytesValue input;
+  private BigInteger base;
+  private BigInteger exponent;
+  private BigInteger modulus;
+
+  @Setup
+  public void prepare() {
+    contract =
+        new BigIntegerModularExponentiationPrecompiledContract(new SpuriousDragonGasCalculator());
+    final Random random = new Random(1);
+    switch (vector) {
+      case "eip198Fermat":
+        setOperands(
+            BytesValue.of(3),
+            BytesValue.fromHexString(SECP256K1_P_MINUS_1),
+            BytesValue.fromHexString(SECP256K1_P));
+        break;
+      case "eip198EmptyBase":
+        setOperands(
+            BytesValue.EMPTY,
+            BytesValue.fromHexString(SECP256K1_P_MINUS_1),
+            BytesValue.fromHexString(SECP256K1_P));
+        break;
+      case "rsa2048":
+        setOperands(randomBytes(random, 256), BytesValue.of(1, 0, 1), randomModulus(random, 256));
+        break;
+      case "rsa2048FullExponent":
+        setOperands(randomBytes(random, 256), randomBytes(random, 256), randomModulus(random, 256));
+        break;
+      case "rsa4096":
+        setOperands(randomBytes(random, 512), BytesValue.of(1, 0, 1), randomModulus(random, 512));
+        break;
+      case "smallModulusLongExponent":
+        setOperands(randomBytes(random, 32), randomBytes(random, 4_096), randomModulus(random, 4));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown vector " + vector);
+    }
+  }
+
+  private void setOperands(final BytesValue b, final BytesValue e, final BytesValue m) {
+    input =
+        BytesValues.concatenate(
+            UInt256.of(b.size()).getBytes(),
+            UInt256.of(e.size()).getBytes(),
+            UInt256.of(m.size()).getBytes(),
+            b,
+            e,
+            m);
+    base = BytesValues.asUnsignedBigInteger(b);
+    exponent = BytesValues.asUnsignedBigInteger(e);
+    modulus = BytesValues.asUnsignedBigInteger(m);
+  }
+
+  private static BytesValue randomBytes(final Random random, final int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return BytesValue.wrap(bytes);
+  }
+
+  // Odd and of full width, like an RSA modulus.
+  private static BytesValue randomModulus(final Random random, final int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    bytes[0] |= (byte) 0x80;
+    bytes[length - 1] |= 1;
+    return BytesValue.wrap(bytes);
+  }
+
+  @Benchmark
+  public BytesValue precompile() {
+    return contract.compute(input, null);
+  }
+
+  @Benchmark
+  public long gasRequirement() {
+    return contract.gasRequirement(input);
+  }
+
+  @Benchmark
+  public BigInteger bigIntegerModPow() {
+    return base.modPow(exponent, modulus);
+  }
+}
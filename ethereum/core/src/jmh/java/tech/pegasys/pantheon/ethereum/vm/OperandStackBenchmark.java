@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static tech.pegasys.pantheon.util.uint.UInt256s.greaterThanOrEqualTo256;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.Bytes32s;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Runs the same synthetic mix of stack, arithmetic, comparison and bitwise opcodes against a {@link
+ * FlatOperandStack} using its in-place operations and against a {@link PreAllocatedOperandStack}
+ * using the {@link Bytes32} and {@link UInt256} based implementations the operations used before.
+ */
+@State(Scope.Thread)
+public class OperandStackBenchmark {
+
+  private static final int PUSH = 0;
+  private static final int DUP2 = 1;
+  private static final int SWAP1 = 2;
+  private static final int ADD = 3;
+  private static final int MUL = 4;
+  private static final int SUB = 5;
+  private static final int LT = 6;
+  private static final int ISZERO = 7;
+  private static final int AND = 8;
+  private static final int XOR = 9;
+  private static final int NOT = 10;
+  private static final int SHR = 11;
+  private static final int POP = 12;
+
+  // Each PUSH reads the next 32 byte word of DATA; the program leaves the stack empty.
+  private static final int[] PROGRAM = {
+    PUSH, PUSH, DUP2, ADD, SWAP1, DUP2, MUL, LT, PUSH, SHR, PUSH, PUSH, AND, XOR, NOT, ISZERO, PUSH,
+    SUB, PUSH, PUSH, SWAP1, POP, ADD, POP
+  };
+
+  private static final int ITERATIONS = 100;
+
+  private static final BytesValue DATA =
+      BytesValue.fromHexString(
+          "0x0000000000000000000000000000000000000000000000000000000000001234"
+              + "00000000000000000000000000000000ffffffffffffffffffffffffffffffff"
+              + "0000000000000000000000000000000000000000000000000000000000000003"
+              + "0102030405060708091011121314151617181920212223242526272829303132"
+              + "ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00"
+              + "000000000000000000000000000000000000000000000000000000000000002a"
+              + "8000000000000000000000000000000000000000000000000000000000000001"
+              + "0000000000000000000000000000000000000000000000000000000000000010");
+
+  private FlatOperandStack flatStack;
+  private PreAllocatedOperandStack preAllocatedStack;
+
+  @Setup
+  public void prepare() {
+    flatStack = new FlatOperandStack(1024);
+    preAllocatedStack = new PreAllocatedOperandStack(1024);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ITERATIONS)
+  public int flatOperandStack() {
+    final FlatOperandStack stack = flatStack;
+    for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+      int data = 0;
+      for (final int opcode : PROGRAM) {
+        switch (opcode) {
+          case PUSH:
+            stack.push(DATA, data, Bytes32.SIZE);
+            data += Bytes32.SIZE;
+            break;
+          case DUP2:
+            stack.dup(1);
+            break;
+          case SWAP1:
+            stack.swap(1);
+            break;
+          case ADD:
+            stack.add();
+            break;
+          case MUL:
+            stack.mul();
+            break;
+          case SUB:
+            stack.sub();
+            break;
+          case LT:
+            stack.lt();
+            break;
+          case ISZERO:
+            stack.isZero();
+            break;
+          case AND:
+            stack.and();
+            break;
+          case XOR:
+            stack.xor();
+            break;
+          case NOT:
+            stack.not();
+            break;
+          case SHR:
+            stack.shr();
+            break;
+          case POP:
+            stack.bulkPop(1);
+            break;
+          default:
+            throw new IllegalStateException("Unknown opcode " + opcode);
+        }
+      }
+    }
+    return stack.size();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ITERATIONS)
+  public int preAllocatedOperandStack() {
+    final PreAllocatedOperandStack stack = preAllocatedStack;
+    for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+      int data = 0;
+      for (final int opcode : PROGRAM) {
+        switch (opcode) {
+          case PUSH:
+            final MutableBytes32 bytes = MutableBytes32.create();
+            DATA.slice(data, Bytes32.SIZE).copyTo(bytes, 0);
+            stack.push(bytes);
+            data += Bytes32.SIZE;
+            break;
+          case DUP2:
+            stack.push(stack.get(1));
+            break;
+          case SWAP1:
+            final Bytes32 tmp = stack.get(0);
+            stack.set(0, stack.get(1));
+            stack.set(1, tmp);
+            break;
+          case ADD:
+            stack.push(stack.pop().asUInt256().plus(stack.pop().asUInt256()).getBytes());
+            break;
+          case MUL:
+            stack.push(stack.pop().asUInt256().times(stack.pop().asUInt256()).getBytes());
+            break;
+          case SUB:
+            stack.push(stack.pop().asUInt256().minus(stack.pop().asUInt256()).getBytes());
+            break;
+          case LT:
+            final UInt256 a = stack.pop().asUInt256();
+            final UInt256 b = stack.pop().asUInt256();
+            stack.push(a.compareTo(b) < 0 ? Bytes32.TRUE : Bytes32.FALSE);
+            break;
+          case ISZERO:
+            stack.push(stack.pop().asUInt256().isZero() ? Bytes32.TRUE : Bytes32.FALSE);
+            break;
+          case AND:
+            stack.push(stack.pop().asUInt256().and(stack.pop().asUInt256()).getBytes());
+            break;
+          case XOR:
+            stack.push(stack.pop().asUInt256().xor(stack.pop().asUInt256()).getBytes());
+            break;
+          case NOT:
+            stack.push(stack.pop().asUInt256().not().getBytes());
+            break;
+          case SHR:
+            final UInt256 shift = stack.pop().asUInt256();
+            final Bytes32 value = stack.pop();
+            stack.push(
+                greaterThanOrEqualTo256(shift)
+                    ? Bytes32.ZERO
+                    : Bytes32s.shiftRight(value, shift.toInt()));
+            break;
+          case POP:
+            stack.pop();
+            break;
+          default:
+            throw new IllegalStateException("Unknown opcode " + opcode);
+        }
+      }
+    }
+    return stack.size();
+  }
+}
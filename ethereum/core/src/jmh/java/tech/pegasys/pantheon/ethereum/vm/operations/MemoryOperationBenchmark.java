@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm.operations;
+
+import tech.pegasys.pantheon.ethereum.mainnet.ConstantinopleFixGasCalculator;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Thread)
+public class MemoryOperationBenchmark {
+
+  private static final Bytes32 WORD =
+      Bytes32.fromHexString("0x0102030405060708091011121314151617181920212223242526272829303132");
+  private static final int COPY_SIZE = 1024;
+
+  @Param({
+    "0", // Word aligned
+    "17" // Straddles two words
+  })
+  public long offset;
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private MStoreOperation mStoreOperation;
+  private MLoadOperation mLoadOperation;
+  private MessageFrame frame;
+  private UInt256 location;
+  private BytesValue copyData;
+
+  @Setup
+  public void prepare() throws Exception {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    final ConstantinopleFixGasCalculator gasCalculator = new ConstantinopleFixGasCalculator();
+    mStoreOperation = new MStoreOperation(gasCalculator);
+    mLoadOperation = new MLoadOperation(gasCalculator);
+    frame = operationBenchmarkHelper.createMessageFrame();
+    location = UInt256.of(offset);
+    copyData = BytesValue.wrap(new byte[COPY_SIZE]);
+    // Pre-expand memory so the benchmarks measure access rather than growth.
+    frame.expandMemory(0, COPY_SIZE + 2 * Bytes32.SIZE);
+  }
+
+  @TearDown
+  public void cleanUp() throws Exception {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  @Benchmark
+  public Bytes32 storeAndLoadWord() {
+    frame.pushStackItem(WORD);
+    frame.pushStackItem(location.getBytes());
+    mStoreOperation.execute(frame);
+    frame.pushStackItem(location.getBytes());
+    mLoadOperation.execute(frame);
+    return frame.popStackItem();
+  }
+
+  @Benchmark
+  public BytesValue copyInAndOut() {
+    frame.writeMemory(location, UInt256.of(COPY_SIZE), copyData);
+    return frame.readMemory(location, UInt256.of(COPY_SIZE));
+  }
+
+  @Benchmark
+  public long expandFreshMemory() {
+    final MessageFrame cleanFrame = operationBenchmarkHelper.createMessageFrame();
+    for (int i = 0; i < COPY_SIZE; i += Bytes32.SIZE) {
+      cleanFrame.writeMemory(UInt256.of(offset + i), UInt256.U_32, WORD);
+    }
+    return cleanFrame.memoryByteSize();
+  }
+}
@@ -110,7 +110,8 @@ public class OperationBenchmarkHelper {
         .completer(messageFrame -> {})
         .miningBeneficiary(messageFrame.getMiningBeneficiary())
         .maxStackSize(messageFrame.getMaxStackSize())
-        .blockHashLookup(messageFrame.getBlockHashLookup());
+        .blockHashLookup(messageFrame.getBlockHashLookup())
+        .codeCache(messageFrame.getCodeCache());
   }
 
   public void cleanUp() throws IOException {
@@ -64,6 +64,10 @@ public interface BlockchainStorage {
 
     void removeTransactionLocation(Hash transactionHash);
 
+    void removeBlockBody(Hash blockHash);
+
+    void removeTransactionReceipts(Hash blockHash);
+
     void commit();
 
     void rollback();
@@ -49,17 +49,55 @@ public final class Gas {
   }
 
   public static Gas of(final UInt256 value) {
-    if (value.fitsLong()) {
-      return of(value.toLong());
-    } else {
-      return MAX_VALUE;
-    }
+    return of(saturatedValueOf(value));
   }
 
   public static Gas of(final Bytes32 value) {
     return Gas.of(UInt256.wrap(value));
   }
 
+  /**
+   * Converts a 256-bit quantity to a primitive amount of gas, saturating at {@link Long#MAX_VALUE}.
+   *
+   * @param value the quantity to convert
+   * @return {@code value} as a long, or {@link Long#MAX_VALUE} if it doesn't fit
+   */
+  public static long saturatedValueOf(final UInt256 value) {
+    return value.fitsLong() ? value.toLong() : Long.MAX_VALUE;
+  }
+
+  /**
+   * Adds two primitive amounts of gas, saturating at {@link Long#MAX_VALUE} as {@link #plus(Gas)}
+   * does.
+   *
+   * @param a the first amount
+   * @param b the second amount
+   * @return {@code a + b}, or {@link Long#MAX_VALUE} on overflow
+   */
+  public static long saturatedAdd(final long a, final long b) {
+    try {
+      return Math.addExact(a, b);
+    } catch (final ArithmeticException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Multiplies two primitive amounts of gas, saturating at {@link Long#MAX_VALUE} as {@link
+   * #times(Gas)} does.
+   *
+   * @param a the first amount
+   * @param b the second amount
+   * @return {@code a * b}, or {@link Long#MAX_VALUE} on overflow
+   */
+  public static long saturatedMultiply(final long a, final long b) {
+    try {
+      return Math.multiplyExact(a, b);
+    } catch (final ArithmeticException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
   public static Gas fromHexString(final String str) {
     try {
       final long value = Long.decode(str);
@@ -92,11 +130,7 @@ public final class Gas {
   }
 
   public Gas plus(final Gas amount) {
-    try {
-      return of(Math.addExact(value, amount.value));
-    } catch (final ArithmeticException e) {
-      return MAX_VALUE;
-    }
+    return of(saturatedAdd(value, amount.value));
   }
 
   public Gas minus(final Gas amount) {
@@ -104,11 +138,7 @@ public final class Gas {
   }
 
   public Gas times(final Gas amount) {
-    try {
-      return of(Math.multiplyExact(value, amount.value));
-    } catch (final ArithmeticException e) {
-      return MAX_VALUE;
-    }
+    return of(saturatedMultiply(value, amount.value));
   }
 
   public Gas times(final long amount) {
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * A {@link WorldUpdater} that executes a transaction over a snapshot of the world state while
+ * recording every account and storage value the execution read from that snapshot.
+ *
+ * <p>Once executed, the updates can be applied on top of a world state that has moved on since
+ * the snapshot was taken (typically because the transactions preceding this one in a block have
+ * been committed), provided {@link #isValidAgainst(WorldView)} confirms that none of the values
+ * read have changed in between.
+ *
+ * <p>The fee recipient gets special treatment since nearly every transaction of a block credits
+ * it: if the only access made to it was the final fee payment, the payment is applied as a
+ * balance increment rather than as an overwrite, and its value isn't validated.
+ *
+ * <p>Updates are not committed with {@link #commit()}, but applied with {@link
+ * #applyTo(WorldUpdater)}.
+ */
+public class SpeculativeWorldUpdater extends AbstractWorldUpdater<WorldView, Account> {
+
+  private final ReadRecorder reads;
+  private final Address feeRecipient;
+  private int feeRecipientAccesses;
+
+  public SpeculativeWorldUpdater(final WorldView snapshot, final Address feeRecipient) {
+    this(new ReadRecorder(snapshot), feeRecipient);
+  }
+
+  private SpeculativeWorldUpdater(final ReadRecorder reads, final Address feeRecipient) {
+    super(reads);
+    this.reads = reads;
+    this.feeRecipient = feeRecipient;
+  }
+
+  @Override
+  public Account get(final Address address) {
+    countAccess(address);
+    return super.get(address);
+  }
+
+  @Override
+  protected Account getForMutation(final Address address) {
+    countAccess(address);
+    return reads.get(address);
+  }
+
+  private void countAccess(final Address address) {
+    if (address.equals(feeRecipient)) {
+      feeRecipientAccesses++;
+    }
+  }
+
+  @Override
+  public Collection<Account> getTouchedAccounts() {
+    return new ArrayList<>(updatedAccounts());
+  }
+
+  @Override
+  public void revert() {
+    deletedAccounts().clear();
+    updatedAccounts().clear();
+  }
+
+  @Override
+  public void commit() {
+    throw new UnsupportedOperationException("Speculative updates must be applied with applyTo");
+  }
+
+  /**
+   * Checks whether the values read during execution are unchanged in the provided world view.
+   *
+   * @param current the world view the updates are about to be applied on.
+   * @return {@code true} if executing over {@code current} would have read the exact same values
+   *     as executing over the snapshot, in which case the updates can be applied on it.
+   */
+  public boolean isValidAgainst(final WorldView current) {
+    if (!reads.complete) {
+      return false;
+    }
+    final boolean feeOnly = feeRecipientOnlyCredited();
+    for (final Map.Entry<Address, RecordingAccount> entry : reads.accounts.entrySet()) {
+      final Address address = entry.getKey();
+      if (feeOnly && address.equals(feeRecipient)) {
+        continue;
+      }
+      final RecordingAccount read = entry.getValue();
+      final Account account = current.get(address);
+      if (read == null) {
+        if (account != null) {
+          return false;
+        }
+        continue;
+      }
+      if (account == null) {
+        return false;
+      }
+      final Account original = read.account;
+      if (account.getNonce() != original.getNonce()
+          || account.getVersion() != original.getVersion()
+          || !account.getBalance().equals(original.getBalance())
+          || !account.getCodeHash().equals(original.getCodeHash())) {
+        return false;
+      }
+      for (final Map.Entry<UInt256, UInt256> slot : read.storage.entrySet()) {
+        if (!account.getStorageValue(slot.getKey()).equals(slot.getValue())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Applies the updates made during execution to the provided updater, which is not committed.
+   *
+   * @param target the updater to apply the updates to.
+   */
+  public void applyTo(final WorldUpdater target) {
+    deletedAccounts().forEach(target::deleteAccount);
+    final boolean feeOnly = feeRecipientOnlyCredited();
+    for (final UpdateTrackingAccount<Account> update : updatedAccounts()) {
+      final Address address = update.getAddress();
+      if (feeOnly && address.equals(feeRecipient)) {
+        target.getOrCreate(address).incrementBalance(feeRecipientCredit(update));
+        continue;
+      }
+      final MutableAccount account =
+          update.getWrappedAccount() == null
+              ? target.createAccount(address)
+              : target.getMutable(address);
+      account.setNonce(update.getNonce());
+      account.setBalance(update.getBalance());
+      account.setVersion(update.getVersion());
+      if (update.codeWasUpdated()) {
+        account.setCode(update.getCode());
+      }
+      if (update.getStorageWasCleared()) {
+        account.clearStorage();
+      }
+      update.getUpdatedStorage().forEach(account::setStorageValue);
+    }
+  }
+
+  private boolean feeRecipientOnlyCredited() {
+    if (feeRecipientAccesses != 1 || deletedAccounts().contains(feeRecipient)) {
+      return false;
+    }
+    final UpdateTrackingAccount<Account> update = findUpdate(feeRecipient);
+    // Only the balance may have changed, new accounts having their code set to empty.
+    if (update == null
+        || (update.getWrappedAccount() == null ? update.hasCode() : update.codeWasUpdated())
+        || update.getStorageWasCleared()
+        || !update.getUpdatedStorage().isEmpty()) {
+      return false;
+    }
+    final RecordingAccount read = reads.accounts.get(feeRecipient);
+    final long originalNonce = read == null ? Account.DEFAULT_NONCE : read.account.getNonce();
+    return update.getNonce() == originalNonce
+        && update.getBalance().compareTo(originalBalance(read)) >= 0;
+  }
+
+  private Wei feeRecipientCredit(final UpdateTrackingAccount<Account> update) {
+    return update.getBalance().minus(originalBalance(reads.accounts.get(feeRecipient)));
+  }
+
+  private static Wei originalBalance(final RecordingAccount read) {
+    return read == null ? Account.DEFAULT_BALANCE : read.account.getBalance();
+  }
+
+  private UpdateTrackingAccount<Account> findUpdate(final Address address) {
+    for (final UpdateTrackingAccount<Account> update : updatedAccounts()) {
+      if (update.getAddress().equals(address)) {
+        return update;
+      }
+    }
+    return null;
+  }
+
+  /** Records the accounts, and through them the storage values, read from the snapshot. */
+  private static class ReadRecorder implements WorldView {
+    private final WorldView snapshot;
+    // A null value records that the account didn't exist.
+    private final Map<Address, RecordingAccount> accounts = new HashMap<>();
+    // Whether all reads could be recorded, and thus validated.
+    private boolean complete = true;
+
+    ReadRecorder(final WorldView snapshot) {
+      this.snapshot = snapshot;
+    }
+
+    @Override
+    public Account get(final Address address) {
+      if (accounts.containsKey(address)) {
+        return accounts.get(address);
+      }
+      final Account account = snapshot.get(address);
+      final RecordingAccount read = account == null ? null : new RecordingAccount(this, account);
+      accounts.put(address, read);
+      return read;
+    }
+  }
+
+  private static class RecordingAccount implements Account {
+    private final ReadRecorder recorder;
+    private final Account account;
+    private final Map<UInt256, UInt256> storage = new HashMap<>();
+
+    RecordingAccount(final ReadRecorder recorder, final Account account) {
+      this.recorder = recorder;
+      this.account = account;
+    }
+
+    @Override
+    public Address getAddress() {
+      return account.getAddress();
+    }
+
+    @Override
+    public Hash getAddressHash() {
+      return account.getAddressHash();
+    }
+
+    @Override
+    public long getNonce() {
+      return account.getNonce();
+    }
+
+    @Override
+    public Wei getBalance() {
+      return account.getBalance();
+    }
+
+    @Override
+    public BytesValue getCode() {
+      return account.getCode();
+    }
+
+    @Override
+    public Hash getCodeHash() {
+      return account.getCodeHash();
+    }
+
+    @Override
+    public boolean hasCode() {
+      return account.hasCode();
+    }
+
+    @Override
+    public int getVersion() {
+      return account.getVersion();
+    }
+
+    @Override
+    public UInt256 getStorageValue(final UInt256 key) {
+      return storage.computeIfAbsent(key, account::getStorageValue);
+    }
+
+    @Override
+    public UInt256 getOriginalStorageValue(final UInt256 key) {
+      // Validated through the current value, which is what the original value of a slot is at the
+      // start of a transaction.
+      getStorageValue(key);
+      return account.getOriginalStorageValue(key);
+    }
+
+    @Override
+    public NavigableMap<Bytes32, UInt256> storageEntriesFrom(
+        final Bytes32 startKeyHash, final int limit) {
+      recorder.complete = false;
+      return account.storageEntriesFrom(startKeyHash, limit);
+    }
+  }
+}
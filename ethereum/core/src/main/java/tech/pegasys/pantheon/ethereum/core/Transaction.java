@@ -245,6 +245,26 @@ public class Transaction {
     return sender;
   }
 
+  /**
+   * Returns whether the transaction sender has already been recovered from the signature.
+   *
+   * @return {@code true} if {@link #getSender()} doesn't need to recover the sender
+   */
+  public boolean isSenderRecovered() {
+    return sender != null;
+  }
+
+  /**
+   * Sets the transaction sender to the one recovered for a transaction with the same hash, so that
+   * it doesn't have to be recovered again from the signature.
+   *
+   * @param sender the sender recovered for a transaction with the same hash
+   * @see TransactionSenderCache
+   */
+  void setRecoveredSender(final Address sender) {
+    this.sender = sender;
+  }
+
   private Bytes32 getOrComputeSenderRecoveryHash() {
     if (hashNoSignature == null) {
       hashNoSignature =
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Remembers the senders recovered for transactions by transaction hash, so that a transaction
+ * decoded more than once only has its sender recovered from the signature once.
+ *
+ * <p>Senders are only learnt from transactions that recovered them, so a transaction can't be
+ * given a sender that its signature doesn't recover.
+ */
+public class TransactionSenderCache {
+
+  private final Cache<Hash, Address> senders;
+
+  public TransactionSenderCache(final long maximumSize) {
+    this.senders = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  /**
+   * Sets the sender of a transaction if it was recovered before for a transaction with the same
+   * hash.
+   *
+   * @param transaction the transaction
+   * @return {@code true} if the transaction sender no longer needs recovering
+   */
+  public boolean useKnownSender(final Transaction transaction) {
+    if (transaction.isSenderRecovered()) {
+      return true;
+    }
+    final Address sender = senders.getIfPresent(transaction.hash());
+    if (sender == null) {
+      return false;
+    }
+    transaction.setRecoveredSender(sender);
+    return true;
+  }
+
+  /**
+   * Recovers the sender of a transaction from its signature and remembers it.
+   *
+   * @param transaction the transaction
+   * @return the transaction sender
+   * @throws IllegalStateException if the signature doesn't allow to recover a sender
+   */
+  public Address recover(final Transaction transaction) {
+    final Address sender = transaction.getSender();
+    senders.put(transaction.hash(), sender);
+    return sender;
+  }
+}
@@ -17,6 +17,9 @@ import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolScheduleBuilder;
 
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
 /** A ProtocolSchedule which behaves similarly to MainNet, but with a much reduced difficulty. */
 public class FixedDifficultyProtocolSchedule {
 
@@ -24,9 +27,20 @@ public class FixedDifficultyProtocolSchedule {
       final GenesisConfigOptions config,
       final PrivacyParameters privacyParameters,
       final boolean isRevertReasonEnabled) {
+    return create(config, privacyParameters, isRevertReasonEnabled, Optional.empty());
+  }
+
+  public static ProtocolSchedule<Void> create(
+      final GenesisConfigOptions config,
+      final PrivacyParameters privacyParameters,
+      final boolean isRevertReasonEnabled,
+      final Optional<Executor> speculativeExecutor) {
     return new ProtocolScheduleBuilder<>(
             config,
-            builder -> builder.difficultyCalculator(FixedDifficultyCalculators.calculator(config)),
+            builder ->
+                builder
+                    .difficultyCalculator(FixedDifficultyCalculators.calculator(config))
+                    .speculativeExecutor(speculativeExecutor),
             privacyParameters,
             isRevertReasonEnabled)
         .createProtocolSchedule();
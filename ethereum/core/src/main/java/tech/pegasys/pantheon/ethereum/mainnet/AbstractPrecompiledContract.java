@@ -12,7 +12,6 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -39,7 +38,7 @@ public abstract class AbstractPrecompiledContract implements PrecompiledContract
   }
 
   @Override
-  public abstract Gas gasRequirement(BytesValue input);
+  public abstract long gasRequirement(BytesValue input);
 
   @Override
   public abstract BytesValue compute(BytesValue input, MessageFrame messageFrame);
@@ -13,7 +13,6 @@
 package tech.pegasys.pantheon.ethereum.mainnet;
 
 import tech.pegasys.pantheon.ethereum.core.Account;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 /**
@@ -25,17 +24,17 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 public class ConstantinopleFixGasCalculator extends ConstantinopleGasCalculator {
 
   /** Same as {#link {@link FrontierGasCalculator#STORAGE_SET_GAS_COST} */
-  private static final Gas STORAGE_SET_GAS_COST = Gas.of(20_000L);
+  private static final long STORAGE_SET_GAS_COST = 20_000L;
   /** Same as {#link {@link FrontierGasCalculator#STORAGE_RESET_GAS_COST} */
-  private static final Gas STORAGE_RESET_GAS_COST = Gas.of(5_000L);
+  private static final long STORAGE_RESET_GAS_COST = 5_000L;
   /** Same as {#link {@link FrontierGasCalculator#STORAGE_RESET_REFUND_AMOUNT} */
-  private static final Gas STORAGE_RESET_REFUND_AMOUNT = Gas.of(15_000L);
+  private static final long STORAGE_RESET_REFUND_AMOUNT = 15_000L;
 
   /**
    * Same as {#link {@link FrontierGasCalculator#calculateStorageCost(Account, UInt256, UInt256)}
    */
   @Override
-  public Gas calculateStorageCost(
+  public long calculateStorageCost(
       final Account account, final UInt256 key, final UInt256 newValue) {
     return !newValue.isZero() && account.getStorageValue(key).isZero()
         ? STORAGE_SET_GAS_COST
@@ -47,10 +46,10 @@ public class ConstantinopleFixGasCalculator extends ConstantinopleGasCalculator
    * UInt256)}
    */
   @Override
-  public Gas calculateStorageRefundAmount(
+  public long calculateStorageRefundAmount(
       final Account account, final UInt256 key, final UInt256 newValue) {
     return newValue.isZero() && !account.getStorageValue(key).isZero()
         ? STORAGE_RESET_REFUND_AMOUNT
-        : Gas.ZERO;
+        : 0L;
   }
 }
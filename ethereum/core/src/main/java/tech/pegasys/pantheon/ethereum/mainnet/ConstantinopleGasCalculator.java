@@ -12,36 +12,40 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import static tech.pegasys.pantheon.ethereum.core.Gas.saturatedAdd;
+import static tech.pegasys.pantheon.ethereum.core.Gas.saturatedMultiply;
+import static tech.pegasys.pantheon.ethereum.core.Gas.saturatedValueOf;
+
 import tech.pegasys.pantheon.ethereum.core.Account;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 public class ConstantinopleGasCalculator extends SpuriousDragonGasCalculator {
 
-  private static final Gas SSTORE_NO_OP_COST = Gas.of(200);
-  private static final Gas SSTORE_ADDITIONAL_WRITE_COST = Gas.of(200);
-  private static final Gas SSTORE_FIRST_DIRTY_NEW_STORAGE_COST = Gas.of(20_000);
-  private static final Gas SSTORE_FIRST_DIRTY_EXISTING_STORAGE_COST = Gas.of(5_000);
-  private static final Gas STORAGE_RESET_REFUND_AMOUNT = Gas.of(15_000);
-  private static final Gas NEGATIVE_STORAGE_RESET_REFUND_AMOUNT = Gas.of(-15_000);
-  private static final Gas SSTORE_DIRTY_RETURN_TO_UNUSED_REFUND_AMOUNT = Gas.of(19800);
-  private static final Gas SSTORE_DIRTY_RETURN_TO_ORIGINAL_VALUE_REFUND_AMOUNT = Gas.of(4800);
+  private static final long SSTORE_NO_OP_COST = 200L;
+  private static final long SSTORE_ADDITIONAL_WRITE_COST = 200L;
+  private static final long SSTORE_FIRST_DIRTY_NEW_STORAGE_COST = 20_000L;
+  private static final long SSTORE_FIRST_DIRTY_EXISTING_STORAGE_COST = 5_000L;
+  private static final long STORAGE_RESET_REFUND_AMOUNT = 15_000L;
+  private static final long NEGATIVE_STORAGE_RESET_REFUND_AMOUNT = -15_000L;
+  private static final long SSTORE_DIRTY_RETURN_TO_UNUSED_REFUND_AMOUNT = 19800L;
+  private static final long SSTORE_DIRTY_RETURN_TO_ORIGINAL_VALUE_REFUND_AMOUNT = 4800L;
 
-  private static final Gas EXTCODE_HASH_COST = Gas.of(400);
+  private static final long EXTCODE_HASH_COST = 400L;
 
   @Override
-  public Gas create2OperationGasCost(final MessageFrame frame) {
+  public long create2OperationGasCost(final MessageFrame frame) {
     final UInt256 initCodeLength = frame.getStackItem(2).asUInt256();
     final UInt256 numWords = initCodeLength.dividedCeilBy(Bytes32.SIZE);
-    final Gas initCodeHashCost = SHA3_OPERATION_WORD_GAS_COST.times(Gas.of(numWords));
-    return createOperationGasCost(frame).plus(initCodeHashCost);
+    final long initCodeHashCost =
+        saturatedMultiply(SHA3_OPERATION_WORD_GAS_COST, saturatedValueOf(numWords));
+    return saturatedAdd(createOperationGasCost(frame), initCodeHashCost);
   }
 
   @Override
   // As per https://eips.ethereum.org/EIPS/eip-1283
-  public Gas calculateStorageCost(
+  public long calculateStorageCost(
       final Account account, final UInt256 key, final UInt256 newValue) {
 
     final UInt256 currentValue = account.getStorageValue(key);
@@ -61,24 +65,24 @@ public class ConstantinopleGasCalculator extends SpuriousDragonGasCalculator {
 
   @Override
   // As per https://eips.ethereum.org/EIPS/eip-1283
-  public Gas calculateStorageRefundAmount(
+  public long calculateStorageRefundAmount(
       final Account account, final UInt256 key, final UInt256 newValue) {
 
     final UInt256 currentValue = account.getStorageValue(key);
     if (currentValue.equals(newValue)) {
-      return Gas.ZERO;
+      return 0L;
     } else {
       final UInt256 originalValue = account.getOriginalStorageValue(key);
       if (originalValue.equals(currentValue)) {
         if (originalValue.isZero()) {
-          return Gas.ZERO;
+          return 0L;
         } else if (newValue.isZero()) {
           return STORAGE_RESET_REFUND_AMOUNT;
         } else {
-          return Gas.ZERO;
+          return 0L;
         }
       } else {
-        Gas refund = Gas.ZERO;
+        long refund = 0L;
         if (!originalValue.isZero()) {
           if (currentValue.isZero()) {
             refund = NEGATIVE_STORAGE_RESET_REFUND_AMOUNT;
@@ -89,7 +93,8 @@ public class ConstantinopleGasCalculator extends SpuriousDragonGasCalculator {
 
         if (originalValue.equals(newValue)) {
           refund =
-              refund.plus(
+              saturatedAdd(
+                  refund,
                   originalValue.isZero()
                       ? SSTORE_DIRTY_RETURN_TO_UNUSED_REFUND_AMOUNT
                       : SSTORE_DIRTY_RETURN_TO_ORIGINAL_VALUE_REFUND_AMOUNT);
@@ -100,7 +105,7 @@ public class ConstantinopleGasCalculator extends SpuriousDragonGasCalculator {
   }
 
   @Override
-  public Gas extCodeHashOperationGasCost() {
+  public long extCodeHashOperationGasCost() {
     return EXTCODE_HASH_COST;
   }
 }
@@ -12,8 +12,11 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import static tech.pegasys.pantheon.ethereum.core.Gas.saturatedAdd;
+import static tech.pegasys.pantheon.ethereum.core.Gas.saturatedMultiply;
+import static tech.pegasys.pantheon.ethereum.core.Gas.saturatedValueOf;
+
 import tech.pegasys.pantheon.ethereum.core.Account;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
@@ -26,90 +29,90 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 
 public class FrontierGasCalculator implements GasCalculator {
 
-  private static final Gas TX_DATA_ZERO_COST = Gas.of(4L);
+  private static final long TX_DATA_ZERO_COST = 4L;
 
-  private static final Gas TX_DATA_NON_ZERO_COST = Gas.of(68L);
+  private static final long TX_DATA_NON_ZERO_COST = 68L;
 
-  private static final Gas TX_BASE_COST = Gas.of(21_000L);
+  private static final long TX_BASE_COST = 21_000L;
 
-  private static final Gas TX_CREATE_EXTRA_COST = Gas.of(0L);
+  private static final long TX_CREATE_EXTRA_COST = 0L;
 
-  private static final Gas CODE_DEPOSIT_BYTE_COST = Gas.of(200L);
+  private static final long CODE_DEPOSIT_BYTE_COST = 200L;
 
-  private static final Gas ID_PRECOMPILED_BASE_GAS_COST = Gas.of(15L);
+  private static final long ID_PRECOMPILED_BASE_GAS_COST = 15L;
 
-  private static final Gas ID_PRECOMPILED_WORD_GAS_COST = Gas.of(3L);
+  private static final long ID_PRECOMPILED_WORD_GAS_COST = 3L;
 
-  private static final Gas ECREC_PRECOMPILED_GAS_COST = Gas.of(3_000L);
+  private static final long ECREC_PRECOMPILED_GAS_COST = 3_000L;
 
-  private static final Gas SHA256_PRECOMPILED_BASE_GAS_COST = Gas.of(60L);
+  private static final long SHA256_PRECOMPILED_BASE_GAS_COST = 60L;
 
-  private static final Gas SHA256_PRECOMPILED_WORD_GAS_COST = Gas.of(12L);
+  private static final long SHA256_PRECOMPILED_WORD_GAS_COST = 12L;
 
-  private static final Gas RIPEMD160_PRECOMPILED_WORD_GAS_COST = Gas.of(120L);
+  private static final long RIPEMD160_PRECOMPILED_WORD_GAS_COST = 120L;
 
-  private static final Gas RIPEMD160_PRECOMPILED_BASE_GAS_COST = Gas.of(600L);
+  private static final long RIPEMD160_PRECOMPILED_BASE_GAS_COST = 600L;
 
-  private static final Gas VERY_LOW_TIER_GAS_COST = Gas.of(3L);
+  private static final long VERY_LOW_TIER_GAS_COST = 3L;
 
-  private static final Gas LOW_TIER_GAS_COST = Gas.of(5L);
+  private static final long LOW_TIER_GAS_COST = 5L;
 
-  private static final Gas BASE_TIER_GAS_COST = Gas.of(2L);
+  private static final long BASE_TIER_GAS_COST = 2L;
 
-  private static final Gas MID_TIER_GAS_COST = Gas.of(8L);
+  private static final long MID_TIER_GAS_COST = 8L;
 
-  private static final Gas HIGH_TIER_GAS_COST = Gas.of(10L);
+  private static final long HIGH_TIER_GAS_COST = 10L;
 
-  private static final Gas CALL_OPERATION_BASE_GAS_COST = Gas.of(40L);
+  private static final long CALL_OPERATION_BASE_GAS_COST = 40L;
 
-  private static final Gas CALL_VALUE_TRANSFER_GAS_COST = Gas.of(9_000L);
+  private static final long CALL_VALUE_TRANSFER_GAS_COST = 9_000L;
 
-  private static final Gas ADDITIONAL_CALL_STIPEND = Gas.of(2_300L);
+  private static final long ADDITIONAL_CALL_STIPEND = 2_300L;
 
-  private static final Gas NEW_ACCOUNT_GAS_COST = Gas.of(25_000L);
+  private static final long NEW_ACCOUNT_GAS_COST = 25_000L;
 
-  private static final Gas CREATE_OPERATION_GAS_COST = Gas.of(32_000L);
+  private static final long CREATE_OPERATION_GAS_COST = 32_000L;
 
-  private static final Gas COPY_WORD_GAS_COST = Gas.of(3L);
+  private static final long COPY_WORD_GAS_COST = 3L;
 
-  private static final Gas MEMORY_WORD_GAS_COST = Gas.of(3L);
+  private static final long MEMORY_WORD_GAS_COST = 3L;
 
-  private static final Gas BALANCE_OPERATION_GAS_COST = Gas.of(20L);
+  private static final long BALANCE_OPERATION_GAS_COST = 20L;
 
-  private static final Gas BLOCKHASH_OPERATION_GAS_COST = Gas.of(20L);
+  private static final long BLOCKHASH_OPERATION_GAS_COST = 20L;
 
-  private static final Gas EXP_OPERATION_BASE_GAS_COST = Gas.of(10);
+  private static final long EXP_OPERATION_BASE_GAS_COST = 10L;
 
-  private static final Gas EXP_OPERATION_BYTE_GAS_COST = Gas.of(10);
+  private static final long EXP_OPERATION_BYTE_GAS_COST = 10L;
 
-  private static final Gas EXT_CODE_BASE_GAS_COST = Gas.of(20L);
+  private static final long EXT_CODE_BASE_GAS_COST = 20L;
 
-  private static final Gas JUMPDEST_OPERATION_GAS_COST = Gas.of(1);
+  private static final long JUMPDEST_OPERATION_GAS_COST = 1L;
 
-  private static final Gas LOG_OPERATION_BASE_GAS_COST = Gas.of(375L);
+  private static final long LOG_OPERATION_BASE_GAS_COST = 375L;
 
-  private static final Gas LOG_OPERATION_DATA_BYTE_GAS_COST = Gas.of(8L);
+  private static final long LOG_OPERATION_DATA_BYTE_GAS_COST = 8L;
 
-  private static final Gas LOG_OPERATION_TOPIC_GAS_COST = Gas.of(375L);
+  private static final long LOG_OPERATION_TOPIC_GAS_COST = 375L;
 
-  private static final Gas SELFDESTRUCT_OPERATION_GAS_COST = Gas.of(0);
+  private static final long SELFDESTRUCT_OPERATION_GAS_COST = 0L;
 
-  private static final Gas SHA3_OPERATION_BASE_GAS_COST = Gas.of(30L);
+  private static final long SHA3_OPERATION_BASE_GAS_COST = 30L;
 
-  static final Gas SHA3_OPERATION_WORD_GAS_COST = Gas.of(6L);
+  static final long SHA3_OPERATION_WORD_GAS_COST = 6L;
 
-  private static final Gas SLOAD_OPERATION_GAS_COST = Gas.of(50);
+  private static final long SLOAD_OPERATION_GAS_COST = 50L;
 
-  private static final Gas STORAGE_SET_GAS_COST = Gas.of(20_000L);
+  private static final long STORAGE_SET_GAS_COST = 20_000L;
 
-  private static final Gas STORAGE_RESET_GAS_COST = Gas.of(5_000L);
+  private static final long STORAGE_RESET_GAS_COST = 5_000L;
 
-  private static final Gas STORAGE_RESET_REFUND_AMOUNT = Gas.of(15_000L);
+  private static final long STORAGE_RESET_REFUND_AMOUNT = 15_000L;
 
-  private static final Gas SELF_DESTRUCT_REFUND_AMOUNT = Gas.of(24_000L);
+  private static final long SELF_DESTRUCT_REFUND_AMOUNT = 24_000L;
 
   @Override
-  public Gas transactionIntrinsicGasCost(final Transaction transaction) {
+  public long transactionIntrinsicGasCost(final Transaction transaction) {
     final BytesValue payload = transaction.getPayload();
     int zeros = 0;
     for (int i = 0; i < payload.size(); i++) {
@@ -119,14 +122,12 @@ public class FrontierGasCalculator implements GasCalculator {
     }
     final int nonZeros = payload.size() - zeros;
 
-    Gas cost =
-        Gas.ZERO
-            .plus(TX_BASE_COST)
-            .plus(TX_DATA_ZERO_COST.times(zeros))
-            .plus(TX_DATA_NON_ZERO_COST.times(nonZeros));
+    long cost = TX_BASE_COST;
+    cost = saturatedAdd(cost, saturatedMultiply(TX_DATA_ZERO_COST, zeros));
+    cost = saturatedAdd(cost, saturatedMultiply(TX_DATA_NON_ZERO_COST, nonZeros));
 
     if (transaction.isContractCreation()) {
-      cost = cost.plus(txCreateExtraGasCost());
+      cost = saturatedAdd(cost, txCreateExtraGasCost());
     }
 
     return cost;
@@ -137,68 +138,68 @@ public class FrontierGasCalculator implements GasCalculator {
    *
    * @return the additional gas cost for contract creation transactions
    */
-  protected Gas txCreateExtraGasCost() {
+  protected long txCreateExtraGasCost() {
     return TX_CREATE_EXTRA_COST;
   }
 
   @Override
-  public Gas codeDepositGasCost(final int codeSize) {
-    return CODE_DEPOSIT_BYTE_COST.times(codeSize);
+  public long codeDepositGasCost(final int codeSize) {
+    return saturatedMultiply(CODE_DEPOSIT_BYTE_COST, codeSize);
   }
 
   @Override
-  public Gas idPrecompiledContractGasCost(final BytesValue input) {
-    return ID_PRECOMPILED_WORD_GAS_COST
-        .times(Words.numWords(input))
-        .plus(ID_PRECOMPILED_BASE_GAS_COST);
+  public long idPrecompiledContractGasCost(final BytesValue input) {
+    return saturatedAdd(
+        saturatedMultiply(ID_PRECOMPILED_WORD_GAS_COST, Words.numWords(input)),
+        ID_PRECOMPILED_BASE_GAS_COST);
   }
 
   @Override
-  public Gas getEcrecPrecompiledContractGasCost() {
+  public long getEcrecPrecompiledContractGasCost() {
     return ECREC_PRECOMPILED_GAS_COST;
   }
 
   @Override
-  public Gas sha256PrecompiledContractGasCost(final BytesValue input) {
-    return SHA256_PRECOMPILED_WORD_GAS_COST
-        .times(Words.numWords(input))
-        .plus(SHA256_PRECOMPILED_BASE_GAS_COST);
+  public long sha256PrecompiledContractGasCost(final BytesValue input) {
+    return saturatedAdd(
+        saturatedMultiply(SHA256_PRECOMPILED_WORD_GAS_COST, Words.numWords(input)),
+        SHA256_PRECOMPILED_BASE_GAS_COST);
   }
 
   @Override
-  public Gas ripemd160PrecompiledContractGasCost(final BytesValue input) {
-    return RIPEMD160_PRECOMPILED_WORD_GAS_COST
-        .times(Words.numWords(input))
-        .plus(RIPEMD160_PRECOMPILED_BASE_GAS_COST);
+  public long ripemd160PrecompiledContractGasCost(final BytesValue input) {
+    return saturatedAdd(
+        saturatedMultiply(RIPEMD160_PRECOMPILED_WORD_GAS_COST, Words.numWords(input)),
+        RIPEMD160_PRECOMPILED_BASE_GAS_COST);
   }
 
   @Override
-  public Gas getZeroTierGasCost() {
-    return Gas.ZERO;
+  public long getZeroTierGasCost() {
+    return 0L;
   }
 
   @Override
-  public Gas getVeryLowTierGasCost() {
+  public long getVeryLowTierGasCost() {
     return VERY_LOW_TIER_GAS_COST;
   }
 
   @Override
-  public Gas getLowTierGasCost() {
+  public long getLowTierGasCost() {
     return LOW_TIER_GAS_COST;
   }
 
   @Override
-  public Gas getBaseTierGasCost() {
+  public long getBaseTierGasCost() {
     return BASE_TIER_GAS_COST;
   }
 
   @Override
-  public Gas getMidTierGasCost() {
+  public long getMidTierGasCost() {
     return MID_TIER_GAS_COST;
   }
 
   @Override
-  public Gas getHighTierGasCost() {
+  public long getHighTierGasCost() {
     return HIGH_TIER_GAS_COST;
   }
 
@@ -207,7 +208,7 @@ public class FrontierGasCalculator implements GasCalculator {
    *
    * @return the base gas cost to execute a call operation
    */
-  protected Gas callOperationBaseGasCost() {
+  protected long callOperationBaseGasCost() {
     return CALL_OPERATION_BASE_GAS_COST;
   }
 
@@ -216,7 +217,7 @@ public class FrontierGasCalculator implements GasCalculator {
    *
    * @return the gas cost to transfer funds in a call operation
    */
-  protected Gas callValueTransferGasCost() {
+  protected long callValueTransferGasCost() {
     return CALL_VALUE_TRANSFER_GAS_COST;
   }
 
@@ -225,34 +226,36 @@ public class FrontierGasCalculator implements GasCalculator {
    *
    * @return the gas cost to create a new account
    */
-  protected Gas newAccountGasCost() {
+  protected long newAccountGasCost() {
     return NEW_ACCOUNT_GAS_COST;
   }
 
   @Override
-  public Gas callOperationGasCost(
+  public long callOperationGasCost(
       final MessageFrame frame,
-      final Gas stipend,
+      final long stipend,
       final UInt256 inputDataOffset,
       final UInt256 inputDataLength,
       final UInt256 outputDataOffset,
       final UInt256 outputDataLength,
       final Wei transferValue,
       final Account recipient) {
-    final Gas inputDataMemoryExpansionCost =
+    final long inputDataMemoryExpansionCost =
         memoryExpansionGasCost(frame, inputDataOffset, inputDataLength);
-    final Gas outputDataMemoryExpansionCost =
+    final long outputDataMemoryExpansionCost =
         memoryExpansionGasCost(frame, outputDataOffset, outputDataLength);
-    final Gas memoryExpansionCost = inputDataMemoryExpansionCost.max(outputDataMemoryExpansionCost);
+    final long memoryExpansionCost =
+        Math.max(inputDataMemoryExpansionCost, outputDataMemoryExpansionCost);
 
-    Gas cost = callOperationBaseGasCost().plus(stipend).plus(memoryExpansionCost);
+    long cost = saturatedAdd(callOperationBaseGasCost(), stipend);
+    cost = saturatedAdd(cost, memoryExpansionCost);
 
     if (!transferValue.isZero()) {
-      cost = cost.plus(callValueTransferGasCost());
+      cost = saturatedAdd(cost, callValueTransferGasCost());
     }
 
     if (recipient == null) {
-      cost = cost.plus(newAccountGasCost());
+      cost = saturatedAdd(cost, newAccountGasCost());
     }
 
     return cost;
@@ -263,58 +266,58 @@ public class FrontierGasCalculator implements GasCalculator {
    *
    * @return the additional call stipend for calls with value transfers
    */
-  protected Gas additionalCallStipend() {
+  protected long additionalCallStipend() {
     return ADDITIONAL_CALL_STIPEND;
   }
 
   @Override
-  public Gas gasAvailableForChildCall(
-      final MessageFrame frame, final Gas stipend, final boolean transfersValue) {
+  public long gasAvailableForChildCall(
+      final MessageFrame frame, final long stipend, final boolean transfersValue) {
     if (transfersValue) {
-      return stipend.plus(additionalCallStipend());
+      return saturatedAdd(stipend, additionalCallStipend());
     } else {
       return stipend;
     }
   }
 
   @Override
-  public Gas createOperationGasCost(final MessageFrame frame) {
+  public long createOperationGasCost(final MessageFrame frame) {
     final UInt256 initCodeOffset = frame.getStackItem(1).asUInt256();
     final UInt256 initCodeLength = frame.getStackItem(2).asUInt256();
 
-    final Gas memoryGasCost = memoryExpansionGasCost(frame, initCodeOffset, initCodeLength);
-    return CREATE_OPERATION_GAS_COST.plus(memoryGasCost);
+    final long memoryGasCost = memoryExpansionGasCost(frame, initCodeOffset, initCodeLength);
+    return saturatedAdd(CREATE_OPERATION_GAS_COST, memoryGasCost);
   }
 
   @Override
-  public Gas gasAvailableForChildCreate(final Gas stipend) {
+  public long gasAvailableForChildCreate(final long stipend) {
     return stipend;
   }
 
   @Override
-  public Gas dataCopyOperationGasCost(
+  public long dataCopyOperationGasCost(
       final MessageFrame frame, final UInt256 offset, final UInt256 length) {
     return copyWordsToMemoryGasCost(
         frame, VERY_LOW_TIER_GAS_COST, COPY_WORD_GAS_COST, offset, length);
   }
 
   @Override
-  public Gas memoryExpansionGasCost(
+  public long memoryExpansionGasCost(
       final MessageFrame frame, final UInt256 offset, final UInt256 length) {
 
-    final Gas pre = memoryCost(frame.memoryWordSize());
-    final Gas post = memoryCost(frame.calculateMemoryExpansion(offset, length));
+    final long pre = memoryCost(frame.memoryWordSize());
+    final long post = memoryCost(frame.calculateMemoryExpansion(offset, length));
 
-    return post.minus(pre);
+    return post - pre;
   }
 
   @Override
-  public Gas getBalanceOperationGasCost() {
+  public long getBalanceOperationGasCost() {
     return BALANCE_OPERATION_GAS_COST;
   }
 
   @Override
-  public Gas getBlockHashOperationGasCost() {
+  public long getBlockHashOperationGasCost() {
     return BLOCKHASH_OPERATION_GAS_COST;
   }
 
@@ -323,13 +326,14 @@ public class FrontierGasCalculator implements GasCalculator {
    *
    * @return the gas cost for a byte in the exponent operation
    */
-  protected Gas expOperationByteGasCost() {
+  protected long expOperationByteGasCost() {
     return EXP_OPERATION_BYTE_GAS_COST;
   }
 
   @Override
-  public Gas expOperationGasCost(final int numBytes) {
-    return expOperationByteGasCost().times(Gas.of(numBytes)).plus(EXP_OPERATION_BASE_GAS_COST);
+  public long expOperationGasCost(final int numBytes) {
+    return saturatedAdd(
+        saturatedMultiply(expOperationByteGasCost(), numBytes), EXP_OPERATION_BASE_GAS_COST);
   }
 
   /**
@@ -337,86 +341,89 @@ public class FrontierGasCalculator implements GasCalculator {
    *
    * @return the base gas cost for external code accesses
    */
-  protected Gas extCodeBaseGasCost() {
+  protected long extCodeBaseGasCost() {
     return EXT_CODE_BASE_GAS_COST;
   }
 
   @Override
-  public Gas extCodeCopyOperationGasCost(
+  public long extCodeCopyOperationGasCost(
       final MessageFrame frame, final UInt256 offset, final UInt256 length) {
     return copyWordsToMemoryGasCost(
         frame, extCodeBaseGasCost(), COPY_WORD_GAS_COST, offset, length);
   }
 
   @Override
-  public Gas extCodeHashOperationGasCost() {
+  public long extCodeHashOperationGasCost() {
     throw new UnsupportedOperationException(
         "EXTCODEHASH not supported by " + getClass().getSimpleName());
   }
 
   @Override
-  public Gas getExtCodeSizeOperationGasCost() {
+  public long getExtCodeSizeOperationGasCost() {
     return extCodeBaseGasCost();
   }
 
   @Override
-  public Gas getJumpDestOperationGasCost() {
+  public long getJumpDestOperationGasCost() {
     return JUMPDEST_OPERATION_GAS_COST;
   }
 
   @Override
-  public Gas logOperationGasCost(
+  public long logOperationGasCost(
       final MessageFrame frame,
       final UInt256 dataOffset,
       final UInt256 dataLength,
       final int numTopics) {
-    return Gas.ZERO
-        .plus(LOG_OPERATION_BASE_GAS_COST)
-        .plus(LOG_OPERATION_DATA_BYTE_GAS_COST.times(Gas.of(dataLength)))
-        .plus(LOG_OPERATION_TOPIC_GAS_COST.times(numTopics))
-        .plus(memoryExpansionGasCost(frame, dataOffset, dataLength));
+    final long dataCost =
+        saturatedMultiply(LOG_OPERATION_DATA_BYTE_GAS_COST, saturatedValueOf(dataLength));
+    long cost = saturatedAdd(LOG_OPERATION_BASE_GAS_COST, dataCost);
+    cost = saturatedAdd(cost, saturatedMultiply(LOG_OPERATION_TOPIC_GAS_COST, numTopics));
+    return saturatedAdd(cost, memoryExpansionGasCost(frame, dataOffset, dataLength));
   }
 
   @Override
-  public Gas mLoadOperationGasCost(final MessageFrame frame, final UInt256 offset) {
-    return VERY_LOW_TIER_GAS_COST.plus(memoryExpansionGasCost(frame, offset, UInt256.U_32));
+  public long mLoadOperationGasCost(final MessageFrame frame, final UInt256 offset) {
+    return saturatedAdd(
+        VERY_LOW_TIER_GAS_COST, memoryExpansionGasCost(frame, offset, UInt256.U_32));
   }
 
   @Override
-  public Gas mStoreOperationGasCost(final MessageFrame frame, final UInt256 offset) {
-    return VERY_LOW_TIER_GAS_COST.plus(memoryExpansionGasCost(frame, offset, UInt256.U_32));
+  public long mStoreOperationGasCost(final MessageFrame frame, final UInt256 offset) {
+    return saturatedAdd(
+        VERY_LOW_TIER_GAS_COST, memoryExpansionGasCost(frame, offset, UInt256.U_32));
   }
 
   @Override
-  public Gas mStore8OperationGasCost(final MessageFrame frame, final UInt256 offset) {
-    return VERY_LOW_TIER_GAS_COST.plus(memoryExpansionGasCost(frame, offset, UInt256.ONE));
+  public long mStore8OperationGasCost(final MessageFrame frame, final UInt256 offset) {
+    return saturatedAdd(
+        VERY_LOW_TIER_GAS_COST, memoryExpansionGasCost(frame, offset, UInt256.ONE));
   }
 
   @Override
-  public Gas selfDestructOperationGasCost(final Account recipient, final Wei inheritance) {
+  public long selfDestructOperationGasCost(final Account recipient, final Wei inheritance) {
     return SELFDESTRUCT_OPERATION_GAS_COST;
   }
 
   @Override
-  public Gas sha3OperationGasCost(
+  public long sha3OperationGasCost(
       final MessageFrame frame, final UInt256 offset, final UInt256 length) {
     return copyWordsToMemoryGasCost(
         frame, SHA3_OPERATION_BASE_GAS_COST, SHA3_OPERATION_WORD_GAS_COST, offset, length);
   }
 
   @Override
-  public Gas create2OperationGasCost(final MessageFrame frame) {
+  public long create2OperationGasCost(final MessageFrame frame) {
     throw new UnsupportedOperationException(
         "CREATE2 operation not supported by " + getClass().getSimpleName());
   }
 
   @Override
-  public Gas getSloadOperationGasCost() {
+  public long getSloadOperationGasCost() {
     return SLOAD_OPERATION_GAS_COST;
   }
 
   @Override
-  public Gas calculateStorageCost(
+  public long calculateStorageCost(
       final Account account, final UInt256 key, final UInt256 newValue) {
     return !newValue.isZero() && account.getStorageValue(key).isZero()
         ? STORAGE_SET_GAS_COST
@@ -424,39 +431,40 @@ public class FrontierGasCalculator implements GasCalculator {
   }
 
   @Override
-  public Gas calculateStorageRefundAmount(
+  public long calculateStorageRefundAmount(
       final Account account, final UInt256 key, final UInt256 newValue) {
     return newValue.isZero() && !account.getStorageValue(key).isZero()
         ? STORAGE_RESET_REFUND_AMOUNT
-        : Gas.ZERO;
+        : 0L;
   }
 
   @Override
-  public Gas getSelfDestructRefundAmount() {
+  public long getSelfDestructRefundAmount() {
     return SELF_DESTRUCT_REFUND_AMOUNT;
   }
 
-  private Gas copyWordsToMemoryGasCost(
+  private long copyWordsToMemoryGasCost(
       final MessageFrame frame,
-      final Gas baseGasCost,
-      final Gas wordGasCost,
+      final long baseGasCost,
+      final long wordGasCost,
       final UInt256 offset,
       final UInt256 length) {
     final UInt256 numWords = length.dividedCeilBy(Bytes32.SIZE);
 
-    final Gas copyCost = wordGasCost.times(Gas.of(numWords)).plus(baseGasCost);
-    final Gas memoryCost = memoryExpansionGasCost(frame, offset, length);
+    final long copyCost =
+        saturatedAdd(saturatedMultiply(wordGasCost, saturatedValueOf(numWords)), baseGasCost);
+    final long memoryCost = memoryExpansionGasCost(frame, offset, length);
 
-    return copyCost.plus(memoryCost);
+    return saturatedAdd(copyCost, memoryCost);
   }
 
-  private static Gas memoryCost(final UInt256 length) {
+  private static long memoryCost(final UInt256 length) {
     if (!length.fitsInt()) {
-      return Gas.MAX_VALUE;
+      return Long.MAX_VALUE;
     }
-    final Gas len = Gas.of(length);
-    final Gas base = len.times(len).dividedBy(512);
+    final long len = length.toLong();
+    final long base = saturatedMultiply(len, len) / 512;
 
-    return MEMORY_WORD_GAS_COST.times(len).plus(base);
+    return saturatedAdd(saturatedMultiply(MEMORY_WORD_GAS_COST, len), base);
   }
 }
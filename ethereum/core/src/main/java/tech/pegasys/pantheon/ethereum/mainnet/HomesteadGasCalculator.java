@@ -12,14 +12,12 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
-import tech.pegasys.pantheon.ethereum.core.Gas;
-
 public class HomesteadGasCalculator extends FrontierGasCalculator {
 
-  private static final Gas TX_CREATE_EXTRA = Gas.of(32_000L);
+  private static final long TX_CREATE_EXTRA = 32_000L;
 
   @Override
-  protected Gas txCreateExtraGasCost() {
+  protected long txCreateExtraGasCost() {
     return TX_CREATE_EXTRA;
   }
 }
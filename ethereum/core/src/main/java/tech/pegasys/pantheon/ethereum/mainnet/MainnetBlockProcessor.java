@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.MutableAccount;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.ProcessableBlockHeader;
+import tech.pegasys.pantheon.ethereum.core.SpeculativeWorldUpdater;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.core.Wei;
@@ -27,6 +28,11 @@ import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.google.common.collect.ImmutableList;
 import org.apache.logging.log4j.LogManager;
@@ -85,15 +91,51 @@ public class MainnetBlockProcessor implements BlockProcessor {
 
   private final MiningBeneficiaryCalculator miningBeneficiaryCalculator;
 
+  private final Optional<Executor> speculativeExecutor;
+
   public MainnetBlockProcessor(
       final TransactionProcessor transactionProcessor,
       final TransactionReceiptFactory transactionReceiptFactory,
       final Wei blockReward,
       final MiningBeneficiaryCalculator miningBeneficiaryCalculator) {
+    this(
+        transactionProcessor,
+        transactionReceiptFactory,
+        blockReward,
+        miningBeneficiaryCalculator,
+        Optional.empty());
+  }
+
+  /**
+   * Creates a block processor.
+   *
+   * <p>With a {@code speculativeExecutor}, the transactions of a block are executed concurrently on
+   * it, each over a snapshot of the world state at the start of the block. Their results are then
+   * committed in block order, and a transaction is re-executed whenever it read a value that one of
+   * the transactions before it modified, or wasn't executed because the executor was full. The
+   * resulting receipts and world state are identical to those of sequential processing.
+   *
+   * <p>Snapshots are copies of the world state, so this requires the world state passed to {@link
+   * #processBlock} to be persisted. Speculative runs can't persist private state, so {@link
+   * ProtocolSpecBuilder} rejects this mode along with privacy.
+   *
+   * @param transactionProcessor the transaction processor
+   * @param transactionReceiptFactory the factory for transaction receipts
+   * @param blockReward the block reward
+   * @param miningBeneficiaryCalculator calculates the recipient of transaction fees
+   * @param speculativeExecutor the executor to execute transactions concurrently on, if any
+   */
+  public MainnetBlockProcessor(
+      final TransactionProcessor transactionProcessor,
+      final TransactionReceiptFactory transactionReceiptFactory,
+      final Wei blockReward,
+      final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
+      final Optional<Executor> speculativeExecutor) {
     this.transactionProcessor = transactionProcessor;
     this.transactionReceiptFactory = transactionReceiptFactory;
     this.blockReward = blockReward;
     this.miningBeneficiaryCalculator = miningBeneficiaryCalculator;
+    this.speculativeExecutor = speculativeExecutor;
   }
 
   @Override
@@ -104,10 +146,39 @@ public class MainnetBlockProcessor implements BlockProcessor {
       final List<Transaction> transactions,
       final List<BlockHeader> ommers) {
 
+    // Cancelling the futures wouldn't stop the tasks behind them, so the tasks check this instead.
+    final AtomicBoolean blockProcessed = new AtomicBoolean(false);
+    final List<CompletableFuture<Speculation>> speculations =
+        speculativeExecutor.isPresent() && transactions.size() > 1
+            ? speculate(
+                speculativeExecutor.get(),
+                blockchain,
+                worldState,
+                blockHeader,
+                transactions,
+                blockProcessed)
+            : null;
+    try {
+      return processTransactions(
+          blockchain, worldState, blockHeader, transactions, ommers, speculations);
+    } finally {
+      // Don't start speculating on transactions we won't use if processing failed early.
+      blockProcessed.set(true);
+    }
+  }
+
+  private Result processTransactions(
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final List<BlockHeader> ommers,
+      final List<CompletableFuture<Speculation>> speculations) {
     long gasUsed = 0;
     final List<TransactionReceipt> receipts = new ArrayList<>();
 
-    for (final Transaction transaction : transactions) {
+    for (int i = 0; i < transactions.size(); i++) {
+      final Transaction transaction = transactions.get(i);
       final long remainingGasBudget = blockHeader.getGasLimit() - gasUsed;
       if (Long.compareUnsigned(transaction.getGasLimit(), remainingGasBudget) > 0) {
         LOG.warn(
@@ -118,22 +189,29 @@ public class MainnetBlockProcessor implements BlockProcessor {
       }
 
       final WorldUpdater worldStateUpdater = worldState.updater();
-      final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
-
-      final TransactionProcessor.Result result =
-          transactionProcessor.processTransaction(
-              blockchain,
-              worldStateUpdater,
-              blockHeader,
-              transaction,
-              miningBeneficiary,
-              blockHashLookup,
-              true,
-              TransactionValidationParams.processingBlock());
-      if (result.isInvalid()) {
-        return Result.failed();
+      final Speculation speculation = speculations == null ? null : speculations.get(i).join();
+      final TransactionProcessor.Result result;
+      if (speculation != null && speculation.updater.isValidAgainst(worldState)) {
+        speculation.updater.applyTo(worldStateUpdater);
+        result = speculation.result;
+      } else {
+        final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
+        final Address miningBeneficiary =
+            miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
+
+        result =
+            transactionProcessor.processTransaction(
+                blockchain,
+                worldStateUpdater,
+                blockHeader,
+                transaction,
+                miningBeneficiary,
+                blockHashLookup,
+                true,
+                TransactionValidationParams.processingBlock());
+        if (result.isInvalid()) {
+          return Result.failed();
+        }
       }
 
       worldStateUpdater.commit();
@@ -151,6 +229,83 @@ public class MainnetBlockProcessor implements BlockProcessor {
     return Result.successful(receipts);
   }
 
+  private List<CompletableFuture<Speculation>> speculate(
+      final Executor executor,
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final AtomicBoolean blockProcessed) {
+    final Address miningBeneficiary = miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
+    // Taken before anything is committed to the world state and never modified afterwards, so
+    // each speculation can take its own copy of it once it runs.
+    final MutableWorldState snapshot = worldState.copy();
+    final List<CompletableFuture<Speculation>> speculations = new ArrayList<>();
+    for (final Transaction transaction : transactions) {
+      speculations.add(
+          speculate(
+              executor,
+              blockchain,
+              snapshot,
+              blockHeader,
+              transaction,
+              miningBeneficiary,
+              blockProcessed));
+    }
+    return speculations;
+  }
+
+  private CompletableFuture<Speculation> speculate(
+      final Executor executor,
+      final Blockchain blockchain,
+      final MutableWorldState snapshot,
+      final BlockHeader blockHeader,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final AtomicBoolean blockProcessed) {
+    try {
+      return CompletableFuture.supplyAsync(
+              () -> {
+                if (blockProcessed.get()) {
+                  return null;
+                }
+                final SpeculativeWorldUpdater updater =
+                    new SpeculativeWorldUpdater(snapshot.copy(), miningBeneficiary);
+                final TransactionProcessor.Result result =
+                    transactionProcessor.processTransaction(
+                        blockchain,
+                        updater,
+                        blockHeader,
+                        transaction,
+                        miningBeneficiary,
+                        new BlockHashLookup(blockHeader, blockchain),
+                        false,
+                        TransactionValidationParams.processingBlock());
+                // Invalid transactions are re-executed to report the failure.
+                return result.isInvalid() ? null : new Speculation(updater, result);
+              },
+              executor)
+          .exceptionally(
+              error -> {
+                LOG.debug("Speculative execution of {} failed", transaction.hash(), error);
+                return null;
+              });
+    } catch (final RejectedExecutionException e) {
+      // The executor is saturated, so just execute the transaction sequentially.
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  private static class Speculation {
+    private final SpeculativeWorldUpdater updater;
+    private final TransactionProcessor.Result result;
+
+    Speculation(final SpeculativeWorldUpdater updater, final TransactionProcessor.Result result) {
+      this.updater = updater;
+      this.result = result;
+    }
+  }
+
   private boolean rewardCoinbase(
       final MutableWorldState worldState,
       final ProcessableBlockHeader header,
@@ -125,9 +125,9 @@ public class MainnetContractCreationProcessor extends AbstractMessageProcessor {
   protected void codeSuccess(final MessageFrame frame) {
     final BytesValue contractCode = frame.getOutputData();
 
-    final Gas depositFee = gasCalculator.codeDepositGasCost(contractCode.size());
+    final long depositFee = gasCalculator.codeDepositGasCost(contractCode.size());
 
-    if (frame.getRemainingGas().compareTo(depositFee) < 0) {
+    if (frame.getRemainingGas() < depositFee) {
       LOG.trace(
           "Not enough gas to pay the code deposit fee for {}: "
               + "remaining gas = {} < {} = deposit fee",
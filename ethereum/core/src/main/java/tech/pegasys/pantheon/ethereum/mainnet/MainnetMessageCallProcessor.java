@@ -107,8 +107,8 @@ public class MainnetMessageCallProcessor extends AbstractMessageProcessor {
    * @param contract The contract this is a message call to.
    */
   private void executePrecompile(final PrecompiledContract contract, final MessageFrame frame) {
-    final Gas gasRequirement = contract.gasRequirement(frame.getInputData());
-    if (frame.getRemainingGas().compareTo(gasRequirement) < 0) {
+    final long gasRequirement = contract.gasRequirement(frame.getInputData());
+    if (frame.getRemainingGas() < gasRequirement) {
       LOG.trace(
           "Not enough gas available for pre-compiled contract code {}: requiring "
               + "{} but only {} gas available",
@@ -94,7 +94,8 @@ public abstract class MainnetProtocolSpecs {
             (gasCalculator,
                 transactionValidator,
                 contractCreationProcessor,
-                messageCallProcessor) ->
+                messageCallProcessor,
+                codeCache) ->
                 new MainnetTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -102,12 +103,14 @@ public abstract class MainnetProtocolSpecs {
                     messageCallProcessor,
                     false,
                     stackSizeLimit,
-                    Account.DEFAULT_VERSION))
+                    Account.DEFAULT_VERSION,
+                    codeCache))
         .privateTransactionProcessorBuilder(
             (gasCalculator,
                 transactionValidator,
                 contractCreationProcessor,
-                messageCallProcessor) ->
+                messageCallProcessor,
+                codeCache) ->
                 new PrivateTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -115,7 +118,8 @@ public abstract class MainnetProtocolSpecs {
                     messageCallProcessor,
                     false,
                     stackSizeLimit,
-                    Account.DEFAULT_VERSION))
+                    Account.DEFAULT_VERSION,
+                    codeCache))
         .difficultyCalculator(MainnetDifficultyCalculators.FRONTIER)
         .blockHeaderValidatorBuilder(MainnetBlockHeaderValidator::create)
         .ommerHeaderValidatorBuilder(MainnetBlockHeaderValidator::createOmmerValidator)
@@ -159,13 +163,15 @@ public abstract class MainnetProtocolSpecs {
             (transactionProcessor,
                 transactionReceiptFactory,
                 blockReward,
-                miningBeneficiaryCalculator) ->
+                miningBeneficiaryCalculator,
+                speculativeExecutor) ->
                 new DaoBlockProcessor(
                     new MainnetBlockProcessor(
                         transactionProcessor,
                         transactionReceiptFactory,
                         blockReward,
-                        miningBeneficiaryCalculator)))
+                        miningBeneficiaryCalculator,
+                        speculativeExecutor)))
         .name("DaoRecoveryInit");
   }
 
@@ -214,7 +220,8 @@ public abstract class MainnetProtocolSpecs {
             (gasCalculator,
                 transactionValidator,
                 contractCreationProcessor,
-                messageCallProcessor) ->
+                messageCallProcessor,
+                codeCache) ->
                 new MainnetTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -222,12 +229,14 @@ public abstract class MainnetProtocolSpecs {
                     messageCallProcessor,
                     true,
                     stackSizeLimit,
-                    Account.DEFAULT_VERSION))
+                    Account.DEFAULT_VERSION,
+                    codeCache))
         .privateTransactionProcessorBuilder(
             (gasCalculator,
                 transactionValidator,
                 contractCreationProcessor,
-                messageCallProcessor) ->
+                messageCallProcessor,
+                codeCache) ->
                 new PrivateTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -235,7 +244,8 @@ public abstract class MainnetProtocolSpecs {
                     messageCallProcessor,
                     false,
                     stackSizeLimit,
-                    Account.DEFAULT_VERSION))
+                    Account.DEFAULT_VERSION,
+                    codeCache))
         .name("SpuriousDragon");
   }
 
@@ -299,7 +309,8 @@ public abstract class MainnetProtocolSpecs {
             (gasCalculator,
                 transactionValidator,
                 contractCreationProcessor,
-                messageCallProcessor) ->
+                messageCallProcessor,
+                codeCache) ->
                 new MainnetTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -307,12 +318,14 @@ public abstract class MainnetProtocolSpecs {
                     messageCallProcessor,
                     true,
                     stackSizeLimit,
-                    ISTANBUL_ACCOUNT_VERSION))
+                    ISTANBUL_ACCOUNT_VERSION,
+                    codeCache))
         .privateTransactionProcessorBuilder(
             (gasCalculator,
                 transactionValidator,
                 contractCreationProcessor,
-                messageCallProcessor) ->
+                messageCallProcessor,
+                codeCache) ->
                 new PrivateTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -320,7 +333,8 @@ public abstract class MainnetProtocolSpecs {
                     messageCallProcessor,
                     false,
                     stackSizeLimit,
-                    ISTANBUL_ACCOUNT_VERSION))
+                    ISTANBUL_ACCOUNT_VERSION,
+                    codeCache))
         .contractCreationProcessorBuilder(
             (gasCalculator, evm) ->
                 new MainnetContractCreationProcessor(
@@ -25,6 +25,7 @@ import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionValidator.TransactionInvalidReason;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.Code;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.ethereum.vm.OperationTracer;
@@ -53,6 +54,8 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
 
   private final int createContractAccountVersion;
 
+  private final CodeCache codeCache;
+
   public static class Result implements TransactionProcessor.Result {
 
     private final Status status;
@@ -154,7 +157,8 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
       final AbstractMessageProcessor messageCallProcessor,
       final boolean clearEmptyAccounts,
       final int maxStackSize,
-      final int createContractAccountVersion) {
+      final int createContractAccountVersion,
+      final CodeCache codeCache) {
     this.gasCalculator = gasCalculator;
     this.transactionValidator = transactionValidator;
     this.contractCreationProcessor = contractCreationProcessor;
@@ -162,6 +166,7 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
     this.clearEmptyAccounts = clearEmptyAccounts;
     this.maxStackSize = maxStackSize;
     this.createContractAccountVersion = createContractAccountVersion;
+    this.codeCache = codeCache;
   }
 
   @Override
@@ -209,8 +214,8 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
         previousBalance,
         sender.getBalance());
 
-    final Gas intrinsicGas = gasCalculator.transactionIntrinsicGasCost(transaction);
-    final Gas gasAvailable = Gas.of(transaction.getGasLimit()).minus(intrinsicGas);
+    final long intrinsicGas = gasCalculator.transactionIntrinsicGasCost(transaction);
+    final long gasAvailable = transaction.getGasLimit() - intrinsicGas;
     LOG.trace(
         "Gas available for execution {} = {} - {} (limit - intrinsic)",
         gasAvailable,
@@ -241,6 +246,7 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
               .value(transaction.getValue())
               .apparentValue(transaction.getValue())
               .code(new Code(transaction.getPayload()))
+              .codeCache(codeCache)
               .blockHeader(blockHeader)
               .depth(0)
               .completer(c -> {})
@@ -271,7 +277,8 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
               .sender(senderAddress)
               .value(transaction.getValue())
               .apparentValue(transaction.getValue())
-              .code(new Code(contract != null ? contract.getCode() : BytesValue.EMPTY))
+              .code(codeCache.getOrLoad(contract))
+              .codeCache(codeCache)
               .blockHeader(blockHeader)
               .depth(0)
               .completer(c -> {})
@@ -295,22 +302,23 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
     if (LOG.isTraceEnabled()) {
       LOG.trace(
           "Gas used by transaction: {}, by message call/contract creation: {}",
-          () -> Gas.of(transaction.getGasLimit()).minus(initialFrame.getRemainingGas()),
-          () -> gasAvailable.minus(initialFrame.getRemainingGas()));
+          () -> transaction.getGasLimit() - initialFrame.getRemainingGas(),
+          () -> gasAvailable - initialFrame.getRemainingGas());
     }
 
     // Refund the sender by what we should and pay the miner fee (note that we're doing them one
     // after the other so that if it is the same account somehow, we end up with the right result)
-    final Gas selfDestructRefund =
-        gasCalculator.getSelfDestructRefundAmount().times(initialFrame.getSelfDestructs().size());
-    final Gas refundGas = initialFrame.getGasRefund().plus(selfDestructRefund);
-    final Gas refunded = refunded(transaction, initialFrame.getRemainingGas(), refundGas);
-    final Wei refundedWei = refunded.priceFor(transaction.getGasPrice());
+    final long selfDestructRefund =
+        Gas.saturatedMultiply(
+            gasCalculator.getSelfDestructRefundAmount(), initialFrame.getSelfDestructs().size());
+    final long refundGas = Gas.saturatedAdd(initialFrame.getGasRefund(), selfDestructRefund);
+    final long refunded = refunded(transaction, initialFrame.getRemainingGas(), refundGas);
+    final Wei refundedWei = transaction.getGasPrice().times(Wei.of(refunded));
     sender.incrementBalance(refundedWei);
 
     final MutableAccount coinbase = worldState.getOrCreate(miningBeneficiary);
-    final Gas coinbaseFee = Gas.of(transaction.getGasLimit()).minus(refunded);
-    final Wei coinbaseWei = coinbaseFee.priceFor(transaction.getGasPrice());
+    final long coinbaseFee = transaction.getGasLimit() - refunded;
+    final Wei coinbaseWei = transaction.getGasPrice().times(Wei.of(coinbaseFee));
     coinbase.incrementBalance(coinbaseWei);
 
     initialFrame.getSelfDestructs().forEach(worldState::deleteAccount);
@@ -322,11 +330,11 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
     if (initialFrame.getState() == MessageFrame.State.COMPLETED_SUCCESS) {
       return Result.successful(
           initialFrame.getLogs(),
-          refunded.toLong(),
+          refunded,
           initialFrame.getOutputData(),
           validationResult);
     } else {
-      return Result.failed(refunded.toLong(), validationResult, initialFrame.getRevertReason());
+      return Result.failed(refunded, validationResult, initialFrame.getRevertReason());
     }
   }
 
@@ -353,12 +361,11 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
     }
   }
 
-  private static Gas refunded(
-      final Transaction transaction, final Gas gasRemaining, final Gas gasRefund) {
+  private static long refunded(
+      final Transaction transaction, final long gasRemaining, final long gasRefund) {
     // Integer truncation takes care of the the floor calculation needed after the divide.
-    final Gas maxRefundAllowance =
-        Gas.of(transaction.getGasLimit()).minus(gasRemaining).dividedBy(2);
-    final Gas refundAllowance = maxRefundAllowance.min(gasRefund);
-    return gasRemaining.plus(refundAllowance);
+    final long maxRefundAllowance = (transaction.getGasLimit() - gasRemaining) / 2;
+    final long refundAllowance = Math.min(maxRefundAllowance, gasRefund);
+    return Gas.saturatedAdd(gasRemaining, refundAllowance);
   }
 }
@@ -23,7 +23,6 @@ import static tech.pegasys.pantheon.ethereum.mainnet.TransactionValidator.Transa
 
 import tech.pegasys.pantheon.crypto.SECP256K1;
 import tech.pegasys.pantheon.ethereum.core.Account;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionFilter;
 import tech.pegasys.pantheon.ethereum.core.Wei;
@@ -65,8 +64,8 @@ public class MainnetTransactionValidator implements TransactionValidator {
       return signatureResult;
     }
 
-    final Gas intrinsicGasCost = gasCalculator.transactionIntrinsicGasCost(transaction);
-    if (intrinsicGasCost.compareTo(Gas.of(transaction.getGasLimit())) > 0) {
+    final long intrinsicGasCost = gasCalculator.transactionIntrinsicGasCost(transaction);
+    if (intrinsicGasCost > transaction.getGasLimit()) {
       return ValidationResult.invalid(
           INTRINSIC_GAS_EXCEEDS_GAS_LIMIT,
           String.format(
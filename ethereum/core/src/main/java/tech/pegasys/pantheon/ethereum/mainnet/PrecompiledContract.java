@@ -38,7 +38,7 @@ public interface PrecompiledContract {
    *     not depend).
    * @return the gas requirement (cost) for the pre-compiled contract.
    */
-  Gas gasRequirement(BytesValue input);
+  long gasRequirement(BytesValue input);
 
   /**
    * Executes the pre-compiled contract.
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.mainnet;
 
 import tech.pegasys.pantheon.config.GenesisConfigOptions;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 
 import java.math.BigInteger;
 import java.util.Optional;
@@ -70,16 +71,19 @@ public class ProtocolScheduleBuilder<C> {
     final Optional<BigInteger> chainId =
         config.getChainId().map(Optional::of).orElse(defaultChainId);
     final MutableProtocolSchedule<C> protocolSchedule = new MutableProtocolSchedule<>(chainId);
+    final CodeCache codeCache = new CodeCache(CodeCache.DEFAULT_CAPACITY);
 
     validateForkOrdering();
 
     addProtocolSpec(
         protocolSchedule,
+        codeCache,
         OptionalLong.of(0),
         MainnetProtocolSpecs.frontierDefinition(
             config.getContractSizeLimit(), config.getEvmStackSize()));
     addProtocolSpec(
         protocolSchedule,
+        codeCache,
         config.getHomesteadBlockNumber(),
         MainnetProtocolSpecs.homesteadDefinition(
             config.getContractSizeLimit(), config.getEvmStackSize()));
@@ -92,11 +96,13 @@ public class ProtocolScheduleBuilder<C> {
                   protocolSchedule.getByBlockNumber(daoBlockNumber);
               addProtocolSpec(
                   protocolSchedule,
+                  codeCache,
                   OptionalLong.of(daoBlockNumber),
                   MainnetProtocolSpecs.daoRecoveryInitDefinition(
                       config.getContractSizeLimit(), config.getEvmStackSize()));
               addProtocolSpec(
                   protocolSchedule,
+                  codeCache,
                   OptionalLong.of(daoBlockNumber + 1),
                   MainnetProtocolSpecs.daoRecoveryTransitionDefinition(
                       config.getContractSizeLimit(), config.getEvmStackSize()));
@@ -107,16 +113,19 @@ public class ProtocolScheduleBuilder<C> {
 
     addProtocolSpec(
         protocolSchedule,
+        codeCache,
         config.getTangerineWhistleBlockNumber(),
         MainnetProtocolSpecs.tangerineWhistleDefinition(
             config.getContractSizeLimit(), config.getEvmStackSize()));
     addProtocolSpec(
         protocolSchedule,
+        codeCache,
         config.getSpuriousDragonBlockNumber(),
         MainnetProtocolSpecs.spuriousDragonDefinition(
             chainId, config.getContractSizeLimit(), config.getEvmStackSize()));
     addProtocolSpec(
         protocolSchedule,
+        codeCache,
         config.getByzantiumBlockNumber(),
         MainnetProtocolSpecs.byzantiumDefinition(
             chainId,
@@ -125,6 +134,7 @@ public class ProtocolScheduleBuilder<C> {
             isRevertReasonEnabled));
     addProtocolSpec(
         protocolSchedule,
+        codeCache,
         config.getConstantinopleBlockNumber(),
         MainnetProtocolSpecs.constantinopleDefinition(
             chainId,
@@ -133,6 +143,7 @@ public class ProtocolScheduleBuilder<C> {
             isRevertReasonEnabled));
     addProtocolSpec(
         protocolSchedule,
+        codeCache,
         config.getConstantinopleFixBlockNumber(),
         MainnetProtocolSpecs.constantinopleFixDefinition(
             chainId,
@@ -141,6 +152,7 @@ public class ProtocolScheduleBuilder<C> {
             isRevertReasonEnabled));
     addProtocolSpec(
         protocolSchedule,
+        codeCache,
         config.getIstanbulBlockNumber(),
         MainnetProtocolSpecs.istanbulDefinition(
             chainId,
@@ -154,6 +166,7 @@ public class ProtocolScheduleBuilder<C> {
 
   private void addProtocolSpec(
       final MutableProtocolSchedule<C> protocolSchedule,
+      final CodeCache codeCache,
       final OptionalLong blockNumber,
       final ProtocolSpecBuilder<Void> definition) {
     blockNumber.ifPresent(
@@ -163,6 +176,7 @@ public class ProtocolScheduleBuilder<C> {
                 protocolSpecAdapter
                     .apply(definition)
                     .privacyParameters(privacyParameters)
+                    .codeCache(codeCache)
                     .build(protocolSchedule)));
   }
 
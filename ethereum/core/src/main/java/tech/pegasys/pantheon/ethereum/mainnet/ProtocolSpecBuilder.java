@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.mainnet;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import tech.pegasys.pantheon.ethereum.BlockValidator;
 import tech.pegasys.pantheon.ethereum.core.Account;
@@ -24,9 +25,12 @@ import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockProcessor.TransactionReceiptFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.precompiles.privacy.PrivacyPrecompiledContract;
 import tech.pegasys.pantheon.ethereum.privacy.PrivateTransactionProcessor;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 import tech.pegasys.pantheon.ethereum.vm.EVM;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -56,6 +60,8 @@ public class ProtocolSpecBuilder<T> {
   private MiningBeneficiaryCalculator miningBeneficiaryCalculator;
   private PrivacyParameters privacyParameters;
   private PrivateTransactionProcessorBuilder privateTransactionProcessorBuilder;
+  private Optional<Executor> speculativeExecutor = Optional.empty();
+  private CodeCache codeCache;
 
   public ProtocolSpecBuilder<T> gasCalculator(final Supplier<GasCalculator> gasCalculatorBuilder) {
     this.gasCalculatorBuilder = gasCalculatorBuilder;
@@ -200,6 +206,16 @@ public class ProtocolSpecBuilder<T> {
     return this;
   }
 
+  public ProtocolSpecBuilder<T> speculativeExecutor(final Optional<Executor> speculativeExecutor) {
+    this.speculativeExecutor = speculativeExecutor;
+    return this;
+  }
+
+  public ProtocolSpecBuilder<T> codeCache(final CodeCache codeCache) {
+    this.codeCache = codeCache;
+    return this;
+  }
+
   public <R> ProtocolSpecBuilder<R> changeConsensusContextType(
       final Function<DifficultyCalculator<R>, BlockHeaderValidator<R>> blockHeaderValidatorBuilder,
       final Function<DifficultyCalculator<R>, BlockHeaderValidator<R>> ommerHeaderValidatorBuilder,
@@ -213,6 +229,8 @@ public class ProtocolSpecBuilder<T> {
         .transactionValidatorBuilder(transactionValidatorBuilder)
         .contractCreationProcessorBuilder(contractCreationProcessorBuilder)
         .privacyParameters(privacyParameters)
+        .speculativeExecutor(speculativeExecutor)
+        .codeCache(codeCache)
         .precompileContractRegistryBuilder(precompileContractRegistryBuilder)
         .messageCallProcessorBuilder(messageCallProcessorBuilder)
         .transactionProcessorBuilder(transactionProcessorBuilder)
@@ -255,6 +273,7 @@ public class ProtocolSpecBuilder<T> {
     checkNotNull(miningBeneficiaryCalculator, "Missing Mining Beneficiary Calculator");
     checkNotNull(protocolSchedule, "Missing protocol schedule");
     checkNotNull(privacyParameters, "Missing privacy parameters");
+    checkNotNull(codeCache, "Missing code cache");
 
     final GasCalculator gasCalculator = gasCalculatorBuilder.get();
     final EVM evm = evmBuilder.apply(gasCalculator);
@@ -270,13 +289,21 @@ public class ProtocolSpecBuilder<T> {
         messageCallProcessorBuilder.apply(evm, precompileContractRegistry);
     final TransactionProcessor transactionProcessor =
         transactionProcessorBuilder.apply(
-            gasCalculator, transactionValidator, contractCreationProcessor, messageCallProcessor);
+            gasCalculator,
+            transactionValidator,
+            contractCreationProcessor,
+            messageCallProcessor,
+            codeCache);
 
     // Set private Tx Processor
     if (privacyParameters.isEnabled()) {
       final PrivateTransactionProcessor privateTransactionProcessor =
           privateTransactionProcessorBuilder.apply(
-              gasCalculator, transactionValidator, contractCreationProcessor, messageCallProcessor);
+              gasCalculator,
+              transactionValidator,
+              contractCreationProcessor,
+              messageCallProcessor,
+              codeCache);
       Address address = Address.privacyPrecompiled(privacyParameters.getPrivacyAddress());
       PrivacyPrecompiledContract privacyPrecompiledContract =
           (PrivacyPrecompiledContract)
@@ -290,12 +317,22 @@ public class ProtocolSpecBuilder<T> {
         ommerHeaderValidatorBuilder.apply(difficultyCalculator);
     final BlockBodyValidator<T> blockBodyValidator =
         blockBodyValidatorBuilder.apply(protocolSchedule);
+    // Speculative runs can't persist private state, so they would corrupt it.
+    checkState(
+        !speculativeExecutor.isPresent()
+            || (!privacyParameters.isEnabled()
+                && precompileContractRegistry.get(
+                        Address.privacyPrecompiled(privacyParameters.getPrivacyAddress()),
+                        Account.DEFAULT_VERSION)
+                    == null),
+        "Speculative transaction execution can't be used with privacy");
     final BlockProcessor blockProcessor =
         blockProcessorBuilder.apply(
             transactionProcessor,
             transactionReceiptFactory,
             blockReward,
-            miningBeneficiaryCalculator);
+            miningBeneficiaryCalculator,
+            speculativeExecutor);
     final BlockValidator<T> blockValidator =
         blockValidatorBuilder.apply(blockHeaderValidator, blockBodyValidator, blockProcessor);
     final BlockImporter<T> blockImporter = blockImporterBuilder.apply(blockValidator);
@@ -324,7 +361,8 @@ public class ProtocolSpecBuilder<T> {
         GasCalculator gasCalculator,
         TransactionValidator transactionValidator,
         AbstractMessageProcessor contractCreationProcessor,
-        AbstractMessageProcessor messageCallProcessor);
+        AbstractMessageProcessor messageCallProcessor,
+        CodeCache codeCache);
   }
 
   public interface PrivateTransactionProcessorBuilder {
@@ -332,7 +370,8 @@ public class ProtocolSpecBuilder<T> {
         GasCalculator gasCalculator,
         TransactionValidator transactionValidator,
         AbstractMessageProcessor contractCreationProcessor,
-        AbstractMessageProcessor messageCallProcessor);
+        AbstractMessageProcessor messageCallProcessor,
+        CodeCache codeCache);
   }
 
   public interface BlockProcessorBuilder {
@@ -340,7 +379,8 @@ public class ProtocolSpecBuilder<T> {
         TransactionProcessor transactionProcessor,
         TransactionReceiptFactory transactionReceiptFactory,
         Wei blockReward,
-        MiningBeneficiaryCalculator miningBeneficiaryCalculator);
+        MiningBeneficiaryCalculator miningBeneficiaryCalculator,
+        Optional<Executor> speculativeExecutor);
   }
 
   public interface BlockValidatorBuilder<T> {
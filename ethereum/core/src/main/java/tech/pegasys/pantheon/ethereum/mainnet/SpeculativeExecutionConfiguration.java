@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+public class SpeculativeExecutionConfiguration {
+  public static final int DEFAULT_THREADS = 0;
+  public static final int DEFAULT_MAX_QUEUED_TRANSACTIONS = 1024;
+
+  private final int threads;
+  private final int maxQueuedTransactions;
+
+  public SpeculativeExecutionConfiguration(final int threads, final int maxQueuedTransactions) {
+    this.threads = threads;
+    this.maxQueuedTransactions = maxQueuedTransactions;
+  }
+
+  public static SpeculativeExecutionConfiguration getDefault() {
+    return new SpeculativeExecutionConfiguration(DEFAULT_THREADS, DEFAULT_MAX_QUEUED_TRANSACTIONS);
+  }
+
+  public boolean isEnabled() {
+    return threads > 0;
+  }
+
+  /**
+   * Returns the number of threads executing transactions speculatively, 0 when disabled.
+   *
+   * @return the number of speculative execution threads
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Returns how many transactions may wait for a speculative execution thread. Transactions that
+   * don't fit are only executed sequentially.
+   *
+   * @return the maximum number of queued speculative executions
+   */
+  public int getMaxQueuedTransactions() {
+    return maxQueuedTransactions;
+  }
+}
@@ -12,56 +12,58 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import static tech.pegasys.pantheon.ethereum.core.Gas.saturatedAdd;
+
 import tech.pegasys.pantheon.ethereum.core.Account;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 public class SpuriousDragonGasCalculator extends TangerineWhistleGasCalculator {
 
-  private static final Gas EXP_OPERATION_BYTE_GAS_COST = Gas.of(50L);
+  private static final long EXP_OPERATION_BYTE_GAS_COST = 50L;
 
   @Override
-  public Gas callOperationGasCost(
+  public long callOperationGasCost(
       final MessageFrame frame,
-      final Gas stipend,
+      final long stipend,
       final UInt256 inputDataOffset,
       final UInt256 inputDataLength,
       final UInt256 outputDataOffset,
       final UInt256 outputDataLength,
       final Wei transferValue,
       final Account recipient) {
-    final Gas inputDataMemoryExpansionCost =
+    final long inputDataMemoryExpansionCost =
         memoryExpansionGasCost(frame, inputDataOffset, inputDataLength);
-    final Gas outputDataMemoryExpansionCost =
+    final long outputDataMemoryExpansionCost =
         memoryExpansionGasCost(frame, outputDataOffset, outputDataLength);
-    final Gas memoryExpansionCost = inputDataMemoryExpansionCost.max(outputDataMemoryExpansionCost);
+    final long memoryExpansionCost =
+        Math.max(inputDataMemoryExpansionCost, outputDataMemoryExpansionCost);
 
-    Gas cost = callOperationBaseGasCost().plus(memoryExpansionCost);
+    long cost = saturatedAdd(callOperationBaseGasCost(), memoryExpansionCost);
 
     if (!transferValue.isZero()) {
-      cost = cost.plus(callValueTransferGasCost());
+      cost = saturatedAdd(cost, callValueTransferGasCost());
     }
 
     if ((recipient == null || recipient.isEmpty()) && !transferValue.isZero()) {
-      cost = cost.plus(newAccountGasCost());
+      cost = saturatedAdd(cost, newAccountGasCost());
     }
 
     return cost;
   }
 
   @Override
-  protected Gas expOperationByteGasCost() {
+  protected long expOperationByteGasCost() {
     return EXP_OPERATION_BYTE_GAS_COST;
   }
 
-  private static final Gas SELFDESTRUCT_OPERATION_GAS_COST = Gas.of(5_000L);
+  private static final long SELFDESTRUCT_OPERATION_GAS_COST = 5_000L;
 
-  private static final Gas SELFDESTRUCT_OPERATION_CREATES_NEW_ACCOUNT = Gas.of(30_000L);
+  private static final long SELFDESTRUCT_OPERATION_CREATES_NEW_ACCOUNT = 30_000L;
 
   @Override
-  public Gas selfDestructOperationGasCost(final Account recipient, final Wei inheritance) {
+  public long selfDestructOperationGasCost(final Account recipient, final Wei inheritance) {
     if ((recipient == null || recipient.isEmpty()) && !inheritance.isZero()) {
       return SELFDESTRUCT_OPERATION_CREATES_NEW_ACCOUNT;
     } else {
@@ -12,26 +12,15 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
 
-import tech.pegasys.pantheon.crypto.altbn128.AltBn128Fq12Pairer;
-import tech.pegasys.pantheon.crypto.altbn128.AltBn128Fq2Point;
-import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
-import tech.pegasys.pantheon.crypto.altbn128.Fq;
-import tech.pegasys.pantheon.crypto.altbn128.Fq12;
-import tech.pegasys.pantheon.crypto.altbn128.Fq2;
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128Operations;
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.mainnet.AbstractPrecompiledContract;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
-import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-
 public class AltBN128PairingPrecompiledContract extends AbstractPrecompiledContract {
 
-  private static final int FIELD_LENGTH = 32;
   private static final int PARAMETER_LENGTH = 192;
 
   static final BytesValue FALSE =
@@ -41,82 +30,34 @@ public class AltBN128PairingPrecompiledContract extends AbstractPrecompiledContr
       BytesValue.fromHexString(
           "0x0000000000000000000000000000000000000000000000000000000000000001");
 
-  private final Gas pairingGasCost;
-  private final Gas baseGasCost;
+  private final long pairingGasCost;
+  private final long baseGasCost;
 
   private AltBN128PairingPrecompiledContract(
-      final GasCalculator gasCalculator, final Gas pairingGasCost, final Gas baseGasCost) {
+      final GasCalculator gasCalculator, final long pairingGasCost, final long baseGasCost) {
     super("AltBN128Pairing", gasCalculator);
     this.pairingGasCost = pairingGasCost;
     this.baseGasCost = baseGasCost;
   }
 
   public static AltBN128PairingPrecompiledContract byzantium(final GasCalculator gasCalculator) {
-    return new AltBN128PairingPrecompiledContract(gasCalculator, Gas.of(80_000), Gas.of(100_000));
+    return new AltBN128PairingPrecompiledContract(gasCalculator, 80_000L, 100_000L);
   }
 
   public static AltBN128PairingPrecompiledContract istanbul(final GasCalculator gasCalculator) {
-    return new AltBN128PairingPrecompiledContract(gasCalculator, Gas.of(34_000), Gas.of(45_000));
+    return new AltBN128PairingPrecompiledContract(gasCalculator, 34_000L, 45_000L);
   }
 
   @Override
-  public Gas gasRequirement(final BytesValue input) {
+  public long gasRequirement(final BytesValue input) {
     final int parameters = input.size() / PARAMETER_LENGTH;
-    return pairingGasCost.times(parameters).plus(baseGasCost);
+    return Gas.saturatedAdd(Gas.saturatedMultiply(pairingGasCost, parameters), baseGasCost);
   }
 
   @Override
   public BytesValue compute(final BytesValue input, final MessageFrame messageFrame) {
-    if (input.isEmpty()) {
-      return TRUE;
-    }
-    if (input.size() % PARAMETER_LENGTH != 0) {
-      return null;
-    }
-
-    final int parameters = input.size() / PARAMETER_LENGTH;
-    final List<AltBn128Point> a = new ArrayList<>();
-    final List<AltBn128Fq2Point> b = new ArrayList<>();
-    for (int i = 0; i < parameters; ++i) {
-      final BigInteger p1_x = extractParameter(input, i * PARAMETER_LENGTH, FIELD_LENGTH);
-      final BigInteger p1_y = extractParameter(input, i * PARAMETER_LENGTH + 32, FIELD_LENGTH);
-      final AltBn128Point p1 = new AltBn128Point(Fq.create(p1_x), Fq.create(p1_y));
-      if (!p1.isOnCurve()) {
-        return null;
-      }
-      a.add(p1);
-
-      final BigInteger p2_xImag = extractParameter(input, i * PARAMETER_LENGTH + 64, FIELD_LENGTH);
-      final BigInteger p2_xReal = extractParameter(input, i * PARAMETER_LENGTH + 96, FIELD_LENGTH);
-      final BigInteger p2_yImag = extractParameter(input, i * PARAMETER_LENGTH + 128, FIELD_LENGTH);
-      final BigInteger p2_yReal = extractParameter(input, i * PARAMETER_LENGTH + 160, FIELD_LENGTH);
-      final Fq2 p2_x = Fq2.create(p2_xReal, p2_xImag);
-      final Fq2 p2_y = Fq2.create(p2_yReal, p2_yImag);
-      final AltBn128Fq2Point p2 = new AltBn128Fq2Point(p2_x, p2_y);
-      if (!p2.isOnCurve() || !p2.isInGroup()) {
-        return null;
-      }
-      b.add(p2);
-    }
-
-    Fq12 exponent = Fq12.one();
-    for (int i = 0; i < parameters; ++i) {
-      exponent = exponent.multiply(AltBn128Fq12Pairer.pair(a.get(i), b.get(i)));
-    }
-
-    if (AltBn128Fq12Pairer.finalize(exponent).equals(Fq12.one())) {
-      return TRUE;
-    } else {
-      return FALSE;
-    }
-  }
-
-  private static BigInteger extractParameter(
-      final BytesValue input, final int offset, final int length) {
-    if (offset > input.size() || length == 0) {
-      return BigInteger.ZERO;
-    }
-    final byte[] raw = Arrays.copyOfRange(input.extractArray(), offset, offset + length);
-    return new BigInteger(1, raw);
+    return AltBn128Operations.pairingCheck(input)
+        .map(result -> result ? TRUE : FALSE)
+        .orElse(null);
   }
 }
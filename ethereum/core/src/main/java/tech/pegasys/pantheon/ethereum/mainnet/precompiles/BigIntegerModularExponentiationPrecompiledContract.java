@@ -21,7 +21,6 @@ import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 
 import java.math.BigInteger;
-import java.util.Arrays;
 
 // The big integer modular exponentiation precompiled contract defined in EIP-198.
 public class BigIntegerModularExponentiationPrecompiledContract
@@ -36,7 +35,7 @@ public class BigIntegerModularExponentiationPrecompiledContract
   private static final int BASE_LENGTH_OFFSET = 0;
   private static final int EXPONENT_LENGTH_OFFSET = 32;
   private static final int MODULUS_LENGTH_OFFSET = 64;
-  private static final int MAX_GAS_BITS = 255;
+  private static final int MAX_GAS_BITS = Long.SIZE - 1;
 
   private static final BigInteger BIGINT_4 = BigInteger.valueOf(4);
   private static final BigInteger BIGINT_16 = BigInteger.valueOf(16);
@@ -52,7 +51,7 @@ public class BigIntegerModularExponentiationPrecompiledContract
   }
 
   @Override
-  public Gas gasRequirement(final BytesValue input) {
+  public long gasRequirement(final BytesValue input) {
     // Typically gas calculations are delegated to a GasCalculator instance,
     // but the complexity and coupling wih other parts of the precompile seem
     // like reasonable reasons to do the math here instead.
@@ -70,40 +69,35 @@ public class BigIntegerModularExponentiationPrecompiledContract
             .multiply(adjustedExponentLength.max(BigInteger.ONE))
             .divide(GQUADDIVISOR);
 
-    // Gas price is so large it will not fit in a Gas type, so an
+    // Gas price is so large it will not fit in a long, so an
     // very very very unlikely high gas price is used instead.
     if (gasRequirement.bitLength() > MAX_GAS_BITS) {
-      return Gas.of(Long.MAX_VALUE);
+      return Long.MAX_VALUE;
     } else {
-      return Gas.of(gasRequirement);
+      return gasRequirement.longValue();
     }
   }
 
   @Override
   public BytesValue compute(final BytesValue input, final MessageFrame messageFrame) {
+    final BigInteger modulusLength = modulusLength(input);
+    if (modulusLength.signum() == 0) {
+      // The result is empty, and without a modulus the gas cost does not bound the other lengths.
+      return BytesValue.EMPTY;
+    }
     final BigInteger baseLength = baseLength(input);
     final BigInteger exponentLength = exponentLength(input);
-    final BigInteger modulusLength = modulusLength(input);
     final BigInteger exponentOffset = BASE_OFFSET.add(baseLength);
     final BigInteger modulusOffset = exponentOffset.add(exponentLength);
-    final BigInteger base = extractParameter(input, BASE_OFFSET, baseLength.intValue());
-    final BigInteger exp = extractParameter(input, exponentOffset, exponentLength.intValue());
-    final BigInteger mod = extractParameter(input, modulusOffset, modulusLength.intValue());
 
-    final BytesValue modExp;
     // Result must be the length of the modulus.
-    final MutableBytesValue result = MutableBytesValue.create(modulusLength.intValue());
-    if (mod.compareTo(BigInteger.ZERO) == 0) {
-      modExp = MutableBytesValue.EMPTY;
-    } else {
-      // BigInteger zero-pads positive values whose most significant bit is a 1 if
-      // the padding was not there.
-      modExp =
-          BytesValues.trimLeadingZeros(MutableBytesValue.wrap(base.modPow(exp, mod).toByteArray()));
+    final BytesValue modulus = extractBytes(input, modulusOffset, modulusLength.intValue());
+    if (modulus.isZero()) {
+      return MutableBytesValue.create(modulus.size());
     }
-
-    modExp.copyTo(result, result.size() - modExp.size());
-    return result;
+    final BytesValue base = extractBytes(input, BASE_OFFSET, baseLength.intValue());
+    final BytesValue exp = extractBytes(input, exponentOffset, exponentLength.intValue());
+    return ModularExponentiation.modExp(base, exp, modulus);
   }
 
   // Equation to estimate the multiplication complexity.
@@ -150,8 +144,7 @@ public class BigIntegerModularExponentiationPrecompiledContract
     if (offset > input.size() || length == 0) {
       return BigInteger.ZERO;
     }
-    final byte[] raw = Arrays.copyOfRange(input.extractArray(), offset, offset + length);
-    return new BigInteger(1, raw);
+    return BytesValues.asUnsignedBigInteger(extractBytes(input, offset, length));
   }
 
   private static BigInteger extractParameter(
@@ -162,6 +155,32 @@ public class BigIntegerModularExponentiationPrecompiledContract
     return extractParameter(input, offset.intValue(), length);
   }
 
+  // Input is implicitly right-padded with zeros, so only a parameter running past the end of the
+  // input needs a copy; anything else is a view over the input.
+  private static BytesValue extractBytes(
+      final BytesValue input, final int offset, final int length) {
+    if (length == 0) {
+      return BytesValue.EMPTY;
+    }
+    final int available = Math.max(0, Math.min(length, input.size() - offset));
+    if (available == length) {
+      return input.slice(offset, length);
+    }
+    final MutableBytesValue padded = MutableBytesValue.create(length);
+    if (available > 0) {
+      input.slice(offset, available).copyTo(padded, 0);
+    }
+    return padded;
+  }
+
+  private static BytesValue extractBytes(
+      final BytesValue input, final BigInteger offset, final int length) {
+    if (BigInteger.valueOf(input.size()).compareTo(offset) <= 0) {
+      return MutableBytesValue.create(length);
+    }
+    return extractBytes(input, offset.intValue(), length);
+  }
+
   private static BigInteger square(final BigInteger n) {
     return n.multiply(n);
   }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+/**
+ * Computes {@code base ^ exponent mod modulus} for the EIP-198 precompile.
+ *
+ * <p>Operands are fixed-width big-endian unsigned values and the result is always as wide as the
+ * modulus. Degenerate operands are answered without any arithmetic, moduli that fit in 32 bits are
+ * handled with primitive {@code long} arithmetic, and everything else goes through {@link
+ * java.math.BigInteger#modPow}, which already uses Montgomery multiplication with sliding windows
+ * for odd moduli and is backed by HotSpot intrinsics.
+ */
+final class ModularExponentiation {
+
+  private static final int MAX_SMALL_MODULUS_BYTES = Integer.BYTES;
+
+  private ModularExponentiation() {}
+
+  static BytesValue modExp(
+      final BytesValue base, final BytesValue exponent, final BytesValue modulus) {
+    final MutableBytesValue result = MutableBytesValue.create(modulus.size());
+    final BytesValue trimmedModulus = BytesValues.trimLeadingZeros(modulus);
+    if (trimmedModulus.isEmpty() || isOne(trimmedModulus)) {
+      return result;
+    }
+    if (exponent.isZero()) {
+      result.set(result.size() - 1, (byte) 1);
+      return result;
+    }
+    if (base.isZero()) {
+      return result;
+    }
+
+    final BytesValue modExp;
+    if (trimmedModulus.size() <= MAX_SMALL_MODULUS_BYTES) {
+      final long m = BytesValues.extractLong(trimmedModulus);
+      modExp = BytesValues.toMinimalBytes(smallModExp(base, exponent, m));
+    } else {
+      // BigInteger zero-pads positive values whose most significant bit is a 1 if
+      // the padding was not there.
+      modExp =
+          BytesValues.trimLeadingZeros(
+              BytesValue.wrap(
+                  BytesValues.asUnsignedBigInteger(base)
+                      .modPow(
+                          BytesValues.asUnsignedBigInteger(exponent),
+                          BytesValues.asUnsignedBigInteger(trimmedModulus))
+                      .toByteArray()));
+    }
+    modExp.copyTo(result, result.size() - modExp.size());
+    return result;
+  }
+
+  private static boolean isOne(final BytesValue trimmed) {
+    return trimmed.size() == 1 && trimmed.get(0) == 1;
+  }
+
+  // Left-to-right square and multiply for 1 < m < 2^32, so every product fits in an unsigned long.
+  private static long smallModExp(final BytesValue base, final BytesValue exponent, final long m) {
+    long b = 0;
+    for (int i = 0; i < base.size(); i++) {
+      b = ((b << 8) | (base.get(i) & 0xFF)) % m;
+    }
+    long r = 1;
+    for (int i = 0; i < exponent.size(); i++) {
+      final int e = exponent.get(i) & 0xFF;
+      for (int bit = 7; bit >= 0; bit--) {
+        r = Long.remainderUnsigned(r * r, m);
+        if ((e >>> bit & 1) != 0) {
+          r = Long.remainderUnsigned(r * b, m);
+        }
+      }
+    }
+    return r;
+  }
+}
@@ -13,7 +13,6 @@
 package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
 
 import tech.pegasys.pantheon.crypto.Hash;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.mainnet.AbstractPrecompiledContract;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
@@ -26,7 +25,7 @@ public class SHA256PrecompiledContract extends AbstractPrecompiledContract {
   }
 
   @Override
-  public Gas gasRequirement(final BytesValue input) {
+  public long gasRequirement(final BytesValue input) {
     return gasCalculator().sha256PrecompiledContractGasCost(input);
   }
 
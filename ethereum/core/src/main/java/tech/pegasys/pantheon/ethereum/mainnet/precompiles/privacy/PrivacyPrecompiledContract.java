@@ -17,7 +17,6 @@ import static tech.pegasys.pantheon.crypto.Hash.keccak256;
 import tech.pegasys.pantheon.enclave.Enclave;
 import tech.pegasys.pantheon.enclave.types.ReceiveRequest;
 import tech.pegasys.pantheon.enclave.types.ReceiveResponse;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.LogSeries;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
@@ -86,8 +85,8 @@ public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
   }
 
   @Override
-  public Gas gasRequirement(final BytesValue input) {
-    return Gas.of(40_000L); // Not sure
+  public long gasRequirement(final BytesValue input) {
+    return 40_000L; // Not sure
   }
 
   @Override
@@ -29,6 +29,7 @@ import tech.pegasys.pantheon.ethereum.mainnet.TransactionValidator.TransactionIn
 import tech.pegasys.pantheon.ethereum.mainnet.ValidationResult;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.Code;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.ethereum.vm.OperationTracer;
@@ -61,6 +62,8 @@ public class PrivateTransactionProcessor {
 
   private final int createContractAccountVersion;
 
+  private final CodeCache codeCache;
+
   public static class Result implements TransactionProcessor.Result {
 
     private final Status status;
@@ -163,7 +166,8 @@ public class PrivateTransactionProcessor {
       final AbstractMessageProcessor messageCallProcessor,
       final boolean clearEmptyAccounts,
       final int maxStackSize,
-      final int createContractAccountVersion) {
+      final int createContractAccountVersion,
+      final CodeCache codeCache) {
     this.gasCalculator = gasCalculator;
     this.transactionValidator = transactionValidator;
     this.privateTransactionValidator = new PrivateTransactionValidator();
@@ -172,6 +176,7 @@ public class PrivateTransactionProcessor {
     this.clearEmptyAccounts = clearEmptyAccounts;
     this.maxStackSize = maxStackSize;
     this.createContractAccountVersion = createContractAccountVersion;
+    this.codeCache = codeCache;
   }
 
   @SuppressWarnings("unused")
@@ -230,13 +235,14 @@ public class PrivateTransactionProcessor {
               .originator(senderAddress)
               .contract(privateContractAddress)
               .contractAccountVersion(createContractAccountVersion)
-              .initialGas(Gas.MAX_VALUE)
+              .initialGas(Long.MAX_VALUE)
               .gasPrice(transaction.getGasPrice())
               .inputData(BytesValue.EMPTY)
               .sender(senderAddress)
               .value(transaction.getValue())
               .apparentValue(transaction.getValue())
               .code(new Code(transaction.getPayload()))
+              .codeCache(codeCache)
               .blockHeader(blockHeader)
               .depth(0)
               .completer(c -> {})
@@ -260,13 +266,14 @@ public class PrivateTransactionProcessor {
               .contract(to)
               .contractAccountVersion(
                   contract != null ? contract.getVersion() : Account.DEFAULT_VERSION)
-              .initialGas(Gas.MAX_VALUE)
+              .initialGas(Long.MAX_VALUE)
               .gasPrice(transaction.getGasPrice())
               .inputData(transaction.getPayload())
               .sender(senderAddress)
               .value(transaction.getValue())
               .apparentValue(transaction.getValue())
-              .code(new Code(contract != null ? contract.getCode() : BytesValue.EMPTY))
+              .code(codeCache.getOrLoad(contract))
+              .codeCache(codeCache)
               .blockHeader(blockHeader)
               .depth(0)
               .completer(c -> {})
@@ -322,12 +329,11 @@ public class PrivateTransactionProcessor {
   }
 
   @SuppressWarnings("unused")
-  private static Gas refunded(
-      final Transaction transaction, final Gas gasRemaining, final Gas gasRefund) {
+  private static long refunded(
+      final Transaction transaction, final long gasRemaining, final long gasRefund) {
     // Integer truncation takes care of the the floor calculation needed after the divide.
-    final Gas maxRefundAllowance =
-        Gas.of(transaction.getGasLimit()).minus(gasRemaining).dividedBy(2);
-    final Gas refundAllowance = maxRefundAllowance.min(gasRefund);
-    return gasRemaining.plus(refundAllowance);
+    final long maxRefundAllowance = (transaction.getGasLimit() - gasRemaining) / 2;
+    final long refundAllowance = Math.min(maxRefundAllowance, gasRefund);
+    return Gas.saturatedAdd(gasRemaining, refundAllowance);
   }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.ancient;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockchainStorage;
+import tech.pegasys.pantheon.ethereum.chain.TransactionLocation;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link BlockchainStorage} that serves the bodies and receipts of old canonical blocks from an
+ * {@link AncientStore} once they have been frozen out of the live storage.
+ *
+ * <p>Headers, the canonical hash index and everything else stay in the live storage, which is
+ * used to find the number of a block from its hash.
+ */
+public class AncientBlockchainStorage implements BlockchainStorage {
+  private static final int FREEZE_BATCH_SIZE = 1000;
+
+  private final BlockchainStorage liveStorage;
+  private final AncientStore ancientStore;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+
+  public AncientBlockchainStorage(
+      final BlockchainStorage liveStorage,
+      final AncientStore ancientStore,
+      final BlockHeaderFunctions blockHeaderFunctions) {
+    this.liveStorage = liveStorage;
+    this.ancientStore = ancientStore;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+  }
+
+  @Override
+  public Optional<Hash> getChainHead() {
+    return liveStorage.getChainHead();
+  }
+
+  @Override
+  public Collection<Hash> getForkHeads() {
+    return liveStorage.getForkHeads();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
+    return liveStorage.getBlockHeader(blockHash);
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHash) {
+    final Optional<BlockBody> body = liveStorage.getBlockBody(blockHash);
+    if (body.isPresent()) {
+      return body;
+    }
+    return getAncientBlockNumber(blockHash)
+        .flatMap(ancientStore::getBlockBody)
+        .map(bytes -> BlockBody.readFrom(RLP.input(bytes), blockHeaderFunctions));
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
+    final Optional<List<TransactionReceipt>> receipts =
+        liveStorage.getTransactionReceipts(blockHash);
+    if (receipts.isPresent()) {
+      return receipts;
+    }
+    return getAncientBlockNumber(blockHash)
+        .flatMap(ancientStore::getTransactionReceipts)
+        .map(bytes -> RLP.input(bytes).readList(TransactionReceipt::readFrom));
+  }
+
+  @Override
+  public Optional<Hash> getBlockHash(final long blockNumber) {
+    return liveStorage.getBlockHash(blockNumber);
+  }
+
+  @Override
+  public Optional<UInt256> getTotalDifficulty(final Hash blockHash) {
+    return liveStorage.getTotalDifficulty(blockHash);
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return liveStorage.getTransactionLocation(transactionHash);
+  }
+
+  @Override
+  public Updater updater() {
+    return liveStorage.updater();
+  }
+
+  /**
+   * Moves the bodies and receipts of canonical blocks up to and including the given block number
+   * from the live storage into the ancient store. Stops early at the first block whose body or
+   * receipts aren't available yet, such as while fast sync is still downloading them.
+   *
+   * @param lastBlockNumber the number of the last block to freeze
+   * @return the number of blocks frozen
+   */
+  public synchronized long freeze(final long lastBlockNumber) {
+    long frozenBlocks = 0;
+    while (ancientStore.getBlockCount() <= lastBlockNumber) {
+      final long firstBlockNumber = ancientStore.getBlockCount();
+      final long batchEnd = Math.min(lastBlockNumber, firstBlockNumber + FREEZE_BATCH_SIZE - 1);
+      final List<Hash> batchHashes = freezeBatch(firstBlockNumber, batchEnd);
+      if (batchHashes.isEmpty()) {
+        break;
+      }
+
+      // The frozen copy must be durable before the live copy is removed.
+      ancientStore.sync();
+      final Updater updater = liveStorage.updater();
+      for (final Hash blockHash : batchHashes) {
+        updater.removeBlockBody(blockHash);
+        updater.removeTransactionReceipts(blockHash);
+      }
+      updater.commit();
+
+      frozenBlocks += batchHashes.size();
+      if (firstBlockNumber + batchHashes.size() <= batchEnd) {
+        break;
+      }
+    }
+    return frozenBlocks;
+  }
+
+  private List<Hash> freezeBatch(final long firstBlockNumber, final long lastBlockNumber) {
+    final List<Hash> blockHashes = new ArrayList<>();
+    for (long blockNumber = firstBlockNumber; blockNumber <= lastBlockNumber; blockNumber++) {
+      final Optional<Hash> blockHash = liveStorage.getBlockHash(blockNumber);
+      final Optional<BlockBody> body = blockHash.flatMap(liveStorage::getBlockBody);
+      final Optional<List<TransactionReceipt>> receipts =
+          blockHash.flatMap(liveStorage::getTransactionReceipts);
+      if (!body.isPresent() || !receipts.isPresent()) {
+        break;
+      }
+      ancientStore.append(
+          blockNumber, RLP.encode(body.get()::writeTo), encodeReceipts(receipts.get()));
+      blockHashes.add(blockHash.get());
+    }
+    return blockHashes;
+  }
+
+  private Optional<Long> getAncientBlockNumber(final Hash blockHash) {
+    // Only canonical blocks are frozen, so a block of the same number on a fork isn't there.
+    return liveStorage
+        .getBlockHeader(blockHash)
+        .map(BlockHeader::getNumber)
+        .filter(blockNumber -> blockNumber < ancientStore.getBlockCount())
+        .filter(
+            blockNumber -> liveStorage.getBlockHash(blockNumber).equals(Optional.of(blockHash)));
+  }
+
+  private static BytesValue encodeReceipts(final List<TransactionReceipt> receipts) {
+    return RLP.encode(o -> o.writeList(receipts, TransactionReceipt::writeToWithRevertReason));
+  }
+}
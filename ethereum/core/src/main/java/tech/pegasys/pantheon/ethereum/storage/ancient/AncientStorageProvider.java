@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.ancient;
+
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.privacy.PrivateStateStorage;
+import tech.pegasys.pantheon.ethereum.privacy.PrivateTransactionStorage;
+import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+
+import java.io.IOException;
+
+/** Adds an {@link AncientStore} behind the blockchain storage of another storage provider. */
+public class AncientStorageProvider implements StorageProvider {
+
+  private final StorageProvider liveStorageProvider;
+  private final AncientStore ancientStore;
+  private AncientBlockchainStorage blockchainStorage;
+
+  public AncientStorageProvider(
+      final StorageProvider liveStorageProvider, final AncientStore ancientStore) {
+    this.liveStorageProvider = liveStorageProvider;
+    this.ancientStore = ancientStore;
+  }
+
+  @Override
+  public synchronized AncientBlockchainStorage createBlockchainStorage(
+      final ProtocolSchedule<?> protocolSchedule) {
+    // Freezing must go through the same instance that serves reads, so hand out a single one.
+    if (blockchainStorage == null) {
+      blockchainStorage =
+          new AncientBlockchainStorage(
+              liveStorageProvider.createBlockchainStorage(protocolSchedule),
+              ancientStore,
+              ScheduleBasedBlockHeaderFunctions.create(protocolSchedule));
+    }
+    return blockchainStorage;
+  }
+
+  @Override
+  public WorldStateStorage createWorldStateStorage() {
+    return liveStorageProvider.createWorldStateStorage();
+  }
+
+  @Override
+  public PrivateTransactionStorage createPrivateTransactionStorage() {
+    return liveStorageProvider.createPrivateTransactionStorage();
+  }
+
+  @Override
+  public PrivateStateStorage createPrivateStateStorage() {
+    return liveStorageProvider.createPrivateStateStorage();
+  }
+
+  @Override
+  public KeyValueStorage createPruningStorage() {
+    return liveStorageProvider.createPruningStorage();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      liveStorageProvider.close();
+    } finally {
+      ancientStore.close();
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.ancient;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Flat file storage for the RLP encoded bodies and receipts of old canonical blocks, which never
+ * change. Blocks are stored by number in append-only files, so they are never rewritten the way
+ * compaction rewrites data in the live key value storage.
+ */
+public class AncientStore implements Closeable {
+  private static final String BODIES = "bodies";
+  private static final String RECEIPTS = "receipts";
+
+  private final AppendOnlyFileTable bodies;
+  private final AppendOnlyFileTable receipts;
+
+  private AncientStore(final AppendOnlyFileTable bodies, final AppendOnlyFileTable receipts)
+      throws IOException {
+    this.bodies = bodies;
+    this.receipts = receipts;
+    // Each block is appended to both tables, so drop any block that was only partly written.
+    final long blockCount = Math.min(bodies.size(), receipts.size());
+    bodies.truncate(blockCount);
+    receipts.truncate(blockCount);
+  }
+
+  public static AncientStore open(final Path directory) throws IOException {
+    Files.createDirectories(directory);
+    return new AncientStore(
+        AppendOnlyFileTable.open(directory, BODIES), AppendOnlyFileTable.open(directory, RECEIPTS));
+  }
+
+  /**
+   * Returns the number of blocks in the store, which always holds blocks 0 to this count - 1.
+   *
+   * @return the number of stored blocks
+   */
+  public long getBlockCount() {
+    return receipts.size();
+  }
+
+  public Optional<BytesValue> getBlockBody(final long blockNumber) {
+    return get(bodies, blockNumber);
+  }
+
+  public Optional<BytesValue> getTransactionReceipts(final long blockNumber) {
+    return get(receipts, blockNumber);
+  }
+
+  /**
+   * Appends the next block to the store. The block isn't durable until {@link #sync()} is called.
+   *
+   * @param blockNumber the number of the block, which must be the current block count
+   * @param body the RLP encoded block body
+   * @param transactionReceipts the RLP encoded transaction receipts
+   */
+  public synchronized void append(
+      final long blockNumber, final BytesValue body, final BytesValue transactionReceipts) {
+    final long blockCount = getBlockCount();
+    checkArgument(
+        blockNumber == blockCount,
+        "Expected block %s to be appended but got %s",
+        blockCount,
+        blockNumber);
+    try {
+      bodies.append(body);
+      // Receipts are appended last as they determine the block count.
+      receipts.append(transactionReceipts);
+    } catch (final IOException e) {
+      // Keep the tables aligned so the next append gets the right block number.
+      try {
+        bodies.truncate(blockCount);
+        receipts.truncate(blockCount);
+      } catch (final IOException truncateError) {
+        e.addSuppressed(truncateError);
+      }
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public void sync() {
+    try {
+      bodies.sync();
+      receipts.sync();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    bodies.close();
+    receipts.close();
+  }
+
+  private Optional<BytesValue> get(final AppendOnlyFileTable table, final long blockNumber) {
+    if (blockNumber >= getBlockCount()) {
+      return Optional.empty();
+    }
+    try {
+      return table.get(blockNumber);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.ancient;
+
+public class AncientStoreConfiguration {
+  public static final boolean DEFAULT_ENABLED = false;
+  public static final long DEFAULT_BLOCK_DEPTH = 90000;
+
+  private final boolean enabled;
+  private final long blockDepth;
+
+  public AncientStoreConfiguration(final boolean enabled, final long blockDepth) {
+    this.enabled = enabled;
+    this.blockDepth = blockDepth;
+  }
+
+  public static AncientStoreConfiguration getDefault() {
+    return new AncientStoreConfiguration(DEFAULT_ENABLED, DEFAULT_BLOCK_DEPTH);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns how far behind the chain head a block must be before it is moved into the ancient
+   * store.
+   *
+   * @return the number of blocks between the chain head and the newest ancient block
+   */
+  public long getBlockDepth() {
+    return blockDepth;
+  }
+}
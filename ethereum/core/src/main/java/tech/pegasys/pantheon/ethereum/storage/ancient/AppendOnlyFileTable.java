@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.ancient;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * An append-only table of values numbered from zero, stored in a data file holding the values back
+ * to back and an index file holding the end offset of each value in the data file.
+ *
+ * <p>Values are only ever appended, so readers can use positional reads without locking while a
+ * single writer appends. A file channel is closed when a thread using it is interrupted, so the
+ * files are reopened rather than failing every other reader.
+ */
+class AppendOnlyFileTable implements Closeable {
+  private static final int OFFSET_SIZE = Long.BYTES;
+
+  private final ReopeningFileChannel data;
+  private final ReopeningFileChannel index;
+  private volatile long size;
+  private long dataSize;
+
+  private AppendOnlyFileTable(final ReopeningFileChannel data, final ReopeningFileChannel index)
+      throws IOException {
+    this.data = data;
+    this.index = index;
+    long entries = index.apply(FileChannel::size) / OFFSET_SIZE;
+    // Drop index entries whose data never made it to disk, e.g. after a crash mid-append.
+    while (entries > 0 && readOffset(entries - 1) > data.apply(FileChannel::size)) {
+      entries--;
+    }
+    truncate(entries);
+  }
+
+  static AppendOnlyFileTable open(final Path directory, final String name) throws IOException {
+    return new AppendOnlyFileTable(
+        new ReopeningFileChannel(directory.resolve(name + ".dat")),
+        new ReopeningFileChannel(directory.resolve(name + ".idx")));
+  }
+
+  long size() {
+    return size;
+  }
+
+  Optional<BytesValue> get(final long number) throws IOException {
+    if (number < 0 || number >= size) {
+      return Optional.empty();
+    }
+    final long start = number == 0 ? 0 : readOffset(number - 1);
+    final long end = readOffset(number);
+    final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+    readFully(data, buffer, start);
+    return Optional.of(BytesValue.wrap(buffer.array()));
+  }
+
+  synchronized void append(final BytesValue value) throws IOException {
+    writeFully(data, ByteBuffer.wrap(value.getArrayUnsafe()), dataSize);
+    dataSize += value.size();
+    final ByteBuffer offset = ByteBuffer.allocate(OFFSET_SIZE).putLong(0, dataSize);
+    writeFully(index, offset, size * OFFSET_SIZE);
+    // Only publish the value once both its data and its index entry are written.
+    size++;
+  }
+
+  synchronized void truncate(final long newSize) throws IOException {
+    index.apply(channel -> channel.truncate(newSize * OFFSET_SIZE));
+    dataSize = newSize == 0 ? 0 : readOffset(newSize - 1);
+    data.apply(channel -> channel.truncate(dataSize));
+    size = newSize;
+  }
+
+  void sync() throws IOException {
+    // Data first so a durable index entry never points past the durable data.
+    data.apply(
+        channel -> {
+          channel.force(false);
+          return null;
+        });
+    index.apply(
+        channel -> {
+          channel.force(false);
+          return null;
+        });
+  }
+
+  @Override
+  public void close() throws IOException {
+    data.close();
+    index.close();
+  }
+
+  private long readOffset(final long number) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(OFFSET_SIZE);
+    readFully(index, buffer, number * OFFSET_SIZE);
+    return buffer.getLong(0);
+  }
+
+  private static void readFully(
+      final ReopeningFileChannel channel, final ByteBuffer buffer, final long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      final int read = channel.apply(c -> c.read(buffer, position + buffer.position()));
+      if (read < 0) {
+        throw new IOException("Unexpected end of file in ancient store");
+      }
+    }
+  }
+
+  private static void writeFully(
+      final ReopeningFileChannel channel, final ByteBuffer buffer, final long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.apply(c -> c.write(buffer, position + buffer.position()));
+    }
+  }
+
+  @FunctionalInterface
+  private interface ChannelOperation<T> {
+    T apply(FileChannel channel) throws IOException;
+  }
+
+  /** A file channel that is reopened if it was closed by interrupting a thread using it. */
+  private static class ReopeningFileChannel implements Closeable {
+    private final Path path;
+    private volatile FileChannel channel;
+    private volatile boolean closed;
+
+    ReopeningFileChannel(final Path path) throws IOException {
+      this.path = path;
+      this.channel = open(path);
+    }
+
+    <T> T apply(final ChannelOperation<T> operation) throws IOException {
+      while (true) {
+        final FileChannel current = channel;
+        try {
+          return operation.apply(current);
+        } catch (final ClosedChannelException e) {
+          // The interrupted thread itself gives up, everyone else carries on with a new channel.
+          if (closed || Thread.currentThread().isInterrupted()) {
+            throw e;
+          }
+          reopen(current);
+        }
+      }
+    }
+
+    private synchronized void reopen(final FileChannel closedChannel) throws IOException {
+      if (!closed && channel == closedChannel) {
+        channel = open(path);
+      }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      closed = true;
+      channel.close();
+    }
+
+    private static FileChannel open(final Path path) throws IOException {
+      return FileChannel.open(
+          path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.ancient;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Moves blocks into the ancient store in the background once they are deep enough in the
+ * canonical chain that they can no longer be reorged out.
+ */
+public class Freezer {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final AncientBlockchainStorage blockchainStorage;
+  private final Blockchain blockchain;
+  private final long blockDepth;
+  private final ExecutorService executorService;
+  private final Counter frozenBlocksCounter;
+
+  private final AtomicBoolean freezing = new AtomicBoolean(false);
+  private long blockAddedObserverId = -1;
+
+  public Freezer(
+      final AncientBlockchainStorage blockchainStorage,
+      final Blockchain blockchain,
+      final long blockDepth,
+      final MetricsSystem metricsSystem) {
+    this(
+        blockchainStorage,
+        blockchain,
+        blockDepth,
+        metricsSystem,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat("AncientFreezer-%d")
+                .build()));
+  }
+
+  Freezer(
+      final AncientBlockchainStorage blockchainStorage,
+      final Blockchain blockchain,
+      final long blockDepth,
+      final MetricsSystem metricsSystem,
+      final ExecutorService executorService) {
+    checkArgument(blockDepth >= 0, "blockDepth must be non-negative");
+    this.blockchainStorage = blockchainStorage;
+    this.blockchain = blockchain;
+    this.blockDepth = blockDepth;
+    this.executorService = executorService;
+    this.frozenBlocksCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "ancient_frozen_blocks_total",
+            "Total number of blocks moved into the ancient store");
+  }
+
+  public void start() {
+    LOG.info("Starting ancient block freezer.");
+    blockAddedObserverId =
+        blockchain.observeBlockAdded((event, blockchain) -> handleNewBlock(event));
+  }
+
+  public void stop() throws InterruptedException {
+    LOG.info("Stopping ancient block freezer.");
+    if (blockAddedObserverId >= 0) {
+      blockchain.removeObserver(blockAddedObserverId);
+      blockAddedObserverId = -1;
+    }
+    executorService.shutdownNow();
+    executorService.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  private void handleNewBlock(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    final long lastBlockNumber = event.getBlock().getHeader().getNumber() - blockDepth;
+    // Only one freeze runs at a time, the next block added picks up anything it missed.
+    if (lastBlockNumber < 0 || !freezing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      executorService.execute(() -> freeze(lastBlockNumber));
+    } catch (final Exception e) {
+      LOG.error("Freezing ancient blocks failed", e);
+      freezing.set(false);
+    }
+  }
+
+  private void freeze(final long lastBlockNumber) {
+    try {
+      final long frozenBlocks = blockchainStorage.freeze(lastBlockNumber);
+      if (frozenBlocks > 0) {
+        LOG.debug("Moved {} blocks into the ancient store", frozenBlocks);
+        frozenBlocksCounter.inc(frozenBlocks);
+      }
+    } catch (final Exception e) {
+      LOG.error("Freezing ancient blocks failed", e);
+    } finally {
+      freezing.set(false);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.keyvalue;
+
+import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage.AccessPattern;
+import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage.Segment;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+/** The kinds of blockchain data, each of which can be kept in its own storage segment. */
+enum BlockchainSegment implements Segment {
+  CONSTANTS(1, AccessPattern.MIXED),
+  BLOCK_HEADERS(2, AccessPattern.MIXED),
+  BLOCK_BODIES(3, AccessPattern.BULK),
+  TRANSACTION_RECEIPTS(4, AccessPattern.BULK),
+  BLOCK_HASHES(5, AccessPattern.POINT_LOOKUP),
+  TOTAL_DIFFICULTIES(6, AccessPattern.POINT_LOOKUP),
+  TRANSACTION_LOCATIONS(7, AccessPattern.POINT_LOOKUP);
+
+  // Column ids extend the original blockchain column id so they can't clash with other columns.
+  private static final byte BLOCKCHAIN_COLUMN_ID = 1;
+
+  private final BytesValue prefix;
+  private final AccessPattern accessPattern;
+
+  BlockchainSegment(final int prefix, final AccessPattern accessPattern) {
+    this.prefix = BytesValue.of(prefix);
+    this.accessPattern = accessPattern;
+  }
+
+  /**
+   * The key prefix used when all blockchain data shares a single keyspace.
+   *
+   * @return the key prefix for this segment
+   */
+  BytesValue getPrefix() {
+    return prefix;
+  }
+
+  @Override
+  public String getName() {
+    return name();
+  }
+
+  @Override
+  public byte[] getId() {
+    return new byte[] {BLOCKCHAIN_COLUMN_ID, prefix.get(0)};
+  }
+
+  @Override
+  public AccessPattern getAccessPattern() {
+    return accessPattern;
+  }
+}
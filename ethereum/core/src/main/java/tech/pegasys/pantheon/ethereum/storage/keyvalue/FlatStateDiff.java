@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.keyvalue;
+
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The flat snapshot entries changed by a world state persisted on top of its parent state.
+ *
+ * <p>The storage of the cleared accounts is wiped before the entries are applied. Removed entries
+ * are recorded as empty values.
+ */
+class FlatStateDiff {
+
+  private final Bytes32 parentRootHash;
+  private final Map<BytesValue, BytesValue> entries;
+  private final Set<Bytes32> clearedStorage;
+
+  FlatStateDiff(
+      final Bytes32 parentRootHash,
+      final Map<BytesValue, BytesValue> entries,
+      final Set<Bytes32> clearedStorage) {
+    this.parentRootHash = parentRootHash;
+    this.entries = entries;
+    this.clearedStorage = clearedStorage;
+  }
+
+  Bytes32 getParentRootHash() {
+    return parentRootHash;
+  }
+
+  Map<BytesValue, BytesValue> getEntries() {
+    return entries;
+  }
+
+  Set<Bytes32> getClearedStorage() {
+    return clearedStorage;
+  }
+
+  BytesValue encode() {
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeBytesValue(parentRootHash);
+          out.startList();
+          entries.forEach(
+              (key, value) -> {
+                out.startList();
+                out.writeBytesValue(key);
+                out.writeBytesValue(value);
+                out.endList();
+              });
+          out.endList();
+          out.writeList(
+              clearedStorage, (accountHash, listOut) -> listOut.writeBytesValue(accountHash));
+          out.endList();
+        });
+  }
+
+  static FlatStateDiff decode(final BytesValue encoded) {
+    final RLPInput in = RLP.input(encoded);
+    in.enterList();
+    final Bytes32 parentRootHash = in.readBytes32();
+    final Map<BytesValue, BytesValue> entries = new HashMap<>();
+    in.enterList();
+    while (!in.isEndOfCurrentList()) {
+      in.enterList();
+      entries.put(in.readBytesValue(), in.readBytesValue());
+      in.leaveList();
+    }
+    in.leaveList();
+    final Set<Bytes32> clearedStorage = new HashSet<>(in.readList(RLPInput::readBytes32));
+    in.leaveList();
+    return new FlatStateDiff(parentRootHash, entries, clearedStorage);
+  }
+}
@@ -21,6 +21,7 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
@@ -29,7 +30,9 @@ import tech.pegasys.pantheon.util.uint.UInt256Bytes;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.google.common.collect.Lists;
@@ -41,65 +44,76 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   private static final BytesValue FORK_HEADS_KEY =
       BytesValue.wrap("forkHeads".getBytes(StandardCharsets.UTF_8));
 
-  private static final BytesValue CONSTANTS_PREFIX = BytesValue.of(1);
-  private static final BytesValue BLOCK_HEADER_PREFIX = BytesValue.of(2);
-  private static final BytesValue BLOCK_BODY_PREFIX = BytesValue.of(3);
-  private static final BytesValue TRANSACTION_RECEIPTS_PREFIX = BytesValue.of(4);
-  private static final BytesValue BLOCK_HASH_PREFIX = BytesValue.of(5);
-  private static final BytesValue TOTAL_DIFFICULTY_PREFIX = BytesValue.of(6);
-  private static final BytesValue TRANSACTION_LOCATION_PREFIX = BytesValue.of(7);
-
-  private final KeyValueStorage storage;
+  private final SegmentStore storage;
   private final BlockHeaderFunctions blockHeaderFunctions;
 
   public KeyValueStoragePrefixedKeyBlockchainStorage(
       final KeyValueStorage storage, final BlockHeaderFunctions blockHeaderFunctions) {
+    this(new PrefixedKeySegmentStore(storage), blockHeaderFunctions);
+  }
+
+  /**
+   * Creates a blockchain storage that keeps each kind of data in its own segment, so each can be
+   * tuned for how it is accessed.
+   *
+   * @param storage the segmented storage, which must include every {@link BlockchainSegment}
+   * @param blockHeaderFunctions the functions used to decode block headers
+   */
+  public KeyValueStoragePrefixedKeyBlockchainStorage(
+      final SegmentedKeyValueStorage<?> storage, final BlockHeaderFunctions blockHeaderFunctions) {
+    this(new SegmentedSegmentStore<>(storage), blockHeaderFunctions);
+  }
+
+  private KeyValueStoragePrefixedKeyBlockchainStorage(
+      final SegmentStore storage, final BlockHeaderFunctions blockHeaderFunctions) {
     this.storage = storage;
     this.blockHeaderFunctions = blockHeaderFunctions;
   }
 
   @Override
   public Optional<Hash> getChainHead() {
-    return get(CONSTANTS_PREFIX, CHAIN_HEAD_KEY).map(this::bytesToHash);
+    return get(BlockchainSegment.CONSTANTS, CHAIN_HEAD_KEY).map(this::bytesToHash);
   }
 
   @Override
   public Collection<Hash> getForkHeads() {
-    return get(CONSTANTS_PREFIX, FORK_HEADS_KEY)
+    return get(BlockchainSegment.CONSTANTS, FORK_HEADS_KEY)
         .map(bytes -> RLP.input(bytes).readList(in -> this.bytesToHash(in.readBytes32())))
         .orElse(Lists.newArrayList());
   }
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
-    return get(BLOCK_HEADER_PREFIX, blockHash)
+    return get(BlockchainSegment.BLOCK_HEADERS, blockHash)
         .map(b -> BlockHeader.readFrom(RLP.input(b), blockHeaderFunctions));
   }
 
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHash) {
-    return get(BLOCK_BODY_PREFIX, blockHash)
+    return get(BlockchainSegment.BLOCK_BODIES, blockHash)
         .map(bytesValue -> BlockBody.readFrom(RLP.input(bytesValue), blockHeaderFunctions));
   }
 
   @Override
   public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
-    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
+    return get(BlockchainSegment.TRANSACTION_RECEIPTS, blockHash)
+        .map(this::rlpDecodeTransactionReceipts);
   }
 
   @Override
   public Optional<Hash> getBlockHash(final long blockNumber) {
-    return get(BLOCK_HASH_PREFIX, UInt256Bytes.of(blockNumber)).map(this::bytesToHash);
+    return get(BlockchainSegment.BLOCK_HASHES, UInt256Bytes.of(blockNumber)).map(this::bytesToHash);
   }
 
   @Override
   public Optional<UInt256> getTotalDifficulty(final Hash blockHash) {
-    return get(TOTAL_DIFFICULTY_PREFIX, blockHash).map(b -> UInt256.wrap(Bytes32.wrap(b, 0)));
+    return get(BlockchainSegment.TOTAL_DIFFICULTIES, blockHash)
+        .map(b -> UInt256.wrap(Bytes32.wrap(b, 0)));
   }
 
   @Override
   public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
-    return get(TRANSACTION_LOCATION_PREFIX, transactionHash)
+    return get(BlockchainSegment.TRANSACTION_LOCATIONS, transactionHash)
         .map(bytesValue -> TransactionLocation.readFrom(RLP.input(bytesValue)));
   }
 
@@ -116,70 +130,83 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     return Hash.wrap(Bytes32.wrap(bytesValue, 0));
   }
 
-  private Optional<BytesValue> get(final BytesValue prefix, final BytesValue key) {
-    return storage.get(BytesValues.concatenate(prefix, key));
+  private Optional<BytesValue> get(final BlockchainSegment segment, final BytesValue key) {
+    return storage.get(segment, key);
   }
 
   public static class Updater implements BlockchainStorage.Updater {
 
-    private final KeyValueStorage.Transaction transaction;
+    private final SegmentTransaction transaction;
 
-    private Updater(final KeyValueStorage.Transaction transaction) {
+    private Updater(final SegmentTransaction transaction) {
       this.transaction = transaction;
     }
 
     @Override
     public void putBlockHeader(final Hash blockHash, final BlockHeader blockHeader) {
-      set(BLOCK_HEADER_PREFIX, blockHash, RLP.encode(blockHeader::writeTo));
+      set(BlockchainSegment.BLOCK_HEADERS, blockHash, RLP.encode(blockHeader::writeTo));
     }
 
     @Override
     public void putBlockBody(final Hash blockHash, final BlockBody blockBody) {
-      set(BLOCK_BODY_PREFIX, blockHash, RLP.encode(blockBody::writeTo));
+      set(BlockchainSegment.BLOCK_BODIES, blockHash, RLP.encode(blockBody::writeTo));
     }
 
     @Override
     public void putTransactionLocation(
         final Hash transactionHash, final TransactionLocation transactionLocation) {
-      set(TRANSACTION_LOCATION_PREFIX, transactionHash, RLP.encode(transactionLocation::writeTo));
+      set(
+          BlockchainSegment.TRANSACTION_LOCATIONS,
+          transactionHash,
+          RLP.encode(transactionLocation::writeTo));
     }
 
     @Override
     public void putTransactionReceipts(
         final Hash blockHash, final List<TransactionReceipt> transactionReceipts) {
-      set(TRANSACTION_RECEIPTS_PREFIX, blockHash, rlpEncode(transactionReceipts));
+      set(BlockchainSegment.TRANSACTION_RECEIPTS, blockHash, rlpEncode(transactionReceipts));
     }
 
     @Override
     public void putBlockHash(final long blockNumber, final Hash blockHash) {
-      set(BLOCK_HASH_PREFIX, UInt256Bytes.of(blockNumber), blockHash);
+      set(BlockchainSegment.BLOCK_HASHES, UInt256Bytes.of(blockNumber), blockHash);
     }
 
     @Override
     public void putTotalDifficulty(final Hash blockHash, final UInt256 totalDifficulty) {
-      set(TOTAL_DIFFICULTY_PREFIX, blockHash, totalDifficulty.getBytes());
+      set(BlockchainSegment.TOTAL_DIFFICULTIES, blockHash, totalDifficulty.getBytes());
     }
 
     @Override
     public void setChainHead(final Hash blockHash) {
-      set(CONSTANTS_PREFIX, CHAIN_HEAD_KEY, blockHash);
+      set(BlockchainSegment.CONSTANTS, CHAIN_HEAD_KEY, blockHash);
     }
 
     @Override
     public void setForkHeads(final Collection<Hash> forkHeadHashes) {
       final BytesValue data =
           RLP.encode(o -> o.writeList(forkHeadHashes, (val, out) -> out.writeBytesValue(val)));
-      set(CONSTANTS_PREFIX, FORK_HEADS_KEY, data);
+      set(BlockchainSegment.CONSTANTS, FORK_HEADS_KEY, data);
     }
 
     @Override
     public void removeBlockHash(final long blockNumber) {
-      remove(BLOCK_HASH_PREFIX, UInt256Bytes.of(blockNumber));
+      remove(BlockchainSegment.BLOCK_HASHES, UInt256Bytes.of(blockNumber));
     }
 
     @Override
     public void removeTransactionLocation(final Hash transactionHash) {
-      remove(TRANSACTION_LOCATION_PREFIX, transactionHash);
+      remove(BlockchainSegment.TRANSACTION_LOCATIONS, transactionHash);
+    }
+
+    @Override
+    public void removeBlockBody(final Hash blockHash) {
+      remove(BlockchainSegment.BLOCK_BODIES, blockHash);
+    }
+
+    @Override
+    public void removeTransactionReceipts(final Hash blockHash) {
+      remove(BlockchainSegment.TRANSACTION_RECEIPTS, blockHash);
     }
 
     @Override
@@ -192,16 +219,123 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
       transaction.rollback();
     }
 
-    private void set(final BytesValue prefix, final BytesValue key, final BytesValue value) {
-      transaction.put(BytesValues.concatenate(prefix, key), value);
+    private void set(
+        final BlockchainSegment segment, final BytesValue key, final BytesValue value) {
+      transaction.put(segment, key, value);
     }
 
-    private void remove(final BytesValue prefix, final BytesValue key) {
-      transaction.remove(BytesValues.concatenate(prefix, key));
+    private void remove(final BlockchainSegment segment, final BytesValue key) {
+      transaction.remove(segment, key);
     }
 
     private BytesValue rlpEncode(final List<TransactionReceipt> receipts) {
       return RLP.encode(o -> o.writeList(receipts, TransactionReceipt::writeToWithRevertReason));
     }
   }
+
+  private interface SegmentStore {
+    Optional<BytesValue> get(BlockchainSegment segment, BytesValue key);
+
+    SegmentTransaction startTransaction();
+  }
+
+  private interface SegmentTransaction {
+    void put(BlockchainSegment segment, BytesValue key, BytesValue value);
+
+    void remove(BlockchainSegment segment, BytesValue key);
+
+    void commit();
+
+    void rollback();
+  }
+
+  /** Keeps all blockchain data in a single keyspace, separating each kind by a key prefix. */
+  private static class PrefixedKeySegmentStore implements SegmentStore {
+    private final KeyValueStorage storage;
+
+    private PrefixedKeySegmentStore(final KeyValueStorage storage) {
+      this.storage = storage;
+    }
+
+    @Override
+    public Optional<BytesValue> get(final BlockchainSegment segment, final BytesValue key) {
+      return storage.get(prefixedKey(segment, key));
+    }
+
+    @Override
+    public SegmentTransaction startTransaction() {
+      final KeyValueStorage.Transaction transaction = storage.startTransaction();
+      return new SegmentTransaction() {
+        @Override
+        public void put(
+            final BlockchainSegment segment, final BytesValue key, final BytesValue value) {
+          transaction.put(prefixedKey(segment, key), value);
+        }
+
+        @Override
+        public void remove(final BlockchainSegment segment, final BytesValue key) {
+          transaction.remove(prefixedKey(segment, key));
+        }
+
+        @Override
+        public void commit() {
+          transaction.commit();
+        }
+
+        @Override
+        public void rollback() {
+          transaction.rollback();
+        }
+      };
+    }
+
+    private static BytesValue prefixedKey(final BlockchainSegment segment, final BytesValue key) {
+      return BytesValues.concatenate(segment.getPrefix(), key);
+    }
+  }
+
+  /** Keeps each kind of blockchain data in its own segment of a segmented storage. */
+  private static class SegmentedSegmentStore<S> implements SegmentStore {
+    private final SegmentedKeyValueStorage<S> storage;
+    private final Map<BlockchainSegment, S> segmentHandles = new EnumMap<>(BlockchainSegment.class);
+
+    private SegmentedSegmentStore(final SegmentedKeyValueStorage<S> storage) {
+      this.storage = storage;
+      for (final BlockchainSegment segment : BlockchainSegment.values()) {
+        segmentHandles.put(segment, storage.getSegmentIdentifierByName(segment));
+      }
+    }
+
+    @Override
+    public Optional<BytesValue> get(final BlockchainSegment segment, final BytesValue key) {
+      return storage.get(segmentHandles.get(segment), key);
+    }
+
+    @Override
+    public SegmentTransaction startTransaction() {
+      final SegmentedKeyValueStorage.Transaction<S> transaction = storage.startTransaction();
+      return new SegmentTransaction() {
+        @Override
+        public void put(
+            final BlockchainSegment segment, final BytesValue key, final BytesValue value) {
+          transaction.put(segmentHandles.get(segment), key, value);
+        }
+
+        @Override
+        public void remove(final BlockchainSegment segment, final BytesValue key) {
+          transaction.remove(segmentHandles.get(segment), key);
+        }
+
+        @Override
+        public void commit() {
+          transaction.commit();
+        }
+
+        @Override
+        public void rollback() {
+          transaction.rollback();
+        }
+      };
+    }
+  }
 }
@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.storage.keyvalue;
 
 import tech.pegasys.pantheon.ethereum.chain.BlockchainStorage;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.privacy.PrivateStateKeyValueStorage;
@@ -21,44 +22,129 @@ import tech.pegasys.pantheon.ethereum.privacy.PrivateTransactionKeyValueStorage;
 import tech.pegasys.pantheon.ethereum.privacy.PrivateTransactionStorage;
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.function.Function;
 
 public class KeyValueStorageProvider implements StorageProvider {
 
-  private final KeyValueStorage blockchainStorage;
+  private final Function<BlockHeaderFunctions, BlockchainStorage> blockchainStorageFactory;
+  private final Closeable blockchainStorage;
   private final KeyValueStorage worldStateStorage;
   private final KeyValueStorage privateTransactionStorage;
   private final KeyValueStorage privateStateStorage;
   private final KeyValueStorage pruningStorage;
+  private final long trieNodeCacheCapacity;
+  private final MetricsSystem metricsSystem;
+  private WorldStateStorage worldStateKeyValueStorage;
 
   public KeyValueStorageProvider(final KeyValueStorage keyValueStorage) {
-    this(keyValueStorage, keyValueStorage, keyValueStorage, keyValueStorage, keyValueStorage);
+    this(keyValueStorage, 0, new NoOpMetricsSystem());
   }
 
   public KeyValueStorageProvider(
-      final KeyValueStorage blockchainStorage,
+      final KeyValueStorage keyValueStorage,
+      final long trieNodeCacheCapacity,
+      final MetricsSystem metricsSystem) {
+    this(
+        blockHeaderFunctions ->
+            new KeyValueStoragePrefixedKeyBlockchainStorage(keyValueStorage, blockHeaderFunctions),
+        keyValueStorage,
+        keyValueStorage,
+        keyValueStorage,
+        keyValueStorage,
+        keyValueStorage,
+        trieNodeCacheCapacity,
+        metricsSystem);
+  }
+
+  public KeyValueStorageProvider(
+      final SegmentedKeyValueStorage<?> blockchainStorage,
       final KeyValueStorage worldStateStorage,
       final KeyValueStorage privateTransactionStorage,
       final KeyValueStorage privateStateStorage,
       final KeyValueStorage pruningStorage) {
+    this(
+        blockchainStorage,
+        worldStateStorage,
+        privateTransactionStorage,
+        privateStateStorage,
+        pruningStorage,
+        0,
+        new NoOpMetricsSystem());
+  }
+
+  /**
+   * Creates a provider that keeps each kind of blockchain data in its own segment.
+   *
+   * @param blockchainStorage the segmented storage for blockchain data, which must include every
+   *     {@link BlockchainSegment}
+   * @param worldStateStorage the storage for world state data
+   * @param privateTransactionStorage the storage for private transactions
+   * @param privateStateStorage the storage for private state
+   * @param pruningStorage the storage used to track nodes while pruning
+   * @param trieNodeCacheCapacity the maximum size in bytes of the cached trie nodes, 0 to disable
+   * @param metricsSystem the metrics system
+   */
+  public KeyValueStorageProvider(
+      final SegmentedKeyValueStorage<?> blockchainStorage,
+      final KeyValueStorage worldStateStorage,
+      final KeyValueStorage privateTransactionStorage,
+      final KeyValueStorage privateStateStorage,
+      final KeyValueStorage pruningStorage,
+      final long trieNodeCacheCapacity,
+      final MetricsSystem metricsSystem) {
+    this(
+        blockHeaderFunctions ->
+            new KeyValueStoragePrefixedKeyBlockchainStorage(
+                blockchainStorage, blockHeaderFunctions),
+        blockchainStorage,
+        worldStateStorage,
+        privateTransactionStorage,
+        privateStateStorage,
+        pruningStorage,
+        trieNodeCacheCapacity,
+        metricsSystem);
+  }
+
+  private KeyValueStorageProvider(
+      final Function<BlockHeaderFunctions, BlockchainStorage> blockchainStorageFactory,
+      final Closeable blockchainStorage,
+      final KeyValueStorage worldStateStorage,
+      final KeyValueStorage privateTransactionStorage,
+      final KeyValueStorage privateStateStorage,
+      final KeyValueStorage pruningStorage,
+      final long trieNodeCacheCapacity,
+      final MetricsSystem metricsSystem) {
+    this.blockchainStorageFactory = blockchainStorageFactory;
     this.blockchainStorage = blockchainStorage;
     this.worldStateStorage = worldStateStorage;
     this.privateTransactionStorage = privateTransactionStorage;
     this.privateStateStorage = privateStateStorage;
     this.pruningStorage = pruningStorage;
+    this.trieNodeCacheCapacity = trieNodeCacheCapacity;
+    this.metricsSystem = metricsSystem;
   }
 
   @Override
   public BlockchainStorage createBlockchainStorage(final ProtocolSchedule<?> protocolSchedule) {
-    return new KeyValueStoragePrefixedKeyBlockchainStorage(
-        blockchainStorage, ScheduleBasedBlockHeaderFunctions.create(protocolSchedule));
+    return blockchainStorageFactory.apply(
+        ScheduleBasedBlockHeaderFunctions.create(protocolSchedule));
   }
 
   @Override
-  public WorldStateStorage createWorldStateStorage() {
-    return new WorldStateKeyValueStorage(worldStateStorage);
+  public synchronized WorldStateStorage createWorldStateStorage() {
+    // The node cache and flat state tracking are shared, so hand out a single instance.
+    if (worldStateKeyValueStorage == null) {
+      worldStateKeyValueStorage =
+          new WorldStateKeyValueStorage(worldStateStorage, trieNodeCacheCapacity, metricsSystem);
+    }
+    return worldStateKeyValueStorage;
   }
 
   @Override
@@ -71,6 +157,7 @@ public class KeyValueStorageProvider implements StorageProvider {
     return new PrivateStateKeyValueStorage(privateStateStorage);
   }
 
+  @Override
   public KeyValueStorage createPruningStorage() {
     return pruningStorage;
   }
@@ -21,11 +21,14 @@ import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
 import tech.pegasys.pantheon.services.kvstore.RocksDbKeyValueStorage;
 import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage.AccessPattern;
 import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage.Segment;
 import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorageAdapter;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -48,7 +51,8 @@ public class RocksDbStorageProvider {
       throws IOException {
     Files.createDirectories(rocksDbConfiguration.getDatabaseDir());
     final KeyValueStorage kv = RocksDbKeyValueStorage.create(rocksDbConfiguration, metricsSystem);
-    return new KeyValueStorageProvider(kv);
+    return new KeyValueStorageProvider(
+        kv, rocksDbConfiguration.getTrieNodeCacheCapacity(), metricsSystem);
   }
 
   private static StorageProvider createSegmentedProvider(
@@ -56,28 +60,32 @@ public class RocksDbStorageProvider {
       throws IOException {
     LOG.info("Using RocksDB columns");
     Files.createDirectories(rocksDbConfiguration.getDatabaseDir());
+    final List<Segment> segments = new ArrayList<>(asList(RocksDbSegment.values()));
+    segments.addAll(asList(BlockchainSegment.values()));
     final SegmentedKeyValueStorage<?> columnarStorage =
-        ColumnarRocksDbKeyValueStorage.create(
-            rocksDbConfiguration, asList(RocksDbSegment.values()), metricsSystem);
+        ColumnarRocksDbKeyValueStorage.create(rocksDbConfiguration, segments, metricsSystem);
 
     return new KeyValueStorageProvider(
-        new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.BLOCKCHAIN, columnarStorage),
+        columnarStorage,
         new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.WORLD_STATE, columnarStorage),
         new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.PRIVATE_TRANSACTIONS, columnarStorage),
         new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.PRIVATE_STATE, columnarStorage),
-        new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.PRUNING_STATE, columnarStorage));
+        new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.PRUNING_STATE, columnarStorage),
+        rocksDbConfiguration.getTrieNodeCacheCapacity(),
+        metricsSystem);
   }
 
   private enum RocksDbSegment implements Segment {
-    BLOCKCHAIN((byte) 1),
-    WORLD_STATE((byte) 2),
-    PRIVATE_TRANSACTIONS((byte) 3),
-    PRIVATE_STATE((byte) 4),
-    PRUNING_STATE((byte) 5);
+    WORLD_STATE(AccessPattern.POINT_LOOKUP, (byte) 2),
+    PRIVATE_TRANSACTIONS(AccessPattern.MIXED, (byte) 3),
+    PRIVATE_STATE(AccessPattern.MIXED, (byte) 4),
+    PRUNING_STATE(AccessPattern.POINT_LOOKUP, (byte) 5);
 
+    private final AccessPattern accessPattern;
     private final byte[] id;
 
-    RocksDbSegment(final byte... id) {
+    RocksDbSegment(final AccessPattern accessPattern, final byte... id) {
+      this.accessPattern = accessPattern;
       this.id = id;
     }
 
@@ -90,5 +98,10 @@ public class RocksDbStorageProvider {
     public byte[] getId() {
       return id;
     }
+
+    @Override
+    public AccessPattern getAccessPattern() {
+      return accessPattern;
+    }
   }
 }
@@ -13,25 +13,196 @@
 package tech.pegasys.pantheon.ethereum.storage.keyvalue;
 
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
+import tech.pegasys.pantheon.ethereum.trie.MerkleTrieException;
+import tech.pegasys.pantheon.ethereum.trie.NodeLoader;
+import tech.pegasys.pantheon.ethereum.trie.StoredMerklePatriciaTrie;
+import tech.pegasys.pantheon.ethereum.worldstate.StateTrieAccountValue;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 import tech.pegasys.pantheon.util.Subscribers;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterators;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public class WorldStateKeyValueStorage implements WorldStateStorage {
+  private static final Logger LOG = LogManager.getLogger();
+
+  // Flat snapshot keys are never 32 bytes long so they can't collide with node or code hashes.
+  private static final BytesValue FLAT_STATE_ROOT_KEY =
+      BytesValue.wrap("flatStateRoot".getBytes(StandardCharsets.UTF_8));
+  private static final BytesValue FLAT_STATE_DIFF_INDEX_KEY =
+      BytesValue.wrap("flatStateDiffs".getBytes(StandardCharsets.UTF_8));
+  // Stored as the snapshot root while the snapshot is being rebuilt, it is never a valid hash.
+  private static final BytesValue FLAT_STATE_INVALID = BytesValue.of(0);
+  // The flat entries are range deleted by prefix. Starting them with a 32 byte namespace that no
+  // node or code hash will ever equal keeps those ranges clear of node and code entries.
+  private static final Bytes32 FLAT_STATE_NAMESPACE =
+      Hash.hash(BytesValue.wrap("flatState".getBytes(StandardCharsets.UTF_8)));
+  private static final BytesValue FLAT_ACCOUNT_PREFIX =
+      BytesValues.concatenate(FLAT_STATE_NAMESPACE, BytesValue.of(1));
+  private static final BytesValue FLAT_STORAGE_PREFIX =
+      BytesValues.concatenate(FLAT_STATE_NAMESPACE, BytesValue.of(2));
+  private static final BytesValue FLAT_STATE_DIFF_PREFIX =
+      BytesValues.concatenate(FLAT_STATE_NAMESPACE, BytesValue.of(3));
+  // Reading through more diff layers than this is slower than reading the trie.
+  private static final int MAX_FLAT_STATE_DIFF_LAYERS = 128;
+  private static final int GENERATE_PAGE_SIZE = 1000;
+  private static final int GENERATE_BATCH_SIZE = 10_000;
+  private static final int PRUNE_BATCH_SIZE = 1000;
 
   private final Subscribers<NodesAddedListener> nodeAddedListeners = Subscribers.create();
   private final KeyValueStorage keyValueStorage;
+  // Trie nodes are keyed by their hash so they never change, they only need invalidating when
+  // pruning removes them.
+  private final Optional<Cache<Bytes32, BytesValue>> trieNodeCache;
+  private final Counter trieNodeCacheHits;
+  private final Counter trieNodeCacheMisses;
+  // Incremented after every batch of removed nodes, so a read that raced with the removal doesn't
+  // put the removed node back in the cache.
+  private final AtomicLong pruneGeneration = new AtomicLong();
+
+  // Held while committing updates so pruning can't remove a node that is being re-added.
+  private final Object commitLock = new Object();
+  private final Object flatStateLock = new Object();
+  private final AtomicInteger flatStateUpdatesInProgress = new AtomicInteger();
+  // The root hash of the world state the snapshot reflects, null while there is no snapshot or it
+  // has to be rebuilt.
+  private volatile Bytes32 flatStateRoot;
+  // The root hash of the world state the snapshot is being generated from, guarded by
+  // flatStateLock.
+  private Bytes32 generatingFlatStateRoot;
+  // The diff layers of persisted world states built on top of the snapshot, by their root hash.
+  // These are the same as the diffs in the database, which are only kept while they are.
+  private final Map<Bytes32, FlatStateDiff> flatStateDiffs = new ConcurrentHashMap<>();
+  // The root hashes of the diff layers built on each root hash, guarded by flatStateLock.
+  private final Map<Bytes32, Set<Bytes32>> flatStateDiffChildren = new HashMap<>();
 
   public WorldStateKeyValueStorage(final KeyValueStorage keyValueStorage) {
+    this(keyValueStorage, 0, new NoOpMetricsSystem());
+  }
+
+  /**
+   * Creates a world state storage with a cache of trie nodes in front of the key value storage.
+   *
+   * @param keyValueStorage the underlying storage
+   * @param trieNodeCacheCapacity the maximum size in bytes of the cached trie nodes, 0 to disable
+   * @param metricsSystem the metrics system used to report cache hits, misses and evictions
+   */
+  public WorldStateKeyValueStorage(
+      final KeyValueStorage keyValueStorage,
+      final long trieNodeCacheCapacity,
+      final MetricsSystem metricsSystem) {
     this.keyValueStorage = keyValueStorage;
+    this.trieNodeCache = createTrieNodeCache(trieNodeCacheCapacity, metricsSystem);
+    if (trieNodeCache.isPresent()) {
+      this.trieNodeCacheHits =
+          metricsSystem.createCounter(
+              PantheonMetricCategory.WORLD_STATE,
+              "trie_node_cache_hits",
+              "Number of trie node reads served from the cache");
+      this.trieNodeCacheMisses =
+          metricsSystem.createCounter(
+              PantheonMetricCategory.WORLD_STATE,
+              "trie_node_cache_misses",
+              "Number of trie node reads that had to go to the database");
+    } else {
+      this.trieNodeCacheHits = NoOpMetricsSystem.NO_OP_COUNTER;
+      this.trieNodeCacheMisses = NoOpMetricsSystem.NO_OP_COUNTER;
+    }
+    final Optional<BytesValue> storedFlatStateRoot = keyValueStorage.get(FLAT_STATE_ROOT_KEY);
+    if (storedFlatStateRoot.isPresent() && storedFlatStateRoot.get().size() == Bytes32.SIZE) {
+      this.flatStateRoot = Bytes32.wrap(storedFlatStateRoot.get(), 0);
+      loadFlatStateDiffs();
+    } else {
+      // Storages nobody generated a snapshot for, like the private world state, record no diffs.
+      this.flatStateRoot = null;
+    }
+  }
+
+  // Reloads the diff layers left by the previous run, dropping any that were left on a fork that
+  // can no longer be reached from the snapshot.
+  private void loadFlatStateDiffs() {
+    final Map<Bytes32, FlatStateDiff> storedDiffs = new HashMap<>();
+    keyValueStorage
+        .get(FLAT_STATE_DIFF_INDEX_KEY)
+        .ifPresent(
+            index ->
+                RLP.input(index)
+                    .readList(RLPInput::readBytes32)
+                    .forEach(
+                        rootHash ->
+                            keyValueStorage
+                                .get(flatStateDiffKey(rootHash))
+                                .map(FlatStateDiff::decode)
+                                .ifPresent(diff -> storedDiffs.put(rootHash, diff))));
+    storedDiffs.forEach(
+        (rootHash, diff) -> {
+          if (isReachableFromFlatState(rootHash, storedDiffs)) {
+            addFlatStateDiff(rootHash, diff);
+          }
+        });
+    if (flatStateDiffs.size() < storedDiffs.size()) {
+      final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+      storedDiffs.keySet().stream()
+          .filter(rootHash -> !flatStateDiffs.containsKey(rootHash))
+          .forEach(rootHash -> transaction.remove(flatStateDiffKey(rootHash)));
+      writeFlatStateDiffIndex(transaction, flatStateDiffs.keySet());
+      transaction.commit();
+    }
+  }
+
+  private boolean isReachableFromFlatState(
+      final Bytes32 rootHash, final Map<Bytes32, FlatStateDiff> diffs) {
+    Bytes32 layerRootHash = rootHash;
+    // Bounded by the number of diffs in case a state root repeats further down the chain.
+    for (int i = 0; i <= diffs.size(); i++) {
+      final FlatStateDiff diff = diffs.get(layerRootHash);
+      if (diff == null) {
+        return false;
+      }
+      if (diff.getParentRootHash().equals(flatStateRoot)) {
+        return true;
+      }
+      layerRootHash = diff.getParentRootHash();
+    }
+    return false;
+  }
+
+  private static void writeFlatStateDiffIndex(
+      final KeyValueStorage.Transaction transaction, final Set<Bytes32> rootHashes) {
+    transaction.put(
+        FLAT_STATE_DIFF_INDEX_KEY,
+        RLP.encode(
+            out -> out.writeList(rootHashes, (rootHash, listOut) -> listOut.writeBytesValue(rootHash))));
   }
 
   @Override
@@ -57,10 +228,64 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
     if (nodeHash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE);
     } else {
-      return keyValueStorage.get(nodeHash);
+      return getCachedNode(nodeHash);
     }
   }
 
+  private Optional<BytesValue> getCachedNode(final Bytes32 hash) {
+    if (!trieNodeCache.isPresent()) {
+      return keyValueStorage.get(hash);
+    }
+    final BytesValue cachedNode = trieNodeCache.get().getIfPresent(hash);
+    if (cachedNode != null) {
+      trieNodeCacheHits.inc();
+      return Optional.of(cachedNode);
+    }
+    trieNodeCacheMisses.inc();
+    final long generation = pruneGeneration.get();
+    final Optional<BytesValue> node = keyValueStorage.get(hash);
+    node.ifPresent(value -> cacheStoredNode(hash, value, generation));
+    return node;
+  }
+
+  private void cacheStoredNode(final Bytes32 hash, final BytesValue node, final long generation) {
+    final Cache<Bytes32, BytesValue> cache = trieNodeCache.get();
+    cache.put(hash, node);
+    // The node may have been removed, and its cache entry invalidated, since it was read.
+    if (pruneGeneration.get() != generation) {
+      cache.invalidate(hash);
+    }
+  }
+
+  private static Optional<Cache<Bytes32, BytesValue>> createTrieNodeCache(
+      final long capacity, final MetricsSystem metricsSystem) {
+    if (capacity <= 0) {
+      return Optional.empty();
+    }
+    final Counter evictions =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.WORLD_STATE,
+            "trie_node_cache_evictions",
+            "Number of trie nodes evicted from the cache");
+    final Cache<Bytes32, BytesValue> cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(capacity)
+            .<Bytes32, BytesValue>weigher((hash, node) -> Bytes32.SIZE + node.size())
+            .removalListener(
+                notification -> {
+                  if (notification.wasEvicted()) {
+                    evictions.inc();
+                  }
+                })
+            .build();
+    metricsSystem.createLongGauge(
+        PantheonMetricCategory.WORLD_STATE,
+        "trie_node_cache_size",
+        "Number of trie nodes currently cached",
+        cache::size);
+    return Optional.of(cache);
+  }
+
   @Override
   public Optional<BytesValue> getNodeData(final Bytes32 hash) {
     if (hash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
@@ -68,23 +293,358 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
     } else if (hash.equals(Hash.EMPTY)) {
       return Optional.of(BytesValue.EMPTY);
     } else {
-      return keyValueStorage.get(hash);
+      return getCachedNode(hash);
     }
   }
 
+  @Override
+  public List<Optional<BytesValue>> getAllNodeData(final List<? extends Bytes32> hashes) {
+    final List<Optional<BytesValue>> results = new ArrayList<>(hashes.size());
+    final List<BytesValue> storedKeys = new ArrayList<>(hashes.size());
+    for (final Bytes32 hash : hashes) {
+      if (hash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
+        results.add(Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE));
+      } else if (hash.equals(Hash.EMPTY)) {
+        results.add(Optional.of(BytesValue.EMPTY));
+      } else {
+        final BytesValue cachedNode =
+            trieNodeCache.map(cache -> cache.getIfPresent(hash)).orElse(null);
+        if (cachedNode != null) {
+          trieNodeCacheHits.inc();
+          results.add(Optional.of(cachedNode));
+        } else {
+          trieNodeCacheMisses.inc();
+          // Filled in from the batched read below.
+          results.add(null);
+          storedKeys.add(hash);
+        }
+      }
+    }
+    if (storedKeys.isEmpty()) {
+      return results;
+    }
+
+    final long generation = pruneGeneration.get();
+    final Iterator<Optional<BytesValue>> storedValues =
+        keyValueStorage.getAll(storedKeys).iterator();
+    for (int i = 0; i < results.size(); i++) {
+      if (results.get(i) == null) {
+        final Bytes32 hash = hashes.get(i);
+        final Optional<BytesValue> storedValue = storedValues.next();
+        if (trieNodeCache.isPresent()) {
+          storedValue.ifPresent(value -> cacheStoredNode(hash, value, generation));
+        }
+        results.set(i, storedValue);
+      }
+    }
+    return results;
+  }
+
   @Override
   public boolean isWorldStateAvailable(final Bytes32 rootHash) {
     return getAccountStateTrieNode(rootHash).isPresent();
   }
 
+  @Override
+  public Optional<FlatState> getFlatState(final Bytes32 rootHash) {
+    final Bytes32 diskRootHash = flatStateRoot;
+    if (diskRootHash == null) {
+      return Optional.empty();
+    }
+    final List<FlatStateDiff> diffLayers = new ArrayList<>();
+    Bytes32 layerRootHash = rootHash;
+    while (!layerRootHash.equals(diskRootHash)) {
+      final FlatStateDiff diff = flatStateDiffs.get(layerRootHash);
+      if (diff == null || diffLayers.size() >= MAX_FLAT_STATE_DIFF_LAYERS) {
+        return Optional.empty();
+      }
+      diffLayers.add(diff);
+      layerRootHash = diff.getParentRootHash();
+    }
+    final FlatState flatState = new FlatStateView(diskRootHash, diffLayers);
+    return flatState.isValid() ? Optional.of(flatState) : Optional.empty();
+  }
+
+  private static BytesValue flatAccountKey(final Bytes32 accountHash) {
+    return BytesValues.concatenate(FLAT_ACCOUNT_PREFIX, accountHash);
+  }
+
+  private static BytesValue flatStoragePrefix(final Bytes32 accountHash) {
+    return BytesValues.concatenate(FLAT_STORAGE_PREFIX, accountHash);
+  }
+
+  private static BytesValue flatStorageKey(final Bytes32 accountHash, final Bytes32 slotHash) {
+    return BytesValues.concatenate(FLAT_STORAGE_PREFIX, accountHash, slotHash);
+  }
+
+  private static BytesValue flatStateDiffKey(final Bytes32 rootHash) {
+    return BytesValues.concatenate(FLAT_STATE_DIFF_PREFIX, rootHash);
+  }
+
   @Override
   public Updater updater() {
-    return new Updater(keyValueStorage.startTransaction(), nodeAddedListeners);
+    return new Updater(this, keyValueStorage.startTransaction(), nodeAddedListeners);
+  }
+
+  private void commitWithFlatStateDiff(
+      final KeyValueStorage.Transaction transaction,
+      final Bytes32 rootHash,
+      final FlatStateDiff diff) {
+    synchronized (flatStateLock) {
+      // Only states that can be read on top of the snapshot, or the one being generated, keep a
+      // diff. Any other state would never be written into the snapshot or discarded.
+      final Bytes32 snapshotRootHash =
+          flatStateRoot != null ? flatStateRoot : generatingFlatStateRoot;
+      final Bytes32 parentRootHash = diff.getParentRootHash();
+      final boolean recordDiff =
+          snapshotRootHash != null
+              && !rootHash.equals(snapshotRootHash)
+              && (parentRootHash.equals(snapshotRootHash)
+                  || flatStateDiffs.containsKey(parentRootHash));
+      if (recordDiff) {
+        transaction.put(flatStateDiffKey(rootHash), diff.encode());
+        final Set<Bytes32> diffRootHashes = new HashSet<>(flatStateDiffs.keySet());
+        diffRootHashes.add(rootHash);
+        writeFlatStateDiffIndex(transaction, diffRootHashes);
+      }
+      transaction.commit();
+      if (recordDiff) {
+        addFlatStateDiff(rootHash, diff);
+      }
+    }
   }
 
   @Override
-  public long prune(final Predicate<BytesValue> inUseCheck) {
-    return keyValueStorage.removeUnless(inUseCheck);
+  public boolean moveFlatState(final Bytes32 rootHash, final int diffLayersRetained) {
+    synchronized (flatStateLock) {
+      final Bytes32 diskRootHash = flatStateRoot;
+      if (diskRootHash == null) {
+        return false;
+      }
+      // Walk from the chain head down to the snapshot, so the oldest layer ends up last.
+      final List<Bytes32> layerRootHashes = new ArrayList<>();
+      Bytes32 layerRootHash = rootHash;
+      while (!layerRootHash.equals(diskRootHash)) {
+        final FlatStateDiff diff = flatStateDiffs.get(layerRootHash);
+        if (diff == null) {
+          return false;
+        }
+        layerRootHashes.add(layerRootHash);
+        layerRootHash = diff.getParentRootHash();
+      }
+
+      for (int i = layerRootHashes.size() - 1; i >= diffLayersRetained; i--) {
+        final Bytes32 flattenedRootHash = layerRootHashes.get(i);
+        flattenFlatStateDiff(flattenedRootHash, flatStateDiffs.get(flattenedRootHash));
+      }
+      return true;
+    }
+  }
+
+  private void addFlatStateDiff(final Bytes32 rootHash, final FlatStateDiff diff) {
+    flatStateDiffs.put(rootHash, diff);
+    flatStateDiffChildren
+        .computeIfAbsent(diff.getParentRootHash(), key -> new HashSet<>())
+        .add(rootHash);
+  }
+
+  private void removeFlatStateDiff(
+      final Bytes32 rootHash, final KeyValueStorage.Transaction transaction) {
+    transaction.remove(flatStateDiffKey(rootHash));
+    flatStateDiffs.remove(rootHash);
+    final Set<Bytes32> children = flatStateDiffChildren.remove(rootHash);
+    if (children != null) {
+      children.forEach(child -> removeFlatStateDiff(child, transaction));
+    }
+  }
+
+  private void flattenFlatStateDiff(final Bytes32 rootHash, final FlatStateDiff diff) {
+    if (!diff.getClearedStorage().isEmpty()) {
+      // Range deletes can't be part of the transaction below, so the snapshot is marked as invalid
+      // until it is committed. If that never happens the snapshot is regenerated.
+      invalidateFlatState();
+      diff.getClearedStorage()
+          .forEach(
+              accountHash -> keyValueStorage.removeAllWithPrefix(flatStoragePrefix(accountHash)));
+    }
+
+    final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+    diff.getEntries()
+        .forEach(
+            (key, value) -> {
+              if (value.isEmpty()) {
+                transaction.remove(key);
+              } else {
+                transaction.put(key, value);
+              }
+            });
+    transaction.remove(flatStateDiffKey(rootHash));
+    // Any other state built on the old snapshot is no longer on the canonical chain.
+    final Set<Bytes32> siblings = flatStateDiffChildren.remove(diff.getParentRootHash());
+    if (siblings != null) {
+      siblings.stream()
+          .filter(sibling -> !sibling.equals(rootHash))
+          .forEach(sibling -> removeFlatStateDiff(sibling, transaction));
+    }
+    final Set<Bytes32> remainingRootHashes = new HashSet<>(flatStateDiffs.keySet());
+    remainingRootHashes.remove(rootHash);
+    writeFlatStateDiffIndex(transaction, remainingRootHashes);
+    transaction.put(FLAT_STATE_ROOT_KEY, rootHash);
+    flatStateUpdatesInProgress.incrementAndGet();
+    try {
+      transaction.commit();
+      flatStateRoot = rootHash;
+    } finally {
+      flatStateUpdatesInProgress.decrementAndGet();
+    }
+    flatStateDiffs.remove(rootHash);
+  }
+
+  private void invalidateFlatState() {
+    flatStateRoot = null;
+    final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+    transaction.put(FLAT_STATE_ROOT_KEY, FLAT_STATE_INVALID);
+    transaction.commit();
+  }
+
+  // Discards every diff layer, including any the database holds that aren't tracked.
+  private void discardFlatStateDiffs() {
+    final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+    transaction.remove(FLAT_STATE_DIFF_INDEX_KEY);
+    transaction.commit();
+    keyValueStorage.removeAllWithPrefix(FLAT_STATE_DIFF_PREFIX);
+    flatStateDiffs.clear();
+    flatStateDiffChildren.clear();
+  }
+
+  @Override
+  public boolean generateFlatState(final Bytes32 rootHash) {
+    synchronized (flatStateLock) {
+      invalidateFlatState();
+      // Diff layers on top of the old snapshot can't be used with the new one, those of states
+      // built on the one being generated are recorded from now on.
+      discardFlatStateDiffs();
+      generatingFlatStateRoot = rootHash;
+    }
+    keyValueStorage.removeAllWithPrefix(FLAT_ACCOUNT_PREFIX);
+    keyValueStorage.removeAllWithPrefix(FLAT_STORAGE_PREFIX);
+
+    LOG.info("Generating flat world state snapshot for state root {}", rootHash);
+    final FlatStateWriter writer = new FlatStateWriter();
+    final boolean completed;
+    try {
+      completed =
+          forEachTrieEntry(
+              newTrie(this::getAccountStateTrieNode, rootHash),
+              (accountHash, account) -> {
+                writer.put(flatAccountKey(accountHash), account);
+                final Hash storageRoot =
+                    StateTrieAccountValue.readFrom(RLP.input(account)).getStorageRoot();
+                if (!storageRoot.equals(Hash.EMPTY_TRIE_HASH)) {
+                  forEachTrieEntry(
+                      newTrie(this::getAccountStorageTrieNode, storageRoot),
+                      (slotHash, value) ->
+                          writer.put(flatStorageKey(accountHash, slotHash), value));
+                }
+              });
+    } catch (final MerkleTrieException e) {
+      LOG.info("World state {} is no longer available to generate the flat snapshot", rootHash);
+      abandonFlatStateGeneration(writer);
+      return false;
+    }
+    if (!completed) {
+      abandonFlatStateGeneration(writer);
+      return false;
+    }
+    writer.commit();
+
+    synchronized (flatStateLock) {
+      final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+      transaction.put(FLAT_STATE_ROOT_KEY, rootHash);
+      transaction.commit();
+      flatStateRoot = rootHash;
+      generatingFlatStateRoot = null;
+    }
+    LOG.info("Generated flat world state snapshot for state root {}", rootHash);
+    return true;
+  }
+
+  private void abandonFlatStateGeneration(final FlatStateWriter writer) {
+    writer.rollback();
+    synchronized (flatStateLock) {
+      generatingFlatStateRoot = null;
+      discardFlatStateDiffs();
+    }
+  }
+
+  private static MerklePatriciaTrie<Bytes32, BytesValue> newTrie(
+      final NodeLoader nodeLoader, final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(nodeLoader, rootHash, b -> b, b -> b);
+  }
+
+  // Visits every entry of the trie a page at a time, stopping if the thread is interrupted.
+  private static boolean forEachTrieEntry(
+      final MerklePatriciaTrie<Bytes32, BytesValue> trie,
+      final BiConsumer<Bytes32, BytesValue> action) {
+    Bytes32 startKeyHash = Bytes32.ZERO;
+    Bytes32 lastKeyHash = null;
+    while (!Thread.currentThread().isInterrupted()) {
+      final Map<Bytes32, BytesValue> entries = trie.entriesFrom(startKeyHash, GENERATE_PAGE_SIZE);
+      for (final Map.Entry<Bytes32, BytesValue> entry : entries.entrySet()) {
+        // Each page starts with the last entry of the previous one.
+        if (!entry.getKey().equals(lastKeyHash)) {
+          action.accept(entry.getKey(), entry.getValue());
+          lastKeyHash = entry.getKey();
+        }
+      }
+      if (entries.size() < GENERATE_PAGE_SIZE) {
+        return true;
+      }
+      startKeyHash = lastKeyHash;
+    }
+    return false;
+  }
+
+  @Override
+  public long prune(
+      final Predicate<BytesValue> inUseCheck, final long pauseBetweenBatchesMillis) {
+    long prunedKeys = 0;
+    try (final Stream<BytesValue> keys = keyValueStorage.streamKeys()) {
+      // Only node and code hashes are candidates, the flat snapshot is maintained separately.
+      final Iterator<List<BytesValue>> batches =
+          Iterators.partition(
+              keys.filter(key -> key.size() == Bytes32.SIZE).iterator(), PRUNE_BATCH_SIZE);
+      while (batches.hasNext() && !Thread.currentThread().isInterrupted()) {
+        prunedKeys += removeUnused(batches.next(), inUseCheck);
+        if (pauseBetweenBatchesMillis > 0 && batches.hasNext()) {
+          try {
+            Thread.sleep(pauseBetweenBatchesMillis);
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+    }
+    return prunedKeys;
+  }
+
+  private long removeUnused(final List<BytesValue> keys, final Predicate<BytesValue> inUseCheck) {
+    final List<Bytes32> removedKeys = new ArrayList<>();
+    synchronized (commitLock) {
+      final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+      for (final BytesValue key : keys) {
+        if (!inUseCheck.test(key)) {
+          transaction.remove(key);
+          removedKeys.add(Bytes32.wrap(key, 0));
+        }
+      }
+      transaction.commit();
+    }
+    if (!removedKeys.isEmpty()) {
+      pruneGeneration.incrementAndGet();
+      trieNodeCache.ifPresent(cache -> cache.invalidateAll(removedKeys));
+    }
+    return removedKeys.size();
   }
 
   @Override
@@ -97,15 +657,93 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
     nodeAddedListeners.unsubscribe(id);
   }
 
+  private class FlatStateView implements FlatState {
+
+    private final Bytes32 diskRootHash;
+    // The most recent layer first.
+    private final List<FlatStateDiff> diffLayers;
+
+    private FlatStateView(final Bytes32 diskRootHash, final List<FlatStateDiff> diffLayers) {
+      this.diskRootHash = diskRootHash;
+      this.diffLayers = diffLayers;
+    }
+
+    @Override
+    public Optional<BytesValue> getAccount(final Bytes32 accountHash) {
+      final BytesValue key = flatAccountKey(accountHash);
+      for (final FlatStateDiff diff : diffLayers) {
+        final BytesValue value = diff.getEntries().get(key);
+        if (value != null) {
+          return value.isEmpty() ? Optional.empty() : Optional.of(value);
+        }
+      }
+      return keyValueStorage.get(key);
+    }
+
+    @Override
+    public Optional<BytesValue> getAccountStorageValue(
+        final Bytes32 accountHash, final Bytes32 slotHash) {
+      final BytesValue key = flatStorageKey(accountHash, slotHash);
+      for (final FlatStateDiff diff : diffLayers) {
+        final BytesValue value = diff.getEntries().get(key);
+        if (value != null) {
+          return value.isEmpty() ? Optional.empty() : Optional.of(value);
+        }
+        if (diff.getClearedStorage().contains(accountHash)) {
+          return Optional.empty();
+        }
+      }
+      return keyValueStorage.get(key);
+    }
+
+    @Override
+    public boolean isValid() {
+      return flatStateUpdatesInProgress.get() == 0 && diskRootHash.equals(flatStateRoot);
+    }
+  }
+
+  // Writes a generated snapshot in batches so no single transaction grows too large.
+  private class FlatStateWriter {
+
+    private KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+    private int pendingWrites = 0;
+
+    private void put(final BytesValue key, final BytesValue value) {
+      transaction.put(key, value);
+      if (++pendingWrites >= GENERATE_BATCH_SIZE) {
+        transaction.commit();
+        transaction = keyValueStorage.startTransaction();
+        pendingWrites = 0;
+      }
+    }
+
+    private void commit() {
+      transaction.commit();
+    }
+
+    private void rollback() {
+      transaction.rollback();
+    }
+  }
+
   public static class Updater implements WorldStateStorage.Updater {
 
+    private final WorldStateKeyValueStorage storage;
     private final KeyValueStorage.Transaction transaction;
     private final Subscribers<NodesAddedListener> nodeAddedListeners;
     private final List<Bytes32> addedNodes = new ArrayList<>();
+    private final Map<Bytes32, BytesValue> addedTrieNodes = new HashMap<>();
+    // Removals are recorded as empty values, flat entries are never legitimately empty.
+    private final Map<BytesValue, BytesValue> flatUpdates = new HashMap<>();
+    private final Set<Bytes32> clearedFlatStorage = new HashSet<>();
+    private Bytes32 flatStateBaseRootHash;
+    private Bytes32 flatStateRootHash;
 
     public Updater(
+        final WorldStateKeyValueStorage storage,
         final KeyValueStorage.Transaction transaction,
         final Subscribers<NodesAddedListener> nodeAddedListeners) {
+      this.storage = storage;
       this.transaction = transaction;
       this.nodeAddedListeners = nodeAddedListeners;
     }
@@ -129,6 +767,9 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
         return this;
       }
       addedNodes.add(nodeHash);
+      if (storage.trieNodeCache.isPresent()) {
+        addedTrieNodes.put(nodeHash, node);
+      }
       transaction.put(nodeHash, node);
       return this;
     }
@@ -140,14 +781,67 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
         return this;
       }
       addedNodes.add(nodeHash);
+      if (storage.trieNodeCache.isPresent()) {
+        addedTrieNodes.put(nodeHash, node);
+      }
       transaction.put(nodeHash, node);
       return this;
     }
 
+    @Override
+    public Updater putFlatAccount(final Bytes32 accountHash, final BytesValue account) {
+      flatUpdates.put(flatAccountKey(accountHash), account);
+      return this;
+    }
+
+    @Override
+    public Updater removeFlatAccount(final Bytes32 accountHash) {
+      flatUpdates.put(flatAccountKey(accountHash), BytesValue.EMPTY);
+      return this;
+    }
+
+    @Override
+    public Updater putFlatAccountStorageValue(
+        final Bytes32 accountHash, final Bytes32 slotHash, final BytesValue value) {
+      flatUpdates.put(flatStorageKey(accountHash, slotHash), value);
+      return this;
+    }
+
+    @Override
+    public Updater removeFlatAccountStorageValue(
+        final Bytes32 accountHash, final Bytes32 slotHash) {
+      flatUpdates.put(flatStorageKey(accountHash, slotHash), BytesValue.EMPTY);
+      return this;
+    }
+
+    @Override
+    public Updater clearFlatAccountStorage(final Bytes32 accountHash) {
+      clearedFlatStorage.add(accountHash);
+      return this;
+    }
+
+    @Override
+    public Updater putFlatStateDiff(final Bytes32 baseRootHash, final Bytes32 rootHash) {
+      this.flatStateBaseRootHash = baseRootHash;
+      this.flatStateRootHash = rootHash;
+      return this;
+    }
+
     @Override
     public void commit() {
-      nodeAddedListeners.forEach(listener -> listener.onNodesAdded(addedNodes));
-      transaction.commit();
+      synchronized (storage.commitLock) {
+        nodeAddedListeners.forEach(listener -> listener.onNodesAdded(addedNodes));
+        if (flatStateRootHash == null) {
+          transaction.commit();
+        } else {
+          storage.commitWithFlatStateDiff(
+              transaction,
+              flatStateRootHash,
+              new FlatStateDiff(flatStateBaseRootHash, flatUpdates, clearedFlatStorage));
+        }
+      }
+      // Freshly written nodes are the most likely to be read by the next block.
+      storage.trieNodeCache.ifPresent(cache -> cache.putAll(addedTrieNodes));
     }
 
     @Override
@@ -14,7 +14,6 @@ package tech.pegasys.pantheon.ethereum.vm;
 
 import tech.pegasys.pantheon.ethereum.core.Account;
 import tech.pegasys.pantheon.ethereum.core.Address;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -52,7 +51,7 @@ public abstract class AbstractCallOperation extends AbstractOperation {
    * @param frame The current message frame
    * @return the additional gas to provide the call operation
    */
-  protected abstract Gas gas(MessageFrame frame);
+  protected abstract long gas(MessageFrame frame);
 
   /**
    * Returns the account the call is being made to.
@@ -132,7 +131,7 @@ public abstract class AbstractCallOperation extends AbstractOperation {
    * @param frame The current message frame
    * @return the gas available to execute the child message call
    */
-  protected abstract Gas gasAvailableForChildCall(MessageFrame frame);
+  protected abstract long gasAvailableForChildCall(MessageFrame frame);
 
   /**
    * Returns whether or not the child message call should be static.
@@ -179,7 +178,8 @@ public abstract class AbstractCallOperation extends AbstractOperation {
             .sender(sender(frame))
             .value(value(frame))
             .apparentValue(apparentValue(frame))
-            .code(new Code(contract != null ? contract.getCode() : BytesValue.EMPTY))
+            .code(frame.getCodeCache().getOrLoad(contract))
+            .codeCache(frame.getCodeCache())
             .blockHeader(frame.getBlockHeader())
             .depth(frame.getMessageStackDepth() + 1)
             .isStatic(isStatic(frame))
@@ -213,8 +213,7 @@ public abstract class AbstractCallOperation extends AbstractOperation {
     frame.addSelfDestructs(childFrame.getSelfDestructs());
     frame.incrementGasRefund(childFrame.getGasRefund());
 
-    final Gas gasRemaining = childFrame.getRemainingGas();
-    frame.incrementRemainingGas(gasRemaining);
+    frame.incrementRemainingGas(childFrame.getRemainingGas());
 
     frame.popStackItems(getStackItemsConsumed());
 
@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.vm;
 
 import tech.pegasys.pantheon.ethereum.vm.operations.JumpDestOperation;
+import tech.pegasys.pantheon.ethereum.vm.operations.PushOperation;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
@@ -20,14 +21,19 @@ import java.util.BitSet;
 
 import com.google.common.base.MoreObjects;
 
-/** Represents EVM code associated with an account. */
+/**
+ * Represents EVM code associated with an account.
+ *
+ * <p>Instances are immutable apart from the lazily computed jump destinations, which are safely
+ * published, so the same instance can be shared between threads (see {@link CodeCache}).
+ */
 public class Code {
 
   /** The bytes representing the code. */
   private final BytesValue bytes;
 
   /** Used to cache valid jump destinations. */
-  private BitSet validJumpDestinations;
+  private volatile BitSet validJumpDestinations;
 
   /**
    * Public constructor.
@@ -71,31 +77,42 @@ public class Code {
   /**
    * Determine whether a specified destination is a valid jump target.
    *
-   * @param evm the EVM executing this code
-   * @param frame The current message frame
    * @param destination The destination we're checking for validity.
    * @return Whether or not this location is a valid jump destination.
    */
-  public boolean isValidJumpDestination(
-      final EVM evm, final MessageFrame frame, final UInt256 destination) {
+  public boolean isValidJumpDestination(final UInt256 destination) {
     if (!destination.fitsInt()) return false;
 
     final int jumpDestination = destination.toInt();
     if (jumpDestination > getSize()) return false;
 
-    if (validJumpDestinations == null) {
-      // Calculate valid jump destinations
-      validJumpDestinations = new BitSet(getSize());
-      evm.forEachOperation(
-          this,
-          frame.getContractAccountVersion(),
-          (final Operation op, final Integer offset) -> {
-            if (op.getOpcode() == JumpDestOperation.OPCODE) {
-              validJumpDestinations.set(offset);
-            }
-          });
+    BitSet jumpDestinations = validJumpDestinations;
+    if (jumpDestinations == null) {
+      // Concurrent callers may both calculate them, but they compute the same set and only a fully
+      // populated one is ever published.
+      jumpDestinations = calculateJumpDestinations();
+      validJumpDestinations = jumpDestinations;
+    }
+    return jumpDestinations.get(jumpDestination);
+  }
+
+  // JUMPDEST and the PUSH operations are the same in every protocol spec and account version, so
+  // the valid jump destinations only depend on the code itself.
+  private BitSet calculateJumpDestinations() {
+    final int size = getSize();
+    final BitSet jumpDestinations = new BitSet(size);
+    int pc = 0;
+    while (pc < size) {
+      final int opcode = bytes.get(pc) & 0xff;
+      if (opcode == JumpDestOperation.OPCODE) {
+        jumpDestinations.set(pc);
+      } else if (opcode >= PushOperation.PUSH1_OPCODE && opcode <= PushOperation.PUSH32_OPCODE) {
+        // Skip the pushed bytes, which may look like a JUMPDEST.
+        pc += opcode - PushOperation.PUSH1_OPCODE + 1;
+      }
+      pc++;
     }
-    return validJumpDestinations.get(jumpDestination);
+    return jumpDestinations;
   }
 
   public BytesValue getBytes() {
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * A size bounded cache of {@link Code} keyed by code hash.
+ *
+ * <p>Popular contracts are called in almost every block. Caching their {@link Code} avoids reading
+ * the bytecode from the world state storage and recomputing its valid jump destinations for each
+ * call.
+ *
+ * <p>As entries are keyed by the hash of their content, a cached entry can never be stale. The
+ * jump destination analysis cached with the code doesn't depend on the protocol spec or account
+ * version either, so a protocol schedule shares one cache between all its specs.
+ */
+public class CodeCache {
+
+  /** The default maximum total size, in bytes, of the cached code. */
+  public static final long DEFAULT_CAPACITY = 32 * 1024 * 1024;
+
+  private static final Code EMPTY_CODE = new Code(BytesValue.EMPTY);
+
+  private final Cache<Hash, Code> cache;
+
+  public CodeCache(final long capacity) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(capacity)
+            .<Hash, Code>weigher((hash, code) -> Bytes32.SIZE + code.getSize())
+            .build();
+  }
+
+  /**
+   * Returns the code of an account, loading it from the account only if it isn't already cached.
+   *
+   * @param account the account to get the code of, which may be null
+   * @return the code of the account, which is empty if the account is null or has no code
+   */
+  public Code getOrLoad(final Account account) {
+    if (account == null) {
+      return EMPTY_CODE;
+    }
+    final Hash codeHash = account.getCodeHash();
+    if (codeHash.equals(Hash.EMPTY)) {
+      return EMPTY_CODE;
+    }
+    try {
+      return cache.get(codeHash, () -> new Code(account.getCode()));
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      throw new IllegalStateException("Unable to load code " + codeHash, e.getCause());
+    }
+  }
+
+  long size() {
+    return cache.size();
+  }
+}
@@ -46,7 +46,7 @@ public class DebugOperationTracer implements OperationTracer {
     final int depth = frame.getMessageStackDepth();
     final String opcode = frame.getCurrentOperation().getName();
     final int pc = frame.getPC();
-    final Gas gasRemaining = frame.getRemainingGas();
+    final Gas gasRemaining = Gas.of(frame.getRemainingGas());
     final EnumSet<ExceptionalHaltReason> exceptionalHaltReasons =
         EnumSet.copyOf(frame.getExceptionalHaltReasons());
     final Optional<Bytes32[]> stack = captureStack(frame);
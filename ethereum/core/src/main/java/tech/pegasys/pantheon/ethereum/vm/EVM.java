@@ -13,7 +13,10 @@
 package tech.pegasys.pantheon.ethereum.vm;
 
 import static org.apache.logging.log4j.LogManager.getLogger;
+import static tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason.INSUFFICIENT_GAS;
 import static tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS;
+import static tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason.INVALID_OPERATION;
+import static tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason.TOO_MANY_STACK_ITEMS;
 
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame.State;
@@ -31,6 +34,7 @@ public class EVM {
   private static final Logger LOG = getLogger();
 
   private static final int STOP_OPCODE = 0x00;
+  private static final int INVALID_OPCODE = 0xfe;
   private final OperationRegistry operations;
   private final Operation invalidOperation;
 
@@ -41,11 +45,81 @@ public class EVM {
 
   public void runToHalt(final MessageFrame frame, final OperationTracer operationTracer)
       throws ExceptionalHaltException {
+    if (operationTracer == OperationTracer.NO_TRACING) {
+      runToHaltUntraced(frame);
+      return;
+    }
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
       executeNextOperation(frame, operationTracer);
     }
   }
 
+  /**
+   * Interpreter loop used when no tracer is attached.
+   *
+   * <p>Behaves exactly like repeated calls to {@link #executeNextOperation} but evaluates the
+   * global exceptional halt conditions inline as primitive checks, calculates each operation's gas
+   * cost only once and doesn't allocate per operation unless the frame is about to halt.
+   *
+   * @param frame the frame to execute
+   * @throws ExceptionalHaltException if an exceptional halt condition is hit
+   */
+  private void runToHaltUntraced(final MessageFrame frame) throws ExceptionalHaltException {
+    final BytesValue bytecode = frame.getCode().getBytes();
+    final int codeSize = bytecode.size();
+    final int version = frame.getContractAccountVersion();
+    final int maxStackSize = frame.getMaxStackSize();
+    final EnumSet<ExceptionalHaltReason> haltReasons = frame.getExceptionalHaltReasons();
+
+    while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+      final int pc = frame.getPC();
+      final Operation operation =
+          pc >= codeSize
+              ? operations.get(STOP_OPCODE, version)
+              : operations.getOrDefault(bytecode.get(pc), version, invalidOperation);
+      frame.setCurrentOperation(operation);
+
+      // Same checks, in the same order, as ExceptionalHaltManager.evaluateAll.
+      final int stackSize = frame.stackSize();
+      final boolean invalid = operation.getOpcode() == INVALID_OPCODE;
+      final boolean overflow = stackSize + operation.getStackSizeChange() > maxStackSize;
+      final boolean underflow = stackSize < operation.getStackItemsConsumed();
+      long cost = 0L;
+      boolean insufficientGas = false;
+      if (!underflow) {
+        cost = operation.cost(frame);
+        insufficientGas = frame.getRemainingGas() < cost;
+      }
+
+      if (invalid || overflow || underflow || insufficientGas) {
+        addIf(haltReasons, invalid, INVALID_OPERATION);
+        addIf(haltReasons, overflow, TOO_MANY_STACK_ITEMS);
+        addIf(haltReasons, underflow, INSUFFICIENT_STACK_ITEMS);
+        addIf(haltReasons, insufficientGas, INSUFFICIENT_GAS);
+      }
+      if (!underflow) {
+        operation.exceptionalHaltCondition(frame, haltReasons, this).ifPresent(haltReasons::add);
+      }
+      checkForExceptionalHalt(frame);
+
+      if (LOG.isTraceEnabled()) {
+        logState(frame, Optional.of(Gas.of(cost)));
+      }
+      frame.decrementRemainingGas(cost);
+      operation.execute(frame);
+      incrementProgramCounter(frame);
+    }
+  }
+
+  private static void addIf(
+      final EnumSet<ExceptionalHaltReason> reasons,
+      final boolean condition,
+      final ExceptionalHaltReason reason) {
+    if (condition) {
+      reasons.add(reason);
+    }
+  }
+
   public void forEachOperation(
       final Code code,
       final int contractAccountVersion,
@@ -89,18 +163,16 @@ public class EVM {
     // the operation may need all its stack items to calculate gas.
     // This is how existing EVM implementations behave.
     if (!frame.getExceptionalHaltReasons().contains(INSUFFICIENT_STACK_ITEMS)) {
-      try {
-        return Optional.ofNullable(frame.getCurrentOperation().cost(frame));
-      } catch (final IllegalArgumentException e) {
-        // TODO: Figure out a better way to handle gas overflows.
-      }
+      return Optional.of(Gas.of(frame.getCurrentOperation().cost(frame)));
     }
     return Optional.empty();
   }
 
   private void decrementRemainingGas(final MessageFrame frame, final Optional<Gas> currentGasCost) {
     frame.decrementRemainingGas(
-        currentGasCost.orElseThrow(() -> new IllegalStateException("Gas overflow detected")));
+        currentGasCost
+            .orElseThrow(() -> new IllegalStateException("Gas overflow detected"))
+            .toLong());
   }
 
   private void checkForExceptionalHalt(final MessageFrame frame) throws ExceptionalHaltException {
@@ -0,0 +1,489 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * An {@link OperandStack} that stores its words as primitive limbs in a single pre-allocated
+ * {@code long[]}.
+ *
+ * <p>Each slot holds four 64-bit limbs, most significant limb first, so a slot has the same
+ * big-endian layout as the {@link Bytes32} it represents. Besides the {@link OperandStack} methods,
+ * which convert to and from {@link Bytes32}, the stack provides in-place implementations of the
+ * arithmetic, comparison, bitwise and {@code DUP}/{@code SWAP} operations. These read their
+ * operands from, and write their result to, the limb array directly and so do not allocate.
+ *
+ * <p>As for the {@link Bytes32} based operations, the in-place operations take their first operand
+ * from the top of the stack and their second from the item below it.
+ */
+public class FlatOperandStack implements OperandStack {
+
+  private static final int LIMBS = Bytes32.SIZE / Long.BYTES;
+
+  private static final VarHandle LONG_VIEW =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+  private final long[] limbs;
+
+  private final int maxSize;
+
+  // Index of the first limb of the top slot, or -LIMBS when the stack is empty.
+  private int top;
+
+  // Scratch space for multiplication, so that it doesn't need to allocate.
+  private final long[] product = new long[LIMBS];
+
+  public FlatOperandStack(final int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException(
+          String.format("max size (%d) must be non-negative", maxSize));
+    }
+    this.limbs = new long[maxSize * LIMBS];
+    this.maxSize = maxSize;
+    this.top = -LIMBS;
+  }
+
+  @Override
+  public Bytes32 get(final int offset) {
+    return load(index(offset));
+  }
+
+  @Override
+  public Bytes32 pop() {
+    requireItems(1);
+    final Bytes32 removed = load(top);
+    top -= LIMBS;
+    return removed;
+  }
+
+  @Override
+  public void bulkPop(final int items) {
+    if (items < 0) {
+      throw new IllegalArgumentException(
+          String.format("requested number of items to bulk pop (%d) is negative", items));
+    }
+    checkArgument(items > 0, "number of items to pop must be greater than 0");
+    if (items > size()) {
+      throw new IllegalStateException(
+          String.format("requested to bulk pop %d items off a stack of size %d", items, size()));
+    }
+    top -= items * LIMBS;
+  }
+
+  @Override
+  public void push(final Bytes32 operand) {
+    pushSlot();
+    final byte[] bytes = operand.getArrayUnsafe();
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[top + i] = (long) LONG_VIEW.get(bytes, i * Long.BYTES);
+    }
+  }
+
+  /**
+   * Pushes a word made of up to 32 bytes of {@code source}, right aligned and zero padded on the
+   * left, without materializing it as a {@link Bytes32}.
+   *
+   * <p>Bytes past the end of {@code source} are read as zero, which is how {@code PUSH} treats code
+   * that is truncated.
+   *
+   * @param source the bytes to read from
+   * @param offset the offset of the first byte to read
+   * @param length the number of bytes that make up the word, at most 32
+   * @throws IllegalStateException when the stack is at capacity (e.g. a stack overflow occurs)
+   */
+  public void push(final BytesValue source, final int offset, final int length) {
+    pushSlot();
+    clear(top);
+    final int available = Math.max(0, Math.min(length, source.size() - offset));
+    final int start = Bytes32.SIZE - length;
+    for (int i = 0; i < available; i++) {
+      final int position = start + i;
+      final int limb = top + position / Long.BYTES;
+      final int shift = (Long.BYTES - 1 - position % Long.BYTES) * Byte.SIZE;
+      limbs[limb] |= (source.get(offset + i) & 0xffL) << shift;
+    }
+  }
+
+  @Override
+  public void set(final int offset, final Bytes32 operand) {
+    final int index = index(offset);
+    final byte[] bytes = operand.getArrayUnsafe();
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[index + i] = (long) LONG_VIEW.get(bytes, i * Long.BYTES);
+    }
+  }
+
+  @Override
+  public int size() {
+    return (top + LIMBS) / LIMBS;
+  }
+
+  /**
+   * Pushes a copy of the item at {@code offset} from the top of the stack.
+   *
+   * @param offset the position relative to the top of the stack of the item to copy
+   */
+  public void dup(final int offset) {
+    final int source = index(offset);
+    pushSlot();
+    System.arraycopy(limbs, source, limbs, top, LIMBS);
+  }
+
+  /**
+   * Swaps the top of the stack with the item at {@code offset} from the top.
+   *
+   * @param offset the position relative to the top of the stack of the item to swap with
+   */
+  public void swap(final int offset) {
+    final int other = index(offset);
+    for (int i = 0; i < LIMBS; i++) {
+      final long tmp = limbs[top + i];
+      limbs[top + i] = limbs[other + i];
+      limbs[other + i] = tmp;
+    }
+  }
+
+  /** Replaces the top two items a and b with a + b, modulo 2^256. */
+  public void add() {
+    final int a = binaryOperands();
+    final int b = top;
+    long carry = 0;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final long x = limbs[a + i];
+      final long sum = x + limbs[b + i];
+      final long result = sum + carry;
+      carry = (Long.compareUnsigned(sum, x) < 0 || Long.compareUnsigned(result, sum) < 0) ? 1 : 0;
+      limbs[b + i] = result;
+    }
+  }
+
+  /** Replaces the top two items a and b with a - b, modulo 2^256. */
+  public void sub() {
+    final int a = binaryOperands();
+    final int b = top;
+    long borrow = 0;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final long x = limbs[a + i];
+      final long y = limbs[b + i];
+      final long difference = x - y;
+      final long result = difference - borrow;
+      borrow =
+          (Long.compareUnsigned(x, y) < 0 || Long.compareUnsigned(difference, borrow) < 0) ? 1 : 0;
+      limbs[b + i] = result;
+    }
+  }
+
+  /** Replaces the top two items a and b with a * b, modulo 2^256. */
+  public void mul() {
+    final int a = binaryOperands();
+    final int b = top;
+    Arrays.fill(product, 0);
+    // Schoolbook multiplication on least significant first indices, dropping everything that would
+    // land above the 4th limb.
+    for (int i = 0; i < LIMBS; i++) {
+      final long x = limbs[a + LIMBS - 1 - i];
+      if (x == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; i + j < LIMBS; j++) {
+        final long y = limbs[b + LIMBS - 1 - j];
+        long low = x * y;
+        long high = unsignedMultiplyHigh(x, y);
+        low += carry;
+        if (Long.compareUnsigned(low, carry) < 0) {
+          high++;
+        }
+        final long current = product[i + j];
+        low += current;
+        if (Long.compareUnsigned(low, current) < 0) {
+          high++;
+        }
+        product[i + j] = low;
+        carry = high;
+      }
+    }
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] = product[LIMBS - 1 - i];
+    }
+  }
+
+  /** Replaces the top two items a and b with 1 if a &lt; b as unsigned words, 0 otherwise. */
+  public void lt() {
+    final int a = binaryOperands();
+    setBoolean(top, compareUnsigned(a, top) < 0);
+  }
+
+  /** Replaces the top two items a and b with 1 if a &gt; b as unsigned words, 0 otherwise. */
+  public void gt() {
+    final int a = binaryOperands();
+    setBoolean(top, compareUnsigned(a, top) > 0);
+  }
+
+  /** Replaces the top two items a and b with 1 if a &lt; b as signed words, 0 otherwise. */
+  public void slt() {
+    final int a = binaryOperands();
+    setBoolean(top, compareSigned(a, top) < 0);
+  }
+
+  /** Replaces the top two items a and b with 1 if a &gt; b as signed words, 0 otherwise. */
+  public void sgt() {
+    final int a = binaryOperands();
+    setBoolean(top, compareSigned(a, top) > 0);
+  }
+
+  /** Replaces the top two items a and b with 1 if a = b, 0 otherwise. */
+  public void eq() {
+    final int a = binaryOperands();
+    setBoolean(top, compareUnsigned(a, top) == 0);
+  }
+
+  /** Replaces the top item with 1 if it is zero, 0 otherwise. */
+  public void isZero() {
+    requireItems(1);
+    setBoolean(top, isZero(top));
+  }
+
+  /** Replaces the top two items a and b with a &amp; b. */
+  public void and() {
+    final int a = binaryOperands();
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[top + i] &= limbs[a + i];
+    }
+  }
+
+  /** Replaces the top two items a and b with a | b. */
+  public void or() {
+    final int a = binaryOperands();
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[top + i] |= limbs[a + i];
+    }
+  }
+
+  /** Replaces the top two items a and b with a ^ b. */
+  public void xor() {
+    final int a = binaryOperands();
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[top + i] ^= limbs[a + i];
+    }
+  }
+
+  /** Replaces the top item with its bitwise complement. */
+  public void not() {
+    requireItems(1);
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[top + i] = ~limbs[top + i];
+    }
+  }
+
+  /**
+   * Replaces the top two items i and x with the ith byte of x, counting from the most significant
+   * byte, or 0 if i is 32 or more.
+   */
+  public void byteAt() {
+    final int i = binaryOperands();
+    final int x = top;
+    final int index = smallValue(i, Bytes32.SIZE);
+    if (index == Bytes32.SIZE) {
+      setLong(x, 0L);
+      return;
+    }
+    final int shift = (Long.BYTES - 1 - index % Long.BYTES) * Byte.SIZE;
+    setLong(x, (limbs[x + index / Long.BYTES] >>> shift) & 0xffL);
+  }
+
+  /** Replaces the top two items shift and x with x &lt;&lt; shift, modulo 2^256. */
+  public void shl() {
+    final int shiftIndex = binaryOperands();
+    final int x = top;
+    final int shift = smallValue(shiftIndex, Bytes32.SIZE * Byte.SIZE);
+    final int limbShift = shift / Long.SIZE;
+    final int bitShift = shift % Long.SIZE;
+    // Each limb only reads from itself and less significant limbs, which are not yet overwritten.
+    for (int i = 0; i < LIMBS; i++) {
+      final int from = i + limbShift;
+      long value = from < LIMBS ? limbs[x + from] << bitShift : 0L;
+      if (bitShift != 0 && from + 1 < LIMBS) {
+        value |= limbs[x + from + 1] >>> (Long.SIZE - bitShift);
+      }
+      limbs[x + i] = value;
+    }
+  }
+
+  /** Replaces the top two items shift and x with x &gt;&gt;&gt; shift. */
+  public void shr() {
+    shiftRight(0L);
+  }
+
+  /** Replaces the top two items shift and x with x &gt;&gt; shift, extending the sign of x. */
+  public void sar() {
+    requireItems(2);
+    shiftRight(limbs[top - LIMBS] < 0 ? -1L : 0L);
+  }
+
+  private void shiftRight(final long fill) {
+    final int shiftIndex = binaryOperands();
+    final int x = top;
+    final int shift = smallValue(shiftIndex, Bytes32.SIZE * Byte.SIZE);
+    final int limbShift = shift / Long.SIZE;
+    final int bitShift = shift % Long.SIZE;
+    // Each limb only reads from itself and more significant limbs, which are not yet overwritten.
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final int from = i - limbShift;
+      final long value;
+      if (from < 0) {
+        value = fill;
+      } else if (bitShift == 0) {
+        value = limbs[x + from];
+      } else {
+        final long next = from > 0 ? limbs[x + from - 1] : fill;
+        value = (limbs[x + from] >>> bitShift) | (next << (Long.SIZE - bitShift));
+      }
+      limbs[x + i] = value;
+    }
+  }
+
+  private int index(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new IndexOutOfBoundsException();
+    }
+    return top - offset * LIMBS;
+  }
+
+  private void requireItems(final int items) {
+    if (top < (items - 1) * LIMBS) {
+      throw new IllegalStateException("operand stack underflow");
+    }
+  }
+
+  private void pushSlot() {
+    final int nextTop = top + LIMBS;
+    if (nextTop == maxSize * LIMBS) {
+      throw new IllegalStateException("operand stack overflow");
+    }
+    top = nextTop;
+  }
+
+  /**
+   * Pops the top item of a binary operation, leaving the second operand, which receives the
+   * result, on top.
+   *
+   * @return the index of the popped first operand, which stays readable until the next push
+   */
+  private int binaryOperands() {
+    requireItems(2);
+    final int first = top;
+    top -= LIMBS;
+    return first;
+  }
+
+  private Bytes32 load(final int index) {
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    for (int i = 0; i < LIMBS; i++) {
+      LONG_VIEW.set(bytes, i * Long.BYTES, limbs[index + i]);
+    }
+    return Bytes32.wrap(bytes);
+  }
+
+  private void clear(final int index) {
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[index + i] = 0L;
+    }
+  }
+
+  private void setLong(final int index, final long value) {
+    limbs[index] = 0L;
+    limbs[index + 1] = 0L;
+    limbs[index + 2] = 0L;
+    limbs[index + 3] = value;
+  }
+
+  private void setBoolean(final int index, final boolean value) {
+    setLong(index, value ? 1L : 0L);
+  }
+
+  private boolean isZero(final int index) {
+    return (limbs[index] | limbs[index + 1] | limbs[index + 2] | limbs[index + 3]) == 0;
+  }
+
+  /** Returns the value of the slot, or {@code limit} if it is {@code limit} or more. */
+  private int smallValue(final int index, final int limit) {
+    if ((limbs[index] | limbs[index + 1] | limbs[index + 2]) != 0
+        || Long.compareUnsigned(limbs[index + 3], limit) >= 0) {
+      return limit;
+    }
+    return (int) limbs[index + 3];
+  }
+
+  private int compareUnsigned(final int a, final int b) {
+    for (int i = 0; i < LIMBS; i++) {
+      final int cmp = Long.compareUnsigned(limbs[a + i], limbs[b + i]);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return 0;
+  }
+
+  private int compareSigned(final int a, final int b) {
+    final int cmp = Long.compare(limbs[a], limbs[b]);
+    if (cmp != 0) {
+      return cmp;
+    }
+    for (int i = 1; i < LIMBS; i++) {
+      final int lower = Long.compareUnsigned(limbs[a + i], limbs[b + i]);
+      if (lower != 0) {
+        return lower;
+      }
+    }
+    return 0;
+  }
+
+  private static long unsignedMultiplyHigh(final long x, final long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < size(); ++i) {
+      builder.append(String.format("\n0x%04X ", i)).append(get(i));
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(Arrays.copyOf(limbs, top + LIMBS));
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof FlatOperandStack)) {
+      return false;
+    }
+
+    final FlatOperandStack that = (FlatOperandStack) other;
+    return this.top == that.top
+        && Arrays.equals(this.limbs, 0, top + LIMBS, that.limbs, 0, that.top + LIMBS);
+  }
+}
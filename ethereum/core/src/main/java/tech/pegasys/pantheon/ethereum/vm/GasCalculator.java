@@ -13,7 +13,6 @@
 package tech.pegasys.pantheon.ethereum.vm;
 
 import tech.pegasys.pantheon.ethereum.core.Account;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.mainnet.AbstractMessageProcessor;
@@ -41,13 +40,16 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 /**
  * Provides various gas cost lookups and calculations used during block processing.
  *
- * <p>The {@code GasCalculator} is meant to encapsulate all {@link Gas}-related calculations except
- * for the following "safe" operations:
+ * <p>The {@code GasCalculator} is meant to encapsulate all gas-related calculations except for the
+ * following "safe" operations:
  *
  * <ul>
  *   <li><b>Operation Gas Deductions:</b> Deducting the operation's gas cost from the VM's current
  *       message frame because the
  * </ul>
+ *
+ * <p>Amounts of gas are primitive {@code long} values. Calculations saturate at {@link
+ * Long#MAX_VALUE} in the same way as {@link tech.pegasys.pantheon.ethereum.core.Gas} arithmetic.
  */
 public interface GasCalculator {
 
@@ -59,7 +61,7 @@ public interface GasCalculator {
    * @param transaction The transaction
    * @return the transaction's intrinsic gas cost
    */
-  Gas transactionIntrinsicGasCost(Transaction transaction);
+  long transactionIntrinsicGasCost(Transaction transaction);
 
   // Contract Creation Gas Calculations
 
@@ -69,7 +71,7 @@ public interface GasCalculator {
    * @param codeSize The size of the code in bytes
    * @return the code deposit cost
    */
-  Gas codeDepositGasCost(int codeSize);
+  long codeDepositGasCost(int codeSize);
 
   // Precompiled Contract Gas Calculations
 
@@ -79,14 +81,14 @@ public interface GasCalculator {
    * @param input The input to the ID precompiled contract
    * @return the gas cost to execute the ID precompiled contract
    */
-  Gas idPrecompiledContractGasCost(BytesValue input);
+  long idPrecompiledContractGasCost(BytesValue input);
 
   /**
    * Returns the gas cost to execute the {@link ECRECPrecompiledContract}.
    *
    * @return the gas cost to execute the ECREC precompiled contract
    */
-  Gas getEcrecPrecompiledContractGasCost();
+  long getEcrecPrecompiledContractGasCost();
 
   /**
    * Returns the gas cost to execute the {@link SHA256PrecompiledContract}.
@@ -94,7 +96,7 @@ public interface GasCalculator {
    * @param input The input to the SHA256 precompiled contract
    * @return the gas cost to execute the SHA256 precompiled contract
    */
-  Gas sha256PrecompiledContractGasCost(BytesValue input);
+  long sha256PrecompiledContractGasCost(BytesValue input);
 
   /**
    * Returns the gas cost to execute the {@link RIPEMD160PrecompiledContract}.
@@ -102,7 +104,7 @@ public interface GasCalculator {
    * @param input The input to the RIPEMD160 precompiled contract
    * @return the gas cost to execute the RIPEMD160 precompiled contract
    */
-  Gas ripemd160PrecompiledContractGasCost(BytesValue input);
+  long ripemd160PrecompiledContractGasCost(BytesValue input);
 
   // Gas Tier Lookups
 
@@ -111,42 +113,42 @@ public interface GasCalculator {
    *
    * @return the gas cost for the zero gas tier
    */
-  Gas getZeroTierGasCost();
+  long getZeroTierGasCost();
 
   /**
    * Returns the gas cost for the very low gas tier.
    *
    * @return the gas cost for the very low gas tier
    */
-  Gas getVeryLowTierGasCost();
+  long getVeryLowTierGasCost();
 
   /**
    * Returns the gas cost for the low gas tier.
    *
    * @return the gas cost for the low gas tier
    */
-  Gas getLowTierGasCost();
+  long getLowTierGasCost();
 
   /**
    * Returns the gas cost for the base gas tier.
    *
    * @return the gas cost for the base gas tier
    */
-  Gas getBaseTierGasCost();
+  long getBaseTierGasCost();
 
   /**
    * Returns the gas cost for the mid gas tier.
    *
    * @return the gas cost for the mid gas tier
    */
-  Gas getMidTierGasCost();
+  long getMidTierGasCost();
 
   /**
    * Returns the gas cost for the high gas tier.
    *
    * @return the gas cost for the high gas tier
    */
-  Gas getHighTierGasCost();
+  long getHighTierGasCost();
 
   // Call/Create Operation Calculations
 
@@ -163,9 +165,9 @@ public interface GasCalculator {
    * @param recipient The CALL recipient
    * @return The gas cost for the CALL operation
    */
-  Gas callOperationGasCost(
+  long callOperationGasCost(
       MessageFrame frame,
-      Gas stipend,
+      long stipend,
       UInt256 inputDataOffset,
       UInt256 inputDataLength,
       UInt256 outputDataOffset,
@@ -181,7 +183,7 @@ public interface GasCalculator {
    * @param transfersValue Whether or not the call transfers any wei
    * @return the amount of gas parent will provide its child CALL
    */
-  Gas gasAvailableForChildCall(MessageFrame frame, Gas stipend, boolean transfersValue);
+  long gasAvailableForChildCall(MessageFrame frame, long stipend, boolean transfersValue);
 
   /**
    * Returns the amount of gas the CREATE operation will consume.
@@ -189,7 +191,7 @@ public interface GasCalculator {
    * @param frame The current frame
    * @return the amount of gas the CREATE operation will consume
    */
-  Gas createOperationGasCost(MessageFrame frame);
+  long createOperationGasCost(MessageFrame frame);
 
   /**
    * Returns the amount of gas the CREATE2 operation will consume.
@@ -197,7 +199,7 @@ public interface GasCalculator {
    * @param frame The current frame
    * @return the amount of gas the CREATE2 operation will consume
    */
-  Gas create2OperationGasCost(MessageFrame frame);
+  long create2OperationGasCost(MessageFrame frame);
 
   /**
    * Returns the amount of gas parent will provide its child CREATE.
@@ -205,7 +207,7 @@ public interface GasCalculator {
    * @param stipend The gas stipend being provided by the CREATE caller
    * @return the amount of gas parent will provide its child CREATE
    */
-  Gas gasAvailableForChildCreate(Gas stipend);
+  long gasAvailableForChildCreate(long stipend);
 
   // Re-used Operation Calculations
 
@@ -217,7 +219,7 @@ public interface GasCalculator {
    * @param length The length of the data being copied into memory
    * @return the amount of gas consumed by the data copy operation
    */
-  Gas dataCopyOperationGasCost(MessageFrame frame, UInt256 offset, UInt256 length);
+  long dataCopyOperationGasCost(MessageFrame frame, UInt256 offset, UInt256 length);
 
   /**
    * Returns the cost of expanding memory for the specified access.
@@ -227,7 +229,7 @@ public interface GasCalculator {
    * @param length the length of the memory access
    * @return The gas required to expand memory for the specified access
    */
-  Gas memoryExpansionGasCost(MessageFrame frame, UInt256 offset, UInt256 length);
+  long memoryExpansionGasCost(MessageFrame frame, UInt256 offset, UInt256 length);
 
   // Specific Non-call Operation Calculations
 
@@ -236,14 +238,14 @@ public interface GasCalculator {
    *
    * @return the cost for executing the balance operation
    */
-  Gas getBalanceOperationGasCost();
+  long getBalanceOperationGasCost();
 
   /**
    * Returns the cost for executing a {@link BlockHashOperation}.
    *
    * @return the cost for executing the block hash operation
    */
-  Gas getBlockHashOperationGasCost();
+  long getBlockHashOperationGasCost();
 
   /**
    * Returns the cost for executing a {@link ExpOperation}.
@@ -251,7 +253,7 @@ public interface GasCalculator {
    * @param numBytes The number of bytes for the exponent parameter
    * @return the cost for executing the exp operation
    */
-  Gas expOperationGasCost(int numBytes);
+  long expOperationGasCost(int numBytes);
 
   /**
    * Returns the cost for executing a {@link ExtCodeCopyOperation}.
@@ -261,28 +263,28 @@ public interface GasCalculator {
    * @param length The length of the code being copied into memory
    * @return the cost for executing the external code size operation
    */
-  Gas extCodeCopyOperationGasCost(MessageFrame frame, UInt256 offset, UInt256 length);
+  long extCodeCopyOperationGasCost(MessageFrame frame, UInt256 offset, UInt256 length);
 
   /**
    * Returns the cost for executing a {@link ExtCodeHashOperation}.
    *
    * @return the cost for executing the external code hash operation
    */
-  Gas extCodeHashOperationGasCost();
+  long extCodeHashOperationGasCost();
 
   /**
    * Returns the cost for executing a {@link ExtCodeSizeOperation}.
    *
    * @return the cost for executing the external code size operation
    */
-  Gas getExtCodeSizeOperationGasCost();
+  long getExtCodeSizeOperationGasCost();
 
   /**
    * Returns the cost for executing a {@link JumpDestOperation}.
    *
    * @return the cost for executing the jump destination operation
    */
-  Gas getJumpDestOperationGasCost();
+  long getJumpDestOperationGasCost();
 
   /**
    * Returns the cost for executing a {@link LogOperation}.
@@ -293,7 +295,7 @@ public interface GasCalculator {
    * @param numTopics The number of topics in the log
    * @return the cost for executing the external code size operation
    */
-  Gas logOperationGasCost(
+  long logOperationGasCost(
       MessageFrame frame, UInt256 dataOffset, UInt256 dataLength, int numTopics);
 
   /**
@@ -303,7 +305,7 @@ public interface GasCalculator {
    * @param offset The offset in memory where the access takes place
    * @return the cost for executing the memory load operation
    */
-  Gas mLoadOperationGasCost(MessageFrame frame, UInt256 offset);
+  long mLoadOperationGasCost(MessageFrame frame, UInt256 offset);
 
   /**
    * Returns the cost for executing a {@link MStoreOperation}.
@@ -312,7 +314,7 @@ public interface GasCalculator {
    * @param offset The offset in memory where the access takes place
    * @return the cost for executing the memory store operation
    */
-  Gas mStoreOperationGasCost(MessageFrame frame, UInt256 offset);
+  long mStoreOperationGasCost(MessageFrame frame, UInt256 offset);
 
   /**
    * Returns the cost for executing a {@link MStore8Operation}.
@@ -321,7 +323,7 @@ public interface GasCalculator {
    * @param offset The offset in memory where the access takes place
    * @return the cost for executing the memory byte store operation
    */
-  Gas mStore8OperationGasCost(MessageFrame frame, UInt256 offset);
+  long mStore8OperationGasCost(MessageFrame frame, UInt256 offset);
 
   /**
    * Returns the cost for executing a {@link SelfDestructOperation}.
@@ -330,7 +332,7 @@ public interface GasCalculator {
    * @param inheritance The amount the recipient will receive
    * @return the cost for executing the self destruct operation
    */
-  Gas selfDestructOperationGasCost(Account recipient, Wei inheritance);
+  long selfDestructOperationGasCost(Account recipient, Wei inheritance);
 
   /**
    * Returns the cost for executing a {@link Sha3Operation}.
@@ -340,14 +342,14 @@ public interface GasCalculator {
    * @param length The hashed data length
    * @return the cost for executing the memory byte store operation
    */
-  Gas sha3OperationGasCost(MessageFrame frame, UInt256 offset, UInt256 length);
+  long sha3OperationGasCost(MessageFrame frame, UInt256 offset, UInt256 length);
 
   /**
    * Returns the cost for executing a {@link SLoadOperation}.
    *
    * @return the cost for executing the storage load operation
    */
-  Gas getSloadOperationGasCost();
+  long getSloadOperationGasCost();
 
   /**
    * Returns the cost for an SSTORE operation.
@@ -357,7 +359,7 @@ public interface GasCalculator {
    * @param newValue the new value to be stored
    * @return the gas cost for the SSTORE operation
    */
-  Gas calculateStorageCost(Account account, UInt256 key, UInt256 newValue);
+  long calculateStorageCost(Account account, UInt256 key, UInt256 newValue);
 
   /**
    * Returns the refund amount for an SSTORE operation.
@@ -367,12 +369,12 @@ public interface GasCalculator {
    * @param newValue the new value to be stored
    * @return the gas refund for the SSTORE operation
    */
-  Gas calculateStorageRefundAmount(Account account, UInt256 key, UInt256 newValue);
+  long calculateStorageRefundAmount(Account account, UInt256 key, UInt256 newValue);
 
   /**
    * Returns the refund amount for deleting an account in a {@link SelfDestructOperation}.
    *
    * @return the refund amount for deleting an account in a self destruct operation
    */
-  Gas getSelfDestructRefundAmount();
+  long getSelfDestructRefundAmount();
 }
@@ -188,19 +188,20 @@ public class MessageFrame {
   private State state;
 
   // Machine state fields.
-  private Gas gasRemaining;
+  private long gasRemaining;
   private final BlockHashLookup blockHashLookup;
+  private final CodeCache codeCache;
   private final int maxStackSize;
   private int pc;
   private final Memory memory;
-  private final OperandStack stack;
+  private final FlatOperandStack stack;
   private BytesValue output;
   private BytesValue returnData;
   private final boolean isStatic;
 
   // Transaction substate fields.
   private final LogSeries logs;
-  private Gas gasRefund;
+  private long gasRefund;
   private final Set<Address> selfDestructs;
 
   // Execution Environment fields.
@@ -236,7 +237,7 @@ public class MessageFrame {
       final Blockchain blockchain,
       final Deque<MessageFrame> messageFrameStack,
       final WorldUpdater worldState,
-      final Gas initialGas,
+      final long initialGas,
       final Address recipient,
       final Address originator,
       final Address contract,
@@ -253,6 +254,7 @@ public class MessageFrame {
       final Consumer<MessageFrame> completer,
       final Address miningBeneficiary,
       final BlockHashLookup blockHashLookup,
+      final CodeCache codeCache,
       final Boolean isPersistingState,
       final Optional<String> revertReason,
       final int maxStackSize) {
@@ -262,14 +264,15 @@ public class MessageFrame {
     this.worldState = worldState;
     this.gasRemaining = initialGas;
     this.blockHashLookup = blockHashLookup;
+    this.codeCache = codeCache;
     this.maxStackSize = maxStackSize;
     this.pc = 0;
     this.memory = new Memory();
-    this.stack = new PreAllocatedOperandStack(maxStackSize);
+    this.stack = new FlatOperandStack(maxStackSize);
     this.output = BytesValue.EMPTY;
     this.returnData = BytesValue.EMPTY;
     this.logs = LogSeries.empty();
-    this.gasRefund = Gas.ZERO;
+    this.gasRefund = 0L;
     this.selfDestructs = new HashSet<>();
     this.recipient = recipient;
     this.originator = originator;
@@ -311,7 +314,7 @@ public class MessageFrame {
 
   /** Deducts the remainging gas. */
   public void clearGasRemaining() {
-    this.gasRemaining = Gas.ZERO;
+    this.gasRemaining = 0L;
   }
 
   /**
@@ -319,8 +322,8 @@ public class MessageFrame {
    *
    * @param amount The amount of gas to deduct
    */
-  public void decrementRemainingGas(final Gas amount) {
-    this.gasRemaining = gasRemaining.minus(amount);
+  public void decrementRemainingGas(final long amount) {
+    this.gasRemaining -= amount;
   }
 
   /**
@@ -328,7 +331,7 @@ public class MessageFrame {
    *
    * @return the amount of remaining gas
    */
-  public Gas getRemainingGas() {
+  public long getRemainingGas() {
     return gasRemaining;
   }
 
@@ -337,8 +340,8 @@ public class MessageFrame {
    *
    * @param amount The amount of gas to increment
    */
-  public void incrementRemainingGas(final Gas amount) {
-    this.gasRemaining = gasRemaining.plus(amount);
+  public void incrementRemainingGas(final long amount) {
+    this.gasRemaining = Gas.saturatedAdd(gasRemaining, amount);
   }
 
   /**
@@ -346,7 +349,7 @@ public class MessageFrame {
    *
    * @param amount The amount of remainging gas
    */
-  public void setGasRemaining(final Gas amount) {
+  public void setGasRemaining(final long amount) {
     this.gasRemaining = amount;
   }
 
@@ -448,6 +451,15 @@ public class MessageFrame {
     stack.set(offset, value);
   }
 
+  /**
+   * Returns the operand stack, for operations that work on stack items in place.
+   *
+   * @return the operand stack
+   */
+  public FlatOperandStack getOperandStack() {
+    return stack;
+  }
+
   /**
    * Return the current stack size.
    *
@@ -604,13 +616,13 @@ public class MessageFrame {
    *
    * @param amount The amount to increment the refund
    */
-  public void incrementGasRefund(final Gas amount) {
-    this.gasRefund = gasRefund.plus(amount);
+  public void incrementGasRefund(final long amount) {
+    this.gasRefund = Gas.saturatedAdd(gasRefund, amount);
   }
 
   /** Clear the accumulated gas refund. */
   public void clearGasRefund() {
-    gasRefund = Gas.ZERO;
+    gasRefund = 0L;
   }
 
   /**
@@ -618,7 +630,7 @@ public class MessageFrame {
    *
    * @return accumulated gas refund
    */
-  public Gas getGasRefund() {
+  public long getGasRefund() {
     return gasRefund;
   }
 
@@ -829,6 +841,15 @@ public class MessageFrame {
     return blockHashLookup;
   }
 
+  /**
+   * Returns the cache to load the code of the contracts called by this frame from.
+   *
+   * @return the code cache
+   */
+  public CodeCache getCodeCache() {
+    return codeCache;
+  }
+
   public Operation getCurrentOperation() {
     return currentOperation;
   }
@@ -860,7 +881,7 @@ public class MessageFrame {
     private Blockchain blockchain;
     private Deque<MessageFrame> messageFrameStack;
     private WorldUpdater worldState;
-    private Gas initialGas;
+    private Long initialGas;
     private Address address;
     private Address originator;
     private Address contract;
@@ -878,6 +899,7 @@ public class MessageFrame {
     private Consumer<MessageFrame> completer;
     private Address miningBeneficiary;
     private BlockHashLookup blockHashLookup;
+    private CodeCache codeCache;
     private Boolean isPersistingState = false;
     private Optional<String> reason = Optional.empty();
 
@@ -901,7 +923,7 @@ public class MessageFrame {
       return this;
     }
 
-    public Builder initialGas(final Gas initialGas) {
+    public Builder initialGas(final long initialGas) {
       this.initialGas = initialGas;
       return this;
     }
@@ -992,6 +1014,11 @@ public class MessageFrame {
       return this;
     }
 
+    public Builder codeCache(final CodeCache codeCache) {
+      this.codeCache = codeCache;
+      return this;
+    }
+
     public Builder isPersistingState(final Boolean isPersistingState) {
       this.isPersistingState = isPersistingState;
       return this;
@@ -1022,6 +1049,7 @@ public class MessageFrame {
       checkState(completer != null, "Missing message frame completer");
       checkState(miningBeneficiary != null, "Missing mining beneficiary");
       checkState(blockHashLookup != null, "Missing block hash lookup");
+      checkState(codeCache != null, "Missing code cache");
       checkState(isPersistingState != null, "Missing isPersistingState");
       checkState(contractAccountVersion != -1, "Missing contractAccountVersion");
     }
@@ -1051,6 +1079,7 @@ public class MessageFrame {
           completer,
           miningBeneficiary,
           blockHashLookup,
+          codeCache,
           isPersistingState,
           reason,
           maxStackSize);
@@ -12,7 +12,6 @@
  */
 package tech.pegasys.pantheon.ethereum.vm;
 
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltPredicate;
 
 import java.util.EnumSet;
@@ -25,7 +24,7 @@ public interface Operation extends ExceptionalHaltPredicate {
    * @return The gas cost associated with executing this operation given the current {@link
    *     MessageFrame}.
    */
-  Gas cost(MessageFrame frame);
+  long cost(MessageFrame frame);
 
   /**
    * Executes the logic behind this operation.
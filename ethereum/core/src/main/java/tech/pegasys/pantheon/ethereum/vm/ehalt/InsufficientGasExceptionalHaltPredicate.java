@@ -29,18 +29,8 @@ public class InsufficientGasExceptionalHaltPredicate implements ExceptionalHaltP
       return Optional.empty();
     }
 
-    try {
-      return Optional.ofNullable(frame.getCurrentOperation().cost(frame))
-          .filter(cost -> frame.getRemainingGas().compareTo(cost) < 0)
-          .map(cost -> ExceptionalHaltReason.INSUFFICIENT_GAS);
-    } catch (final IllegalArgumentException e) {
-      // TODO: Figure out a better way to handle gas overflows.
-      if (e.getMessage().contains("Gas too large")) {
-        return Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS);
-      }
-
-      // throw e;
-      return Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS);
-    }
+    return frame.getRemainingGas() < frame.getCurrentOperation().cost(frame)
+        ? Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS)
+        : Optional.empty();
   }
 }
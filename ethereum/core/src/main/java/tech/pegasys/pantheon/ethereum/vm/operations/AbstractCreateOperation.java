@@ -13,7 +13,6 @@
 package tech.pegasys.pantheon.ethereum.vm.operations;
 
 import tech.pegasys.pantheon.ethereum.core.Address;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.MutableAccount;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.vm.AbstractOperation;
@@ -98,7 +97,8 @@ public abstract class AbstractCreateOperation extends AbstractOperation {
 
     final Address contractAddress = targetContractAddress(frame);
 
-    final Gas childGasStipend = gasCalculator().gasAvailableForChildCreate(frame.getRemainingGas());
+    final long childGasStipend =
+        gasCalculator().gasAvailableForChildCreate(frame.getRemainingGas());
     frame.decrementRemainingGas(childGasStipend);
 
     final MessageFrame childFrame =
@@ -118,6 +118,7 @@ public abstract class AbstractCreateOperation extends AbstractOperation {
             .value(value)
             .apparentValue(value)
             .code(new Code(inputData))
+            .codeCache(frame.getCodeCache())
             .blockHeader(frame.getBlockHeader())
             .depth(frame.getMessageStackDepth() + 1)
             .completer(child -> complete(frame, child))
@@ -12,11 +12,9 @@
  */
 package tech.pegasys.pantheon.ethereum.vm.operations;
 
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.AbstractOperation;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
-import tech.pegasys.pantheon.util.uint.UInt256;
 
 public class AddOperation extends AbstractOperation {
 
@@ -25,17 +23,12 @@ public class AddOperation extends AbstractOperation {
   }
 
   @Override
-  public Gas cost(final MessageFrame frame) {
+  public long cost(final MessageFrame frame) {
     return gasCalculator().getVeryLowTierGasCost();
   }
 
   @Override
   public void execute(final MessageFrame frame) {
-    final UInt256 value0 = frame.popStackItem().asUInt256();
-    final UInt256 value1 = frame.popStackItem().asUInt256();
-
-    final UInt256 result = value0.plus(value1);
-
-    frame.pushStackItem(result.getBytes());
+    frame.getOperandStack().add();
   }
 }
@@ -29,8 +29,8 @@ public class CallCodeOperation extends AbstractCallOperation {
   }
 
   @Override
-  protected Gas gas(final MessageFrame frame) {
-    return Gas.of(frame.getStackItem(0));
+  protected long gas(final MessageFrame frame) {
+    return Gas.saturatedValueOf(frame.getStackItem(0).asUInt256());
   }
 
   @Override
@@ -79,7 +79,7 @@ public class CallCodeOperation extends AbstractCallOperation {
   }
 
   @Override
-  public Gas gasAvailableForChildCall(final MessageFrame frame) {
+  public long gasAvailableForChildCall(final MessageFrame frame) {
     return gasCalculator().gasAvailableForChildCall(frame, gas(frame), !value(frame).isZero());
   }
 
@@ -89,8 +89,8 @@ public class CallCodeOperation extends AbstractCallOperation {
   }
 
   @Override
-  public Gas cost(final MessageFrame frame) {
-    final Gas stipend = gas(frame);
+  public long cost(final MessageFrame frame) {
+    final long stipend = gas(frame);
     final UInt256 inputDataOffset = inputDataOffset(frame).asUInt256();
     final UInt256 inputDataLength = inputDataLength(frame).asUInt256();
     final UInt256 outputDataOffset = outputDataOffset(frame).asUInt256();
@@ -12,7 +12,6 @@
  */
 package tech.pegasys.pantheon.ethereum.vm.operations;
 
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.AbstractOperation;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
@@ -27,12 +26,12 @@ public class DupOperation extends AbstractOperation {
   }
 
   @Override
-  public Gas cost(final MessageFrame frame) {
+  public long cost(final MessageFrame frame) {
     return gasCalculator().getVeryLowTierGasCost();
   }
 
   @Override
   public void execute(final MessageFrame frame) {
-    frame.pushStackItem(frame.getStackItem(index - 1));
+    frame.getOperandStack().dup(index - 1);
   }
 }
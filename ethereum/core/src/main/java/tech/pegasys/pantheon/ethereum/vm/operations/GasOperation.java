@@ -12,12 +12,10 @@
  */
 package tech.pegasys.pantheon.ethereum.vm.operations;
 
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.AbstractOperation;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
-import tech.pegasys.pantheon.util.bytes.Bytes32;
-import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
 
 public class GasOperation extends AbstractOperation {
 
@@ -26,14 +24,12 @@ public class GasOperation extends AbstractOperation {
   }
 
   @Override
-  public Gas cost(final MessageFrame frame) {
+  public long cost(final MessageFrame frame) {
     return gasCalculator().getBaseTierGasCost();
   }
 
   @Override
   public void execute(final MessageFrame frame) {
-    final Gas gasRemaining = frame.getRemainingGas();
-    final Bytes32 value = Bytes32.leftPad(BytesValue.of(gasRemaining.getBytes()));
-    frame.pushStackItem(value);
+    frame.pushStackItem(UInt256.of(frame.getRemainingGas()).getBytes());
   }
 }
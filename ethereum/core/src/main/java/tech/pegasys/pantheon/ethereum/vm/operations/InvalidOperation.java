@@ -12,7 +12,6 @@
  */
 package tech.pegasys.pantheon.ethereum.vm.operations;
 
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.AbstractOperation;
 import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
@@ -25,8 +24,9 @@ public class InvalidOperation extends AbstractOperation {
   }
 
   @Override
-  public Gas cost(final MessageFrame frame) {
-    return null;
+  public long cost(final MessageFrame frame) {
+    // Never charged, the operation always halts before its cost is deducted.
+    return 0L;
   }
 
   @Override
@@ -12,26 +12,25 @@
  */
 package tech.pegasys.pantheon.ethereum.vm.operations;
 
-import static java.lang.Math.min;
-
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.AbstractOperation;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
-import tech.pegasys.pantheon.util.bytes.MutableBytes32;
 
 public class PushOperation extends AbstractOperation {
 
+  public static final int PUSH1_OPCODE = 0x60;
+  public static final int PUSH32_OPCODE = 0x7F;
+
   private final int length;
 
   public PushOperation(final int length, final GasCalculator gasCalculator) {
-    super(0x60 + length - 1, "PUSH" + length, 0, 1, false, length + 1, gasCalculator);
+    super(PUSH1_OPCODE + length - 1, "PUSH" + length, 0, 1, false, length + 1, gasCalculator);
     this.length = length;
   }
 
   @Override
-  public Gas cost(final MessageFrame frame) {
+  public long cost(final MessageFrame frame) {
     return gasCalculator().getVeryLowTierGasCost();
   }
 
@@ -40,9 +39,6 @@ public class PushOperation extends AbstractOperation {
     final int pc = frame.getPC();
     final BytesValue code = frame.getCode().getBytes();
 
-    final int copyLength = min(length, code.size() - pc - 1);
-    final MutableBytes32 bytes = MutableBytes32.create();
-    code.slice(pc + 1, copyLength).copyTo(bytes, bytes.size() - length);
-    frame.pushStackItem(bytes);
+    frame.getOperandStack().push(code, pc + 1, length);
   }
 }
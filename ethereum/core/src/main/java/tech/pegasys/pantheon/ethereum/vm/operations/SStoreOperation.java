@@ -13,7 +13,6 @@
 package tech.pegasys.pantheon.ethereum.vm.operations;
 
 import tech.pegasys.pantheon.ethereum.core.Account;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.MutableAccount;
 import tech.pegasys.pantheon.ethereum.vm.AbstractOperation;
 import tech.pegasys.pantheon.ethereum.vm.EVM;
@@ -27,18 +26,18 @@ import java.util.Optional;
 
 public class SStoreOperation extends AbstractOperation {
 
-  public static final Gas FRONTIER_MINIMUM = Gas.ZERO;
-  public static final Gas EIP_1706_MINIMUM = Gas.of(2300);
+  public static final long FRONTIER_MINIMUM = 0L;
+  public static final long EIP_1706_MINIMUM = 2300L;
 
-  private final Gas minumumGasRemaining;
+  private final long minumumGasRemaining;
 
-  public SStoreOperation(final GasCalculator gasCalculator, final Gas minumumGasRemaining) {
+  public SStoreOperation(final GasCalculator gasCalculator, final long minumumGasRemaining) {
     super(0x55, "SSTORE", 2, 0, false, 1, gasCalculator);
     this.minumumGasRemaining = minumumGasRemaining;
   }
 
   @Override
-  public Gas cost(final MessageFrame frame) {
+  public long cost(final MessageFrame frame) {
     final UInt256 key = frame.getStackItem(0).asUInt256();
     final UInt256 newValue = frame.getStackItem(1).asUInt256();
 
@@ -67,7 +66,7 @@ public class SStoreOperation extends AbstractOperation {
       final EVM evm) {
     if (frame.isStatic()) {
       return Optional.of(ExceptionalHaltReason.ILLEGAL_STATE_CHANGE);
-    } else if (frame.getRemainingGas().compareTo(minumumGasRemaining) < 0) {
+    } else if (frame.getRemainingGas() < minumumGasRemaining) {
       return Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS);
     } else {
       return Optional.empty();
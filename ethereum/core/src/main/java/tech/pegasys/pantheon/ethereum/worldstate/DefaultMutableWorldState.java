@@ -25,6 +25,7 @@ import tech.pegasys.pantheon.ethereum.rlp.RLPException;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
 import tech.pegasys.pantheon.ethereum.trie.StoredMerklePatriciaTrie;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage.FlatState;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
@@ -32,10 +33,13 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.stream.Stream;
@@ -48,6 +52,16 @@ public class DefaultMutableWorldState implements MutableWorldState {
   private final Map<Address, BytesValue> updatedAccountCode = new HashMap<>();
   private final WorldStateStorage worldStateStorage;
 
+  // Changes not yet persisted, recorded as a flat snapshot diff layer on persist. Deleted accounts
+  // and storage slots are recorded as empty values.
+  private final Map<Hash, BytesValue> updatedFlatAccounts = new HashMap<>();
+  private final Map<Hash, Map<Hash, BytesValue>> updatedFlatStorage = new HashMap<>();
+  private final Set<Hash> clearedFlatStorage = new HashSet<>();
+  // The root hash of the last persisted state this world state is based on. Accounts that haven't
+  // been updated since can be read from the flat snapshot of that state.
+  private Bytes32 flatStateRootHash;
+  private volatile FlatState flatState;
+
   public DefaultMutableWorldState(final WorldStateStorage storage) {
     this(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH, storage);
   }
@@ -56,6 +70,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
       final Bytes32 rootHash, final WorldStateStorage worldStateStorage) {
     this.worldStateStorage = worldStateStorage;
     this.accountStateTrie = newAccountStateTrie(rootHash);
+    this.flatStateRootHash = rootHash;
   }
 
   public DefaultMutableWorldState(final WorldState worldState) {
@@ -69,6 +84,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
     final DefaultMutableWorldState other = (DefaultMutableWorldState) worldState;
     this.worldStateStorage = other.worldStateStorage;
     this.accountStateTrie = newAccountStateTrie(other.accountStateTrie.getRootHash());
+    this.flatStateRootHash = other.accountStateTrie.getRootHash();
   }
 
   private MerklePatriciaTrie<Bytes32, BytesValue> newAccountStateTrie(final Bytes32 rootHash) {
@@ -94,12 +110,36 @@ public class DefaultMutableWorldState implements MutableWorldState {
   @Override
   public Account get(final Address address) {
     final Hash addressHash = Hash.hash(address);
-    return accountStateTrie
-        .get(Hash.hash(address))
+    return getAccountValue(addressHash)
         .map(bytes -> deserializeAccount(address, addressHash, bytes))
         .orElse(null);
   }
 
+  private Optional<BytesValue> getAccountValue(final Hash addressHash) {
+    final Optional<FlatState> flatState = flatState(addressHash);
+    if (flatState.isPresent()) {
+      final Optional<BytesValue> value = flatState.get().getAccount(addressHash);
+      // The snapshot may have moved while we were reading, in which case fallback to the trie.
+      if (flatState.get().isValid()) {
+        return value;
+      }
+    }
+    return accountStateTrie.get(addressHash);
+  }
+
+  private Optional<FlatState> flatState(final Hash addressHash) {
+    if (updatedFlatAccounts.containsKey(addressHash)) {
+      return Optional.empty();
+    }
+    final FlatState currentFlatState = flatState;
+    if (currentFlatState != null && currentFlatState.isValid()) {
+      return Optional.of(currentFlatState);
+    }
+    final Optional<FlatState> updatedFlatState = worldStateStorage.getFlatState(flatStateRootHash);
+    flatState = updatedFlatState.orElse(null);
+    return updatedFlatState;
+  }
+
   private AccountState deserializeAccount(
       final Address address, final Hash addressHash, final BytesValue encoded) throws RLPException {
     final RLPInput in = RLP.input(encoded);
@@ -157,17 +197,54 @@ public class DefaultMutableWorldState implements MutableWorldState {
         updatedStorageTries.values()) {
       updatedStorage.commit(updater::putAccountStorageTrieNode);
     }
+    // Hash the account trie across the common pool before committing it. Only persisting a block
+    // state is worth that, the roots of intermediate states are hashed sequentially.
+    accountStateTrie.getRootHashInParallel();
     // Commit account updates
     accountStateTrie.commit(updater::putAccountStateTrieNode);
 
+    // Record the changes as a diff layer on top of the state we started from
+    final Hash rootHash = rootHash();
+    if (!rootHash.equals(flatStateRootHash)) {
+      persistFlatState(updater);
+      updater.putFlatStateDiff(flatStateRootHash, rootHash);
+    }
+    flatStateRootHash = rootHash;
+    flatState = null;
+
     // Clear pending changes that we just flushed
     updatedStorageTries.clear();
     updatedAccountCode.clear();
+    updatedFlatAccounts.clear();
+    updatedFlatStorage.clear();
+    clearedFlatStorage.clear();
 
     // Push changes to underlying storage
     updater.commit();
   }
 
+  private void persistFlatState(final WorldStateStorage.Updater updater) {
+    clearedFlatStorage.forEach(updater::clearFlatAccountStorage);
+    updatedFlatStorage.forEach(
+        (accountHash, slots) ->
+            slots.forEach(
+                (slotHash, value) -> {
+                  if (value.isEmpty()) {
+                    updater.removeFlatAccountStorageValue(accountHash, slotHash);
+                  } else {
+                    updater.putFlatAccountStorageValue(accountHash, slotHash, value);
+                  }
+                }));
+    updatedFlatAccounts.forEach(
+        (accountHash, account) -> {
+          if (account.isEmpty()) {
+            updater.removeFlatAccount(accountHash);
+          } else {
+            updater.putFlatAccount(accountHash, account);
+          }
+        });
+  }
+
   // An immutable class that represents an individual account as stored in
   // in the world state's underlying merkle patricia trie.
   protected class AccountState implements Account {
@@ -254,13 +331,25 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
     @Override
     public UInt256 getStorageValue(final UInt256 key) {
-      final Optional<BytesValue> val = storageTrie().get(Hash.hash(key.getBytes()));
+      final Optional<BytesValue> val = getStorageBytes(Hash.hash(key.getBytes()));
       if (!val.isPresent()) {
         return UInt256.ZERO;
       }
       return convertToUInt256(val.get());
     }
 
+    private Optional<BytesValue> getStorageBytes(final Hash slotHash) {
+      final Optional<FlatState> flatState = flatState(addressHash);
+      if (flatState.isPresent()) {
+        final Optional<BytesValue> value =
+            flatState.get().getAccountStorageValue(addressHash, slotHash);
+        if (flatState.get().isValid()) {
+          return value;
+        }
+      }
+      return storageTrie().get(slotHash);
+    }
+
     @Override
     public UInt256 getOriginalStorageValue(final UInt256 key) {
       return getStorageValue(key);
@@ -309,8 +398,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
       final DefaultMutableWorldState wrapped = wrappedWorldView();
       final Hash addressHash = Hash.hash(address);
       return wrapped
-          .accountStateTrie
-          .get(addressHash)
+          .getAccountValue(addressHash)
           .map(bytes -> wrapped.deserializeAccount(address, addressHash, bytes))
           .orElse(null);
     }
@@ -335,8 +423,12 @@ public class DefaultMutableWorldState implements MutableWorldState {
         wrapped.accountStateTrie.remove(addressHash);
         wrapped.updatedStorageTries.remove(address);
         wrapped.updatedAccountCode.remove(address);
+        wrapped.updatedFlatAccounts.put(addressHash, BytesValue.EMPTY);
+        wrapped.updatedFlatStorage.remove(addressHash);
+        wrapped.clearedFlatStorage.add(addressHash);
       }
 
+      final List<AccountUpdate> accountUpdates = new ArrayList<>(updatedAccounts().size());
       for (final UpdateTrackingAccount<AccountState> updated : updatedAccounts()) {
         final AccountState origin = updated.getWrappedAccount();
 
@@ -348,40 +440,84 @@ public class DefaultMutableWorldState implements MutableWorldState {
         }
         // ...and storage in the account trie first.
         final boolean freshState = origin == null || updated.getStorageWasCleared();
-        Hash storageRoot = freshState ? Hash.EMPTY_TRIE_HASH : origin.getStorageRoot();
+        final Hash storageRoot = freshState ? Hash.EMPTY_TRIE_HASH : origin.getStorageRoot();
+        final AccountUpdate accountUpdate = new AccountUpdate(updated, codeHash, storageRoot);
         if (freshState) {
           wrapped.updatedStorageTries.remove(updated.getAddress());
+          wrapped.updatedFlatStorage.remove(updated.getAddressHash());
+          wrapped.clearedFlatStorage.add(updated.getAddressHash());
         }
-        final SortedMap<UInt256, UInt256> updatedStorage = updated.getUpdatedStorage();
-        if (!updatedStorage.isEmpty()) {
-          // Apply any storage updates
+        if (!updated.getUpdatedStorage().isEmpty()) {
           final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie =
               freshState
                   ? wrapped.newAccountStorageTrie(Hash.EMPTY_TRIE_HASH)
                   : origin.storageTrie();
           wrapped.updatedStorageTries.put(updated.getAddress(), storageTrie);
-          for (final Map.Entry<UInt256, UInt256> entry : updatedStorage.entrySet()) {
-            final UInt256 value = entry.getValue();
-            final Hash keyHash = Hash.hash(entry.getKey().getBytes());
-            if (value.isZero()) {
-              storageTrie.remove(keyHash);
-            } else {
-              storageTrie.put(keyHash, RLP.encode(out -> out.writeUInt256Scalar(entry.getValue())));
-            }
-          }
-          storageRoot = Hash.wrap(storageTrie.getRootHash());
+          accountUpdate.storageTrie = storageTrie;
+          accountUpdate.updatedFlatSlots =
+              wrapped.updatedFlatStorage.computeIfAbsent(
+                  updated.getAddressHash(), key -> new HashMap<>());
         }
+        accountUpdates.add(accountUpdate);
+      }
+
+      // Each account has its own storage trie, so they can be updated and hashed concurrently.
+      if (accountUpdates.size() > 1) {
+        accountUpdates.parallelStream().forEach(AccountUpdate::applyStorageUpdates);
+      } else {
+        accountUpdates.forEach(AccountUpdate::applyStorageUpdates);
+      }
 
+      for (final AccountUpdate accountUpdate : accountUpdates) {
+        final UpdateTrackingAccount<AccountState> updated = accountUpdate.account;
         // Lastly, save the new account.
         final BytesValue account =
             serializeAccount(
                 updated.getNonce(),
                 updated.getBalance(),
-                storageRoot,
-                codeHash,
+                accountUpdate.storageRoot,
+                accountUpdate.codeHash,
                 updated.getVersion());
 
         wrapped.accountStateTrie.put(updated.getAddressHash(), account);
+        wrapped.updatedFlatAccounts.put(updated.getAddressHash(), account);
+      }
+    }
+
+    private static class AccountUpdate {
+      private final UpdateTrackingAccount<AccountState> account;
+      private final Hash codeHash;
+      private Hash storageRoot;
+      private MerklePatriciaTrie<Bytes32, BytesValue> storageTrie;
+      private Map<Hash, BytesValue> updatedFlatSlots;
+
+      private AccountUpdate(
+          final UpdateTrackingAccount<AccountState> account,
+          final Hash codeHash,
+          final Hash storageRoot) {
+        this.account = account;
+        this.codeHash = codeHash;
+        this.storageRoot = storageRoot;
+      }
+
+      private void applyStorageUpdates() {
+        if (storageTrie == null) {
+          return;
+        }
+        final SortedMap<UInt256, UInt256> updatedStorage = account.getUpdatedStorage();
+        for (final Map.Entry<UInt256, UInt256> entry : updatedStorage.entrySet()) {
+          final UInt256 value = entry.getValue();
+          final Hash keyHash = Hash.hash(entry.getKey().getBytes());
+          if (value.isZero()) {
+            storageTrie.remove(keyHash);
+            updatedFlatSlots.put(keyHash, BytesValue.EMPTY);
+          } else {
+            final BytesValue encodedValue = RLP.encode(out -> out.writeUInt256Scalar(value));
+            storageTrie.put(keyHash, encodedValue);
+            updatedFlatSlots.put(keyHash, encodedValue);
+          }
+        }
+        storageRoot = Hash.wrap(storageTrie.getRootHash());
       }
     }
   }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Moves the flat world state snapshot along with the canonical chain head.
+ *
+ * <p>The world states of the most recent blocks are kept as diff layers on top of the snapshot, so
+ * it can still serve the chain head after a reorg within those blocks. When the chain head isn't
+ * built on the snapshot, such as after fast sync or a deeper reorg, the snapshot is regenerated
+ * from the chain head's world state in the background.
+ */
+public class FlatStateTracker {
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int DIFF_LAYERS_RETAINED = 64;
+
+  private final WorldStateStorage worldStateStorage;
+  private final Blockchain blockchain;
+  private final ExecutorService executorService;
+
+  // Only the latest chain head matters, heads seen while the snapshot was busy are skipped.
+  private final AtomicReference<Hash> pendingHeadStateRoot = new AtomicReference<>();
+  private long blockAddedObserverId = -1;
+
+  public FlatStateTracker(final WorldStateStorage worldStateStorage, final Blockchain blockchain) {
+    this(
+        worldStateStorage,
+        blockchain,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat("FlatState-%d")
+                .build()));
+  }
+
+  FlatStateTracker(
+      final WorldStateStorage worldStateStorage,
+      final Blockchain blockchain,
+      final ExecutorService executorService) {
+    this.worldStateStorage = worldStateStorage;
+    this.blockchain = blockchain;
+    this.executorService = executorService;
+  }
+
+  public void start() {
+    blockAddedObserverId =
+        blockchain.observeBlockAdded((event, blockchain) -> handleNewBlock(event));
+    // Pick up the diff layers left in the database by the previous run.
+    moveToHead(blockchain.getChainHeadHeader().getStateRoot());
+  }
+
+  public void stop() throws InterruptedException {
+    if (blockAddedObserverId >= 0) {
+      blockchain.removeObserver(blockAddedObserverId);
+      blockAddedObserverId = -1;
+    }
+    executorService.shutdownNow();
+    executorService.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  private void handleNewBlock(final BlockAddedEvent event) {
+    if (event.isNewCanonicalHead()) {
+      moveToHead(event.getBlock().getHeader().getStateRoot());
+    }
+  }
+
+  private void moveToHead(final Hash stateRoot) {
+    if (pendingHeadStateRoot.getAndSet(stateRoot) != null) {
+      // Already scheduled, it will pick up the new head.
+      return;
+    }
+    try {
+      executorService.execute(this::processPendingHead);
+    } catch (final Exception e) {
+      LOG.error("Failed to update flat world state snapshot", e);
+      pendingHeadStateRoot.set(null);
+    }
+  }
+
+  private void processPendingHead() {
+    final Hash stateRoot = pendingHeadStateRoot.getAndSet(null);
+    if (stateRoot == null) {
+      return;
+    }
+    try {
+      if (!worldStateStorage.moveFlatState(stateRoot, DIFF_LAYERS_RETAINED)
+          && worldStateStorage.isWorldStateAvailable(stateRoot)) {
+        // Blocks imported by fast sync have no state yet, so only regenerate once they do.
+        LOG.info("Chain head is not built on the flat world state snapshot, regenerating it");
+        worldStateStorage.generateFlatState(stateRoot);
+      }
+    } catch (final Exception e) {
+      LOG.error("Failed to update flat world state snapshot", e);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
+import tech.pegasys.pantheon.ethereum.trie.StoredMerklePatriciaTrie;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage.Transaction;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Removes world state nodes which are no longer reachable from recent state roots.
+ *
+ * <p>{@link #prepare()} starts recording every node added to the world state storage, {@link
+ * #mark(Hash)} records every node reachable from a state root and {@link #sweep()} then removes
+ * everything that wasn't recorded. Any state added after {@link #prepare()} or reachable from the
+ * marked root remains available.
+ */
+public class MarkSweepPruner {
+  private static final Logger LOG = LogManager.getLogger();
+  private static final BytesValue IN_USE = BytesValue.of(1);
+  private static final int MARKS_PER_TRANSACTION = 1000;
+
+  private final WorldStateStorage worldStateStorage;
+  private final KeyValueStorage markStorage;
+  private final long sweepBatchPauseMillis;
+  private final Counter markedNodesCounter;
+  private final Counter markOperationCounter;
+  private final Counter sweepOperationCounter;
+  private final Counter sweptNodesCounter;
+  private final Object pendingMarksLock = new Object();
+  private Set<BytesValue> pendingMarks = new HashSet<>();
+  // New marks are only written once the marks of the previous cycle have been cleared.
+  private volatile boolean marksCleared = true;
+  private long nodeAddedListenerId = -1;
+
+  public MarkSweepPruner(
+      final WorldStateStorage worldStateStorage,
+      final KeyValueStorage markStorage,
+      final MetricsSystem metricsSystem,
+      final long sweepBatchPauseMillis) {
+    this.worldStateStorage = worldStateStorage;
+    this.markStorage = markStorage;
+    this.sweepBatchPauseMillis = sweepBatchPauseMillis;
+
+    markedNodesCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.WORLD_STATE,
+            "pruning_marked_nodes_total",
+            "Total number of nodes marked as in use during pruning");
+    markOperationCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.WORLD_STATE,
+            "pruning_mark_operations_total",
+            "Total number of mark operations performed");
+    sweepOperationCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.WORLD_STATE,
+            "pruning_sweep_operations_total",
+            "Total number of sweep operations performed");
+    sweptNodesCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.WORLD_STATE,
+            "pruning_swept_nodes_total",
+            "Total number of unused nodes removed");
+  }
+
+  public boolean isWorldStateAvailable(final Hash rootHash) {
+    return worldStateStorage.isWorldStateAvailable(rootHash);
+  }
+
+  public void prepare() {
+    // Stop any previous pruning cycle from leaking its listener.
+    cleanup();
+    synchronized (pendingMarksLock) {
+      pendingMarks.clear();
+      marksCleared = false;
+    }
+    nodeAddedListenerId = worldStateStorage.addNodeAddedListener(this::markNewNodes);
+  }
+
+  /**
+   * Removes any marks left by a previous pruning cycle. Must be called after {@link #prepare()}
+   * and before {@link #mark(Hash)}, nodes added in between are held in memory until it completes.
+   */
+  public void clearMarks() {
+    markStorage.clear();
+    marksCleared = true;
+  }
+
+  public void mark(final Hash rootHash) {
+    markOperationCounter.inc();
+    createStateTrie(rootHash)
+        .visitAll(
+            node -> {
+              markNode(node.getHash());
+              node.getValue().ifPresent(this::markAccountStorageAndCode);
+            });
+    LOG.debug("Completed marking used nodes for pruning");
+    flushPendingMarks();
+  }
+
+  public void sweep() {
+    flushPendingMarks();
+    sweepOperationCounter.inc();
+    LOG.debug("Sweeping unused nodes");
+    final long prunedNodeCount = worldStateStorage.prune(this::isMarked, sweepBatchPauseMillis);
+    sweptNodesCounter.inc(prunedNodeCount);
+    cleanup();
+    markStorage.clear();
+    LOG.debug("Completed sweeping unused nodes");
+  }
+
+  public void cleanup() {
+    if (nodeAddedListenerId >= 0) {
+      worldStateStorage.removeNodeAddedListener(nodeAddedListenerId);
+      nodeAddedListenerId = -1;
+    }
+  }
+
+  private boolean isMarked(final BytesValue key) {
+    synchronized (pendingMarksLock) {
+      if (pendingMarks.contains(key)) {
+        return true;
+      }
+    }
+    return markStorage.containsKey(key);
+  }
+
+  private void markAccountStorageAndCode(final BytesValue accountValue) {
+    final StateTrieAccountValue account = StateTrieAccountValue.readFrom(RLP.input(accountValue));
+    markNode(account.getCodeHash());
+    createStorageTrie(account.getStorageRoot())
+        .visitAll(storageNode -> markNode(storageNode.getHash()));
+  }
+
+  private MerklePatriciaTrie<Bytes32, BytesValue> createStateTrie(final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(
+        worldStateStorage::getAccountStateTrieNode, rootHash, b -> b, b -> b);
+  }
+
+  private MerklePatriciaTrie<Bytes32, BytesValue> createStorageTrie(final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(
+        worldStateStorage::getAccountStorageTrieNode, rootHash, b -> b, b -> b);
+  }
+
+  private void markNewNodes(final Collection<Bytes32> nodeHashes) {
+    markedNodesCounter.inc(nodeHashes.size());
+    synchronized (pendingMarksLock) {
+      pendingMarks.addAll(nodeHashes);
+    }
+    maybeFlushPendingMarks();
+  }
+
+  private void markNode(final Bytes32 hash) {
+    markedNodesCounter.inc();
+    synchronized (pendingMarksLock) {
+      pendingMarks.add(hash);
+    }
+    maybeFlushPendingMarks();
+  }
+
+  private void maybeFlushPendingMarks() {
+    final boolean shouldFlush;
+    synchronized (pendingMarksLock) {
+      shouldFlush = marksCleared && pendingMarks.size() >= MARKS_PER_TRANSACTION;
+    }
+    if (shouldFlush) {
+      flushPendingMarks();
+    }
+  }
+
+  private void flushPendingMarks() {
+    synchronized (pendingMarksLock) {
+      final Transaction transaction = markStorage.startTransaction();
+      pendingMarks.forEach(node -> transaction.put(node, IN_USE));
+      transaction.commit();
+      pendingMarks = new HashSet<>();
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Drives a {@link MarkSweepPruner} from block import so only the world state of the most recent
+ * blocks is kept.
+ *
+ * <p>When a block is imported while idle, new nodes start being marked. Once the block has enough
+ * confirmations its state is marked, and once enough further blocks have been imported every node
+ * that wasn't marked is swept.
+ */
+public class Pruner {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final MarkSweepPruner pruningStrategy;
+  private final Blockchain blockchain;
+  private final ExecutorService executorService;
+  private final long blocksRetained;
+  private final int blockConfirmations;
+
+  private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
+  private volatile long markBlockNumber = 0;
+  private volatile BlockHeader markedBlockHeader;
+  private long blockAddedObserverId = -1;
+
+  public Pruner(
+      final MarkSweepPruner pruningStrategy,
+      final Blockchain blockchain,
+      final PrunerConfiguration prunerConfiguration) {
+    this(
+        pruningStrategy,
+        blockchain,
+        prunerConfiguration,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat("StatePruning-%d")
+                .build()));
+  }
+
+  Pruner(
+      final MarkSweepPruner pruningStrategy,
+      final Blockchain blockchain,
+      final PrunerConfiguration prunerConfiguration,
+      final ExecutorService executorService) {
+    this.pruningStrategy = pruningStrategy;
+    this.blockchain = blockchain;
+    this.executorService = executorService;
+    this.blocksRetained = prunerConfiguration.getBlocksRetained();
+    this.blockConfirmations = prunerConfiguration.getBlockConfirmations();
+    checkArgument(blockConfirmations >= 0, "blockConfirmations must be non-negative");
+    checkArgument(
+        blocksRetained >= blockConfirmations,
+        "blocksRetained must be greater than or equal to blockConfirmations");
+  }
+
+  public void start() {
+    LOG.info("Starting pruner.");
+    blockAddedObserverId =
+        blockchain.observeBlockAdded((event, blockchain) -> handleNewBlock(event));
+  }
+
+  public void stop() throws InterruptedException {
+    LOG.info("Stopping pruner.");
+    if (blockAddedObserverId >= 0) {
+      blockchain.removeObserver(blockAddedObserverId);
+      blockAddedObserverId = -1;
+    }
+    pruningStrategy.cleanup();
+    executorService.shutdownNow();
+    executorService.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  private void handleNewBlock(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+
+    final BlockHeader header = event.getBlock().getHeader();
+    final long blockNumber = header.getNumber();
+    // Blocks imported by fast sync have no state yet, so don't start pruning until they do.
+    if (state.get() == State.IDLE
+        && pruningStrategy.isWorldStateAvailable(header.getStateRoot())
+        && state.compareAndSet(State.IDLE, State.MARK_BLOCK_CONFIRMATIONS_AWAITING)) {
+      pruningStrategy.prepare();
+      // Clearing the previous marks can take a while so keep it off the block import thread.
+      execute(pruningStrategy::clearMarks);
+      markBlockNumber = blockNumber;
+    } else if (blockNumber >= markBlockNumber + blockConfirmations
+        && state.compareAndSet(State.MARK_BLOCK_CONFIRMATIONS_AWAITING, State.MARKING)) {
+      markedBlockHeader = blockchain.getBlockHeader(markBlockNumber).get();
+      mark(markedBlockHeader);
+    } else if (blockNumber >= markBlockNumber + blocksRetained
+        && state.get() == State.MARKING_COMPLETE) {
+      if (blockchain.blockIsOnCanonicalChain(markedBlockHeader.getHash())) {
+        if (state.compareAndSet(State.MARKING_COMPLETE, State.SWEEPING)) {
+          sweep();
+        }
+      } else {
+        // The marked state was reorged out so new state may reference nodes that weren't marked.
+        LOG.debug("Marked block {} is no longer canonical, restarting pruning", markBlockNumber);
+        pruningStrategy.cleanup();
+        state.compareAndSet(State.MARKING_COMPLETE, State.IDLE);
+      }
+    }
+  }
+
+  private void mark(final BlockHeader header) {
+    final Hash stateRoot = header.getStateRoot();
+    LOG.debug(
+        "Begin marking used nodes for pruning. Block number: {} State root: {}",
+        markBlockNumber,
+        stateRoot);
+    execute(
+        () -> {
+          pruningStrategy.mark(stateRoot);
+          state.compareAndSet(State.MARKING, State.MARKING_COMPLETE);
+        });
+  }
+
+  private void sweep() {
+    LOG.debug(
+        "Begin sweeping unused nodes for pruning. Keeping full state for blocks {} to {}",
+        markBlockNumber,
+        markBlockNumber + blocksRetained);
+    execute(
+        () -> {
+          pruningStrategy.sweep();
+          state.compareAndSet(State.SWEEPING, State.IDLE);
+        });
+  }
+
+  private void execute(final Runnable action) {
+    try {
+      executorService.execute(
+          () -> {
+            try {
+              action.run();
+            } catch (final Exception e) {
+              LOG.error("Pruning failed", e);
+              pruningStrategy.cleanup();
+              state.set(State.IDLE);
+            }
+          });
+    } catch (final Exception e) {
+      LOG.error("Pruning failed", e);
+      pruningStrategy.cleanup();
+      state.set(State.IDLE);
+    }
+  }
+
+  private enum State {
+    IDLE,
+    MARK_BLOCK_CONFIRMATIONS_AWAITING,
+    MARKING,
+    MARKING_COMPLETE,
+    SWEEPING;
+  }
+}
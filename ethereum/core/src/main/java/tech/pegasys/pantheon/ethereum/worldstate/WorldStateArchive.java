@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.ethereum.core.WorldState;
 import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.List;
 import java.util.Optional;
 
 public class WorldStateArchive {
@@ -55,6 +56,10 @@ public class WorldStateArchive {
     return storage.getNodeData(hash);
   }
 
+  public List<Optional<BytesValue>> getNodeData(final List<Hash> hashes) {
+    return storage.getAllNodeData(hashes);
+  }
+
   public WorldStateStorage getStorage() {
     return storage;
   }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.WorldState;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads the accounts and contract code a block is going to touch so that they are already in the
+ * storage caches by the time the block is executed.
+ *
+ * <p>This is intended to run against the parent block's state alongside the block's own execution,
+ * so reads for later transactions are already in flight while the earlier ones execute. The
+ * values read are discarded and any failure is ignored, execution reads what it needs anyway.
+ */
+public class WorldStatePrefetcher {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final WorldStateArchive worldStateArchive;
+
+  public WorldStatePrefetcher(final WorldStateArchive worldStateArchive) {
+    this.worldStateArchive = worldStateArchive;
+  }
+
+  public void prefetch(final Hash stateRoot, final Block block) {
+    try {
+      worldStateArchive
+          .get(stateRoot)
+          .ifPresent(worldState -> prefetch(worldState, touchedAccounts(block)));
+    } catch (final RuntimeException e) {
+      LOG.debug("Unable to prefetch state for block {}", block.getHeader().getNumber(), e);
+    }
+  }
+
+  private static Set<Address> touchedAccounts(final Block block) {
+    final Set<Address> addresses = new LinkedHashSet<>();
+    addresses.add(block.getHeader().getCoinbase());
+    for (final BlockHeader ommer : block.getBody().getOmmers()) {
+      addresses.add(ommer.getCoinbase());
+    }
+    for (final Transaction transaction : block.getBody().getTransactions()) {
+      addresses.add(transaction.getSender());
+      transaction.getTo().ifPresent(addresses::add);
+    }
+    return addresses;
+  }
+
+  private static void prefetch(final WorldState worldState, final Set<Address> addresses) {
+    for (final Address address : addresses) {
+      final Account account = worldState.get(address);
+      if (account != null) {
+        account.getCode();
+      }
+    }
+  }
+}
@@ -17,8 +17,10 @@ import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public interface WorldStateStorage {
 
@@ -30,15 +32,71 @@ public interface WorldStateStorage {
 
   Optional<BytesValue> getNodeData(Bytes32 hash);
 
+  /**
+   * Looks up the node data for several hashes at once, allowing the storage to batch the reads.
+   *
+   * @param hashes the hashes of the nodes to look up
+   * @return the node data for each hash, in the same order as the hashes
+   */
+  default List<Optional<BytesValue>> getAllNodeData(final List<? extends Bytes32> hashes) {
+    return hashes.stream().map(this::getNodeData).collect(Collectors.toList());
+  }
+
   boolean isWorldStateAvailable(Bytes32 rootHash);
 
+  /**
+   * Returns a view of the flat account and storage snapshot as it is in the world state with the
+   * given root hash, if the snapshot can serve that world state. The snapshot may move on after
+   * the view is returned, so each read has to be confirmed with {@link FlatState#isValid()}.
+   *
+   * @param rootHash the world state root hash
+   * @return a view of the flat snapshot for the given world state, if available
+   */
+  Optional<FlatState> getFlatState(Bytes32 rootHash);
+
+  default boolean isFlatStateAvailable(final Bytes32 rootHash) {
+    return getFlatState(rootHash).isPresent();
+  }
+
+  /**
+   * Moves the flat snapshot along with the canonical chain head. Only the given number of most
+   * recent world states are kept as diff layers on top of the snapshot, older ones are written
+   * into it and their non-canonical siblings are discarded.
+   *
+   * @param rootHash the state root of the new canonical chain head
+   * @param diffLayersRetained the number of diff layers to keep above the snapshot
+   * @return false if the chain head isn't built on the snapshot, in which case it has to be
+   *     regenerated with {@link #generateFlatState(Bytes32)}
+   */
+  boolean moveFlatState(Bytes32 rootHash, int diffLayersRetained);
+
+  /**
+   * Rebuilds the flat snapshot from the world state trie with the given root hash. This walks the
+   * entire world state so it is slow, it stops early if the calling thread is interrupted or the
+   * world state is no longer available. Storages only record diff layers once a snapshot has been
+   * generated for them.
+   *
+   * @param rootHash the root hash of the world state to build the snapshot from
+   * @return true if the snapshot was rebuilt
+   */
+  boolean generateFlatState(Bytes32 rootHash);
+
   default boolean contains(final Bytes32 hash) {
     return getNodeData(hash).isPresent();
   }
 
   Updater updater();
 
-  long prune(Predicate<BytesValue> inUseCheck);
+  /**
+   * Removes every node and code entry that isn't in use. Entries are removed in batches, pausing
+   * between batches so the removal doesn't compete with block import for disk bandwidth. It stops
+   * early if the calling thread is interrupted.
+   *
+   * @param inUseCheck returns true for the keys that must be kept
+   * @param pauseBetweenBatchesMillis the time to wait between batches, 0 to not wait
+   * @return the number of entries removed
+   */
+  long prune(Predicate<BytesValue> inUseCheck, long pauseBetweenBatchesMillis);
 
   long addNodeAddedListener(NodesAddedListener listener);
 
@@ -58,11 +116,55 @@ public interface WorldStateStorage {
 
     Updater putAccountStorageTrieNode(Bytes32 nodeHash, BytesValue node);
 
+    Updater putFlatAccount(Bytes32 accountHash, BytesValue account);
+
+    Updater removeFlatAccount(Bytes32 accountHash);
+
+    Updater putFlatAccountStorageValue(Bytes32 accountHash, Bytes32 slotHash, BytesValue value);
+
+    Updater removeFlatAccountStorageValue(Bytes32 accountHash, Bytes32 slotHash);
+
+    /**
+     * Removes all the flat storage of an account before any flat storage values added to this
+     * updater are applied.
+     *
+     * @param accountHash the hash of the account address
+     * @return this updater
+     */
+    Updater clearFlatAccountStorage(Bytes32 accountHash);
+
+    /**
+     * Records the flat entries added to this updater as the diff layer from {@code baseRootHash}
+     * to {@code rootHash}. The flat entries are discarded if this isn't called, or if the base
+     * state can't be read on top of the flat snapshot.
+     *
+     * @param baseRootHash the root hash the flat entries were computed against
+     * @param rootHash the root hash of the world state once the flat entries are applied
+     * @return this updater
+     */
+    Updater putFlatStateDiff(Bytes32 baseRootHash, Bytes32 rootHash);
+
     void commit();
 
     void rollback();
   }
 
+  /** A view of the flat snapshot as it is in a single world state. */
+  interface FlatState {
+
+    Optional<BytesValue> getAccount(Bytes32 accountHash);
+
+    Optional<BytesValue> getAccountStorageValue(Bytes32 accountHash, Bytes32 slotHash);
+
+    /**
+     * Returns whether values read from this view so far are accurate. This no longer holds once
+     * the snapshot has moved, in which case the view has to be looked up again.
+     *
+     * @return true if the values read from this view can be used
+     */
+    boolean isValid();
+  }
+
   interface NodesAddedListener {
     void onNodesAdded(Collection<Bytes32> nodeHash);
   }
@@ -17,6 +17,7 @@ import static tech.pegasys.pantheon.ethereum.vm.MessageFrame.DEFAULT_MAX_STACK_S
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.Code;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame.Type;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
@@ -37,7 +38,7 @@ public class MessageFrameTestFixture {
   private Deque<MessageFrame> messageFrameStack = new ArrayDeque<>();
   private Optional<Blockchain> blockchain = Optional.empty();
   private Optional<WorldUpdater> worldState = Optional.empty();
-  private Gas initialGas = Gas.MAX_VALUE;
+  private long initialGas = Long.MAX_VALUE;
   private Address address = DEFAUT_ADDRESS;
   private Address sender = DEFAUT_ADDRESS;
   private Address originator = DEFAUT_ADDRESS;
@@ -84,7 +85,7 @@ public class MessageFrameTestFixture {
     return this;
   }
 
-  public MessageFrameTestFixture initialGas(final Gas initialGas) {
+  public MessageFrameTestFixture initialGas(final long initialGas) {
     this.initialGas = initialGas;
     return this;
   }
@@ -181,6 +182,7 @@ public class MessageFrameTestFixture {
             .miningBeneficiary(blockHeader.getCoinbase())
             .blockHashLookup(
                 blockHashLookup.orElseGet(() -> new BlockHashLookup(blockHeader, blockchain)))
+            .codeCache(new CodeCache(CodeCache.DEFAULT_CAPACITY))
             .maxStackSize(maxStackSize)
             .build();
     stackItems.forEach(frame::pushStackItem);
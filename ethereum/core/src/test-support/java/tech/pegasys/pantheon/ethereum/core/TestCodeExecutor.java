@@ -43,6 +43,15 @@ public class TestCodeExecutor {
       final int accountVersion,
       final long gasLimit,
       final Consumer<MutableAccount> accountSetup) {
+    return executeCode(code, accountVersion, gasLimit, accountSetup, OperationTracer.NO_TRACING);
+  }
+
+  public MessageFrame executeCode(
+      final String code,
+      final int accountVersion,
+      final long gasLimit,
+      final Consumer<MutableAccount> accountSetup,
+      final OperationTracer operationTracer) {
     final ProtocolSpec<Void> protocolSpec = fixture.getProtocolSchedule().getByBlockNumber(0);
     final WorldUpdater worldState =
         createInitialWorldState(accountSetup, fixture.getStateArchive());
@@ -67,7 +76,7 @@ public class TestCodeExecutor {
             .messageFrameStack(messageFrameStack)
             .blockchain(fixture.getBlockchain())
             .worldState(worldState)
-            .initialGas(Gas.of(gasLimit))
+            .initialGas(gasLimit)
             .address(SENDER_ADDRESS)
             .originator(SENDER_ADDRESS)
             .contract(SENDER_ADDRESS)
@@ -83,7 +92,7 @@ public class TestCodeExecutor {
     messageFrameStack.addFirst(initialFrame);
 
     while (!messageFrameStack.isEmpty()) {
-      messageCallProcessor.process(messageFrameStack.peekFirst(), OperationTracer.NO_TRACING);
+      messageCallProcessor.process(messageFrameStack.peekFirst(), operationTracer);
     }
     return initialFrame;
   }
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpeculativeWorldUpdaterTest {
+
+  private static final Address ACCOUNT = Address.fromHexString("0x01");
+  private static final Address OTHER_ACCOUNT = Address.fromHexString("0x02");
+  private static final Address FEE_RECIPIENT = Address.fromHexString("0x03");
+  private static final UInt256 KEY = UInt256.of(1);
+
+  private MutableWorldState worldState;
+  private SpeculativeWorldUpdater speculativeUpdater;
+
+  @Before
+  public void setUp() {
+    worldState = InMemoryStorageProvider.createInMemoryWorldStateArchive().getMutable();
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount account = updater.createAccount(ACCOUNT, 0, Wei.of(100));
+    account.setStorageValue(KEY, UInt256.of(7));
+    updater.createAccount(FEE_RECIPIENT, 0, Wei.of(10));
+    updater.commit();
+    worldState.persist();
+
+    speculativeUpdater = new SpeculativeWorldUpdater(worldState.copy(), FEE_RECIPIENT);
+  }
+
+  @Test
+  public void appliesUpdatesWhenReadsAreUnchanged() {
+    final MutableAccount account = speculativeUpdater.getMutable(ACCOUNT);
+    account.setStorageValue(KEY, account.getStorageValue(KEY).plus(UInt256.of(1)));
+    account.decrementBalance(Wei.of(30));
+    speculativeUpdater.createAccount(OTHER_ACCOUNT, 0, Wei.of(30));
+
+    // Unrelated changes don't invalidate the speculation.
+    modify(updater -> updater.getOrCreate(Address.fromHexString("0x04")).setNonce(1));
+
+    assertThat(speculativeUpdater.isValidAgainst(worldState)).isTrue();
+    apply();
+
+    assertThat(worldState.get(ACCOUNT).getBalance()).isEqualTo(Wei.of(70));
+    assertThat(worldState.get(ACCOUNT).getStorageValue(KEY)).isEqualTo(UInt256.of(8));
+    assertThat(worldState.get(OTHER_ACCOUNT).getBalance()).isEqualTo(Wei.of(30));
+  }
+
+  @Test
+  public void invalidWhenReadAccountChanged() {
+    speculativeUpdater.get(ACCOUNT).getBalance();
+
+    modify(updater -> updater.getMutable(ACCOUNT).incrementNonce());
+
+    assertThat(speculativeUpdater.isValidAgainst(worldState)).isFalse();
+  }
+
+  @Test
+  public void invalidWhenReadStorageChanged() {
+    speculativeUpdater.get(ACCOUNT).getStorageValue(KEY);
+
+    modify(updater -> updater.getMutable(ACCOUNT).setStorageValue(KEY, UInt256.of(9)));
+
+    assertThat(speculativeUpdater.isValidAgainst(worldState)).isFalse();
+  }
+
+  @Test
+  public void validWhenUnreadStorageChanged() {
+    speculativeUpdater.get(ACCOUNT).getStorageValue(KEY);
+
+    modify(updater -> updater.getMutable(ACCOUNT).setStorageValue(UInt256.of(2), UInt256.of(9)));
+
+    assertThat(speculativeUpdater.isValidAgainst(worldState)).isTrue();
+  }
+
+  @Test
+  public void invalidWhenMissingAccountIsCreated() {
+    assertThat(speculativeUpdater.get(OTHER_ACCOUNT)).isNull();
+
+    modify(updater -> updater.createAccount(OTHER_ACCOUNT));
+
+    assertThat(speculativeUpdater.isValidAgainst(worldState)).isFalse();
+  }
+
+  @Test
+  public void feeRecipientCreditIsAppliedAsIncrement() {
+    speculativeUpdater.getOrCreate(FEE_RECIPIENT).incrementBalance(Wei.of(5));
+
+    modify(updater -> updater.getMutable(FEE_RECIPIENT).incrementBalance(Wei.of(10)));
+
+    assertThat(speculativeUpdater.isValidAgainst(worldState)).isTrue();
+    apply();
+
+    assertThat(worldState.get(FEE_RECIPIENT).getBalance()).isEqualTo(Wei.of(25));
+  }
+
+  @Test
+  public void feeRecipientCreditCreatesMissingRecipient() {
+    final Address feeRecipient = Address.fromHexString("0x05");
+    speculativeUpdater = new SpeculativeWorldUpdater(worldState.copy(), feeRecipient);
+    speculativeUpdater.getOrCreate(feeRecipient).incrementBalance(Wei.of(5));
+
+    modify(updater -> updater.createAccount(feeRecipient, 0, Wei.of(10)));
+
+    assertThat(speculativeUpdater.isValidAgainst(worldState)).isTrue();
+    apply();
+
+    assertThat(worldState.get(feeRecipient).getBalance()).isEqualTo(Wei.of(15));
+  }
+
+  @Test
+  public void feeRecipientIsValidatedWhenOtherwiseRead() {
+    speculativeUpdater.get(FEE_RECIPIENT).getBalance();
+    speculativeUpdater.getOrCreate(FEE_RECIPIENT).incrementBalance(Wei.of(5));
+
+    modify(updater -> updater.getMutable(FEE_RECIPIENT).incrementBalance(Wei.of(10)));
+
+    assertThat(speculativeUpdater.isValidAgainst(worldState)).isFalse();
+  }
+
+  @Test
+  public void appliesDeletions() {
+    speculativeUpdater.deleteAccount(ACCOUNT);
+
+    assertThat(speculativeUpdater.isValidAgainst(worldState)).isTrue();
+    apply();
+
+    assertThat(worldState.get(ACCOUNT)).isNull();
+  }
+
+  @Test
+  public void appliesClearedStorage() {
+    final MutableAccount account = speculativeUpdater.createAccount(ACCOUNT, 0, Wei.of(1));
+    account.setStorageValue(UInt256.of(2), UInt256.of(3));
+
+    apply();
+
+    assertThat(worldState.get(ACCOUNT).getBalance()).isEqualTo(Wei.of(1));
+    assertThat(worldState.get(ACCOUNT).getStorageValue(KEY)).isEqualTo(UInt256.ZERO);
+    assertThat(worldState.get(ACCOUNT).getStorageValue(UInt256.of(2))).isEqualTo(UInt256.of(3));
+  }
+
+  private void modify(final Consumer<WorldUpdater> modification) {
+    final WorldUpdater updater = worldState.updater();
+    modification.accept(updater);
+    updater.commit();
+  }
+
+  private void apply() {
+    final WorldUpdater updater = worldState.updater();
+    speculativeUpdater.applyTo(updater);
+    updater.commit();
+  }
+}
@@ -19,7 +19,6 @@ import static tech.pegasys.pantheon.util.uint.UInt256.ONE;
 import static tech.pegasys.pantheon.util.uint.UInt256.ZERO;
 
 import tech.pegasys.pantheon.ethereum.core.Account;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import org.junit.Before;
@@ -40,37 +39,37 @@ public class ConstantinopleFixSstoreGasTest {
   public static Object[][] scenarios() {
     return new Object[][] {
       // Zero no-op
-      {ZERO, ZERO, ZERO, Gas.of(5_000), Gas.ZERO},
+      {ZERO, ZERO, ZERO, 5_000L, 0L},
 
       // Zero fresh change
-      {ZERO, ZERO, ONE, Gas.of(20_000), Gas.ZERO},
+      {ZERO, ZERO, ONE, 20_000L, 0L},
 
       // Dirty, reset to zero
-      {ZERO, ONE, ZERO, Gas.of(5_000), Gas.of(15_000)},
+      {ZERO, ONE, ZERO, 5_000L, 15_000L},
 
       // Dirty, changed but not reset
-      {ZERO, ONE, TWO, Gas.of(5_000), Gas.ZERO},
+      {ZERO, ONE, TWO, 5_000L, 0L},
 
       // Dirty no-op
-      {ZERO, ONE, ONE, Gas.of(5_000), Gas.ZERO},
+      {ZERO, ONE, ONE, 5_000L, 0L},
 
       // Dirty, zero no-op
-      {ONE, ZERO, ZERO, Gas.of(5_000), Gas.ZERO},
+      {ONE, ZERO, ZERO, 5_000L, 0L},
 
       // Dirty, reset to non-zero
-      {ONE, ZERO, ONE, Gas.of(20_000), Gas.ZERO},
+      {ONE, ZERO, ONE, 20_000L, 0L},
 
       // Fresh change to zero
-      {ONE, ONE, ZERO, Gas.of(5_000), Gas.of(15_000)},
+      {ONE, ONE, ZERO, 5_000L, 15_000L},
 
       // Fresh change with all non-zero
-      {ONE, ONE, TWO, Gas.of(5_000), Gas.ZERO},
+      {ONE, ONE, TWO, 5_000L, 0L},
 
       // Dirty, clear originally set value
-      {ONE, TWO, ZERO, Gas.of(5_000), Gas.of(15_000)},
+      {ONE, TWO, ZERO, 5_000L, 15_000L},
 
       // Non-zero no-op
-      {ONE, ONE, ONE, Gas.of(5_000), Gas.ZERO},
+      {ONE, ONE, ONE, 5_000L, 0L},
     };
   }
 
@@ -83,10 +82,10 @@ public class ConstantinopleFixSstoreGasTest {
   public UInt256 newValue;
 
   @Parameter(value = 3)
-  public Gas expectedGasCost;
+  public long expectedGasCost;
 
   @Parameter(value = 4)
-  public Gas expectedGasRefund;
+  public long expectedGasRefund;
 
   private final Account account = mock(Account.class);
 
@@ -12,20 +12,37 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Util;
 import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockProcessor.TransactionReceiptFactory;
 import tech.pegasys.pantheon.ethereum.vm.TestBlockchain;
 import tech.pegasys.pantheon.ethereum.vm.WorldStateMock;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 
@@ -55,4 +72,126 @@ public class MainnetBlockProcessorTest {
     // An empty block with 0 reward should not change the world state
     assertThat(worldState.rootHash()).isEqualTo(initialHash);
   }
+
+  @Test
+  public void speculativeExecutionMatchesSequentialExecution() {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      assertSpeculativeExecutionMatchesSequentialExecution(executor);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void speculativeExecutionMatchesSequentialExecutionWhenExecutorRejectsWork() {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.shutdown();
+    assertSpeculativeExecutionMatchesSequentialExecution(executor);
+  }
+
+  @Test
+  public void speculativeExecutionIsSkippedOnceBlockProcessingFailed() {
+    final List<Runnable> queuedSpeculations = new ArrayList<>();
+    final Executor queueingExecutor = queuedSpeculations::add;
+    final MainnetBlockProcessor processor =
+        new MainnetBlockProcessor(
+            transactionProcessor,
+            transactionReceiptFactory,
+            Wei.ZERO,
+            BlockHeader::getCoinbase,
+            Optional.of(queueingExecutor));
+    final KeyPair sender = KeyPair.generate();
+    final List<Transaction> transactions =
+        asList(
+            transaction(sender, 0, Address.fromHexString("0xa1")),
+            transaction(sender, 1, Address.fromHexString("0xa2")));
+    // Too small for the first transaction, so processing fails before using any speculation.
+    final BlockHeader blockHeader = new BlockHeaderTestFixture().gasLimit(21_000).buildHeader();
+
+    final BlockProcessor.Result result =
+        processor.processBlock(
+            new TestBlockchain(),
+            InMemoryStorageProvider.createInMemoryWorldStateArchive().getMutable(),
+            blockHeader,
+            transactions,
+            emptyList());
+    queuedSpeculations.forEach(Runnable::run);
+
+    assertThat(result.isSuccessful()).isFalse();
+    assertThat(queuedSpeculations).hasSize(2);
+    verifyZeroInteractions(transactionProcessor);
+  }
+
+  private void assertSpeculativeExecutionMatchesSequentialExecution(final Executor executor) {
+    final ProtocolSpec<Void> protocolSpec = MainnetProtocolSchedule.create().getByBlockNumber(1);
+    final Address coinbase = Address.fromHexString("0xc0");
+    // Increments storage slot 0 on every call.
+    final Address counter = Address.fromHexString("0xc1");
+    final BytesValue counterCode = BytesValue.fromHexString("0x600160005401600055");
+    final KeyPair[] senders = {
+      KeyPair.generate(), KeyPair.generate(), KeyPair.generate(), KeyPair.generate()
+    };
+
+    final List<Transaction> transactions = new ArrayList<>();
+    // Independent transfers, interleaved with transactions that conflict through the sender
+    // nonce, the counter storage and the coinbase balance.
+    transactions.add(transaction(senders[0], 0, Address.fromHexString("0xa1")));
+    transactions.add(transaction(senders[1], 0, counter));
+    transactions.add(transaction(senders[3], 0, counter));
+    transactions.add(transaction(senders[0], 1, counter));
+    transactions.add(transaction(senders[2], 0, Address.fromHexString("0xa2")));
+    transactions.add(transaction(senders[2], 1, coinbase));
+    transactions.add(transaction(senders[1], 1, Address.fromHexString("0xa1")));
+
+    final BlockHeader blockHeader =
+        new BlockHeaderTestFixture()
+            .number(1)
+            .coinbase(coinbase)
+            .gasLimit(10_000_000)
+            .buildHeader();
+
+    final List<MutableWorldState> worldStates = new ArrayList<>();
+    final List<BlockProcessor.Result> results = new ArrayList<>();
+    for (final Optional<Executor> speculativeExecutor :
+        asList(Optional.<Executor>empty(), Optional.of(executor))) {
+      final MutableWorldState worldState =
+          InMemoryStorageProvider.createInMemoryWorldStateArchive().getMutable();
+      final WorldUpdater updater = worldState.updater();
+      for (final KeyPair sender : senders) {
+        updater.createAccount(Util.publicKeyToAddress(sender.getPublicKey()), 0, Wei.fromEth(1));
+      }
+      updater.createAccount(counter).setCode(counterCode);
+      updater.commit();
+      worldState.persist();
+
+      final MainnetBlockProcessor processor =
+          new MainnetBlockProcessor(
+              protocolSpec.getTransactionProcessor(),
+              protocolSpec.getTransactionReceiptFactory(),
+              protocolSpec.getBlockReward(),
+              BlockHeader::getCoinbase,
+              speculativeExecutor);
+      results.add(
+          processor.processBlock(
+              new TestBlockchain(), worldState, blockHeader, transactions, emptyList()));
+      worldStates.add(worldState);
+    }
+
+    assertThat(results.get(0).isSuccessful()).isTrue();
+    assertThat(results.get(1).isSuccessful()).isTrue();
+    assertThat(results.get(1).getReceipts()).isEqualTo(results.get(0).getReceipts());
+    assertThat(worldStates.get(1).rootHash()).isEqualTo(worldStates.get(0).rootHash());
+  }
+
+  private static Transaction transaction(final KeyPair keys, final long nonce, final Address to) {
+    return new TransactionTestFixture()
+        .nonce(nonce)
+        .gasLimit(100_000)
+        .gasPrice(Wei.of(1))
+        .value(Wei.of(5))
+        .to(Optional.of(to))
+        .chainId(Optional.empty())
+        .createTransaction(keys);
+  }
 }
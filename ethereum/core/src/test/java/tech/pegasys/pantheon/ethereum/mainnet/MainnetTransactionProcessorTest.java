@@ -26,6 +26,7 @@ import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionValidator.TransactionInvalidReason;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 
 import org.junit.Before;
@@ -63,7 +64,8 @@ public class MainnetTransactionProcessorTest {
             messageCallProcessor,
             false,
             MAX_STACK_SIZE,
-            Account.DEFAULT_VERSION);
+            Account.DEFAULT_VERSION,
+            new CodeCache(CodeCache.DEFAULT_CAPACITY));
   }
 
   @Test
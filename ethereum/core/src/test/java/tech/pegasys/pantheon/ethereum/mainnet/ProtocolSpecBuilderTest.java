@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import org.junit.Test;
+
+public class ProtocolSpecBuilderTest {
+
+  private final MutableProtocolSchedule<Void> protocolSchedule =
+      new MutableProtocolSchedule<>(Optional.empty());
+
+  @Test
+  public void shouldBuildWithSpeculativeExecutionWithoutPrivacy() {
+    final ProtocolSpecBuilder<Void> builder =
+        MainnetProtocolSpecs.frontierDefinition(OptionalInt.empty(), OptionalInt.empty())
+            .privacyParameters(PrivacyParameters.DEFAULT)
+            .codeCache(new CodeCache(CodeCache.DEFAULT_CAPACITY))
+            .speculativeExecutor(Optional.of(Runnable::run));
+
+    assertThat(builder.build(protocolSchedule).getBlockProcessor()).isNotNull();
+  }
+
+  @Test
+  public void shouldRejectSpeculativeExecutionWithPrivacyPrecompile() {
+    final ProtocolSpecBuilder<Void> builder =
+        MainnetProtocolSpecs.frontierDefinition(OptionalInt.empty(), OptionalInt.empty())
+            .precompileContractRegistryBuilder(
+                precompiledContractConfiguration -> {
+                  final PrecompileContractRegistry registry = new PrecompileContractRegistry();
+                  registry.put(
+                      Address.DEFAULT_PRIVACY,
+                      Account.DEFAULT_VERSION,
+                      mock(PrecompiledContract.class));
+                  return registry;
+                })
+            .privacyParameters(PrivacyParameters.DEFAULT)
+            .codeCache(new CodeCache(CodeCache.DEFAULT_CAPACITY))
+            .speculativeExecutor(Optional.of(Runnable::run));
+
+    assertThatThrownBy(() -> builder.build(protocolSchedule))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
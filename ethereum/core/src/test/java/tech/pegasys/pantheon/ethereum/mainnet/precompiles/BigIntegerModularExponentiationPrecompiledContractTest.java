@@ -0,0 +1,181 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BigIntegerModularExponentiationPrecompiledContractTest {
+
+  private static final String SECP256K1_P =
+      "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2f";
+  private static final String SECP256K1_P_MINUS_1 =
+      "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2e";
+
+  @Mock MessageFrame messageFrame;
+  @Mock GasCalculator gasCalculator;
+
+  private final BigIntegerModularExponentiationPrecompiledContract contract =
+      new BigIntegerModularExponentiationPrecompiledContract(gasCalculator);
+
+  @Test
+  public void eip198FermatExample() {
+    final BytesValue input =
+        BytesValue.fromHexString(
+            lengths(1, 32, 32) + "03" + SECP256K1_P_MINUS_1 + SECP256K1_P);
+
+    assertThat(contract.gasRequirement(input)).isEqualTo(13_056L);
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(UInt256.ONE.getBytes());
+  }
+
+  @Test
+  public void eip198EmptyBaseExample() {
+    final BytesValue input =
+        BytesValue.fromHexString(lengths(0, 32, 32) + SECP256K1_P_MINUS_1 + SECP256K1_P);
+
+    assertThat(contract.gasRequirement(input)).isEqualTo(13_056L);
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(UInt256.ZERO.getBytes());
+  }
+
+  @Test
+  public void eip198HugeLengthsExample() {
+    final BytesValue input =
+        BytesValue.fromHexString(
+            "0x"
+                + "0000000000000000000000000000000000000000000000000000000000000000"
+                + "0000000000000000000000000000000000000000000000000000000000000020"
+                + "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"
+                + SECP256K1_P_MINUS_1
+                + SECP256K1_P);
+
+    assertThat(contract.gasRequirement(input)).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void emptyModulusIgnoresHugeExponentLength() {
+    final BytesValue input =
+        BytesValue.fromHexString(
+            "0x"
+                + "0000000000000000000000000000000000000000000000000000000000000000"
+                + "00000000000000000000000000000000000000000000000000000000ffffffff"
+                + "0000000000000000000000000000000000000000000000000000000000000000"
+                + "ff");
+
+    assertThat(contract.gasRequirement(input)).isEqualTo(0L);
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(BytesValue.EMPTY);
+  }
+
+  @Test
+  public void truncatedInputIsRightPaddedWithZeros() {
+    // The modulus 0x0100 is cut off after its first byte.
+    final BytesValue input = BytesValue.fromHexString(lengths(1, 1, 2) + "03" + "05" + "01");
+
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(BytesValue.of(0x00, 0xf3));
+  }
+
+  @Test
+  public void missingModulusGivesZeros() {
+    final BytesValue input = BytesValue.fromHexString(lengths(1, 1, 3) + "03" + "05");
+
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(BytesValue.of(0, 0, 0));
+  }
+
+  @Test
+  public void degenerateOperands() {
+    assertThat(modExp("00", "00", "0005")).isEqualTo(BytesValue.of(0, 1));
+    assertThat(modExp("07", "00", "01")).isEqualTo(BytesValue.of(0));
+    assertThat(modExp("00", "09", "0005")).isEqualTo(BytesValue.of(0, 0));
+    assertThat(modExp("", "09", "0005")).isEqualTo(BytesValue.of(0, 0));
+  }
+
+  @Test
+  public void matchesBigIntegerModPow() {
+    final Random random = new Random(42);
+    for (int i = 0; i < 2_000; i++) {
+      final int baseLength = random.nextInt(70);
+      final int exponentLength = random.nextInt(40);
+      final int modulusLength = 1 + random.nextInt(i % 2 == 0 ? 5 : 70);
+      final BytesValue base = randomBytes(random, baseLength);
+      final BytesValue exponent = randomBytes(random, exponentLength);
+      final BytesValue modulus = randomBytes(random, modulusLength);
+      final BytesValue input =
+          BytesValues.concatenate(
+              BytesValue.fromHexString(lengths(baseLength, exponentLength, modulusLength)),
+              base,
+              exponent,
+              modulus);
+
+      assertThat(contract.compute(input, messageFrame))
+          .isEqualTo(reference(base, exponent, modulus));
+    }
+  }
+
+  private BytesValue modExp(final String base, final String exponent, final String modulus) {
+    final BytesValue input =
+        BytesValue.fromHexString(
+            lengths(base.length() / 2, exponent.length() / 2, modulus.length() / 2)
+                + base
+                + exponent
+                + modulus);
+    return contract.compute(input, messageFrame);
+  }
+
+  private static String lengths(final int base, final int exponent, final int modulus) {
+    return "0x"
+        + UInt256.of(base).getBytes().toUnprefixedString()
+        + UInt256.of(exponent).getBytes().toUnprefixedString()
+        + UInt256.of(modulus).getBytes().toUnprefixedString();
+  }
+
+  private static BytesValue randomBytes(final Random random, final int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    // Exercise leading zeros and small values as well.
+    if (length > 1 && random.nextBoolean()) {
+      bytes[0] = 0;
+    }
+    return BytesValue.wrap(bytes);
+  }
+
+  private static BytesValue reference(
+      final BytesValue base, final BytesValue exponent, final BytesValue modulus) {
+    final MutableBytesValue result = MutableBytesValue.create(modulus.size());
+    final BigInteger m = BytesValues.asUnsignedBigInteger(modulus);
+    if (m.signum() == 0) {
+      return result;
+    }
+    final BytesValue modExp =
+        BytesValues.trimLeadingZeros(
+            BytesValue.wrap(
+                BytesValues.asUnsignedBigInteger(base)
+                    .modPow(BytesValues.asUnsignedBigInteger(exponent), m)
+                    .toByteArray()));
+    modExp.copyTo(result, result.size() - modExp.size());
+    return result;
+  }
+}
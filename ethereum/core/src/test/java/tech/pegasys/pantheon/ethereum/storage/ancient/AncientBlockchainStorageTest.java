@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.ancient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.chain.DefaultMutableBlockchain;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AncientBlockchainStorageTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final List<Block> blocks = new ArrayList<>();
+  private final List<List<TransactionReceipt>> receipts = new ArrayList<>();
+
+  private KeyValueStoragePrefixedKeyBlockchainStorage liveStorage;
+  private AncientStore ancientStore;
+  private AncientBlockchainStorage storage;
+
+  @Before
+  public void setUp() throws IOException {
+    liveStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(), new MainnetBlockHeaderFunctions());
+    ancientStore = AncientStore.open(folder.newFolder().toPath());
+    storage =
+        new AncientBlockchainStorage(liveStorage, ancientStore, new MainnetBlockHeaderFunctions());
+
+    final Block genesis = gen.genesisBlock();
+    final MutableBlockchain blockchain =
+        new DefaultMutableBlockchain(genesis, storage, new NoOpMetricsSystem());
+    blocks.add(genesis);
+    receipts.add(gen.receipts(genesis));
+    for (final Block block : gen.blockSequence(genesis, 5)) {
+      final List<TransactionReceipt> blockReceipts = gen.receipts(block);
+      blockchain.appendBlock(block, blockReceipts);
+      blocks.add(block);
+      receipts.add(blockReceipts);
+    }
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    ancientStore.close();
+  }
+
+  @Test
+  public void freezeMovesBodiesAndReceiptsOutOfLiveStorage() {
+    assertThat(storage.freeze(3)).isEqualTo(4);
+    assertThat(ancientStore.getBlockCount()).isEqualTo(4);
+
+    for (int i = 0; i <= 3; i++) {
+      final Block block = blocks.get(i);
+      assertThat(liveStorage.getBlockBody(block.getHash())).isEmpty();
+      assertThat(liveStorage.getTransactionReceipts(block.getHash())).isEmpty();
+      assertThat(storage.getBlockBody(block.getHash())).contains(block.getBody());
+      assertThat(storage.getTransactionReceipts(block.getHash())).contains(receipts.get(i));
+    }
+    for (int i = 4; i < blocks.size(); i++) {
+      final Block block = blocks.get(i);
+      assertThat(liveStorage.getBlockBody(block.getHash())).contains(block.getBody());
+      assertThat(storage.getBlockBody(block.getHash())).contains(block.getBody());
+    }
+  }
+
+  @Test
+  public void freezeContinuesFromPreviouslyFrozenBlocks() {
+    assertThat(storage.freeze(1)).isEqualTo(2);
+    assertThat(storage.freeze(1)).isEqualTo(0);
+    assertThat(storage.freeze(5)).isEqualTo(4);
+
+    assertThat(ancientStore.getBlockCount()).isEqualTo(6);
+    final Block head = blocks.get(5);
+    assertThat(storage.getBlockBody(head.getHash())).contains(head.getBody());
+  }
+
+  @Test
+  public void ancientDataIsNotReturnedForUnknownBlocks() {
+    storage.freeze(5);
+
+    final Block unknown = gen.block();
+    assertThat(storage.getBlockBody(unknown.getHash())).isEmpty();
+    assertThat(storage.getTransactionReceipts(unknown.getHash())).isEmpty();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.ancient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AncientStoreTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void readsBackAppendedBlocks() throws IOException {
+    try (final AncientStore store = AncientStore.open(folder.newFolder().toPath())) {
+      store.append(0, BytesValue.of(1), BytesValue.of(2));
+      store.append(1, BytesValue.of(3, 4), BytesValue.EMPTY);
+
+      assertThat(store.getBlockCount()).isEqualTo(2);
+      assertThat(store.getBlockBody(0)).contains(BytesValue.of(1));
+      assertThat(store.getTransactionReceipts(0)).contains(BytesValue.of(2));
+      assertThat(store.getBlockBody(1)).contains(BytesValue.of(3, 4));
+      assertThat(store.getTransactionReceipts(1)).contains(BytesValue.EMPTY);
+      assertThat(store.getBlockBody(2)).isEmpty();
+    }
+  }
+
+  @Test
+  public void rejectsAppendOutOfOrder() throws IOException {
+    try (final AncientStore store = AncientStore.open(folder.newFolder().toPath())) {
+      store.append(0, BytesValue.of(1), BytesValue.of(2));
+
+      assertThatThrownBy(() -> store.append(2, BytesValue.of(1), BytesValue.of(2)))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThat(store.getBlockCount()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void remainsReadableAfterReaderIsInterrupted() throws Exception {
+    try (final AncientStore store = AncientStore.open(folder.newFolder().toPath())) {
+      store.append(0, BytesValue.of(1), BytesValue.of(2));
+      final AtomicReference<Throwable> readerFailure = new AtomicReference<>();
+      final Thread reader =
+          new Thread(
+              () -> {
+                Thread.currentThread().interrupt();
+                try {
+                  store.getBlockBody(0);
+                } catch (final Throwable t) {
+                  readerFailure.set(t);
+                }
+              });
+      reader.start();
+      reader.join();
+
+      assertThat(readerFailure.get()).hasCauseInstanceOf(ClosedByInterruptException.class);
+      assertThat(store.getBlockBody(0)).contains(BytesValue.of(1));
+      store.append(1, BytesValue.of(3), BytesValue.of(4));
+      assertThat(store.getTransactionReceipts(1)).contains(BytesValue.of(4));
+    }
+  }
+
+  @Test
+  public void retainsBlocksAfterReopening() throws IOException {
+    final Path directory = folder.newFolder().toPath();
+    try (final AncientStore store = AncientStore.open(directory)) {
+      store.append(0, BytesValue.of(1), BytesValue.of(2));
+      store.sync();
+    }
+
+    try (final AncientStore store = AncientStore.open(directory)) {
+      assertThat(store.getBlockCount()).isEqualTo(1);
+      assertThat(store.getBlockBody(0)).contains(BytesValue.of(1));
+      store.append(1, BytesValue.of(3), BytesValue.of(4));
+      assertThat(store.getTransactionReceipts(1)).contains(BytesValue.of(4));
+    }
+  }
+}
@@ -12,15 +12,21 @@
  */
 package tech.pegasys.pantheon.ethereum.storage.keyvalue;
 
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateKeyValueStorage.Updater;
 import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.Test;
 
 public class KeyValueStorageWorldStateStorageTest {
@@ -153,6 +159,27 @@ public class KeyValueStorageWorldStateStorageTest {
     assertThat(storage.getNodeData(Hash.hash(bytes))).contains(bytes);
   }
 
+  @Test
+  public void getAllNodeData_returnsValuesInRequestedOrder() {
+    final BytesValue bytes = BytesValue.fromHexString("0x123456");
+    final BytesValue missing = BytesValue.fromHexString("0x654321");
+    final WorldStateKeyValueStorage storage = emptyStorage();
+    storage.updater().putAccountStorageTrieNode(Hash.hash(bytes), bytes).commit();
+
+    assertThat(
+            storage.getAllNodeData(
+                asList(
+                    Hash.EMPTY,
+                    Hash.hash(missing),
+                    Hash.hash(bytes),
+                    MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)))
+        .containsExactly(
+            Optional.of(BytesValue.EMPTY),
+            Optional.empty(),
+            Optional.of(bytes),
+            Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE));
+  }
+
   @Test
   public void reconcilesNonConflictingUpdaters() {
     final BytesValue bytesA = BytesValue.fromHexString("0x12");
@@ -186,6 +213,68 @@ public class KeyValueStorageWorldStateStorageTest {
     assertThat(emptyStorage().isWorldStateAvailable(Hash.EMPTY_TRIE_HASH)).isTrue();
   }
 
+  @Test
+  public void getAccountStateTrieNode_servesCommittedNodesFromCache() {
+    final BytesValue node = BytesValue.fromHexString("0x123456");
+    final Bytes32 nodeHash = Hash.hash(node);
+    final KeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    final WorldStateKeyValueStorage storage =
+        new WorldStateKeyValueStorage(keyValueStorage, 1024, new NoOpMetricsSystem());
+    storage.updater().putAccountStateTrieNode(nodeHash, node).commit();
+
+    final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+    transaction.remove(nodeHash);
+    transaction.commit();
+
+    assertThat(storage.getAccountStateTrieNode(nodeHash)).contains(node);
+  }
+
+  @Test
+  public void getNodeData_servesCommittedNodesFromCache() {
+    final BytesValue node = BytesValue.fromHexString("0x123456");
+    final Bytes32 nodeHash = Hash.hash(node);
+    final KeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    final WorldStateKeyValueStorage storage =
+        new WorldStateKeyValueStorage(keyValueStorage, 1024, new NoOpMetricsSystem());
+    storage.updater().putAccountStateTrieNode(nodeHash, node).commit();
+
+    final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+    transaction.remove(nodeHash);
+    transaction.commit();
+
+    assertThat(storage.getNodeData(nodeHash)).contains(node);
+    assertThat(storage.getAllNodeData(asList(nodeHash))).containsExactly(Optional.of(node));
+  }
+
+  @Test
+  public void prune_doesNotLeaveNodesReadDuringRemovalInCache() {
+    final BytesValue node = BytesValue.fromHexString("0x123456");
+    final Bytes32 nodeHash = Hash.hash(node);
+    final AtomicReference<WorldStateKeyValueStorage> storage = new AtomicReference<>();
+    final KeyValueStorage keyValueStorage =
+        new InMemoryKeyValueStorage() {
+          private boolean pruned;
+
+          @Override
+          public Optional<BytesValue> get(final BytesValue key) {
+            final Optional<BytesValue> value = super.get(key);
+            if (!pruned && key.equals(nodeHash)) {
+              // Remove the node after it has been read but before the read is cached.
+              pruned = true;
+              storage.get().prune(hash -> false, 0);
+            }
+            return value;
+          }
+        };
+    storage.set(new WorldStateKeyValueStorage(keyValueStorage, 1024, new NoOpMetricsSystem()));
+    final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+    transaction.put(nodeHash, node);
+    transaction.commit();
+
+    assertThat(storage.get().getNodeData(nodeHash)).contains(node);
+    assertThat(storage.get().getNodeData(nodeHash)).isEmpty();
+  }
+
   private WorldStateKeyValueStorage emptyStorage() {
     return new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
   }
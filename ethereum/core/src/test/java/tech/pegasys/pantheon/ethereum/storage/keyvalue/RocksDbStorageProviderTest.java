@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.keyvalue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockchainStorage;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RocksDbStorageProviderTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  @Test
+  public void blockchainDataIsPersistedWithoutColumns() throws Exception {
+    assertBlockchainDataIsPersisted(false);
+  }
+
+  @Test
+  public void blockchainDataIsPersistedInSeparateColumns() throws Exception {
+    assertBlockchainDataIsPersisted(true);
+  }
+
+  private void assertBlockchainDataIsPersisted(final boolean useColumns) throws Exception {
+    final RocksDbConfiguration config =
+        RocksDbConfiguration.builder()
+            .databaseDir(folder.newFolder().toPath())
+            .useColumns(useColumns)
+            .build();
+    final Block block = gen.block();
+    final Hash hash = block.getHash();
+
+    try (final StorageProvider storageProvider = create(config)) {
+      final BlockchainStorage.Updater updater =
+          createBlockchainStorage(storageProvider).updater();
+      updater.putBlockHeader(hash, block.getHeader());
+      updater.putBlockBody(hash, block.getBody());
+      updater.putBlockHash(block.getHeader().getNumber(), hash);
+      updater.putTotalDifficulty(hash, UInt256.of(10));
+      updater.setChainHead(hash);
+      updater.commit();
+    }
+
+    try (final StorageProvider storageProvider = create(config)) {
+      final BlockchainStorage blockchainStorage = createBlockchainStorage(storageProvider);
+      assertThat(blockchainStorage.getChainHead()).contains(hash);
+      assertThat(blockchainStorage.getBlockHeader(hash)).contains(block.getHeader());
+      assertThat(blockchainStorage.getBlockBody(hash)).contains(block.getBody());
+      assertThat(blockchainStorage.getBlockHash(block.getHeader().getNumber())).contains(hash);
+      assertThat(blockchainStorage.getTotalDifficulty(hash)).contains(UInt256.of(10));
+      assertThat(blockchainStorage.getTransactionReceipts(hash)).isEmpty();
+    }
+  }
+
+  private StorageProvider create(final RocksDbConfiguration config) throws Exception {
+    return RocksDbStorageProvider.create(config, new NoOpMetricsSystem());
+  }
+
+  private BlockchainStorage createBlockchainStorage(final StorageProvider storageProvider) {
+    return storageProvider.createBlockchainStorage(MainnetProtocolSchedule.create());
+  }
+}
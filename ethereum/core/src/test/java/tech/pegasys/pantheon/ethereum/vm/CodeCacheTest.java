@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import org.junit.Test;
+
+public class CodeCacheTest {
+
+  private final CodeCache codeCache = new CodeCache(1024);
+
+  @Test
+  public void loadsCodeOnlyOnceForTheSameHash() {
+    final Account account = account(BytesValue.fromHexString("0x6001600055"));
+    final Account otherAccount = account(BytesValue.fromHexString("0x6001600055"));
+
+    final Code code = codeCache.getOrLoad(account);
+
+    assertThat(code.getBytes()).isEqualTo(BytesValue.fromHexString("0x6001600055"));
+    assertThat(codeCache.getOrLoad(otherAccount)).isSameAs(code);
+    verify(account, times(1)).getCode();
+    verify(otherAccount, never()).getCode();
+  }
+
+  @Test
+  public void returnsEmptyCodeForMissingAccountsAndAccountsWithoutCode() {
+    final Account account = account(BytesValue.EMPTY);
+
+    assertThat(codeCache.getOrLoad(null).getSize()).isEqualTo(0);
+    assertThat(codeCache.getOrLoad(account).getSize()).isEqualTo(0);
+    verify(account, never()).getCode();
+    assertThat(codeCache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void evictsCodeOnceCapacityIsExceeded() {
+    for (int i = 0; i < 100; i++) {
+      codeCache.getOrLoad(account(BytesValue.wrap(new byte[] {(byte) i, 0, 0, 0, 0, 0, 0, 0})));
+    }
+
+    // Each entry weighs 40 bytes, so at most 25 of them fit.
+    assertThat(codeCache.size()).isLessThanOrEqualTo(25L);
+  }
+
+  @Test
+  public void analysesJumpDestinationsFromTheCodeAlone() {
+    // PUSH1 0x5b, JUMPDEST, PUSH2 0x5b5b, JUMPDEST
+    final Code code = codeCache.getOrLoad(account(BytesValue.fromHexString("0x605b5b615b5b5b")));
+
+    assertThat(code.isValidJumpDestination(UInt256.of(1))).isFalse();
+    assertThat(code.isValidJumpDestination(UInt256.of(2))).isTrue();
+    assertThat(code.isValidJumpDestination(UInt256.of(4))).isFalse();
+    assertThat(code.isValidJumpDestination(UInt256.of(5))).isFalse();
+    assertThat(code.isValidJumpDestination(UInt256.of(6))).isTrue();
+  }
+
+  private static Account account(final BytesValue code) {
+    final Account account = mock(Account.class);
+    when(account.getCodeHash()).thenReturn(Hash.hash(code));
+    when(account.getCode()).thenReturn(code);
+    return account;
+  }
+}
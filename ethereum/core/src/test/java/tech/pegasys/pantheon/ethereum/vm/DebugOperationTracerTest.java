@@ -47,7 +47,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 public class DebugOperationTracerTest {
 
   private static final int DEPTH = 4;
-  private static final Gas INITIAL_GAS = Gas.of(1000);
+  private static final long INITIAL_GAS = 1000L;
 
   @Mock private WorldUpdater worldUpdater;
 
@@ -56,8 +56,8 @@ public class DebugOperationTracerTest {
   private final Operation anOperation =
       new AbstractOperation(0x02, "MUL", 2, 1, false, 1, null) {
         @Override
-        public Gas cost(final MessageFrame frame) {
-          return Gas.of(20);
+        public long cost(final MessageFrame frame) {
+          return 20L;
         }
 
         @Override
@@ -92,7 +92,7 @@ public class DebugOperationTracerTest {
     final MessageFrame frame = validMessageFrame();
     final Gas currentGasCost = Gas.of(50);
     final TraceFrame traceFrame = traceFrame(frame, currentGasCost);
-    assertThat(traceFrame.getGasRemaining()).isEqualTo(INITIAL_GAS);
+    assertThat(traceFrame.getGasRemaining()).isEqualTo(Gas.of(INITIAL_GAS));
   }
 
   @Test
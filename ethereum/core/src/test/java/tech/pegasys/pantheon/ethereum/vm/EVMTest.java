@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.config.StubGenesisConfigOptions;
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.TestCodeExecutor;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame.State;
+
+import org.junit.Test;
+
+public class EVMTest {
+
+  private static final ProtocolSchedule<Void> PROTOCOL_SCHEDULE =
+      MainnetProtocolSchedule.fromConfig(new StubGenesisConfigOptions().constantinopleBlock(0));
+  private static final String RETURN_SUM = "0x600160020160005260206000f3";
+  private static final OperationTracer PASS_THROUGH_TRACER =
+      (frame, currentGasCost, executeOperation) -> executeOperation.execute();
+
+  private final TestCodeExecutor codeExecutor = new TestCodeExecutor(PROTOCOL_SCHEDULE);
+
+  @Test
+  public void untracedExecutionMatchesTracedForSuccessfulCode() {
+    final MessageFrame frame = assertSameOutcome(RETURN_SUM, 100_000);
+    assertThat(frame.getState()).isEqualTo(State.COMPLETED_SUCCESS);
+  }
+
+  @Test
+  public void untracedExecutionMatchesTracedForStackUnderflow() {
+    assertHalted(
+        assertSameOutcome("0x01", 100_000), ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS);
+  }
+
+  @Test
+  public void untracedExecutionMatchesTracedForStackOverflow() {
+    // JUMPDEST PUSH1 1 PUSH1 0 JUMP, pushing one item per iteration.
+    assertHalted(
+        assertSameOutcome("0x5b6001600056", 100_000), ExceptionalHaltReason.TOO_MANY_STACK_ITEMS);
+  }
+
+  @Test
+  public void untracedExecutionMatchesTracedForDesignatedInvalidOperation() {
+    assertHalted(assertSameOutcome("0xfe", 100_000), ExceptionalHaltReason.INVALID_OPERATION);
+  }
+
+  @Test
+  public void untracedExecutionMatchesTracedForUndefinedOpcode() {
+    final MessageFrame frame = assertSameOutcome("0xef", 100_000);
+    assertThat(frame.getState()).isEqualTo(State.COMPLETED_FAILED);
+  }
+
+  @Test
+  public void untracedExecutionMatchesTracedForInsufficientGas() {
+    assertHalted(assertSameOutcome(RETURN_SUM, 10), ExceptionalHaltReason.INSUFFICIENT_GAS);
+  }
+
+  @Test
+  public void untracedExecutionMatchesTracedForOperationSpecificHalt() {
+    assertHalted(
+        assertSameOutcome("0x600556", 100_000), ExceptionalHaltReason.INVALID_JUMP_DESTINATION);
+  }
+
+  private MessageFrame assertSameOutcome(final String code, final long gasLimit) {
+    final MessageFrame untraced =
+        codeExecutor.executeCode(
+            code, Account.DEFAULT_VERSION, gasLimit, account -> {}, OperationTracer.NO_TRACING);
+    final MessageFrame traced =
+        codeExecutor.executeCode(
+            code, Account.DEFAULT_VERSION, gasLimit, account -> {}, PASS_THROUGH_TRACER);
+
+    assertThat(untraced.getState()).isEqualTo(traced.getState());
+    assertThat(untraced.getRemainingGas()).isEqualTo(traced.getRemainingGas());
+    assertThat(untraced.getPC()).isEqualTo(traced.getPC());
+    assertThat(untraced.getOutputData()).isEqualTo(traced.getOutputData());
+    assertThat(untraced.getExceptionalHaltReasons()).isEqualTo(traced.getExceptionalHaltReasons());
+    return untraced;
+  }
+
+  private static void assertHalted(final MessageFrame frame, final ExceptionalHaltReason reason) {
+    assertThat(frame.getState()).isEqualTo(State.COMPLETED_FAILED);
+    assertThat(frame.getExceptionalHaltReasons()).containsExactly(reason);
+  }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import org.junit.Test;
+
+public class FlatOperandStackTest {
+
+  private static final BigInteger TWO_256 = BigInteger.ONE.shiftLeft(256);
+  private static final BigInteger MAX_SIGNED = BigInteger.ONE.shiftLeft(255);
+
+  private static final List<Bytes32> VALUES = values();
+
+  @Test
+  public void construction() {
+    final OperandStack stack = new FlatOperandStack(1);
+    assertThat(stack.size()).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void construction_NegativeMaximumSize() {
+    new FlatOperandStack(-1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void push_StackOverflow() {
+    final OperandStack stack = new FlatOperandStack(1);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.push(Bytes32.fromHexString("0x02"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void pop_StackUnderflow() {
+    final OperandStack stack = new FlatOperandStack(1);
+    stack.pop();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void add_StackUnderflow() {
+    final FlatOperandStack stack = new FlatOperandStack(2);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.add();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void dup_StackOverflow() {
+    final FlatOperandStack stack = new FlatOperandStack(1);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.dup(0);
+  }
+
+  @Test
+  public void pushPop() {
+    final OperandStack stack = new FlatOperandStack(1);
+    final Bytes32 value =
+        Bytes32.fromHexString("0x0102030405060708091011121314151617181920212223242526272829303132");
+    stack.push(value);
+    assertThat(stack.size()).isEqualTo(1);
+    assertThat(stack.pop()).isEqualTo(value);
+    assertThat(stack.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void bulkPop() {
+    final OperandStack stack = new FlatOperandStack(3);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.push(Bytes32.fromHexString("0x02"));
+    stack.push(Bytes32.fromHexString("0x03"));
+    stack.bulkPop(2);
+    assertThat(stack.size()).isEqualTo(1);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void get_NegativeOffset() {
+    final OperandStack stack = new FlatOperandStack(1);
+    stack.get(-1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void get_IndexGreaterThanSize() {
+    final OperandStack stack = new FlatOperandStack(1);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.get(2);
+  }
+
+  @Test
+  public void set() {
+    final OperandStack stack = new FlatOperandStack(3);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.push(Bytes32.fromHexString("0x02"));
+    stack.push(Bytes32.fromHexString("0x03"));
+    stack.set(2, Bytes32.fromHexString("0x04"));
+    assertThat(stack.size()).isEqualTo(3);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x03"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x02"));
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x04"));
+  }
+
+  @Test
+  public void pushBytes() {
+    final FlatOperandStack stack = new FlatOperandStack(3);
+    final BytesValue code = BytesValue.fromHexString("0x6101026001");
+    stack.push(code, 1, 2);
+    stack.push(code, 4, 1);
+    // Truncated code is padded with zeros on the right.
+    stack.push(code, 4, 3);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x010000"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x0102"));
+  }
+
+  @Test
+  public void dupAndSwap() {
+    final FlatOperandStack stack = new FlatOperandStack(4);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.push(Bytes32.fromHexString("0x02"));
+    stack.push(Bytes32.fromHexString("0x03"));
+    stack.dup(2);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+    stack.swap(2);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x02"));
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThat(stack.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void add() {
+    assertBinaryOperation(FlatOperandStack::add, BigInteger::add);
+  }
+
+  @Test
+  public void sub() {
+    assertBinaryOperation(FlatOperandStack::sub, BigInteger::subtract);
+  }
+
+  @Test
+  public void mul() {
+    assertBinaryOperation(FlatOperandStack::mul, BigInteger::multiply);
+  }
+
+  @Test
+  public void lt() {
+    assertBinaryOperation(FlatOperandStack::lt, (a, b) -> bool(a.compareTo(b) < 0));
+  }
+
+  @Test
+  public void gt() {
+    assertBinaryOperation(FlatOperandStack::gt, (a, b) -> bool(a.compareTo(b) > 0));
+  }
+
+  @Test
+  public void slt() {
+    assertBinaryOperation(
+        FlatOperandStack::slt, (a, b) -> bool(signed(a).compareTo(signed(b)) < 0));
+  }
+
+  @Test
+  public void sgt() {
+    assertBinaryOperation(
+        FlatOperandStack::sgt, (a, b) -> bool(signed(a).compareTo(signed(b)) > 0));
+  }
+
+  @Test
+  public void eq() {
+    assertBinaryOperation(FlatOperandStack::eq, (a, b) -> bool(a.equals(b)));
+  }
+
+  @Test
+  public void and() {
+    assertBinaryOperation(FlatOperandStack::and, BigInteger::and);
+  }
+
+  @Test
+  public void or() {
+    assertBinaryOperation(FlatOperandStack::or, BigInteger::or);
+  }
+
+  @Test
+  public void xor() {
+    assertBinaryOperation(FlatOperandStack::xor, BigInteger::xor);
+  }
+
+  @Test
+  public void byteAt() {
+    assertBinaryOperation(
+        FlatOperandStack::byteAt,
+        (i, x) ->
+            i.compareTo(BigInteger.valueOf(32)) >= 0
+                ? BigInteger.ZERO
+                : x.shiftRight(8 * (31 - i.intValue())).and(BigInteger.valueOf(0xff)));
+  }
+
+  @Test
+  public void shl() {
+    assertBinaryOperation(
+        FlatOperandStack::shl,
+        (shift, x) -> isWide(shift) ? BigInteger.ZERO : x.shiftLeft(shift.intValue()));
+  }
+
+  @Test
+  public void shr() {
+    assertBinaryOperation(
+        FlatOperandStack::shr,
+        (shift, x) -> isWide(shift) ? BigInteger.ZERO : x.shiftRight(shift.intValue()));
+  }
+
+  @Test
+  public void sar() {
+    assertBinaryOperation(
+        FlatOperandStack::sar,
+        (shift, x) -> signed(x).shiftRight(isWide(shift) ? 256 : shift.intValue()));
+  }
+
+  @Test
+  public void isZero() {
+    assertUnaryOperation(FlatOperandStack::isZero, a -> bool(a.signum() == 0));
+  }
+
+  @Test
+  public void not() {
+    assertUnaryOperation(FlatOperandStack::not, a -> TWO_256.subtract(BigInteger.ONE).xor(a));
+  }
+
+  private static void assertBinaryOperation(
+      final Consumer<FlatOperandStack> operation, final BinaryOperator<BigInteger> expected) {
+    for (final Bytes32 a : VALUES) {
+      for (final Bytes32 b : VALUES) {
+        final FlatOperandStack stack = new FlatOperandStack(3);
+        stack.push(Bytes32.fromHexString("0x0bad"));
+        stack.push(b);
+        stack.push(a);
+        operation.accept(stack);
+        assertThat(stack.size()).isEqualTo(2);
+        assertThat(stack.get(0))
+            .as("a = %s, b = %s", a, b)
+            .isEqualTo(word(expected.apply(unsigned(a), unsigned(b))));
+        assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x0bad"));
+      }
+    }
+  }
+
+  private static void assertUnaryOperation(
+      final Consumer<FlatOperandStack> operation, final UnaryOperator<BigInteger> expected) {
+    for (final Bytes32 a : VALUES) {
+      final FlatOperandStack stack = new FlatOperandStack(1);
+      stack.push(a);
+      operation.accept(stack);
+      assertThat(stack.size()).isEqualTo(1);
+      assertThat(stack.get(0)).isEqualTo(word(expected.apply(unsigned(a))));
+    }
+  }
+
+  private static List<Bytes32> values() {
+    final List<Bytes32> values = new ArrayList<>();
+    for (final long small : new long[] {0, 1, 2, 7, 8, 31, 32, 63, 64, 65, 128, 255, 256, 257}) {
+      values.add(word(BigInteger.valueOf(small)));
+    }
+    for (final int bit : new int[] {63, 64, 127, 128, 191, 192, 255}) {
+      values.add(word(BigInteger.ONE.shiftLeft(bit)));
+      values.add(word(BigInteger.ONE.shiftLeft(bit).subtract(BigInteger.ONE)));
+    }
+    values.add(word(TWO_256.subtract(BigInteger.ONE)));
+    values.add(word(TWO_256.subtract(BigInteger.TWO)));
+    final Random random = new Random(42);
+    for (int i = 0; i < 20; i++) {
+      values.add(word(new BigInteger(256, random)));
+      values.add(word(new BigInteger(1 + random.nextInt(255), random)));
+    }
+    return values;
+  }
+
+  private static boolean isWide(final BigInteger shift) {
+    return shift.compareTo(BigInteger.valueOf(256)) >= 0;
+  }
+
+  private static BigInteger bool(final boolean value) {
+    return value ? BigInteger.ONE : BigInteger.ZERO;
+  }
+
+  private static BigInteger unsigned(final Bytes32 value) {
+    return new BigInteger(1, value.extractArray());
+  }
+
+  private static BigInteger signed(final BigInteger value) {
+    return value.compareTo(MAX_SIGNED) >= 0 ? value.subtract(TWO_256) : value;
+  }
+
+  private static Bytes32 word(final BigInteger value) {
+    final byte[] bytes = value.mod(TWO_256).toByteArray();
+    final byte[] result = new byte[Bytes32.SIZE];
+    final int length = Math.min(bytes.length, Bytes32.SIZE);
+    System.arraycopy(bytes, bytes.length - length, result, Bytes32.SIZE - length, length);
+    return Bytes32.wrap(result);
+  }
+}
@@ -147,6 +147,60 @@ public class MemoryTest {
     assertThat(memory.getWord(UInt256.of(64))).isEqualTo(Bytes32.ZERO);
   }
 
+  @Test
+  public void shouldGetWordSpanningTwoWords() {
+    memory.setWord(UInt256.ZERO, WORD1);
+    memory.setWord(UInt256.of(32), WORD2);
+
+    assertThat(memory.getWord(UInt256.of(16)))
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0x1111111111111111111111111111111122222222222222222222222222222222"));
+  }
+
+  @Test
+  public void shouldExpandActiveWordsToCoverAccessedBytes() {
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.ZERO);
+
+    memory.setByte(UInt256.of(32), (byte) 1);
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.of(2));
+    assertThat(memory.getActiveBytes()).isEqualTo(64);
+
+    assertThat(memory.getBytes(UInt256.of(100), UInt256.of(30)).size()).isEqualTo(30);
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.of(5));
+  }
+
+  @Test
+  public void shouldNotExpandWhenLengthIsZero() {
+    assertThat(memory.getBytes(UInt256.of(Long.MAX_VALUE), UInt256.ZERO))
+        .isEqualTo(BytesValue.EMPTY);
+    memory.clearBytes(UInt256.of(Long.MAX_VALUE), UInt256.ZERO);
+
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.ZERO);
+  }
+
+  @Test
+  public void shouldReadZerosFromClearedAndNewlyExpandedMemory() {
+    memory.setWord(UInt256.ZERO, WORD1);
+    memory.clearBytes(UInt256.ZERO, UInt256.of(32));
+
+    assertThat(memory.getBytes(UInt256.ZERO, UInt256.of(1000)))
+        .isEqualTo(BytesValue.wrap(new byte[1000]));
+  }
+
+  @Test
+  public void shouldCompareActiveBytesForEquality() {
+    final Memory other = new Memory();
+    memory.setWord(UInt256.of(10), WORD1);
+    other.setBytes(UInt256.of(10), UInt256.of(32), WORD1);
+
+    assertThat(memory).isEqualTo(other);
+    assertThat(memory.hashCode()).isEqualTo(other.hashCode());
+
+    other.setByte(UInt256.of(100), (byte) 0);
+    assertThat(memory).isNotEqualTo(other);
+  }
+
   private static Bytes32 fillBytes32(final long value) {
     return Bytes32.fromHexString(Strings.repeat(Long.toString(value), 64));
   }
@@ -118,10 +118,12 @@ public class VMReferenceTest extends AbstractRetryingTest {
   protected void runTest() {
     final MutableWorldState worldState = new DefaultMutableWorldState(spec.getInitialWorldState());
     final EnvironmentInformation execEnv = spec.getExec();
+    final CodeCache codeCache = new CodeCache(CodeCache.DEFAULT_CAPACITY);
 
     final ProtocolSpec<Void> protocolSpec =
         MainnetProtocolSpecs.frontierDefinition(OptionalInt.empty(), OptionalInt.empty())
             .privacyParameters(PrivacyParameters.DEFAULT)
+            .codeCache(codeCache)
             .build(new MutableProtocolSchedule<>(CHAIN_ID));
 
     final TestBlockchain blockchain = new TestBlockchain(execEnv.getBlockHeader().getNumber());
@@ -131,7 +133,7 @@ public class VMReferenceTest extends AbstractRetryingTest {
             .messageFrameStack(new ArrayDeque<>())
             .blockchain(blockchain)
             .worldState(worldState.updater())
-            .initialGas(spec.getExec().getGas())
+            .initialGas(spec.getExec().getGas().toLong())
             .contract(execEnv.getAccountAddress())
             .address(execEnv.getAccountAddress())
             .originator(execEnv.getOriginAddress())
@@ -147,6 +149,7 @@ public class VMReferenceTest extends AbstractRetryingTest {
             .completer(c -> {})
             .miningBeneficiary(execEnv.getBlockHeader().getCoinbase())
             .blockHashLookup(new BlockHashLookup(execEnv.getBlockHeader(), blockchain))
+            .codeCache(codeCache)
             .maxStackSize(DEFAULT_MAX_STACK_SIZE)
             .build();
 
@@ -179,7 +182,7 @@ public class VMReferenceTest extends AbstractRetryingTest {
       assertEquals(
           "Final world state differs", spec.getFinalWorldState().rootHash(), worldState.rootHash());
 
-      final Gas actualGas = frame.getRemainingGas();
+      final Gas actualGas = Gas.of(frame.getRemainingGas());
       final Gas expectedGas = spec.getFinalGas();
       final Gas difference =
           (expectedGas.compareTo(actualGas) > 0)
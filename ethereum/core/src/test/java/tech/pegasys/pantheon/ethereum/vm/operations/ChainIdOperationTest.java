@@ -62,6 +62,6 @@ public class ChainIdOperationTest {
 
   @Test
   public void shouldCalculateGasPrice() {
-    assertThat(operation.cost(messageFrame)).isEqualTo(Gas.of(expectedGas));
+    assertThat(operation.cost(messageFrame)).isEqualTo((long) expectedGas);
   }
 }
@@ -133,6 +133,6 @@ public class Create2OperationTest {
 
   @Test
   public void shouldCalculateGasPrice() {
-    assertThat(operation.cost(messageFrame)).isEqualTo(Gas.of(expectedGas));
+    assertThat(operation.cost(messageFrame)).isEqualTo((long) expectedGas);
   }
 }
@@ -21,7 +21,6 @@ import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.AddressHelpers;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.MessageFrameTestFixture;
 import tech.pegasys.pantheon.ethereum.core.MutableAccount;
@@ -54,7 +53,7 @@ public class ExtCodeHashOperationTest {
 
   @Test
   public void shouldCharge400Gas() {
-    assertThat(operation.cost(createMessageFrame(REQUESTED_ADDRESS))).isEqualTo(Gas.of(400));
+    assertThat(operation.cost(createMessageFrame(REQUESTED_ADDRESS))).isEqualTo(400L);
   }
 
   @Test
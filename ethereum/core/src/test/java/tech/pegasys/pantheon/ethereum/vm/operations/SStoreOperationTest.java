@@ -42,38 +42,38 @@ import org.junit.runners.Parameterized;
 @RunWith(Parameterized.class)
 public class SStoreOperationTest {
 
-  private final Gas minimumGasAvailable;
-  private final Gas initialGas;
-  private final Gas remainingGas;
+  private final long minimumGasAvailable;
+  private final long initialGas;
+  private final long remainingGas;
   private final Optional<ExceptionalHaltReason> expectedHalt;
 
   private static final GasCalculator gasCalculator = new ConstantinopleGasCalculator();
 
   private static final Object[][] testData = {
     {
-      SStoreOperation.FRONTIER_MINIMUM, Gas.of(1), Gas.of(1), null,
+      SStoreOperation.FRONTIER_MINIMUM, 1L, 1L, null,
     },
     {
-      SStoreOperation.EIP_1706_MINIMUM, Gas.of(1), Gas.of(1), INSUFFICIENT_GAS,
+      SStoreOperation.EIP_1706_MINIMUM, 1L, 1L, INSUFFICIENT_GAS,
     },
     {
-      SStoreOperation.FRONTIER_MINIMUM, Gas.of(10_000), Gas.of(10_000), null,
+      SStoreOperation.FRONTIER_MINIMUM, 10_000L, 10_000L, null,
     },
     {
-      SStoreOperation.EIP_1706_MINIMUM, Gas.of(10_000), Gas.of(10_000), null,
+      SStoreOperation.EIP_1706_MINIMUM, 10_000L, 10_000L, null,
     },
     {
-      SStoreOperation.FRONTIER_MINIMUM, Gas.of(10_000), Gas.of(1), null,
+      SStoreOperation.FRONTIER_MINIMUM, 10_000L, 1L, null,
     },
     {
-      SStoreOperation.EIP_1706_MINIMUM, Gas.of(10_000), Gas.of(1), INSUFFICIENT_GAS,
+      SStoreOperation.EIP_1706_MINIMUM, 10_000L, 1L, INSUFFICIENT_GAS,
     },
   };
 
   public SStoreOperationTest(
-      final Gas minimumGasAvailable,
-      final Gas initialGas,
-      final Gas remainingGas,
+      final long minimumGasAvailable,
+      final long initialGas,
+      final long remainingGas,
       final ExceptionalHaltReason expectedHalt) {
     this.minimumGasAvailable = minimumGasAvailable;
     this.initialGas = initialGas;
@@ -88,7 +88,7 @@ public class SStoreOperationTest {
   }
 
   private MessageFrame createMessageFrame(
-      final Address address, final Gas initialGas, final Gas remainingGas) {
+      final Address address, final long initialGas, final long remainingGas) {
     final Blockchain blockchain = mock(Blockchain.class);
 
     final WorldStateArchive worldStateArchive =
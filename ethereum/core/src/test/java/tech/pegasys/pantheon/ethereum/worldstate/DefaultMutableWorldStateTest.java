@@ -28,6 +28,7 @@ import tech.pegasys.pantheon.ethereum.core.WorldState;
 import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
 import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage.FlatState;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
@@ -35,7 +36,9 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.NavigableMap;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
@@ -558,6 +561,213 @@ public class DefaultMutableWorldStateTest {
     assertThat(storage).isEqualTo(expected);
   }
 
+  @Test
+  public void shouldReadPersistedHeadStateFromFlatSnapshot() {
+    final WorldStateKeyValueStorage storage = createWithFlatSnapshot(new InMemoryKeyValueStorage());
+    final MutableWorldState worldState = createEmpty(storage);
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount account = updater.createAccount(ADDRESS);
+    account.setBalance(Wei.of(100000));
+    account.setStorageValue(UInt256.ONE, UInt256.of(2));
+    updater.commit();
+    worldState.persist();
+
+    assertThat(storage.isFlatStateAvailable(worldState.rootHash())).isTrue();
+    assertThat(storage.moveFlatState(worldState.rootHash(), 0)).isTrue();
+    final FlatState flatState = storage.getFlatState(worldState.rootHash()).get();
+    assertThat(flatState.getAccount(Hash.hash(ADDRESS))).isPresent();
+    assertThat(flatState.getAccountStorageValue(Hash.hash(ADDRESS), hash(UInt256.ONE)))
+        .isPresent();
+
+    final WorldState headState = new DefaultMutableWorldState(worldState.rootHash(), storage);
+    assertThat(headState.get(ADDRESS).getBalance()).isEqualTo(Wei.of(100000));
+    assertThat(headState.get(ADDRESS).getStorageValue(UInt256.ONE)).isEqualTo(UInt256.of(2));
+  }
+
+  @Test
+  public void shouldMoveFlatSnapshotAlongCanonicalChainOnly() {
+    final WorldStateKeyValueStorage storage = createWithFlatSnapshot(new InMemoryKeyValueStorage());
+    final Hash parentRoot = persistBalance(createEmpty(storage), Wei.of(1));
+    final MutableWorldState canonicalState = new DefaultMutableWorldState(parentRoot, storage);
+    final Hash canonicalRoot = persistBalance(canonicalState, Wei.of(2));
+    final Hash forkRoot =
+        persistBalance(new DefaultMutableWorldState(parentRoot, storage), Wei.of(3));
+    final Hash childRoot = persistBalance(canonicalState, Wei.of(4));
+
+    // Both siblings can be read on top of the snapshot until one of them is canonical.
+    assertThat(storage.isFlatStateAvailable(canonicalRoot)).isTrue();
+    assertThat(storage.isFlatStateAvailable(forkRoot)).isTrue();
+    assertThat(storage.isFlatStateAvailable(childRoot)).isTrue();
+
+    assertThat(storage.moveFlatState(childRoot, 0)).isTrue();
+
+    assertThat(storage.isFlatStateAvailable(childRoot)).isTrue();
+    assertThat(storage.isFlatStateAvailable(forkRoot)).isFalse();
+    assertThat(storage.getFlatState(childRoot).get().getAccount(Hash.hash(ADDRESS))).isPresent();
+    assertThat(new DefaultMutableWorldState(childRoot, storage).get(ADDRESS).getBalance())
+        .isEqualTo(Wei.of(4));
+    assertThat(new DefaultMutableWorldState(forkRoot, storage).get(ADDRESS).getBalance())
+        .isEqualTo(Wei.of(3));
+    // The fork's diff layer was discarded, so reorging to it needs a regenerated snapshot.
+    assertThat(storage.moveFlatState(forkRoot, 0)).isFalse();
+
+    // The next canonical block is still built on the snapshot.
+    final Hash grandchildRoot = persistBalance(canonicalState, Wei.of(5));
+    assertThat(storage.moveFlatState(grandchildRoot, 0)).isTrue();
+    assertThat(new DefaultMutableWorldState(grandchildRoot, storage).get(ADDRESS).getBalance())
+        .isEqualTo(Wei.of(5));
+  }
+
+  @Test
+  public void shouldServeReorgWithinRetainedDiffLayers() {
+    final WorldStateKeyValueStorage storage = createWithFlatSnapshot(new InMemoryKeyValueStorage());
+    final Hash parentRoot = persistBalance(createEmpty(storage), Wei.of(1));
+    final Hash canonicalRoot =
+        persistBalance(new DefaultMutableWorldState(parentRoot, storage), Wei.of(2));
+    final Hash forkRoot =
+        persistBalance(new DefaultMutableWorldState(parentRoot, storage), Wei.of(3));
+
+    assertThat(storage.moveFlatState(canonicalRoot, 1)).isTrue();
+    assertThat(storage.moveFlatState(forkRoot, 1)).isTrue();
+
+    assertThat(storage.isFlatStateAvailable(forkRoot)).isTrue();
+    assertThat(new DefaultMutableWorldState(forkRoot, storage).get(ADDRESS).getBalance())
+        .isEqualTo(Wei.of(3));
+  }
+
+  @Test
+  public void shouldGenerateFlatSnapshotForStateWithoutOne() {
+    final InMemoryKeyValueStorage syncedKeyValueStorage = new InMemoryKeyValueStorage();
+    final MutableWorldState worldState =
+        createEmpty(new WorldStateKeyValueStorage(syncedKeyValueStorage));
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount account = updater.createAccount(ADDRESS);
+    account.setBalance(Wei.of(100000));
+    account.setStorageValue(UInt256.ONE, UInt256.of(2));
+    updater.commit();
+    worldState.persist();
+
+    // Only copy the trie nodes, like fast sync does.
+    final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+    for (final BytesValue key : syncedKeyValueStorage.keySet()) {
+      if (key.size() == Hash.SIZE) {
+        transaction.put(key, syncedKeyValueStorage.get(key).get());
+      }
+    }
+    transaction.commit();
+    final WorldStateKeyValueStorage storage = new WorldStateKeyValueStorage(keyValueStorage);
+
+    assertThat(storage.moveFlatState(worldState.rootHash(), 0)).isFalse();
+    assertThat(storage.generateFlatState(worldState.rootHash())).isTrue();
+
+    final FlatState flatState = storage.getFlatState(worldState.rootHash()).get();
+    assertThat(flatState.getAccount(Hash.hash(ADDRESS))).isPresent();
+    assertThat(flatState.getAccountStorageValue(Hash.hash(ADDRESS), hash(UInt256.ONE)))
+        .isPresent();
+    final Hash childRoot =
+        persistBalance(new DefaultMutableWorldState(worldState.rootHash(), storage), Wei.of(5));
+    assertThat(storage.moveFlatState(childRoot, 0)).isTrue();
+  }
+
+  @Test
+  public void shouldRemoveFlatStorageWhenStorageIsCleared() {
+    final WorldStateKeyValueStorage storage = createWithFlatSnapshot(new InMemoryKeyValueStorage());
+    final MutableWorldState worldState = createEmpty(storage);
+    WorldUpdater updater = worldState.updater();
+    final MutableAccount account = updater.createAccount(ADDRESS);
+    account.setBalance(Wei.of(100000));
+    account.setStorageValue(UInt256.ONE, UInt256.of(2));
+    updater.commit();
+    worldState.persist();
+    assertThat(storage.moveFlatState(worldState.rootHash(), 0)).isTrue();
+
+    updater = worldState.updater();
+    updater.getMutable(ADDRESS).clearStorage();
+    updater.commit();
+    worldState.persist();
+
+    // Read through the diff layer, then from the snapshot once it's been written into it.
+    assertThat(
+            storage
+                .getFlatState(worldState.rootHash())
+                .get()
+                .getAccountStorageValue(Hash.hash(ADDRESS), hash(UInt256.ONE)))
+        .isEmpty();
+    assertThat(storage.moveFlatState(worldState.rootHash(), 0)).isTrue();
+    assertThat(
+            storage
+                .getFlatState(worldState.rootHash())
+                .get()
+                .getAccountStorageValue(Hash.hash(ADDRESS), hash(UInt256.ONE)))
+        .isEmpty();
+    assertThat(worldState.get(ADDRESS).getStorageValue(UInt256.ONE)).isEqualTo(UInt256.ZERO);
+  }
+
+  @Test
+  public void shouldNotRecordFlatStateDiffsWithoutSnapshot() {
+    final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    final WorldStateKeyValueStorage storage = new WorldStateKeyValueStorage(keyValueStorage);
+    final MutableWorldState worldState = createEmpty(storage);
+    for (int i = 1; i <= 10; i++) {
+      persistBalance(worldState, Wei.of(i));
+    }
+
+    assertThat(storage.isFlatStateAvailable(worldState.rootHash())).isFalse();
+    assertThat(keyValueStorage.keySet()).allMatch(key -> key.size() == Hash.SIZE);
+  }
+
+  @Test
+  public void shouldPruneUnreachableFlatStateDiffsOnRestart() {
+    final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    final InMemoryKeyValueStorage forkedKeyValueStorage = new InMemoryKeyValueStorage();
+    final Hash canonicalRoot = persistChain(createWithFlatSnapshot(keyValueStorage), false);
+    assertThat(persistChain(createWithFlatSnapshot(forkedKeyValueStorage), true))
+        .isEqualTo(canonicalRoot);
+
+    // The diffs are reloaded, so the fork's one is deleted once the snapshot moves past it.
+    final WorldStateKeyValueStorage restartedStorage =
+        new WorldStateKeyValueStorage(keyValueStorage);
+    final WorldStateKeyValueStorage restartedForkedStorage =
+        new WorldStateKeyValueStorage(forkedKeyValueStorage);
+    assertThat(restartedStorage.isFlatStateAvailable(canonicalRoot)).isTrue();
+    assertThat(restartedForkedStorage.isFlatStateAvailable(canonicalRoot)).isTrue();
+    assertThat(restartedStorage.moveFlatState(canonicalRoot, 0)).isTrue();
+    assertThat(restartedForkedStorage.moveFlatState(canonicalRoot, 0)).isTrue();
+
+    assertThat(flatKeys(forkedKeyValueStorage)).isEqualTo(flatKeys(keyValueStorage));
+  }
+
+  private static WorldStateKeyValueStorage createWithFlatSnapshot(
+      final KeyValueStorage keyValueStorage) {
+    final WorldStateKeyValueStorage storage = new WorldStateKeyValueStorage(keyValueStorage);
+    storage.generateFlatState(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH);
+    return storage;
+  }
+
+  private Hash persistChain(final WorldStateKeyValueStorage storage, final boolean withFork) {
+    final Hash parentRoot = persistBalance(createEmpty(storage), Wei.of(1));
+    assertThat(storage.moveFlatState(parentRoot, 0)).isTrue();
+    if (withFork) {
+      persistBalance(new DefaultMutableWorldState(parentRoot, storage), Wei.of(3));
+    }
+    return persistBalance(new DefaultMutableWorldState(parentRoot, storage), Wei.of(2));
+  }
+
+  private static Set<BytesValue> flatKeys(final InMemoryKeyValueStorage keyValueStorage) {
+    return keyValueStorage.keySet().stream()
+        .filter(key -> key.size() != Hash.SIZE)
+        .collect(Collectors.toSet());
+  }
+
+  private Hash persistBalance(final MutableWorldState worldState, final Wei balance) {
+    final WorldUpdater updater = worldState.updater();
+    updater.getOrCreate(ADDRESS).setBalance(balance);
+    updater.commit();
+    worldState.persist();
+    return worldState.rootHash();
+  }
+
   private Hash hash(final UInt256 key) {
     return Hash.hash(key.getBytes());
   }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import org.junit.Test;
+
+public class MarkSweepPrunerTest {
+
+  private static final int ACCOUNT_COUNT = 20;
+
+  private final InMemoryKeyValueStorage stateStorage = new InMemoryKeyValueStorage();
+  private final WorldStateStorage worldStateStorage = new WorldStateKeyValueStorage(stateStorage);
+  private final InMemoryKeyValueStorage markStorage = new InMemoryKeyValueStorage();
+  private final MarkSweepPruner pruner =
+      new MarkSweepPruner(worldStateStorage, markStorage, new NoOpMetricsSystem(), 0);
+
+  @Test
+  public void shouldRemoveStateNotReachableFromMarkedRoot() {
+    final MutableWorldState worldState = new DefaultMutableWorldState(worldStateStorage);
+    final Hash originalRoot = updateAccounts(worldState, 1);
+    final Hash updatedRoot = updateAccounts(worldState, 2);
+
+    pruner.prepare();
+    pruner.clearMarks();
+    pruner.mark(updatedRoot);
+    pruner.sweep();
+
+    assertThat(worldStateStorage.isWorldStateAvailable(originalRoot)).isFalse();
+    assertThat(worldStateStorage.isWorldStateAvailable(updatedRoot)).isTrue();
+    assertAccountsReadable(updatedRoot, 2);
+    assertThat(markStorage.keySet()).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepStateAddedAfterPrepare() {
+    final MutableWorldState worldState = new DefaultMutableWorldState(worldStateStorage);
+    final Hash originalRoot = updateAccounts(worldState, 1);
+
+    pruner.prepare();
+    final Hash updatedRoot = updateAccounts(worldState, 2);
+    pruner.clearMarks();
+    pruner.mark(originalRoot);
+    pruner.sweep();
+
+    assertAccountsReadable(originalRoot, 1);
+    assertAccountsReadable(updatedRoot, 2);
+  }
+
+  @Test
+  public void shouldClearMarksLeftByPreviousCycle() {
+    final MutableWorldState worldState = new DefaultMutableWorldState(worldStateStorage);
+    final Hash originalRoot = updateAccounts(worldState, 1);
+    final Hash updatedRoot = updateAccounts(worldState, 2);
+    final KeyValueStorage.Transaction transaction = markStorage.startTransaction();
+    transaction.put(originalRoot, BytesValue.of(1));
+    transaction.commit();
+
+    pruner.prepare();
+    pruner.clearMarks();
+    pruner.mark(updatedRoot);
+    pruner.sweep();
+
+    assertThat(worldStateStorage.isWorldStateAvailable(originalRoot)).isFalse();
+    assertAccountsReadable(updatedRoot, 2);
+  }
+
+  @Test
+  public void shouldNotRemoveFlatSnapshot() {
+    worldStateStorage.generateFlatState(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH);
+    final MutableWorldState worldState = new DefaultMutableWorldState(worldStateStorage);
+    updateAccounts(worldState, 1);
+    final Hash updatedRoot = updateAccounts(worldState, 2);
+    worldStateStorage.moveFlatState(updatedRoot, 0);
+    final int flatEntries =
+        (int) stateStorage.keySet().stream().filter(key -> key.size() != Hash.SIZE).count();
+
+    pruner.prepare();
+    pruner.clearMarks();
+    pruner.mark(updatedRoot);
+    pruner.sweep();
+
+    assertThat(stateStorage.keySet().stream().filter(key -> key.size() != Hash.SIZE))
+        .hasSize(flatEntries);
+    assertThat(worldStateStorage.isFlatStateAvailable(updatedRoot)).isTrue();
+  }
+
+  @Test
+  public void shouldStopSweepingWhenInterrupted() {
+    final MarkSweepPruner throttledPruner =
+        new MarkSweepPruner(worldStateStorage, markStorage, new NoOpMetricsSystem(), 1);
+    final MutableWorldState worldState = new DefaultMutableWorldState(worldStateStorage);
+    final Hash originalRoot = updateAccounts(worldState, 1);
+    final Hash updatedRoot = updateAccounts(worldState, 2);
+
+    throttledPruner.prepare();
+    throttledPruner.clearMarks();
+    throttledPruner.mark(updatedRoot);
+    Thread.currentThread().interrupt();
+    try {
+      throttledPruner.sweep();
+    } finally {
+      assertThat(Thread.interrupted()).isTrue();
+    }
+
+    assertAccountsReadable(originalRoot, 1);
+    assertAccountsReadable(updatedRoot, 2);
+  }
+
+  private Hash updateAccounts(final MutableWorldState worldState, final int value) {
+    final WorldUpdater updater = worldState.updater();
+    for (int i = 0; i < ACCOUNT_COUNT; i++) {
+      final MutableAccount account = updater.getOrCreate(Address.fromHexString("0x" + (i + 1)));
+      account.setBalance(Wei.of(value));
+      account.setStorageValue(UInt256.of(i), UInt256.of(value));
+      account.setCode(BytesValue.of(i, value));
+    }
+    updater.commit();
+    worldState.persist();
+    return worldState.rootHash();
+  }
+
+  private void assertAccountsReadable(final Hash rootHash, final int value) {
+    final MutableWorldState worldState = new DefaultMutableWorldState(rootHash, worldStateStorage);
+    for (int i = 0; i < ACCOUNT_COUNT; i++) {
+      final Account account = worldState.get(Address.fromHexString("0x" + (i + 1)));
+      assertThat(account.getBalance()).isEqualTo(Wei.of(value));
+      assertThat(account.getStorageValue(UInt256.of(i))).isEqualTo(UInt256.of(value));
+      assertThat(account.getCode()).isEqualTo(BytesValue.of(i, value));
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionTestFixture;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class WorldStatePrefetcherTest {
+
+  private static final Address CONTRACT = Address.fromHexString("0xc0de");
+  private static final Address COINBASE = Address.fromHexString("0xc01b");
+  private static final Address OMMER_COINBASE = Address.fromHexString("0x0111");
+
+  private final RecordingKeyValueStorage keyValueStorage = new RecordingKeyValueStorage();
+  private final WorldStateArchive worldStateArchive =
+      new WorldStateArchive(new WorldStateKeyValueStorage(keyValueStorage));
+  private final WorldStatePrefetcher prefetcher = new WorldStatePrefetcher(worldStateArchive);
+
+  @Test
+  public void shouldReadCodeOfAccountsTouchedByBlock() {
+    final Hash stateRoot = createState();
+    keyValueStorage.reads.clear();
+
+    prefetcher.prefetch(stateRoot, createBlock());
+
+    assertThat(keyValueStorage.reads)
+        .contains(codeHash(CONTRACT), codeHash(COINBASE), codeHash(OMMER_COINBASE));
+  }
+
+  @Test
+  public void shouldIgnoreUnavailableState() {
+    createState();
+    keyValueStorage.reads.clear();
+
+    prefetcher.prefetch(Hash.hash(BytesValue.of(1)), createBlock());
+
+    assertThat(keyValueStorage.reads).doesNotContain(codeHash(CONTRACT));
+  }
+
+  @Test
+  public void shouldIgnoreStorageFailures() {
+    final Hash stateRoot = createState();
+    keyValueStorage.failReads = true;
+
+    prefetcher.prefetch(stateRoot, createBlock());
+  }
+
+  private Hash createState() {
+    final MutableWorldState worldState = worldStateArchive.getMutable();
+    final WorldUpdater updater = worldState.updater();
+    for (final Address address : new Address[] {CONTRACT, COINBASE, OMMER_COINBASE}) {
+      updater.getOrCreate(address).setCode(code(address));
+    }
+    updater.commit();
+    worldState.persist();
+    return worldState.rootHash();
+  }
+
+  private static Block createBlock() {
+    final Transaction transaction =
+        new TransactionTestFixture()
+            .to(Optional.of(CONTRACT))
+            .createTransaction(KeyPair.generate());
+    final BlockHeader ommer = new BlockHeaderTestFixture().coinbase(OMMER_COINBASE).buildHeader();
+    final BlockHeader header = new BlockHeaderTestFixture().coinbase(COINBASE).buildHeader();
+    return new Block(header, new BlockBody(singletonList(transaction), singletonList(ommer)));
+  }
+
+  private static BytesValue code(final Address address) {
+    return BytesValue.wrap(address, BytesValue.of(0x60, 0x00));
+  }
+
+  private static Hash codeHash(final Address address) {
+    return Hash.hash(code(address));
+  }
+
+  private static class RecordingKeyValueStorage extends InMemoryKeyValueStorage {
+    private final List<BytesValue> reads = new ArrayList<>();
+    private volatile boolean failReads;
+
+    @Override
+    public Optional<BytesValue> get(final BytesValue key) {
+      if (failReads) {
+        throw new IllegalStateException("Storage unavailable");
+      }
+      reads.add(key);
+      return super.get(key);
+    }
+  }
+}
@@ -111,6 +111,12 @@ public class EthProtocol implements SubProtocol {
     }
   }
 
+  @Override
+  public boolean isDroppable(final int protocolVersion, final int code) {
+    // Transactions are re-announced by other peers, so losing one to a slow peer is harmless.
+    return code == EthPV62.TRANSACTIONS;
+  }
+
   public static EthProtocol get() {
     return INSTANCE;
   }
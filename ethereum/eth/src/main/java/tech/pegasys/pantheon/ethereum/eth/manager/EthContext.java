@@ -17,12 +17,14 @@ public class EthContext {
   private final EthPeers ethPeers;
   private final EthMessages ethMessages;
   private final EthScheduler scheduler;
+  private final SenderRecoveryService senderRecovery;
 
   public EthContext(
       final EthPeers ethPeers, final EthMessages ethMessages, final EthScheduler scheduler) {
     this.ethPeers = ethPeers;
     this.ethMessages = ethMessages;
     this.scheduler = scheduler;
+    this.senderRecovery = new SenderRecoveryService(scheduler);
   }
 
   public EthPeers getEthPeers() {
@@ -36,4 +38,8 @@ public class EthContext {
   public EthScheduler getScheduler() {
     return scheduler;
   }
+
+  public SenderRecoveryService getSenderRecovery() {
+    return senderRecovery;
+  }
 }
@@ -220,16 +220,16 @@ class EthServer {
     final GetNodeDataMessage getNodeDataMessage = GetNodeDataMessage.readFrom(message);
     final Iterable<Hash> hashes = getNodeDataMessage.hashes();
 
-    final List<BytesValue> nodeData = new ArrayList<>();
-    int count = 0;
+    final List<Hash> requestedHashes = new ArrayList<>();
     for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
+      if (requestedHashes.size() >= requestLimit) {
         break;
       }
-      count++;
-
-      worldStateArchive.getNodeData(hash).ifPresent(nodeData::add);
+      requestedHashes.add(hash);
     }
+
+    final List<BytesValue> nodeData = new ArrayList<>(requestedHashes.size());
+    worldStateArchive.getNodeData(requestedHashes).forEach(data -> data.ifPresent(nodeData::add));
     return NodeDataMessage.create(nodeData);
   }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static java.util.stream.Collectors.toList;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionSenderCache;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Recovers transaction senders on the computation executor of the {@link EthScheduler}.
+ *
+ * <p>Recovered senders are remembered by transaction hash, so that a transaction received more
+ * than once, typically first on its own by the transaction pool and later as part of a block, only
+ * has its sender recovered from the signature once.
+ */
+public class SenderRecoveryService {
+
+  private static final long DEFAULT_CACHE_SIZE = 10_000;
+  // Recovering a sender takes in the order of 0.1ms, so transactions are recovered in batches to
+  // keep the scheduling overhead low.
+  private static final int BATCH_SIZE = 16;
+
+  private final EthScheduler scheduler;
+  private final TransactionSenderCache senders;
+
+  public SenderRecoveryService(final EthScheduler scheduler) {
+    this(scheduler, DEFAULT_CACHE_SIZE);
+  }
+
+  public SenderRecoveryService(final EthScheduler scheduler, final long cacheSize) {
+    this.scheduler = scheduler;
+    this.senders = new TransactionSenderCache(cacheSize);
+  }
+
+  /**
+   * Recovers the senders of all transactions in a block in parallel.
+   *
+   * @param block the block to recover transaction senders for
+   * @return a future completed with {@code block} once all senders are recovered
+   */
+  public CompletableFuture<Block> recoverSenders(final Block block) {
+    return recoverSenders(block.getBody().getTransactions()).thenApply(ignored -> block);
+  }
+
+  /**
+   * Recovers the senders of the provided transactions in parallel.
+   *
+   * <p>Transactions whose signature doesn't allow to recover a sender are skipped, and left for
+   * validation to reject.
+   *
+   * @param transactions the transactions to recover senders for
+   * @return a future completed once all senders are recovered
+   */
+  public CompletableFuture<Void> recoverSenders(final List<Transaction> transactions) {
+    final List<Transaction> unrecovered =
+        transactions.stream()
+            .filter(transaction -> !senders.useKnownSender(transaction))
+            .collect(toList());
+    if (unrecovered.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    final CompletableFuture<?>[] batches =
+        Lists.partition(unrecovered, BATCH_SIZE).stream()
+            .map(batch -> scheduler.scheduleComputationTask(() -> recoverBatch(batch)))
+            .toArray(CompletableFuture[]::new);
+    return CompletableFuture.allOf(batches);
+  }
+
+  /**
+   * Returns the sender of a transaction, recovering it from the signature only if it isn't known.
+   *
+   * @param transaction the transaction
+   * @return the transaction sender
+   */
+  public Address getSender(final Transaction transaction) {
+    return senders.useKnownSender(transaction)
+        ? transaction.getSender()
+        : senders.recover(transaction);
+  }
+
+  private Void recoverBatch(final List<Transaction> batch) {
+    for (final Transaction transaction : batch) {
+      try {
+        senders.recover(transaction);
+      } catch (final IllegalStateException e) {
+        // The signature is invalid, which validating the transaction will report.
+      }
+    }
+    return null;
+  }
+}
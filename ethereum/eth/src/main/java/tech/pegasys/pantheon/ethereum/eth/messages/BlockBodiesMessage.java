@@ -43,13 +43,17 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     tmp.startList();
     bodies.forEach(body -> body.writeTo(tmp));
     tmp.endList();
-    return new BlockBodiesMessage(tmp.encoded());
+    return new BlockBodiesMessage(tmp);
   }
 
   private BlockBodiesMessage(final BytesValue data) {
     super(data);
   }
 
+  private BlockBodiesMessage(final BytesValueRLPOutput encoded) {
+    super(encoded);
+  }
+
   @Override
   public int getCode() {
     return EthPV62.BLOCK_BODIES;
@@ -58,7 +62,7 @@ public final class BlockBodiesMessage extends AbstractMessageData {
   public <C> List<BlockBody> bodies(final ProtocolSchedule<C> protocolSchedule) {
     final BlockHeaderFunctions blockHeaderFunctions =
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
-    return new BytesValueRLPInput(data, false)
+    return new BytesValueRLPInput(getData(), false)
         .readList(rlp -> BlockBody.readFrom(rlp, blockHeaderFunctions));
   }
 }
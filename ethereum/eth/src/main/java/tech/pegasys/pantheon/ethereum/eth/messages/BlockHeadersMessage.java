@@ -50,13 +50,17 @@ public final class BlockHeadersMessage extends AbstractMessageData {
       header.writeTo(tmp);
     }
     tmp.endList();
-    return new BlockHeadersMessage(tmp.encoded());
+    return new BlockHeadersMessage(tmp);
   }
 
   private BlockHeadersMessage(final BytesValue data) {
     super(data);
   }
 
+  private BlockHeadersMessage(final BytesValueRLPOutput encoded) {
+    super(encoded);
+  }
+
   @Override
   public int getCode() {
     return EthPV62.BLOCK_HEADERS;
@@ -65,7 +69,7 @@ public final class BlockHeadersMessage extends AbstractMessageData {
   public <C> List<BlockHeader> getHeaders(final ProtocolSchedule<C> protocolSchedule) {
     final BlockHeaderFunctions blockHeaderFunctions =
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
-    return new BytesValueRLPInput(data, false)
+    return new BytesValueRLPInput(getData(), false)
         .readList(rlp -> BlockHeader.readFrom(rlp, blockHeaderFunctions));
   }
 }
@@ -55,7 +55,7 @@ public final class GetBlockBodiesMessage extends AbstractMessageData {
   }
 
   public Iterable<Hash> hashes() {
-    final RLPInput input = new BytesValueRLPInput(data, false);
+    final RLPInput input = new BytesValueRLPInput(getData(), false);
     input.enterList();
     final Collection<Hash> hashes = new ArrayList<>();
     while (!input.isEndOfCurrentList()) {
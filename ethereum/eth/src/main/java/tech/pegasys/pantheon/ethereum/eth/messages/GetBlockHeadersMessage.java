@@ -104,7 +104,7 @@ public final class GetBlockHeadersMessage extends AbstractMessageData {
 
   private GetBlockHeadersData getBlockHeadersData() {
     if (getBlockHeadersData == null) {
-      getBlockHeadersData = GetBlockHeadersData.readFrom(RLP.input(data));
+      getBlockHeadersData = GetBlockHeadersData.readFrom(RLP.input(getData()));
     }
     return getBlockHeadersData;
   }
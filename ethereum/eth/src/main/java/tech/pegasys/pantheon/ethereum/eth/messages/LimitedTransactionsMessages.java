@@ -56,7 +56,7 @@ public final class LimitedTransactionsMessages {
     }
     message.endList();
     return new LimitedTransactionsMessages(
-        new TransactionsMessage(message.encoded()), includedTransactions);
+        new TransactionsMessage(message), includedTransactions);
   }
 
   public final TransactionsMessage getTransactionsMessage() {
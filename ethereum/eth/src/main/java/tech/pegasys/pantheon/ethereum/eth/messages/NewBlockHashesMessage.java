@@ -62,7 +62,7 @@ public final class NewBlockHashesMessage extends AbstractMessageData {
   }
 
   public Iterator<NewBlockHashesMessage.NewBlockHash> getNewHashes() {
-    return new BytesValueRLPInput(data, false)
+    return new BytesValueRLPInput(getData(), false)
         .readList(
             rlpInput -> {
               rlpInput.enterList();
@@ -35,6 +35,10 @@ public class NewBlockMessage extends AbstractMessageData {
     super(data);
   }
 
+  private NewBlockMessage(final BytesValueRLPOutput encoded) {
+    super(encoded);
+  }
+
   @Override
   public int getCode() {
     return MESSAGE_CODE;
@@ -44,7 +48,7 @@ public class NewBlockMessage extends AbstractMessageData {
     final NewBlockMessageData msgData = new NewBlockMessageData(block, totalDifficulty);
     final BytesValueRLPOutput out = new BytesValueRLPOutput();
     msgData.writeTo(out);
-    return new NewBlockMessage(out.encoded());
+    return new NewBlockMessage(out);
   }
 
   public static NewBlockMessage readFrom(final MessageData message) {
@@ -69,7 +73,7 @@ public class NewBlockMessage extends AbstractMessageData {
 
   private <C> NewBlockMessageData messageFields(final ProtocolSchedule<C> protocolSchedule) {
     if (messageFields == null) {
-      final RLPInput input = RLP.input(data);
+      final RLPInput input = RLP.input(getData());
       messageFields = NewBlockMessageData.readFrom(input, protocolSchedule);
     }
     return messageFields;
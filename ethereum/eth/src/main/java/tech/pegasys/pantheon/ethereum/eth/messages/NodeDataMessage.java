@@ -41,20 +41,24 @@ public final class NodeDataMessage extends AbstractMessageData {
     tmp.startList();
     nodeData.forEach(tmp::writeBytesValue);
     tmp.endList();
-    return new NodeDataMessage(tmp.encoded());
+    return new NodeDataMessage(tmp);
   }
 
   private NodeDataMessage(final BytesValue data) {
     super(data);
   }
 
+  private NodeDataMessage(final BytesValueRLPOutput encoded) {
+    super(encoded);
+  }
+
   @Override
   public int getCode() {
     return EthPV63.NODE_DATA;
   }
 
   public List<BytesValue> nodeData() {
-    final RLPInput input = new BytesValueRLPInput(data, false);
+    final RLPInput input = new BytesValueRLPInput(getData(), false);
     input.enterList();
     final List<BytesValue> nodeData = new ArrayList<>();
     while (!input.isEndOfCurrentList()) {
@@ -47,20 +47,24 @@ public final class ReceiptsMessage extends AbstractMessageData {
           tmp.endList();
         });
     tmp.endList();
-    return new ReceiptsMessage(tmp.encoded());
+    return new ReceiptsMessage(tmp);
   }
 
   private ReceiptsMessage(final BytesValue data) {
     super(data);
   }
 
+  private ReceiptsMessage(final BytesValueRLPOutput encoded) {
+    super(encoded);
+  }
+
   @Override
   public int getCode() {
     return EthPV63.RECEIPTS;
   }
 
   public List<List<TransactionReceipt>> receipts() {
-    final RLPInput input = new BytesValueRLPInput(data, false);
+    final RLPInput input = new BytesValueRLPInput(getData(), false);
     input.enterList();
     final List<List<TransactionReceipt>> receipts = new ArrayList<>();
     while (input.nextIsList()) {
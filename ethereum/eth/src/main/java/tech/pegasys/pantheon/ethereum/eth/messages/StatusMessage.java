@@ -91,7 +91,7 @@ public final class StatusMessage extends AbstractMessageData {
 
   private EthStatus status() {
     if (status == null) {
-      final RLPInput input = RLP.input(data);
+      final RLPInput input = RLP.input(getData());
       status = EthStatus.readFrom(input);
     }
     return status;
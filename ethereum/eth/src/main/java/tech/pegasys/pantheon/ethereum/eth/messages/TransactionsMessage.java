@@ -44,13 +44,17 @@ public class TransactionsMessage extends AbstractMessageData {
       transaction.writeTo(tmp);
     }
     tmp.endList();
-    return new TransactionsMessage(tmp.encoded());
+    return new TransactionsMessage(tmp);
   }
 
   TransactionsMessage(final BytesValue data) {
     super(data);
   }
 
+  TransactionsMessage(final BytesValueRLPOutput encoded) {
+    super(encoded);
+  }
+
   @Override
   public int getCode() {
     return EthPV62.TRANSACTIONS;
@@ -58,6 +62,6 @@ public class TransactionsMessage extends AbstractMessageData {
 
   public Iterator<Transaction> transactions(
       final Function<RLPInput, Transaction> transactionReader) {
-    return new BytesValueRLPInput(data, false).readList(transactionReader).iterator();
+    return new BytesValueRLPInput(getData(), false).readList(transactionReader).iterator();
   }
 }
@@ -261,6 +261,8 @@ public class BlockPropagationManager<C> {
               "Saving announced block {} ({}) for future import",
               block.getHeader().getNumber(),
               block.getHash());
+          // Have the senders ready by the time the block can be imported.
+          ethContext.getSenderRecovery().recoverSenders(block);
         }
         return CompletableFuture.completedFuture(block);
       }
@@ -301,10 +303,13 @@ public class BlockPropagationManager<C> {
       final BlockHeaderValidator<C> blockHeaderValidator,
       final Block block,
       final BlockHeader parent) {
+    // Recover the transaction senders in parallel while the header is validated.
+    final CompletableFuture<Block> sendersRecovered =
+        ethContext.getSenderRecovery().recoverSenders(block);
     if (blockHeaderValidator.validateHeader(
         block.getHeader(), parent, protocolContext, HeaderValidationMode.FULL)) {
       ethContext.getScheduler().scheduleSyncWorkerTask(() -> broadcastBlock(block, parent));
-      return runImportTask(block);
+      return runImportTask(block, sendersRecovered);
     } else {
       importingBlocks.remove(block.getHash());
       LOG.warn(
@@ -315,12 +320,13 @@ public class BlockPropagationManager<C> {
     }
   }
 
-  private CompletableFuture<Block> runImportTask(final Block block) {
+  private CompletableFuture<Block> runImportTask(
+      final Block block, final CompletableFuture<Block> sendersRecovered) {
     final PersistBlockTask<C> importTask =
         PersistBlockTask.create(
             protocolSchedule, protocolContext, block, HeaderValidationMode.NONE, metricsSystem);
-    return importTask
-        .run()
+    return sendersRecovered
+        .thenCompose(ignored -> importTask.run())
         .whenComplete(
             (result, throwable) -> {
               importingBlocks.remove(block.getHash());
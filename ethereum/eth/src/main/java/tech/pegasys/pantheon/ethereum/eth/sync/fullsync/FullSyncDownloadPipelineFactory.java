@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.ethereum.eth.sync.ValidationPolicy;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncTarget;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStatePrefetcher;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 import tech.pegasys.pantheon.services.pipeline.Pipeline;
@@ -87,6 +88,11 @@ public class FullSyncDownloadPipelineFactory<C> implements DownloadPipelineFacto
     final DownloadBodiesStep<C> downloadBodiesStep =
         new DownloadBodiesStep<>(protocolSchedule, ethContext, metricsSystem);
     final ExtractTxSignaturesStep extractTxSignaturesStep = new ExtractTxSignaturesStep();
+    final PrefetchWorldStateStep prefetchWorldStateStep =
+        new PrefetchWorldStateStep(
+            protocolContext.getBlockchain(),
+            new WorldStatePrefetcher(protocolContext.getWorldStateArchive()),
+            ethContext.getScheduler());
     final FullImportBlockStep<C> importBlockStep =
         new FullImportBlockStep<>(protocolSchedule, protocolContext);
 
@@ -105,7 +111,7 @@ public class FullSyncDownloadPipelineFactory<C> implements DownloadPipelineFacto
         .inBatches(headerRequestSize)
         .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
         .thenFlatMap("extractTxSignatures", extractTxSignaturesStep, singleHeaderBufferSize)
-        .andFinishWith("importBlock", importBlockStep);
+        .andFinishWith("importBlock", prefetchWorldStateStep.andThen(importBlockStep));
   }
 
   private boolean shouldContinueDownloadingFromPeer(
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.fullsync;
+
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStatePrefetcher;
+
+import java.util.function.Consumer;
+
+public class PrefetchWorldStateStep implements Consumer<Block> {
+
+  private final Blockchain blockchain;
+  private final WorldStatePrefetcher prefetcher;
+  private final EthScheduler scheduler;
+
+  public PrefetchWorldStateStep(
+      final Blockchain blockchain,
+      final WorldStatePrefetcher prefetcher,
+      final EthScheduler scheduler) {
+    this.blockchain = blockchain;
+    this.prefetcher = prefetcher;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public void accept(final Block block) {
+    // Runs just before the block is imported, once its parent's state is available, so the
+    // prefetch overlaps with the block's own execution.
+    blockchain
+        .getBlockHeader(block.getHeader().getParentHash())
+        .ifPresent(
+            parent ->
+                scheduler.scheduleComputationTask(
+                    () -> {
+                      prefetcher.prefetch(parent.getStateRoot(), block);
+                      return null;
+                    }));
+  }
+}
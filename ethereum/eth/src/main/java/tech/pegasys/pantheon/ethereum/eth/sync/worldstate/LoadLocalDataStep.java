@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.sync.worldstate;
 
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
@@ -20,7 +21,10 @@ import tech.pegasys.pantheon.services.pipeline.Pipe;
 import tech.pegasys.pantheon.services.tasks.Task;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class LoadLocalDataStep {
@@ -39,16 +43,25 @@ public class LoadLocalDataStep {
   }
 
   public Stream<Task<NodeDataRequest>> loadLocalData(
-      final Task<NodeDataRequest> task, final Pipe<Task<NodeDataRequest>> completedTasks) {
-    final NodeDataRequest request = task.getData();
-    final Optional<BytesValue> existingData = request.getExistingData(worldStateStorage);
-    if (existingData.isPresent()) {
-      existingNodeCounter.inc();
-      request.setData(existingData.get());
-      request.setRequiresPersisting(false);
-      completedTasks.put(task);
-      return Stream.empty();
+      final List<Task<NodeDataRequest>> tasks, final Pipe<Task<NodeDataRequest>> completedTasks) {
+    final List<Hash> hashes =
+        tasks.stream().map(task -> task.getData().getHash()).collect(Collectors.toList());
+    // Every node type is stored keyed by its hash so a single batched read covers the whole batch.
+    final List<Optional<BytesValue>> existingData = worldStateStorage.getAllNodeData(hashes);
+    final List<Task<NodeDataRequest>> missingTasks = new ArrayList<>(tasks.size());
+    for (int i = 0; i < tasks.size(); i++) {
+      final Task<NodeDataRequest> task = tasks.get(i);
+      final Optional<BytesValue> data = existingData.get(i);
+      if (data.isPresent()) {
+        existingNodeCounter.inc();
+        final NodeDataRequest request = task.getData();
+        request.setData(data.get());
+        request.setRequiresPersisting(false);
+        completedTasks.put(task);
+      } else {
+        missingTasks.add(task);
+      }
     }
-    return Stream.of(task);
+    return missingTasks.stream();
   }
 }
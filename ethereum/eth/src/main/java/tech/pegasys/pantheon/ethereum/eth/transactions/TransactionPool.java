@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.manager.SenderRecoveryService;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionValidationParams;
@@ -67,6 +68,7 @@ public class TransactionPool implements BlockAddedObserver {
   private final Wei minTransactionGasPrice;
   private final LabelledMetric<Counter> duplicateTransactionCounter;
   private final PeerTransactionTracker peerTransactionTracker;
+  private final SenderRecoveryService senderRecovery;
 
   public TransactionPool(
       final PendingTransactions pendingTransactions,
@@ -85,6 +87,7 @@ public class TransactionPool implements BlockAddedObserver {
     this.syncState = syncState;
     this.peerTransactionTracker = peerTransactionTracker;
     this.minTransactionGasPrice = minTransactionGasPrice;
+    this.senderRecovery = ethContext.getSenderRecovery();
 
     duplicateTransactionCounter =
         metricsSystem.createLabelledCounter(
@@ -208,7 +211,7 @@ public class TransactionPool implements BlockAddedObserver {
         .get(chainHeadBlockHeader.getStateRoot())
         .map(
             worldState -> {
-              final Account senderAccount = worldState.get(transaction.getSender());
+              final Account senderAccount = worldState.get(senderRecovery.getSender(transaction));
               return getTransactionValidator()
                   .validateForSender(
                       transaction, senderAccount, TransactionValidationParams.transactionPool());
@@ -52,8 +52,8 @@ public class EthServerTest {
 
   @Test
   public void shouldRespondToNodeDataRequests() throws Exception {
-    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
-    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.of(VALUE2));
+    when(worldStateArchive.getNodeData(asList(HASH1, HASH2)))
+        .thenReturn(asList(Optional.of(VALUE1), Optional.of(VALUE2)));
     ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2))));
 
     verify(ethPeer).send(NodeDataMessage.create(asList(VALUE1, VALUE2)));
@@ -61,8 +61,8 @@ public class EthServerTest {
 
   @Test
   public void shouldHandleDataBeingUnavailableWhenRespondingToNodeDataRequests() throws Exception {
-    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
-    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.empty());
+    when(worldStateArchive.getNodeData(asList(HASH1, HASH2)))
+        .thenReturn(asList(Optional.of(VALUE1), Optional.empty()));
     ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2))));
 
     verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE1)));
@@ -70,8 +70,8 @@ public class EthServerTest {
 
   @Test
   public void shouldLimitNumberOfResponsesToNodeDataRequests() throws Exception {
-    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
-    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.of(VALUE2));
+    when(worldStateArchive.getNodeData(asList(HASH1, HASH2)))
+        .thenReturn(asList(Optional.of(VALUE1), Optional.of(VALUE2)));
     ethMessages.dispatch(
         new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2, HASH3))));
 
@@ -81,9 +81,8 @@ public class EthServerTest {
   @Test
   public void shouldLimitTheNumberOfNodeDataResponsesLookedUpNotTheNumberReturned()
       throws Exception {
-    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
-    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.empty());
-    when(worldStateArchive.getNodeData(HASH3)).thenReturn(Optional.of(VALUE3));
+    when(worldStateArchive.getNodeData(asList(HASH1, HASH2)))
+        .thenReturn(asList(Optional.of(VALUE1), Optional.empty()));
     ethMessages.dispatch(
         new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2, HASH3))));
 
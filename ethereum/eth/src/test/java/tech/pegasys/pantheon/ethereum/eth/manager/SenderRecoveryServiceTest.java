@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SenderRecoveryServiceTest {
+
+  private final EthScheduler scheduler = new EthScheduler(1, 1, 2, new NoOpMetricsSystem());
+  private final SenderRecoveryService senderRecovery = new SenderRecoveryService(scheduler);
+  private final KeyPair keyPair = KeyPair.generate();
+  private final Address sender = Util.publicKeyToAddress(keyPair.getPublicKey());
+
+  @After
+  public void tearDown() {
+    scheduler.stop();
+  }
+
+  @Test
+  public void recoversSendersOfAllBlockTransactions() throws Exception {
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      transactions.add(decodedTransaction(i));
+    }
+    final Block block =
+        new Block(
+            new BlockHeaderTestFixture().buildHeader(),
+            new BlockBody(transactions, Collections.emptyList()));
+
+    assertThat(senderRecovery.recoverSenders(block).get()).isSameAs(block);
+
+    for (final Transaction transaction : transactions) {
+      assertThat(transaction.isSenderRecovered()).isTrue();
+      assertThat(transaction.getSender()).isEqualTo(sender);
+    }
+  }
+
+  @Test
+  public void reusesSenderRecoveredForIdenticalTransaction() {
+    final Transaction transaction = decodedTransaction(0);
+    assertThat(senderRecovery.getSender(transaction)).isEqualTo(sender);
+
+    final Transaction sameTransaction = decodedTransaction(0);
+    assertThat(sameTransaction.isSenderRecovered()).isFalse();
+
+    // Served from the cache without scheduling any recovery.
+    assertThat(senderRecovery.recoverSenders(Collections.singletonList(sameTransaction)).isDone())
+        .isTrue();
+    assertThat(sameTransaction.isSenderRecovered()).isTrue();
+    assertThat(sameTransaction.getSender()).isEqualTo(sender);
+  }
+
+  private Transaction decodedTransaction(final long nonce) {
+    final Transaction transaction =
+        new TransactionTestFixture().nonce(nonce).createTransaction(keyPair);
+    // Decoding drops the sender, as happens for transactions received from the network.
+    return Transaction.readFrom(RLP.input(RLP.encode(transaction::writeTo)));
+  }
+}
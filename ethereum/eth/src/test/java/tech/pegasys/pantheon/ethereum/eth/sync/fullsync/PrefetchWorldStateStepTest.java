@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.fullsync;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.eth.manager.DeterministicEthScheduler;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStatePrefetcher;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PrefetchWorldStateStepTest {
+
+  @Mock private Blockchain blockchain;
+  @Mock private WorldStatePrefetcher prefetcher;
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  private PrefetchWorldStateStep prefetchStep;
+
+  @Before
+  public void setUp() {
+    prefetchStep =
+        new PrefetchWorldStateStep(blockchain, prefetcher, new DeterministicEthScheduler());
+  }
+
+  @Test
+  public void shouldPrefetchFromParentState() {
+    final Block parent = gen.block();
+    final Block block = gen.nextBlock(parent);
+    when(blockchain.getBlockHeader(parent.getHash())).thenReturn(Optional.of(parent.getHeader()));
+
+    prefetchStep.accept(block);
+
+    verify(prefetcher).prefetch(parent.getHeader().getStateRoot(), block);
+  }
+
+  @Test
+  public void shouldNotPrefetchWhenParentIsNotImported() {
+    final Block block = gen.block();
+    when(blockchain.getBlockHeader(block.getHeader().getParentHash()))
+        .thenReturn(Optional.empty());
+
+    prefetchStep.accept(block);
+
+    verify(prefetcher, never()).prefetch(any(Hash.class), any(Block.class));
+  }
+}
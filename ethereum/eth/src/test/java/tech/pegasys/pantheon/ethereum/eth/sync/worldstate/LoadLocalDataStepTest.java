@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.sync.worldstate;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -47,8 +49,11 @@ public class LoadLocalDataStepTest {
 
   @Test
   public void shouldReturnStreamWithUnchangedTaskWhenDataNotPresent() {
+    when(worldStateStorage.getAllNodeData(singletonList(HASH)))
+        .thenReturn(singletonList(Optional.empty()));
+
     final Stream<Task<NodeDataRequest>> output =
-        loadLocalDataStep.loadLocalData(task, completedTasks);
+        loadLocalDataStep.loadLocalData(singletonList(task), completedTasks);
 
     assertThat(completedTasks.poll()).isNull();
     assertThat(output).containsExactly(task);
@@ -56,10 +61,11 @@ public class LoadLocalDataStepTest {
 
   @Test
   public void shouldReturnEmptyStreamAndSendTaskToCompletedPipeWhenDataIsPresent() {
-    when(worldStateStorage.getCode(HASH)).thenReturn(Optional.of(DATA));
+    when(worldStateStorage.getAllNodeData(singletonList(HASH)))
+        .thenReturn(singletonList(Optional.of(DATA)));
 
     final Stream<Task<NodeDataRequest>> output =
-        loadLocalDataStep.loadLocalData(task, completedTasks);
+        loadLocalDataStep.loadLocalData(singletonList(task), completedTasks);
 
     assertThat(completedTasks.poll()).isSameAs(task);
     assertThat(request.getData()).isEqualTo(DATA);
@@ -69,4 +75,22 @@ public class LoadLocalDataStepTest {
     request.persist(updater);
     verifyZeroInteractions(updater);
   }
+
+  @Test
+  public void shouldOnlyReturnTasksWithoutExistingDataFromBatch() {
+    final BytesValue otherData = BytesValue.of(4, 5, 6);
+    final Hash otherHash = Hash.hash(otherData);
+    final CodeNodeDataRequest otherRequest = NodeDataRequest.createCodeRequest(otherHash);
+    final Task<NodeDataRequest> otherTask = new StubTask(otherRequest);
+    when(worldStateStorage.getAllNodeData(asList(HASH, otherHash)))
+        .thenReturn(asList(Optional.empty(), Optional.of(otherData)));
+
+    final Stream<Task<NodeDataRequest>> output =
+        loadLocalDataStep.loadLocalData(asList(task, otherTask), completedTasks);
+
+    assertThat(output).containsExactly(task);
+    assertThat(completedTasks.poll()).isSameAs(otherTask);
+    assertThat(completedTasks.poll()).isNull();
+    assertThat(otherRequest.getData()).isEqualTo(otherData);
+  }
 }
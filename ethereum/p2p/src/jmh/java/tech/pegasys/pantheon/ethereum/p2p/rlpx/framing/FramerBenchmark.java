@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.rlpx.framing;
+
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Random;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures RLPx framing throughput. A frame can only be deframed by a framer whose ciphers and
+ * MACs are in the matching state, so deframing is measured as a round trip with a fresh frame.
+ */
+@State(Scope.Thread)
+public class FramerBenchmark {
+
+  @Param({"64", "1024", "65536", "1048576"})
+  public int messageSize;
+
+  @Param({"true", "false"})
+  public boolean direct;
+
+  @Param({"false", "true"})
+  public boolean compression;
+
+  private final ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
+  private Framer sender;
+  private Framer receiver;
+  private MessageData message;
+  private ByteBuf wire;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final Random random = new Random(1);
+    final byte[] aesSecret = new byte[32];
+    final byte[] macSecret = new byte[32];
+    final byte[] token = new byte[32];
+    random.nextBytes(aesSecret);
+    random.nextBytes(macSecret);
+    random.nextBytes(token);
+    sender = new Framer(new HandshakeSecrets(aesSecret, macSecret, token));
+    receiver = new Framer(new HandshakeSecrets(aesSecret, macSecret, token));
+    if (compression) {
+      sender.enableCompression();
+      receiver.enableCompression();
+    }
+
+    final byte[] data = new byte[messageSize];
+    random.nextBytes(data);
+    message = new RawMessage(0x10, BytesValue.wrap(data));
+    wire = direct ? allocator.directBuffer(messageSize + 128) : allocator.heapBuffer(messageSize);
+  }
+
+  @TearDown(Level.Trial)
+  public void release() {
+    wire.release();
+  }
+
+  @Benchmark
+  public ByteBuf frame() {
+    wire.clear();
+    sender.frame(message, wire);
+    return wire;
+  }
+
+  @Benchmark
+  public MessageData frameAndDeframe() {
+    wire.clear();
+    sender.frame(message, wire);
+    return receiver.deframe(wire);
+  }
+}
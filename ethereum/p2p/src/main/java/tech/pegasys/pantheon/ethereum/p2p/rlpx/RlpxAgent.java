@@ -109,6 +109,16 @@ public class RlpxAgent {
         "peer_limit",
         "The maximum number of peers this node allows to connect",
         () -> maxConnections);
+    metricsSystem.createIntegerGauge(
+        PantheonMetricCategory.NETWORK,
+        "p2p_outbound_queue_messages",
+        "The number of messages waiting to be written to peers",
+        () -> streamConnections().mapToInt(PeerConnection::getOutboundQueueSize).sum());
+    metricsSystem.createIntegerGauge(
+        PantheonMetricCategory.NETWORK,
+        "p2p_outbound_queue_max_messages",
+        "The largest number of messages waiting to be written to a single peer",
+        () -> streamConnections().mapToInt(PeerConnection::getOutboundQueueSize).max().orElse(0));
   }
 
   public static Builder builder() {
@@ -98,6 +98,16 @@ public interface PeerConnection {
 
   InetSocketAddress getRemoteAddress();
 
+  /**
+   * Returns the number of messages accepted by {@link #send(Capability, MessageData)} that have not
+   * yet been handed to the network layer.
+   *
+   * @return the number of queued outbound messages
+   */
+  default int getOutboundQueueSize() {
+    return 0;
+  }
+
   class PeerNotConnected extends IOException {
 
     public PeerNotConnected(final String message) {
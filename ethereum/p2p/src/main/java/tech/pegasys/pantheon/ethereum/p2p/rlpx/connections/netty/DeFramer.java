@@ -69,6 +69,7 @@ final class DeFramer extends ByteToMessageDecoder {
   private final List<SubProtocol> subProtocols;
   private boolean hellosExchanged;
   private final LabelledMetric<Counter> outboundMessagesCounter;
+  private final LabelledMetric<Counter> droppedMessagesCounter;
 
   DeFramer(
       final Framer framer,
@@ -92,6 +93,14 @@ final class DeFramer extends ByteToMessageDecoder {
             "protocol",
             "name",
             "code");
+    this.droppedMessagesCounter =
+        metricsSystem.createLabelledCounter(
+            PantheonMetricCategory.NETWORK,
+            "p2p_messages_outbound_dropped",
+            "Count of each P2P message dropped because the peer was not keeping up.",
+            "protocol",
+            "name",
+            "code");
   }
 
   @Override
@@ -125,14 +134,15 @@ final class DeFramer extends ByteToMessageDecoder {
                 localNode.getPeerInfo().getCapabilities(),
                 peerInfo.getCapabilities());
         final Peer peer = expectedPeer.orElse(createPeer(peerInfo, ctx));
-        final PeerConnection connection =
+        final NettyPeerConnection connection =
             new NettyPeerConnection(
                 ctx,
                 peer,
                 peerInfo,
                 capabilityMultiplexer,
                 connectionEventDispatcher,
-                outboundMessagesCounter);
+                outboundMessagesCounter,
+                droppedMessagesCounter);
 
         // Check peer is who we expected
         if (expectedPeer.isPresent()
@@ -162,6 +172,7 @@ final class DeFramer extends ByteToMessageDecoder {
                 new WireKeepAlive(connection, waitingForPong),
                 new ApiHandler(
                     capabilityMultiplexer, connection, connectionEventDispatcher, waitingForPong),
+                connection.writabilityHandler(),
                 new MessageFramer(capabilityMultiplexer, framer));
         connectFuture.complete(connection);
       } else if (message.getCode() == WireMessageCodes.DISCONNECT) {
@@ -41,6 +41,7 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
@@ -53,6 +54,10 @@ public class NettyConnectionInitializer implements ConnectionInitializer {
 
   private static final Logger LOG = LogManager.getLogger();
   private static final int TIMEOUT_SECONDS = 10;
+  // Bounds the encoded frames Netty buffers for a peer; further messages wait in the peer's
+  // outbound queue until the channel drains below the low water mark.
+  private static final WriteBufferWaterMark WRITE_BUFFER_WATER_MARK =
+      new WriteBufferWaterMark(256 * 1024, 1024 * 1024);
 
   private final KeyPair keyPair;
   private final RlpxConfiguration config;
@@ -106,6 +111,7 @@ public class NettyConnectionInitializer implements ConnectionInitializer {
         new ServerBootstrap()
             .group(boss, workers)
             .channel(NioServerSocketChannel.class)
+            .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, WRITE_BUFFER_WATER_MARK)
             .childHandler(inboundChannelInitializer())
             .bind(config.getBindHost(), config.getBindPort());
     server.addListener(
@@ -175,6 +181,7 @@ public class NettyConnectionInitializer implements ConnectionInitializer {
         .remoteAddress(new InetSocketAddress(enode.getIp(), enode.getListeningPort().getAsInt()))
         .option(ChannelOption.TCP_NODELAY, true)
         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TIMEOUT_SECONDS * 1000)
+        .option(ChannelOption.WRITE_BUFFER_WATER_MARK, WRITE_BUFFER_WATER_MARK)
         .handler(
             new ChannelInitializer<SocketChannel>() {
               @Override
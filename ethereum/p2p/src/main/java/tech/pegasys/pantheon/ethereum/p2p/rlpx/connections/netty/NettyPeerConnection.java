@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.netty;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason.TCP_SUBSYSTEM_ERROR;
+import static tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason.USELESS_PEER;
 
 import tech.pegasys.pantheon.ethereum.p2p.peers.Peer;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.AbstractPeerConnection;
@@ -27,13 +28,38 @@ import tech.pegasys.pantheon.metrics.LabelledMetric;
 
 import java.net.InetSocketAddress;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+/**
+ * A peer connection over a Netty channel.
+ *
+ * <p>Sent messages are queued and written from the channel's event loop in batches with a single
+ * flush, and only while the channel is writable, so that bursts of small messages share syscalls
+ * and a slow peer holds at most one write buffer's worth of encoded frames. Droppable gossip is
+ * written after everything else and the oldest is discarded once its backlog is full. A peer that
+ * lets the queue of other messages fill up is disconnected. Wire protocol messages, such as a
+ * disconnect, are written ahead of the queue even while the channel isn't writable.
+ */
 final class NettyPeerConnection extends AbstractPeerConnection {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final int MAX_QUEUED_MESSAGES = 1024;
+  static final int MAX_QUEUED_DROPPABLE_MESSAGES = 256;
 
   private final ChannelHandlerContext ctx;
+  private final CapabilityMultiplexer multiplexer;
+  private final LabelledMetric<Counter> droppedMessagesCounter;
+  private final OutboundMessageQueue outboundQueue =
+      new OutboundMessageQueue(MAX_QUEUED_MESSAGES, MAX_QUEUED_DROPPABLE_MESSAGES);
+  private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
 
   public NettyPeerConnection(
       final ChannelHandlerContext ctx,
@@ -41,7 +67,8 @@ final class NettyPeerConnection extends AbstractPeerConnection {
       final PeerInfo peerInfo,
       final CapabilityMultiplexer multiplexer,
       final PeerConnectionEventDispatcher connectionEventDispatcher,
-      final LabelledMetric<Counter> outboundMessagesCounter) {
+      final LabelledMetric<Counter> outboundMessagesCounter,
+      final LabelledMetric<Counter> droppedMessagesCounter) {
     super(
         peer,
         peerInfo,
@@ -53,16 +80,87 @@ final class NettyPeerConnection extends AbstractPeerConnection {
         outboundMessagesCounter);
 
     this.ctx = ctx;
+    this.multiplexer = multiplexer;
+    this.droppedMessagesCounter = droppedMessagesCounter;
     ctx.channel().closeFuture().addListener(f -> terminateConnection(TCP_SUBSYSTEM_ERROR, false));
   }
 
   @Override
   protected void doSendMessage(final Capability capability, final MessageData message) {
-    ctx.channel().writeAndFlush(new OutboundMessage(capability, message));
+    final OutboundMessage outboundMessage = new OutboundMessage(capability, message);
+    if (capability == null) {
+      outboundQueue.addWireMessage(outboundMessage);
+    } else if (isDroppable(capability, message)) {
+      outboundQueue.addDroppable(outboundMessage).ifPresent(this::recordDropped);
+    } else if (!outboundQueue.add(outboundMessage)) {
+      LOG.debug("Outbound queue full, disconnecting from {}", getPeerInfo());
+      outboundQueue.clear();
+      disconnect(USELESS_PEER);
+      return;
+    }
+    if (drainScheduled.compareAndSet(false, true)) {
+      ctx.channel().eventLoop().execute(this::drainOutboundQueue);
+    }
+  }
+
+  @Override
+  public int getOutboundQueueSize() {
+    return outboundQueue.size();
+  }
+
+  /** @return a handler that resumes writing queued messages when the channel becomes writable */
+  ChannelHandler writabilityHandler() {
+    return new ChannelInboundHandlerAdapter() {
+      @Override
+      public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+        if (ctx.channel().isWritable()) {
+          drainOutboundQueue();
+        }
+        ctx.fireChannelWritabilityChanged();
+      }
+    };
+  }
+
+  // Must be called from the channel's event loop.
+  private void drainOutboundQueue() {
+    // Cleared before polling so a message queued after the last poll schedules another drain.
+    drainScheduled.set(false);
+    final Channel channel = ctx.channel();
+    boolean written = false;
+    OutboundMessage message;
+    while ((message = outboundQueue.pollWireMessage()) != null) {
+      channel.write(message);
+      written = true;
+    }
+    while (channel.isWritable() && (message = outboundQueue.poll()) != null) {
+      channel.write(message);
+      written = true;
+    }
+    if (written) {
+      channel.flush();
+    }
+  }
+
+  private boolean isDroppable(final Capability capability, final MessageData message) {
+    return multiplexer
+        .subProtocol(capability)
+        .isDroppable(capability.getVersion(), message.getCode());
+  }
+
+  private void recordDropped(final OutboundMessage dropped) {
+    final Capability capability = dropped.getCapability();
+    final int code = dropped.getData().getCode();
+    droppedMessagesCounter
+        .labels(
+            capability.toString(),
+            multiplexer.subProtocol(capability).messageName(capability.getVersion(), code),
+            Integer.toString(code))
+        .inc();
   }
 
   @Override
   protected void closeConnectionImmediately() {
+    outboundQueue.clear();
     ctx.close();
   }
 
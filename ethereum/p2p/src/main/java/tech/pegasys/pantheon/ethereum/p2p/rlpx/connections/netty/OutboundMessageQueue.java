@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.netty;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * Messages waiting to be written to a peer. Wire protocol messages are written first, messages that
+ * may not be lost are always written before droppable gossip, and once the droppable backlog is
+ * full the oldest gossip is discarded to make room.
+ */
+final class OutboundMessageQueue {
+
+  private final Deque<OutboundMessage> wireMessages = new ArrayDeque<>();
+  private final Deque<OutboundMessage> messages = new ArrayDeque<>();
+  private final Deque<OutboundMessage> droppableMessages = new ArrayDeque<>();
+  private final int maxMessages;
+  private final int maxDroppableMessages;
+
+  OutboundMessageQueue(final int maxMessages, final int maxDroppableMessages) {
+    this.maxMessages = maxMessages;
+    this.maxDroppableMessages = maxDroppableMessages;
+  }
+
+  /**
+   * Queues a wire protocol message, such as a disconnect, ahead of all other messages. Wire
+   * messages are few and don't count towards the queue limits.
+   *
+   * @param message the message to queue
+   */
+  synchronized void addWireMessage(final OutboundMessage message) {
+    wireMessages.add(message);
+  }
+
+  /**
+   * Queues a message that must be delivered.
+   *
+   * @param message the message to queue
+   * @return false if the queue is full and the message was not added
+   */
+  synchronized boolean add(final OutboundMessage message) {
+    if (messages.size() >= maxMessages) {
+      return false;
+    }
+    messages.add(message);
+    return true;
+  }
+
+  /**
+   * Queues a message that may be discarded if the peer falls behind.
+   *
+   * @param message the message to queue
+   * @return the message discarded to make room for this one, if any
+   */
+  synchronized Optional<OutboundMessage> addDroppable(final OutboundMessage message) {
+    final OutboundMessage dropped =
+        droppableMessages.size() >= maxDroppableMessages ? droppableMessages.poll() : null;
+    droppableMessages.add(message);
+    return Optional.ofNullable(dropped);
+  }
+
+  /**
+   * Returns the next message to write, or null if the queue is empty.
+   *
+   * @return the next message to write
+   */
+  synchronized OutboundMessage poll() {
+    final OutboundMessage wireMessage = wireMessages.poll();
+    if (wireMessage != null) {
+      return wireMessage;
+    }
+    final OutboundMessage message = messages.poll();
+    return message != null ? message : droppableMessages.poll();
+  }
+
+  /**
+   * Returns the next wire protocol message to write, or null if there is none.
+   *
+   * @return the next wire protocol message to write
+   */
+  synchronized OutboundMessage pollWireMessage() {
+    return wireMessages.poll();
+  }
+
+  synchronized void clear() {
+    wireMessages.clear();
+    messages.clear();
+    droppableMessages.clear();
+  }
+
+  synchronized int size() {
+    return wireMessages.size() + messages.size() + droppableMessages.size();
+  }
+}
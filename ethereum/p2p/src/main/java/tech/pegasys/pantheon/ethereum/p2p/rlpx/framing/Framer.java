@@ -13,8 +13,6 @@
 package tech.pegasys.pantheon.ethereum.p2p.rlpx.framing;
 
 import static io.netty.buffer.ByteBufUtil.hexDump;
-import static io.netty.buffer.Unpooled.wrappedBuffer;
-import static org.bouncycastle.pqc.math.linearalgebra.ByteUtils.xor;
 
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
@@ -22,17 +20,17 @@ import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.security.GeneralSecurityException;
 import java.util.Arrays;
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
-import org.bouncycastle.crypto.BlockCipher;
-import org.bouncycastle.crypto.StreamCipher;
-import org.bouncycastle.crypto.engines.AESEngine;
-import org.bouncycastle.crypto.modes.SICBlockCipher;
-import org.bouncycastle.crypto.params.KeyParameter;
-import org.bouncycastle.crypto.params.ParametersWithIV;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 
 /**
  * This component is responsible for reading and composing RLPx protocol frames, conformant to the
@@ -45,6 +43,12 @@ import org.bouncycastle.crypto.params.ParametersWithIV;
  * fragmented frames, as well as streams of multiple messages within the same incoming buffer, as
  * long as the order of incoming bytes matches the underlying TCP sequence.
  *
+ * <p>Encryption and MACs use the JDK's AES implementation, which is backed by the CPU's AES
+ * instructions where available. Ciphers are always applied from one buffer to another, as
+ * processing in place makes the JDK copy its input, and intermediate buffers are taken from the
+ * allocator of the buffer being read or written. When compression is enabled, messages are
+ * compressed straight into the plaintext frame and decompressed straight out of the decrypted one.
+ *
  * @see <a href="https://github.com/ethereum/devp2p/blob/master/rlpx.md#framing">RLPx framing</a>
  */
 public class Framer {
@@ -68,13 +72,18 @@ public class Framer {
 
   private final HandshakeSecrets secrets;
   private static final SnappyCompressor compressor = new SnappyCompressor();
-  private final StreamCipher encryptor;
-  private final StreamCipher decryptor;
-  private final BlockCipher macEncryptor;
+  private final Cipher encryptor;
+  private final Cipher decryptor;
+  private final Cipher macEncryptor;
   private boolean headerProcessed;
   private int frameSize;
   private boolean compressionEnabled = false;
 
+  // Scratch space for headers and MAC seeds, reused across frames.
+  private final byte[] header = new byte[LENGTH_FULL_HEADER];
+  private final byte[] headerData = new byte[LENGTH_HEADER_DATA];
+  private final byte[] macSeed = new byte[LENGTH_MAC];
+
   /**
    * Creates a new framer out of the handshake secrets derived during the cryptographic handshake.
    *
@@ -83,17 +92,21 @@ public class Framer {
   public Framer(final HandshakeSecrets secrets) {
     this.secrets = secrets;
 
-    final KeyParameter aesKey = new KeyParameter(secrets.getAesSecret());
-    final KeyParameter macKey = new KeyParameter(secrets.getMacSecret());
+    final SecretKeySpec aesKey = new SecretKeySpec(secrets.getAesSecret(), "AES");
+    final SecretKeySpec macKey = new SecretKeySpec(secrets.getMacSecret(), "AES");
 
-    encryptor = new SICBlockCipher(new AESEngine());
-    encryptor.init(true, new ParametersWithIV(aesKey, IV));
+    try {
+      encryptor = Cipher.getInstance("AES/CTR/NoPadding");
+      encryptor.init(Cipher.ENCRYPT_MODE, aesKey, new IvParameterSpec(IV));
 
-    decryptor = new SICBlockCipher(new AESEngine());
-    decryptor.init(false, new ParametersWithIV(aesKey, IV));
+      decryptor = Cipher.getInstance("AES/CTR/NoPadding");
+      decryptor.init(Cipher.DECRYPT_MODE, aesKey, new IvParameterSpec(IV));
 
-    macEncryptor = new AESEngine();
-    macEncryptor.init(true, macKey);
+      macEncryptor = Cipher.getInstance("AES/ECB/NoPadding");
+      macEncryptor.init(Cipher.ENCRYPT_MODE, macKey);
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException("AES ciphers are not available", e);
+    }
   }
 
   public void enableCompression() {
@@ -172,51 +185,39 @@ public class Framer {
           "Expected %s bytes in header, got %s",
           LENGTH_FULL_HEADER, encryptedHeader.readableBytes());
     }
-
-    // Decrypt the header.
-    final byte[] hCipher = new byte[LENGTH_HEADER_DATA];
-    final byte[] hMac = new byte[LENGTH_MAC];
-    encryptedHeader.readBytes(hCipher).readBytes(hMac);
+    encryptedHeader.readBytes(header);
 
     // Header MAC validation.
-    byte[] expectedMac = new byte[16];
-    macEncryptor.processBlock(secrets.getIngressMac(), 0, expectedMac, 0);
-    expectedMac = secrets.updateIngress(xor(expectedMac, hCipher)).getIngressMac();
-    expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
-
-    validateMac(hMac, expectedMac);
+    updateMac(secrets.getIngressMac(), header, 0);
+    validateMac(header, LENGTH_HEADER_DATA, secrets.updateIngress(macSeed).getIngressMac());
 
     // Perform the header decryption.
-    decryptor.processBytes(hCipher, 0, hCipher.length, hCipher, 0);
-    final ByteBuf h = wrappedBuffer(hCipher);
+    crypt(decryptor, header, 0, LENGTH_HEADER_DATA, headerData, 0);
 
     // Read the frame length.
-    final byte[] length = new byte[3];
-    h.readBytes(length);
-    int frameSize = length[0] & 0xff;
-    frameSize = (frameSize << 8) + (length[1] & 0xff);
-    frameSize = (frameSize << 8) + (length[2] & 0xff);
+    int frameSize = headerData[0] & 0xff;
+    frameSize = (frameSize << 8) + (headerData[1] & 0xff);
+    frameSize = (frameSize << 8) + (headerData[2] & 0xff);
 
     // Discard the header data (RLP): being set to fixed value 0xc28080 (list of two null
     // elements) by other clients.
-    final int headerDataLength = RLP.calculateSize(BytesValue.wrapBuffer(h.nioBuffer()));
-    if (h.readableBytes() < headerDataLength) {
+    final int remaining = LENGTH_HEADER_DATA - LENGTH_FRAME_SIZE;
+    final int headerDataLength =
+        RLP.calculateSize(BytesValue.wrap(headerData, LENGTH_FRAME_SIZE, remaining));
+    if (remaining < headerDataLength) {
       throw error(
           "Expected at least %d readable bytes while processing header, remaining: %s",
-          headerDataLength, h.readableBytes());
+          headerDataLength, remaining);
     }
-    h.skipBytes(headerDataLength);
 
     // Discard padding in header (= zero-fill to 16-byte boundary).
-    h.skipBytes(padding16(LENGTH_FRAME_SIZE + headerDataLength));
-
-    if (h.readableBytes() != 0) {
+    final int padding = padding16(LENGTH_FRAME_SIZE + headerDataLength);
+    if (remaining - headerDataLength - padding != 0) {
       throw error(
           "Expected no more readable bytes while processing header, remaining: %s",
-          h.readableBytes());
+          remaining - headerDataLength - padding);
     }
 
-    h.discardReadBytes();
     return frameSize;
   }
 
@@ -236,50 +237,59 @@ public class Framer {
       throw error("Expected %s bytes in header, got %s", expectedSize, f.readableBytes());
     }
 
-    final byte[] frameData = new byte[frameSize + pad];
-    final byte[] fMac = new byte[LENGTH_MAC];
-    f.readBytes(frameData).readBytes(fMac);
-
-    // Validate the frame's MAC.
-    final byte[] fMacSeed = secrets.updateIngress(frameData).getIngressMac();
-    final byte[] fMacSeedEnc = new byte[16];
-    macEncryptor.processBlock(fMacSeed, 0, fMacSeedEnc, 0);
-    byte[] expectedMac = secrets.updateIngress(xor(fMacSeedEnc, fMacSeed)).getIngressMac();
-    expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
-
-    validateMac(fMac, expectedMac);
-
-    // Decrypt frame data.
-    decryptor.processBytes(frameData, 0, frameData.length, frameData, 0);
-
-    // Read the id.
-    final BytesValue idbv = RLP.decodeOne(BytesValue.of(frameData[0]));
-    final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
-
-    // Write message data to ByteBuf, decompressing as necessary
-    final BytesValue data;
-    if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
-      if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
-        throw error("Message size %s in excess of maximum length.", uncompressedLength);
+    // The MAC is computed over the ciphertext, which must be in an array for that.
+    final ByteBuf encrypted = f.hasArray() ? f : f.alloc().heapBuffer(expectedSize).writeBytes(f);
+    final int frameLength = frameSize + pad;
+    try {
+      final byte[] array = encrypted.array();
+      final int offset = encrypted.arrayOffset() + encrypted.readerIndex();
+
+      // Validate the frame's MAC.
+      final byte[] fMacSeed = secrets.updateIngress(array, offset, frameLength).getIngressMac();
+      updateMac(fMacSeed, fMacSeed, 0);
+      validateMac(array, offset + frameLength, secrets.updateIngress(macSeed).getIngressMac());
+
+      if (!compressionEnabled) {
+        // The message keeps the decrypted frame, so it gets an array of its own.
+        final byte[] frameData = new byte[frameLength];
+        crypt(decryptor, array, offset, frameLength, frameData, 0);
+        final int messageLength = frameSize - LENGTH_MESSAGE_ID;
+        return new RawMessage(readId(frameData[0]), BytesValue.wrap(frameData, 1, messageLength));
+      }
+
+      // Compressed frames only live until they are decompressed into the message's array.
+      final ByteBuf frameData = f.alloc().heapBuffer(frameLength);
+      try {
+        crypt(decryptor, array, offset, frameLength, frameData.array(), frameData.arrayOffset());
+        frameData.writerIndex(frameSize);
+        final int id = readId(frameData.readByte());
+        final int uncompressedLength = compressor.uncompressedLengthOf(frameData);
+        if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
+          throw error("Message size %s in excess of maximum length.", uncompressedLength);
+        }
+        final byte[] data = new byte[uncompressedLength];
+        compressor.decompress(frameData, Unpooled.wrappedBuffer(data).clear());
+        return new RawMessage(id, BytesValue.wrap(data));
+      } finally {
+        frameData.release();
+      }
+    } finally {
+      if (encrypted != f) {
+        encrypted.release();
       }
-      final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
-      data = BytesValue.wrap(decompressedMessageData);
-    } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = BytesValue.wrap(frameData, 1, messageLength);
     }
+  }
 
-    return new RawMessage(id, data);
+  private static int readId(final byte encodedId) {
+    final BytesValue idbv = RLP.decodeOne(BytesValue.of(encodedId));
+    return idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
   }
 
-  private void validateMac(final byte[] candidateMac, final byte[] expectedMac) {
-    if (!Arrays.equals(expectedMac, candidateMac)) {
+  private void validateMac(final byte[] candidate, final int offset, final byte[] expectedMac) {
+    if (!Arrays.equals(expectedMac, 0, LENGTH_MAC, candidate, offset, offset + LENGTH_MAC)) {
       throw error(
           "Frame MAC did not match expected MAC; expected: %s, received: %s",
-          hexDump(expectedMac), hexDump(candidateMac));
+          hexDump(expectedMac, 0, LENGTH_MAC), hexDump(candidate, offset, LENGTH_MAC));
     }
   }
 
@@ -293,59 +303,128 @@ public class Framer {
   public synchronized void frame(final MessageData message, final ByteBuf output) {
     Preconditions.checkArgument(
         message.getSize() < LENGTH_MAX_MESSAGE_FRAME, "Message size in excess of maximum length.");
-    // Compress message
-    if (compressionEnabled) {
-      // Extract data from message
-      // Compress data
-      final byte[] compressed = compressor.compress(message.getData().getArrayUnsafe());
-      // Construct new, compressed message
-      frameMessage(new RawMessage(message.getCode(), BytesValue.wrap(compressed)), output);
-    } else {
+    if (!compressionEnabled) {
       frameMessage(message, output);
+      return;
+    }
+
+    // Compress straight from the message's encoding into the frame.
+    final ByteBufAllocator alloc = output.alloc();
+    final ByteBuf uncompressed = alloc.heapBuffer(message.getSize());
+    final int maxFrameSize = LENGTH_MESSAGE_ID + compressor.maxCompressedLength(message.getSize());
+    final ByteBuf plaintext =
+        alloc.heapBuffer(LENGTH_HEADER_DATA + maxFrameSize + padding16(maxFrameSize));
+    try {
+      message.writeTo(uncompressed);
+      startFrame(message.getCode(), plaintext);
+      compressor.compress(uncompressed, plaintext);
+      finishFrame(plaintext, output);
+    } finally {
+      uncompressed.release();
+      plaintext.release();
     }
   }
 
   @VisibleForTesting
   void frameMessage(final MessageData message, final ByteBuf buf) {
     final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
-    final int pad = padding16(frameSize);
-
-    final byte id = (byte) message.getCode();
-
-    // Generate the header data.
-    final byte[] h = new byte[LENGTH_HEADER_DATA];
-    h[0] = (byte) ((frameSize >> 16) & 0xff);
-    h[1] = (byte) ((frameSize >> 8) & 0xff);
-    h[2] = (byte) (frameSize & 0xff);
-    System.arraycopy(PROTOCOL_HEADER, 0, h, LENGTH_FRAME_SIZE, PROTOCOL_HEADER.length);
-    Arrays.fill(h, LENGTH_FRAME_SIZE + PROTOCOL_HEADER.length, h.length - 1, (byte) 0x00);
-    encryptor.processBytes(h, 0, LENGTH_HEADER_DATA, h, 0);
-
-    // Generate the header MAC.
-    byte[] hMac = Arrays.copyOf(secrets.getEgressMac(), LENGTH_MAC);
-    macEncryptor.processBlock(hMac, 0, hMac, 0);
-    hMac = secrets.updateEgress(xor(h, hMac)).getEgressMac();
-    hMac = Arrays.copyOf(hMac, LENGTH_MAC);
-    buf.writeBytes(h).writeBytes(hMac);
+    final ByteBuf plaintext =
+        buf.alloc().heapBuffer(LENGTH_HEADER_DATA + frameSize + padding16(frameSize));
+    try {
+      startFrame(message.getCode(), plaintext);
+      // Messages write themselves straight into the frame.
+      message.writeTo(plaintext);
+      finishFrame(plaintext, buf);
+    } finally {
+      plaintext.release();
+    }
+  }
 
-    // Encrypt payload.
-    final byte[] f = new byte[frameSize + pad];
+  /**
+   * Writes the plaintext header data, with a placeholder frame size, and the message id to an
+   * empty heap buffer. The message data is written after these by the caller.
+   */
+  private static void startFrame(final int code, final ByteBuf plaintext) {
+    plaintext.writeMedium(0);
+    plaintext.writeBytes(PROTOCOL_HEADER);
+    plaintext.writeZero(LENGTH_HEADER_DATA - LENGTH_FRAME_SIZE - PROTOCOL_HEADER.length);
 
+    final byte id = (byte) code;
     final BytesValue bv = id == 0 ? RLP.NULL : RLP.encodeOne(BytesValue.of(id));
     assert bv.size() == 1;
-    f[0] = bv.get(0);
+    plaintext.writeByte(bv.get(0));
+  }
 
-    // Zero-padded to 16-byte boundary.
-    message.getData().copyTo(f, 0, 1);
-    encryptor.processBytes(f, 0, f.length, f, 0);
+  /**
+   * Completes the header data and padding of a frame started with {@link #startFrame(int,
+   * ByteBuf)}, then encrypts it and writes it to {@code buf} along with its MACs.
+   */
+  private void finishFrame(final ByteBuf plaintext, final ByteBuf buf) {
+    final int frameSize = plaintext.readableBytes() - LENGTH_HEADER_DATA;
+    final int pad = padding16(frameSize);
+    final int length = LENGTH_FULL_HEADER + frameSize + pad + LENGTH_MAC;
+    plaintext.setMedium(plaintext.readerIndex(), frameSize);
+    plaintext.writeZero(pad);
+
+    // Encrypt straight into the output if it is backed by an array.
+    buf.ensureWritable(length);
+    final ByteBuf encrypted = buf.hasArray() ? buf : buf.alloc().heapBuffer(length);
+    try {
+      final byte[] plain = plaintext.array();
+      final int plainOffset = plaintext.arrayOffset() + plaintext.readerIndex();
+      final byte[] array = encrypted.array();
+      final int offset = encrypted.arrayOffset() + encrypted.writerIndex();
+      final int frameOffset = offset + LENGTH_FULL_HEADER;
+      crypt(encryptor, plain, plainOffset, LENGTH_HEADER_DATA, array, offset);
+      crypt(
+          encryptor, plain, plainOffset + LENGTH_HEADER_DATA, frameSize + pad, array, frameOffset);
+
+      // Generate the header MAC.
+      updateMac(secrets.getEgressMac(), array, offset);
+      final byte[] hMac = secrets.updateEgress(macSeed).getEgressMac();
+      System.arraycopy(hMac, 0, array, offset + LENGTH_HEADER_DATA, LENGTH_MAC);
+
+      // Calculate the frame MAC.
+      final byte[] fMacSeed =
+          secrets.updateEgress(array, frameOffset, frameSize + pad).getEgressMac();
+      updateMac(fMacSeed, fMacSeed, 0);
+      final byte[] fMac = secrets.updateEgress(macSeed).getEgressMac();
+      System.arraycopy(fMac, 0, array, frameOffset + frameSize + pad, LENGTH_MAC);
+
+      encrypted.writerIndex(encrypted.writerIndex() + length);
+      if (encrypted != buf) {
+        buf.writeBytes(encrypted);
+      }
+    } finally {
+      if (encrypted != buf) {
+        encrypted.release();
+      }
+    }
+  }
 
-    // Calculate the frame MAC.
-    final byte[] fMacSeed = Arrays.copyOf(secrets.updateEgress(f).getEgressMac(), LENGTH_MAC);
-    byte[] fMac = new byte[16];
-    macEncryptor.processBlock(fMacSeed, 0, fMac, 0);
-    fMac = Arrays.copyOf(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), LENGTH_MAC);
+  /**
+   * Computes the seed of the next MAC update, that is the first 16 bytes of the current MAC
+   * encrypted with the MAC secret and XORed with 16 bytes of {@code value}, into {@link #macSeed}.
+   */
+  private void updateMac(final byte[] mac, final byte[] value, final int offset) {
+    crypt(macEncryptor, mac, 0, LENGTH_MAC, macSeed, 0);
+    for (int i = 0; i < LENGTH_MAC; i++) {
+      macSeed[i] ^= value[offset + i];
+    }
+  }
 
-    buf.writeBytes(f).writeBytes(fMac);
+  private static void crypt(
+      final Cipher cipher,
+      final byte[] input,
+      final int inputOffset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    try {
+      cipher.update(input, inputOffset, length, output, outputOffset);
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
   }
 
   private static int padding16(final int size) {
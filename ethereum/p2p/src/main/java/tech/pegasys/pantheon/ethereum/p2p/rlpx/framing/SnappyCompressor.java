@@ -12,15 +12,21 @@
  */
 package tech.pegasys.pantheon.ethereum.p2p.rlpx.framing;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.IOException;
 
+import io.netty.buffer.ByteBuf;
 import org.xerial.snappy.Snappy;
 
 /**
  * A strategy for compressing and decompressing data with the Snappy algorithm.
  *
+ * <p>The {@link ByteBuf} variants hand the buffers' backing arrays or native memory straight to the
+ * native codec, without copying the data in or out of intermediate arrays. Both buffers must be
+ * array backed, or both direct.
+ *
  * @see <a href="https://google.github.io/snappy/">Snappy algorithm</a>
  */
 public class SnappyCompressor {
@@ -51,4 +57,119 @@ public class SnappyCompressor {
       throw new FramingException("Snappy uncompressedLength failed", e);
     }
   }
+
+  /**
+   * Returns the largest size compressing {@code length} bytes can produce.
+   *
+   * @param length the number of uncompressed bytes
+   * @return the maximum compressed size
+   */
+  public int maxCompressedLength(final int length) {
+    return Snappy.maxCompressedLength(length);
+  }
+
+  /**
+   * Compresses the readable bytes of {@code uncompressed}, writing the result at the writer index
+   * of {@code compressed}. Both buffers' indices are advanced.
+   *
+   * @param uncompressed the data to compress
+   * @param compressed the buffer to write the compressed data to
+   */
+  public void compress(final ByteBuf uncompressed, final ByteBuf compressed) {
+    checkNotNull(uncompressed, "input data must not be null");
+    compressed.ensureWritable(maxCompressedLength(uncompressed.readableBytes()));
+    final int length;
+    try {
+      if (uncompressed.hasArray() && compressed.hasArray()) {
+        length =
+            Snappy.compress(
+                uncompressed.array(),
+                uncompressed.arrayOffset() + uncompressed.readerIndex(),
+                uncompressed.readableBytes(),
+                compressed.array(),
+                compressed.arrayOffset() + compressed.writerIndex());
+      } else {
+        checkDirect(uncompressed, compressed);
+        length =
+            Snappy.compress(
+                uncompressed.nioBuffer(),
+                compressed.nioBuffer(compressed.writerIndex(), compressed.writableBytes()));
+      }
+    } catch (final IOException e) {
+      throw new FramingException("Snappy compression failed", e);
+    }
+    uncompressed.skipBytes(uncompressed.readableBytes());
+    compressed.writerIndex(compressed.writerIndex() + length);
+  }
+
+  /**
+   * Decompresses the readable bytes of {@code compressed}, writing the result at the writer index
+   * of {@code uncompressed}, which is grown to fit {@link #uncompressedLengthOf(ByteBuf)} bytes.
+   * Both buffers' indices are advanced.
+   *
+   * @param compressed the data to decompress
+   * @param uncompressed the buffer to write the decompressed data to
+   * @throws IllegalArgumentException if {@code uncompressed} can't grow to fit the data
+   */
+  public void decompress(final ByteBuf compressed, final ByteBuf uncompressed) {
+    checkNotNull(compressed, "input data must not be null");
+    // The native codec writes as many bytes as the header declares, without bounds checks.
+    final int uncompressedLength = uncompressedLengthOf(compressed);
+    checkArgument(
+        uncompressed.maxWritableBytes() >= uncompressedLength,
+        "Output buffer can't hold %s uncompressed bytes",
+        uncompressedLength);
+    uncompressed.ensureWritable(uncompressedLength);
+    final int length;
+    try {
+      if (compressed.hasArray() && uncompressed.hasArray()) {
+        length =
+            Snappy.uncompress(
+                compressed.array(),
+                compressed.arrayOffset() + compressed.readerIndex(),
+                compressed.readableBytes(),
+                uncompressed.array(),
+                uncompressed.arrayOffset() + uncompressed.writerIndex());
+      } else {
+        checkDirect(compressed, uncompressed);
+        length =
+            Snappy.uncompress(
+                compressed.nioBuffer(),
+                uncompressed.nioBuffer(uncompressed.writerIndex(), uncompressed.writableBytes()));
+      }
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+    compressed.skipBytes(compressed.readableBytes());
+    uncompressed.writerIndex(uncompressed.writerIndex() + length);
+  }
+
+  /**
+   * Reads the uncompressed length from the header of the readable bytes of {@code compressed},
+   * without consuming them.
+   *
+   * @param compressed the compressed data
+   * @return the length of the data once decompressed
+   */
+  public int uncompressedLengthOf(final ByteBuf compressed) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      if (compressed.hasArray()) {
+        return Snappy.uncompressedLength(
+            compressed.array(),
+            compressed.arrayOffset() + compressed.readerIndex(),
+            compressed.readableBytes());
+      }
+      checkDirect(compressed, compressed);
+      return Snappy.uncompressedLength(compressed.nioBuffer());
+    } catch (final IOException e) {
+      throw new FramingException("Snappy uncompressedLength failed", e);
+    }
+  }
+
+  private static void checkDirect(final ByteBuf input, final ByteBuf output) {
+    checkArgument(
+        input.isDirect() && output.isDirect(),
+        "Buffers must both be array backed or both be direct");
+  }
 }
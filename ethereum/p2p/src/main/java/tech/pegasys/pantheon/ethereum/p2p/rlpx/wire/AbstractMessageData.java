@@ -12,26 +12,60 @@
  */
 package tech.pegasys.pantheon.ethereum.p2p.rlpx.wire;
 
+import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+import io.netty.buffer.ByteBuf;
 
 public abstract class AbstractMessageData implements MessageData {
 
-  protected final BytesValue data;
+  private final int size;
+  private final Supplier<BytesValue> data;
+  // Only set for messages created from an RLP output, whose encoding is written on demand.
+  private final BytesValueRLPOutput encoder;
 
   protected AbstractMessageData(final BytesValue data) {
-    this.data = data;
+    this.size = data.size();
+    this.data = () -> data;
+    this.encoder = null;
+  }
+
+  /**
+   * Creates message data from a completed RLP output without materialising its encoding. The
+   * encoding is written straight into the outbound frame by {@link #writeTo(ByteBuf)}, and is only
+   * copied to a {@link BytesValue} the first time {@link #getData()} is called.
+   *
+   * <p>The output must not be written to once passed to this constructor.
+   *
+   * @param encoder The RLP output holding the content of the message.
+   */
+  protected AbstractMessageData(final BytesValueRLPOutput encoder) {
+    this.size = encoder.encodedSize();
+    this.data = Suppliers.memoize(encoder::encoded);
+    this.encoder = encoder;
   }
 
   @Override
   public final int getSize() {
-    return data.size();
+    return size;
   }
 
   @Override
   public BytesValue getData() {
-    return data;
+    return data.get();
+  }
+
+  @Override
+  public void writeTo(final ByteBuf output) {
+    if (encoder != null) {
+      encoder.writeEncoded(output);
+    } else {
+      MessageData.super.writeTo(output);
+    }
   }
 
   @Override
@@ -43,11 +77,11 @@ public abstract class AbstractMessageData implements MessageData {
       return false;
     }
     final AbstractMessageData that = (AbstractMessageData) o;
-    return Objects.equals(data, that.data);
+    return Objects.equals(getData(), that.getData());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(data);
+    return Objects.hashCode(getData());
   }
 }
@@ -28,6 +28,7 @@ import java.util.Set;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableRangeMap;
 import com.google.common.collect.Range;
+import io.netty.buffer.ByteBuf;
 
 public class CapabilityMultiplexer {
 
@@ -107,6 +108,11 @@ public class CapabilityMultiplexer {
       public BytesValue getData() {
         return originalMessage.getData();
       }
+
+      @Override
+      public void writeTo(final ByteBuf output) {
+        originalMessage.writeTo(output);
+      }
     };
   }
 
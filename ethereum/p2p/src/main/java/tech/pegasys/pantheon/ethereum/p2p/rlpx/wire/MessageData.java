@@ -14,6 +14,8 @@ package tech.pegasys.pantheon.ethereum.p2p.rlpx.wire;
 
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import io.netty.buffer.ByteBuf;
+
 /** A P2P Network Message's Data. */
 public interface MessageData {
 
@@ -37,4 +39,14 @@ public interface MessageData {
    * @return the serialized representation of this message
    */
   BytesValue getData();
+
+  /**
+   * Writes the serialized representation of this message to the provided buffer, starting at its
+   * writer index, and advances that index by {@link #getSize()}.
+   *
+   * @param output The buffer to write the serialized representation of this message to.
+   */
+  default void writeTo(final ByteBuf output) {
+    output.writeBytes(getData().getArrayUnsafe());
+  }
 }
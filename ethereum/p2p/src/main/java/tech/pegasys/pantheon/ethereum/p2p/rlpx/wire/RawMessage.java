@@ -30,6 +30,6 @@ public final class RawMessage extends AbstractMessageData {
 
   @Override
   public String toString() {
-    return "RawMessage{" + "code=" + code + ", data=" + data + '}';
+    return "RawMessage{" + "code=" + code + ", data=" + getData() + '}';
   }
 }
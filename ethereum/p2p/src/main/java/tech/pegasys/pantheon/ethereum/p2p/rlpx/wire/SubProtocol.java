@@ -50,4 +50,16 @@ public interface SubProtocol {
    *     it is not a valid in the protocol.
    */
   String messageName(int protocolVersion, int code);
+
+  /**
+   * Returns true if messages with the given code are best-effort gossip that may be discarded when
+   * a peer is not keeping up with the messages sent to it.
+   *
+   * @param protocolVersion The version of the protocol for the message code.
+   * @param code The message code to check.
+   * @return true if the message may be dropped under backpressure
+   */
+  default boolean isDroppable(final int protocolVersion, final int code) {
+    return false;
+  }
 }
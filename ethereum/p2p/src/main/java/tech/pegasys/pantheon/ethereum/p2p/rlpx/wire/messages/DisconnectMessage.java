@@ -55,12 +55,12 @@ public final class DisconnectMessage extends AbstractMessageData {
   }
 
   public DisconnectReason getReason() {
-    return Data.readFrom(RLP.input(data)).getReason();
+    return Data.readFrom(RLP.input(getData())).getReason();
   }
 
   @Override
   public String toString() {
-    return "DisconnectMessage{" + "data=" + data + '}';
+    return "DisconnectMessage{" + "data=" + getData() + '}';
   }
 
   public static class Data {
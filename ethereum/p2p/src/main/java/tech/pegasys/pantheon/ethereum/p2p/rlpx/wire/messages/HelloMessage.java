@@ -50,11 +50,11 @@ public final class HelloMessage extends AbstractMessageData {
   }
 
   public PeerInfo getPeerInfo() {
-    return PeerInfo.readFrom(RLP.input(data));
+    return PeerInfo.readFrom(RLP.input(getData()));
   }
 
   @Override
   public String toString() {
-    return "HelloMessage{" + "data=" + data + '}';
+    return "HelloMessage{" + "data=" + getData() + '}';
   }
 }
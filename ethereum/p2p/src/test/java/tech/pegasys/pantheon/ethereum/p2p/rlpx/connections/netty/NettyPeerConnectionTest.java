@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.netty;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.pantheon.ethereum.p2p.peers.Peer;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnectionEventDispatcher;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Capability;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.CapabilityMultiplexer;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MockSubProtocol;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.PeerInfo;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.WireMessageCodes;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NettyPeerConnectionTest {
+
+  private static final Capability CAPABILITY = Capability.create("eth", 63);
+
+  private final EmbeddedChannel channel =
+      new EmbeddedChannel() {
+        @Override
+        protected SocketAddress localAddress0() {
+          return new InetSocketAddress("127.0.0.1", 30303);
+        }
+
+        @Override
+        protected SocketAddress remoteAddress0() {
+          return new InetSocketAddress("127.0.0.1", 30304);
+        }
+      };
+  private final FlushCounter flushCounter = new FlushCounter();
+  private NettyPeerConnection connection;
+
+  @Before
+  public void setUp() {
+    channel.pipeline().addLast(flushCounter);
+    final ChannelHandlerContext ctx = channel.pipeline().context(flushCounter);
+    final CapabilityMultiplexer multiplexer =
+        new CapabilityMultiplexer(
+            singletonList(MockSubProtocol.create()),
+            singletonList(CAPABILITY),
+            singletonList(CAPABILITY));
+    connection =
+        new NettyPeerConnection(
+            ctx,
+            mock(Peer.class),
+            new PeerInfo(5, "abc", singletonList(CAPABILITY), 30304, Peer.randomId()),
+            multiplexer,
+            mock(PeerConnectionEventDispatcher.class),
+            NoOpMetricsSystem.NO_OP_LABELLED_3_COUNTER,
+            NoOpMetricsSystem.NO_OP_LABELLED_3_COUNTER);
+    channel.pipeline().addLast(connection.writabilityHandler());
+  }
+
+  @Test
+  public void shouldWriteQueuedMessagesWithSingleFlush() throws PeerNotConnected {
+    connection.send(CAPABILITY, message(0x01));
+    connection.send(CAPABILITY, message(0x02));
+    connection.send(CAPABILITY, message(0x03));
+
+    channel.runPendingTasks();
+
+    assertThat(flushCounter.flushes).isEqualTo(1);
+    assertThat(readOutboundCode()).isEqualTo(0x01);
+    assertThat(readOutboundCode()).isEqualTo(0x02);
+    assertThat(readOutboundCode()).isEqualTo(0x03);
+    assertThat(connection.getOutboundQueueSize()).isZero();
+  }
+
+  @Test
+  public void shouldPauseWhileUnwritableAndResumeWhenWritable() throws PeerNotConnected {
+    setWritable(false);
+
+    connection.send(CAPABILITY, message(0x01));
+    connection.send(CAPABILITY, message(0x02));
+    channel.runPendingTasks();
+
+    assertThat((Object) channel.readOutbound()).isNull();
+    assertThat(connection.getOutboundQueueSize()).isEqualTo(2);
+
+    setWritable(true);
+
+    assertThat(readOutboundCode()).isEqualTo(0x01);
+    assertThat(readOutboundCode()).isEqualTo(0x02);
+    assertThat(connection.getOutboundQueueSize()).isZero();
+  }
+
+  @Test
+  public void shouldWriteDisconnectAheadOfQueuedMessages() throws PeerNotConnected {
+    setWritable(false);
+    connection.send(CAPABILITY, message(0x01));
+
+    connection.disconnect(DisconnectReason.REQUESTED);
+    channel.runPendingTasks();
+
+    assertThat(readDisconnectReason()).isEqualTo(DisconnectReason.REQUESTED);
+    assertThat((Object) channel.readOutbound()).isNull();
+  }
+
+  @Test
+  public void shouldDisconnectWhenOutboundQueueOverflows() throws PeerNotConnected {
+    setWritable(false);
+
+    for (int i = 0; i < NettyPeerConnection.MAX_QUEUED_MESSAGES; i++) {
+      connection.send(CAPABILITY, message(0x01));
+    }
+    assertThat(connection.isDisconnected()).isFalse();
+
+    connection.send(CAPABILITY, message(0x01));
+    channel.runPendingTasks();
+
+    assertThat(connection.isDisconnected()).isTrue();
+    assertThat(readDisconnectReason()).isEqualTo(DisconnectReason.USELESS_PEER);
+    assertThat((Object) channel.readOutbound()).isNull();
+    assertThat(connection.getOutboundQueueSize()).isZero();
+  }
+
+  private void setWritable(final boolean writable) {
+    channel.unsafe().outboundBuffer().setUserDefinedWritability(1, writable);
+    channel.runPendingTasks();
+  }
+
+  private int readOutboundCode() {
+    final OutboundMessage message = channel.readOutbound();
+    assertThat(message.getCapability()).isEqualTo(CAPABILITY);
+    return message.getData().getCode();
+  }
+
+  private DisconnectReason readDisconnectReason() {
+    final OutboundMessage message = channel.readOutbound();
+    assertThat(message.getCapability()).isNull();
+    assertThat(message.getData().getCode()).isEqualTo(WireMessageCodes.DISCONNECT);
+    return DisconnectMessage.readFrom(message.getData()).getReason();
+  }
+
+  private static RawMessage message(final int code) {
+    return new RawMessage(code, BytesValue.EMPTY);
+  }
+
+  private static class FlushCounter extends ChannelOutboundHandlerAdapter {
+    private int flushes;
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) throws Exception {
+      flushes++;
+      super.flush(ctx);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Capability;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.junit.Test;
+
+public class OutboundMessageQueueTest {
+
+  private static final Capability CAPABILITY = Capability.create("eth", 63);
+
+  private final OutboundMessageQueue queue = new OutboundMessageQueue(2, 2);
+
+  @Test
+  public void pollReturnsMessagesBeforeDroppableMessages() {
+    final OutboundMessage gossip = message(0x02);
+    final OutboundMessage first = message(0x04);
+    final OutboundMessage second = message(0x06);
+
+    queue.addDroppable(gossip);
+    queue.add(first);
+    queue.add(second);
+
+    assertThat(queue.size()).isEqualTo(3);
+    assertThat(queue.poll()).isSameAs(first);
+    assertThat(queue.poll()).isSameAs(second);
+    assertThat(queue.poll()).isSameAs(gossip);
+    assertThat(queue.poll()).isNull();
+  }
+
+  @Test
+  public void pollReturnsWireMessagesFirst() {
+    final OutboundMessage message = message(0x04);
+    final OutboundMessage wireMessage =
+        new OutboundMessage(null, new RawMessage(0x01, BytesValue.EMPTY));
+
+    queue.add(message);
+    queue.addWireMessage(wireMessage);
+
+    assertThat(queue.pollWireMessage()).isSameAs(wireMessage);
+    assertThat(queue.pollWireMessage()).isNull();
+
+    queue.addWireMessage(wireMessage);
+    assertThat(queue.poll()).isSameAs(wireMessage);
+    assertThat(queue.poll()).isSameAs(message);
+  }
+
+  @Test
+  public void wireMessagesDoNotCountTowardsMessageLimit() {
+    queue.add(message(0x04));
+    queue.add(message(0x04));
+    queue.addWireMessage(new OutboundMessage(null, new RawMessage(0x01, BytesValue.EMPTY)));
+
+    assertThat(queue.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void addRejectsMessagesWhenFull() {
+    assertThat(queue.add(message(0x04))).isTrue();
+    assertThat(queue.add(message(0x04))).isTrue();
+    assertThat(queue.add(message(0x04))).isFalse();
+    assertThat(queue.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void addDroppableDiscardsOldestWhenFull() {
+    final OutboundMessage oldest = message(0x02);
+    final OutboundMessage middle = message(0x02);
+    final OutboundMessage newest = message(0x02);
+
+    assertThat(queue.addDroppable(oldest)).isEmpty();
+    assertThat(queue.addDroppable(middle)).isEmpty();
+    assertThat(queue.addDroppable(newest)).contains(oldest);
+
+    assertThat(queue.poll()).isSameAs(middle);
+    assertThat(queue.poll()).isSameAs(newest);
+  }
+
+  @Test
+  public void droppableMessagesDoNotCountTowardsMessageLimit() {
+    queue.addDroppable(message(0x02));
+    queue.addDroppable(message(0x02));
+
+    assertThat(queue.add(message(0x04))).isTrue();
+    assertThat(queue.add(message(0x04))).isTrue();
+  }
+
+  @Test
+  public void clearEmptiesQueue() {
+    queue.add(message(0x04));
+    queue.addDroppable(message(0x02));
+
+    queue.clear();
+
+    assertThat(queue.size()).isEqualTo(0);
+    assertThat(queue.poll()).isNull();
+  }
+
+  private static OutboundMessage message(final int code) {
+    return new OutboundMessage(CAPABILITY, new RawMessage(code, BytesValue.EMPTY));
+  }
+}
@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.p2p.rlpx.framing;
 
 import static io.netty.buffer.ByteBufUtil.decodeHexDump;
+import static io.netty.buffer.ByteBufUtil.hexDump;
 import static io.netty.buffer.Unpooled.buffer;
 import static io.netty.buffer.Unpooled.wrappedBuffer;
 import static java.util.stream.Collectors.toList;
@@ -215,6 +216,34 @@ public class FramerTest {
     }
   }
 
+  @Test
+  public void frameAndDeframeDirectBuffers() throws IOException {
+    final JsonNode td = MAPPER.readTree(FramerTest.class.getResource("/peer1.json"));
+    final Framer sendingFramer = new Framer(secretsFrom(td, true));
+    final Framer heapFramer = new Framer(secretsFrom(td, true));
+    final Framer receivingFramer = new Framer(secretsFrom(td, false));
+
+    final byte[] payload = new byte[3000];
+    new Random(1).nextBytes(payload);
+    final MessageData message = new RawMessage(0x10, BytesValue.wrap(payload));
+
+    final ByteBuf direct = Unpooled.directBuffer(16);
+    final ByteBuf heap = Unpooled.buffer();
+    try {
+      sendingFramer.frame(message, direct);
+      heapFramer.frame(message, heap);
+      assertThat(hexDump(direct)).isEqualTo(hexDump(heap));
+
+      final MessageData received = receivingFramer.deframe(direct);
+      assertThat(received.getCode()).isEqualTo(0x10);
+      assertThat(received.getData()).isEqualTo(BytesValue.wrap(payload));
+      assertThat(direct.readableBytes()).isEqualTo(0);
+    } finally {
+      direct.release();
+      heap.release();
+    }
+  }
+
   @Test
   public void shouldThrowFramingExceptionWhenMessageIsNotCompressedButShouldBe() {
     final HandshakeSecrets secrets =
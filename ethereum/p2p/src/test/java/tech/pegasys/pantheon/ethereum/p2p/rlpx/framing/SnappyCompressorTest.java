@@ -20,6 +20,8 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.nio.charset.StandardCharsets;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.Test;
 
 public class SnappyCompressorTest {
@@ -34,6 +36,79 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(data))).isEqualTo(data);
   }
 
+  @Test
+  public void roundTripHeapByteBufs() {
+    assertByteBufRoundTrip(Unpooled.buffer(), Unpooled.buffer(), Unpooled.buffer());
+  }
+
+  @Test
+  public void roundTripDirectByteBufs() {
+    assertByteBufRoundTrip(
+        Unpooled.directBuffer(), Unpooled.directBuffer(), Unpooled.directBuffer());
+  }
+
+  @Test
+  public void compressByteBufMatchesByteArray() {
+    final byte[] data = sampleData();
+    final ByteBuf compressed = Unpooled.buffer();
+    compressed.writeByte(0x01);
+    compressed.readerIndex(1);
+
+    snappy.compress(Unpooled.wrappedBuffer(data), compressed);
+
+    final byte[] result = new byte[compressed.readableBytes()];
+    compressed.readBytes(result);
+    assertThat(result).isEqualTo(snappy.compress(data));
+  }
+
+  @Test
+  public void uncompressedLengthDoesNotConsumeByteBuf() {
+    final byte[] data = sampleData();
+    final ByteBuf compressed = Unpooled.wrappedBuffer(snappy.compress(data));
+    final int readable = compressed.readableBytes();
+
+    assertThat(snappy.uncompressedLengthOf(compressed)).isEqualTo(data.length);
+    assertThat(compressed.readableBytes()).isEqualTo(readable);
+  }
+
+  @Test
+  public void compressRejectsMixedByteBufs() {
+    assertThatThrownBy(
+            () -> snappy.compress(Unpooled.directBuffer().writeByte(1), Unpooled.buffer()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void decompressGrowsUndersizedByteBuf() {
+    final byte[] data = sampleData();
+    final ByteBuf decompressed = Unpooled.buffer(1);
+
+    snappy.decompress(Unpooled.wrappedBuffer(snappy.compress(data)), decompressed);
+
+    final byte[] result = new byte[decompressed.readableBytes()];
+    decompressed.readBytes(result);
+    assertThat(result).isEqualTo(data);
+  }
+
+  @Test
+  public void decompressRejectsByteBufTooSmallForPayload() {
+    final byte[] data = sampleData();
+    final ByteBuf compressed = Unpooled.wrappedBuffer(snappy.compress(data));
+    final ByteBuf decompressed = Unpooled.wrappedBuffer(new byte[data.length - 1]).clear();
+
+    assertThatThrownBy(() -> snappy.decompress(compressed, decompressed))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(decompressed.writerIndex()).isEqualTo(0);
+  }
+
+  @Test
+  public void decompressInvalidByteBuf() {
+    final ByteBuf compressed =
+        Unpooled.wrappedBuffer(BytesValue.fromHexString("0xFFFFFF01").extractArray());
+    assertThatThrownBy(() -> snappy.decompress(compressed, Unpooled.buffer(1)))
+        .isInstanceOf(FramingException.class);
+  }
+
   @Test
   public void roundTripEmptyByteArray() {
     final byte[] data = new byte[0];
@@ -120,4 +195,27 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(decompressed))).isEqualTo(decompressed);
     assertThat(snappy.compress(snappy.decompress(compressed))).isEqualTo(compressed);
   }
+
+  private void assertByteBufRoundTrip(
+      final ByteBuf uncompressed, final ByteBuf compressed, final ByteBuf decompressed) {
+    final byte[] data = sampleData();
+    uncompressed.writeBytes(data);
+
+    snappy.compress(uncompressed, compressed);
+    assertThat(uncompressed.readableBytes()).isEqualTo(0);
+
+    decompressed.ensureWritable(snappy.uncompressedLengthOf(compressed));
+    snappy.decompress(compressed, decompressed);
+    assertThat(compressed.readableBytes()).isEqualTo(0);
+
+    final byte[] result = new byte[decompressed.readableBytes()];
+    decompressed.readBytes(result);
+    assertThat(result).isEqualTo(data);
+  }
+
+  private static byte[] sampleData() {
+    String input = "Uncompressed sample text for round-trip compression/decompression";
+    input = input + input + input + input;
+    return input.getBytes(StandardCharsets.UTF_8);
+  }
 }
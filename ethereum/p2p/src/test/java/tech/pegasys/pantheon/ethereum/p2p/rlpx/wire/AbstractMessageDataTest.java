@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.rlpx.wire;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+public class AbstractMessageDataTest {
+
+  private static final BytesValue ENCODED = BytesValue.fromHexString("0xc88301020383040506");
+
+  private static BytesValueRLPOutput encoder() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeBytesValue(BytesValue.fromHexString("0x010203"));
+    out.writeBytesValue(BytesValue.fromHexString("0x040506"));
+    out.endList();
+    return out;
+  }
+
+  @Test
+  public void messageFromEncoderMatchesMessageFromData() {
+    final MessageData fromEncoder = new TestMessageData(encoder());
+    final MessageData fromData = new TestMessageData(ENCODED);
+
+    assertThat(fromEncoder.getSize()).isEqualTo(ENCODED.size());
+    assertThat(fromEncoder.getData()).isEqualTo(ENCODED);
+    assertThat(fromEncoder).isEqualTo(fromData);
+    assertThat(fromEncoder.hashCode()).isEqualTo(fromData.hashCode());
+  }
+
+  @Test
+  public void messageFromEncoderMaterializesDataOnce() {
+    final MessageData message = new TestMessageData(encoder());
+
+    assertThat(message.getData()).isSameAs(message.getData());
+  }
+
+  @Test
+  public void writeToAppendsEncodingAtWriterIndex() {
+    for (final MessageData message :
+        new MessageData[] {new TestMessageData(encoder()), new TestMessageData(ENCODED)}) {
+      final ByteBuf buffer = Unpooled.buffer(1);
+      buffer.writeByte(0xff);
+      message.writeTo(buffer);
+
+      assertThat(buffer.writerIndex()).isEqualTo(ENCODED.size() + 1);
+      assertThat(MutableBytesValue.wrapBuffer(buffer, 1, ENCODED.size())).isEqualTo(ENCODED);
+    }
+  }
+
+  private static class TestMessageData extends AbstractMessageData {
+
+    private TestMessageData(final BytesValue data) {
+      super(data);
+    }
+
+    private TestMessageData(final BytesValueRLPOutput encoder) {
+      super(encoder);
+    }
+
+    @Override
+    public int getCode() {
+      return 0x10;
+    }
+  }
+}
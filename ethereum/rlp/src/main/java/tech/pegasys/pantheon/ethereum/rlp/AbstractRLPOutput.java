@@ -26,6 +26,8 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 
+import io.netty.buffer.ByteBuf;
+
 abstract class AbstractRLPOutput implements RLPOutput {
   /*
    * The algorithm implemented works as follows:
@@ -140,6 +142,31 @@ abstract class AbstractRLPOutput implements RLPOutput {
     checkState(stackSize == 1, "A list has been entered (startList()) but not left (endList())");
     return payloadSizes[0];
   }
+
+  /**
+   * Write the rlp encoded value to the provided {@link ByteBuf}, starting at its writer index.
+   *
+   * <p>The buffer is expanded if necessary, and its writer index is advanced by {@link
+   * #encodedSize()}. No intermediate copy of the encoded value is made.
+   *
+   * @param output the buffer to which the rlp-data will be written
+   */
+  public void writeEncoded(final ByteBuf output) {
+    final int size = encodedSize();
+    if (size == 0) {
+      return;
+    }
+
+    output.ensureWritable(size);
+    final int index = output.writerIndex();
+    output.writerIndex(index + size);
+    if (output.hasArray()) {
+      writeEncoded(MutableBytesValue.wrap(output.array(), output.arrayOffset() + index, size));
+    } else {
+      writeEncoded(MutableBytesValue.wrapBuffer(output, index, size));
+    }
+  }
+
   /**
    * Write the rlp encoded value to the provided {@link MutableBytesValue}
    *
@@ -14,8 +14,12 @@ package tech.pegasys.pantheon.ethereum.rlp;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import tech.pegasys.pantheon.ethereum.rlp.util.RLPTestUtil;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.Test;
 
 public class BytesValueRLPOutputTest {
@@ -315,4 +319,29 @@ public class BytesValueRLPOutputTest {
     // so 0xc0 + size then payloads
     assertThat(out.encoded()).isEqualTo(h("0xc52cc203123b"));
   }
+
+  @Test
+  public void writeEncodedToByteBufAppendsAtWriterIndex() {
+    for (int seed = 0; seed < 20; seed++) {
+      final BytesValueRLPOutput out = RLPTestUtil.randomRLPValue(seed);
+      final BytesValue expected = out.encoded();
+
+      for (final ByteBuf buffer : new ByteBuf[] {Unpooled.buffer(1), Unpooled.directBuffer(1)}) {
+        buffer.writeByte(0xff);
+        out.writeEncoded(buffer);
+
+        assertThat(buffer.writerIndex()).isEqualTo(expected.size() + 1);
+        assertThat(buffer.getByte(0)).isEqualTo((byte) 0xff);
+        assertThat(MutableBytesValue.wrapBuffer(buffer, 1, expected.size())).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  public void writeEmptyEncodedToByteBuf() {
+    final ByteBuf buffer = Unpooled.buffer();
+    new BytesValueRLPOutput().writeEncoded(buffer);
+
+    assertThat(buffer.writerIndex()).isEqualTo(0);
+  }
 }
@@ -20,6 +20,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /** An Merkle Patricial Trie. */
 public interface MerklePatriciaTrie<K, V> {
@@ -58,6 +59,14 @@ public interface MerklePatriciaTrie<K, V> {
    */
   Bytes32 getRootHash();
 
+  /**
+   * Returns the KECCAK256 hash of the root node of the trie, hashing the subtrees below the
+   * topmost branch concurrently. Only worth it for large tries with many pending changes.
+   *
+   * @return The KECCAK256 hash of the root node of the trie.
+   */
+  Bytes32 getRootHashInParallel();
+
   /**
    * Commits any pending changes to the underlying storage.
    *
@@ -74,4 +83,11 @@ public interface MerklePatriciaTrie<K, V> {
    * @return the requested storage entries as a map of key hash to value.
    */
   Map<Bytes32, V> entriesFrom(Bytes32 startKeyHash, int limit);
+
+  /**
+   * Visits every node of the trie, loading the stored ones as they are reached.
+   *
+   * @param visitor the handler called for each node
+   */
+  void visitAll(Consumer<Node<V>> visitor);
 }
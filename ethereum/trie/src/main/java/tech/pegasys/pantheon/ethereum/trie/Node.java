@@ -56,4 +56,7 @@ public interface Node<V> {
   boolean isDirty();
 
   String print();
+
+  /** Releases any children loaded from storage so they can be garbage collected. */
+  default void unload() {}
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.trie;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+
+/** Hashes the independent subtrees below the topmost branch of a trie concurrently. */
+final class ParallelRootHasher {
+
+  private ParallelRootHasher() {}
+
+  static <V> Bytes32 hash(final Node<V> root) {
+    Node<V> node = root;
+    // Extensions only have one child so the work can only be split at the first branch.
+    while (node instanceof ExtensionNode) {
+      node = ((ExtensionNode<V>) node).getChild();
+    }
+    if (node instanceof BranchNode) {
+      // Hashes are cached on each node, so the root hash below only combines the children.
+      node.getChildren().parallelStream().forEach(Node::getHash);
+    }
+    return root.getHash();
+  }
+}
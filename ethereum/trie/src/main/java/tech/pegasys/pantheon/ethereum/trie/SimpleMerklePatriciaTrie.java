@@ -20,6 +20,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -63,11 +64,21 @@ public class SimpleMerklePatriciaTrie<K extends BytesValue, V> implements Merkle
     this.root = root.accept(removeVisitor, bytesToPath(key));
   }
 
+  @Override
+  public void visitAll(final Consumer<Node<V>> visitor) {
+    root.accept(new AllNodesVisitor<>(visitor));
+  }
+
   @Override
   public Bytes32 getRootHash() {
     return root.getHash();
   }
 
+  @Override
+  public Bytes32 getRootHashInParallel() {
+    return ParallelRootHasher.hash(root);
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName() + "[" + getRootHash() + "]";
@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
 
 import java.nio.charset.Charset;
 import java.util.Optional;
@@ -55,6 +56,25 @@ public class StoredMerklePatriciaTrieTest {
         .isEqualTo("0x56e81f171bcc55a6ff8345e692c0f86e5b48e01b996cadc001622fb5e363b421");
   }
 
+  @Test
+  public void parallelRootHashMatchesSequentialRootHash() {
+    final StoredMerklePatriciaTrie<BytesValue, String> otherTrie =
+        new StoredMerklePatriciaTrie<>(merkleStorage::get, valueSerializer, valueDeserializer);
+    for (int i = 0; i < 1000; i++) {
+      final BytesValue key = BytesValues.ofUnsignedInt((i * 2654435761L) & 0xFFFFFFFFL);
+      trie.put(key, "value" + i);
+      otherTrie.put(key, "value" + i);
+    }
+    trie.commit(merkleStorage::put);
+    for (int i = 0; i < 100; i++) {
+      final BytesValue key = BytesValues.ofUnsignedInt((i * 2654435761L) & 0xFFFFFFFFL);
+      trie.put(key, "updated" + i);
+      otherTrie.put(key, "updated" + i);
+    }
+
+    assertThat(trie.getRootHashInParallel()).isEqualTo(otherTrie.getRootHash());
+  }
+
   @Test(expected = NullPointerException.class)
   public void throwsOnUpdateWithNull() {
     trie.put(BytesValue.EMPTY, null);
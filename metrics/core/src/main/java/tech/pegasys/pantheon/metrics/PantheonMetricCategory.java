@@ -29,7 +29,8 @@ public enum PantheonMetricCategory implements MetricCategory {
   KVSTORE_ROCKSDB_STATS("rocksdb", false),
   RPC("rpc"),
   SYNCHRONIZER("synchronizer"),
-  TRANSACTION_POOL("transaction_pool");
+  TRANSACTION_POOL("transaction_pool"),
+  WORLD_STATE("world_state");
 
   private static final Optional<String> PANTHEON_PREFIX = Optional.of("pantheon_");
   public static final Set<MetricCategory> DEFAULT_METRIC_CATEGORIES;
@@ -40,9 +40,13 @@ import tech.pegasys.pantheon.cli.custom.CorsAllowedOriginsProperty;
 import tech.pegasys.pantheon.cli.custom.JsonRPCWhitelistHostsProperty;
 import tech.pegasys.pantheon.cli.custom.RpcAuthFileValidator;
 import tech.pegasys.pantheon.cli.error.PantheonExceptionHandler;
+import tech.pegasys.pantheon.cli.options.AncientStoreOptions;
 import tech.pegasys.pantheon.cli.options.EthProtocolOptions;
+import tech.pegasys.pantheon.cli.options.NativeLibraryOptions;
 import tech.pegasys.pantheon.cli.options.NetworkingOptions;
+import tech.pegasys.pantheon.cli.options.PruningOptions;
 import tech.pegasys.pantheon.cli.options.RocksDBOptions;
+import tech.pegasys.pantheon.cli.options.SpeculativeExecutionOptions;
 import tech.pegasys.pantheon.cli.options.SynchronizerOptions;
 import tech.pegasys.pantheon.cli.options.TransactionPoolOptions;
 import tech.pegasys.pantheon.cli.subcommands.PasswordSubCommand;
@@ -56,6 +60,7 @@ import tech.pegasys.pantheon.cli.util.VersionProvider;
 import tech.pegasys.pantheon.config.GenesisConfigFile;
 import tech.pegasys.pantheon.controller.KeyPairUtil;
 import tech.pegasys.pantheon.controller.PantheonController;
+import tech.pegasys.pantheon.crypto.SECP256K1;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.MiningParameters;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
@@ -161,6 +166,11 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   final EthProtocolOptions ethProtocolOptions = EthProtocolOptions.create();
   final RocksDBOptions rocksDBOptions = RocksDBOptions.create();
   final TransactionPoolOptions transactionPoolOptions = TransactionPoolOptions.create();
+  final PruningOptions pruningOptions = PruningOptions.create();
+  final AncientStoreOptions ancientStoreOptions = AncientStoreOptions.create();
+  final SpeculativeExecutionOptions speculativeExecutionOptions =
+      SpeculativeExecutionOptions.create();
+  final NativeLibraryOptions nativeLibraryOptions = NativeLibraryOptions.create();
   private final RunnerBuilder runnerBuilder;
   private final PantheonController.Builder controllerBuilderFactory;
   private final PantheonPluginContextImpl pantheonPluginContext;
@@ -715,17 +725,17 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     // Add unstable options
     UnstableOptionsSubCommand.createUnstableOptions(
         commandLine,
-        ImmutableMap.of(
-            "P2P Network",
-            networkingOptions,
-            "Synchronizer",
-            synchronizerOptions,
-            "RocksDB",
-            rocksDBOptions,
-            "Ethereum Wire Protocol",
-            ethProtocolOptions,
-            "TransactionPool",
-            transactionPoolOptions));
+        ImmutableMap.<String, Object>builder()
+            .put("P2P Network", networkingOptions)
+            .put("Synchronizer", synchronizerOptions)
+            .put("RocksDB", rocksDBOptions)
+            .put("Ethereum Wire Protocol", ethProtocolOptions)
+            .put("TransactionPool", transactionPoolOptions)
+            .put("Pruning", pruningOptions)
+            .put("Ancient Store", ancientStoreOptions)
+            .put("Speculative Execution", speculativeExecutionOptions)
+            .put("Native Libraries", nativeLibraryOptions)
+            .build());
     return this;
   }
 
@@ -823,6 +833,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   }
 
   private PantheonCommand configure() throws Exception {
+    configureNativeLibraries();
     ethNetworkConfig = updateNetworkConfig(getNetwork());
     jsonRpcConfiguration = jsonRpcConfiguration();
     graphQLConfiguration = graphQLConfiguration();
@@ -847,6 +858,12 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     return this;
   }
 
+  private void configureNativeLibraries() {
+    if (nativeLibraryOptions.isSecp256k1NativeEnabled() && !SECP256K1.enableNative()) {
+      logger.warn("Native secp256k1 library couldn't be loaded, using Bouncy Castle instead");
+    }
+  }
+
   private NetworkName getNetwork() {
     // noinspection ConstantConditions network is not always null but injected by
     // PicoCLI if used
@@ -885,6 +902,10 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           .privacyParameters(privacyParameters())
           .clock(Clock.systemUTC())
           .isRevertReasonEnabled(isRevertReasonEnabled)
+          .isPruningEnabled(pruningOptions.isPruningEnabled())
+          .pruningConfiguration(pruningOptions.toDomainObject())
+          .ancientStoreConfiguration(ancientStoreOptions.toDomainObject())
+          .speculativeExecutionConfiguration(speculativeExecutionOptions.toDomainObject())
           .build();
     } catch (final InvalidConfigurationException e) {
       throw new ExecutionException(this.commandLine, e.getMessage());
@@ -1120,6 +1141,10 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
 
     final PrivacyParameters.Builder privacyParametersBuilder = new PrivacyParameters.Builder();
     if (isPrivacyEnabled) {
+      if (speculativeExecutionOptions.isSpeculativeExecutionEnabled()) {
+        throw new ParameterException(
+            commandLine, "Speculative transaction execution can't be used with privacy");
+      }
       privacyParametersBuilder.setEnabled(true);
       privacyParametersBuilder.setEnclaveUrl(privacyUrl);
       if (privacyPublicKeyFile() != null) {
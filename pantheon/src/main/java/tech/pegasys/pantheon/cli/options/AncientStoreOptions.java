@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.cli.options;
+
+import tech.pegasys.pantheon.ethereum.storage.ancient.AncientStoreConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import picocli.CommandLine;
+
+public class AncientStoreOptions implements CLIOptions<AncientStoreConfiguration> {
+  private static final String ANCIENT_STORE_ENABLED_FLAG = "--Xancient-store-enabled";
+  private static final String BLOCK_DEPTH_FLAG = "--Xancient-store-block-depth";
+
+  @CommandLine.Option(
+      names = {ANCIENT_STORE_ENABLED_FLAG},
+      hidden = true,
+      defaultValue = "false",
+      paramLabel = "<BOOLEAN>",
+      arity = "1",
+      description =
+          "Move the bodies and receipts of old blocks out of RocksDB into append-only files (default: ${DEFAULT-VALUE})")
+  boolean ancientStoreEnabled;
+
+  @CommandLine.Option(
+      names = {BLOCK_DEPTH_FLAG},
+      hidden = true,
+      defaultValue = "90000",
+      paramLabel = "<LONG>",
+      description =
+          "Number of blocks behind the chain head a block must be before it is moved to the ancient store (default: ${DEFAULT-VALUE})")
+  long blockDepth;
+
+  private AncientStoreOptions() {}
+
+  public static AncientStoreOptions create() {
+    return new AncientStoreOptions();
+  }
+
+  public static AncientStoreOptions fromConfig(final AncientStoreConfiguration config) {
+    final AncientStoreOptions options = create();
+    options.ancientStoreEnabled = config.isEnabled();
+    options.blockDepth = config.getBlockDepth();
+    return options;
+  }
+
+  @Override
+  public AncientStoreConfiguration toDomainObject() {
+    return new AncientStoreConfiguration(ancientStoreEnabled, blockDepth);
+  }
+
+  @Override
+  public List<String> getCLIOptions() {
+    return Arrays.asList(
+        ANCIENT_STORE_ENABLED_FLAG,
+        Boolean.toString(ancientStoreEnabled),
+        BLOCK_DEPTH_FLAG,
+        OptionParser.format(blockDepth));
+  }
+}
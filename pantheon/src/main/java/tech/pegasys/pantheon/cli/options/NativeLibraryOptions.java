@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.cli.options;
+
+import picocli.CommandLine;
+
+public class NativeLibraryOptions {
+  private static final String SECP256K1_NATIVE_ENABLED_FLAG = "--Xsecp256k1-native-enabled";
+
+  @CommandLine.Option(
+      names = {SECP256K1_NATIVE_ENABLED_FLAG},
+      hidden = true,
+      defaultValue = "false",
+      paramLabel = "<BOOLEAN>",
+      arity = "1",
+      description =
+          "Use the bundled native libsecp256k1 library for signatures instead of Bouncy Castle (default: ${DEFAULT-VALUE})")
+  boolean secp256k1NativeEnabled;
+
+  private NativeLibraryOptions() {}
+
+  public static NativeLibraryOptions create() {
+    return new NativeLibraryOptions();
+  }
+
+  public boolean isSecp256k1NativeEnabled() {
+    return secp256k1NativeEnabled;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.cli.options;
+
+import tech.pegasys.pantheon.ethereum.worldstate.PrunerConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import picocli.CommandLine;
+
+public class PruningOptions implements CLIOptions<PrunerConfiguration> {
+  private static final String PRUNING_ENABLED_FLAG = "--Xpruning-enabled";
+  private static final String BLOCKS_RETAINED_FLAG = "--Xpruning-blocks-retained";
+  private static final String BLOCK_CONFIRMATIONS_FLAG = "--Xpruning-block-confirmations";
+  private static final String SWEEP_BATCH_PAUSE_FLAG = "--Xpruning-sweep-batch-pause-millis";
+
+  @CommandLine.Option(
+      names = {PRUNING_ENABLED_FLAG},
+      hidden = true,
+      defaultValue = "false",
+      paramLabel = "<BOOLEAN>",
+      arity = "1",
+      description =
+          "Remove world state that is older than the retained blocks, requires --Xrocksdb-use-columns (default: ${DEFAULT-VALUE})")
+  boolean pruningEnabled;
+
+  @CommandLine.Option(
+      names = {BLOCKS_RETAINED_FLAG},
+      hidden = true,
+      defaultValue = "1024",
+      paramLabel = "<LONG>",
+      description =
+          "Minimum number of recent blocks for which to keep the full world state (default: ${DEFAULT-VALUE})")
+  long blocksRetained;
+
+  @CommandLine.Option(
+      names = {BLOCK_CONFIRMATIONS_FLAG},
+      hidden = true,
+      defaultValue = "10",
+      paramLabel = "<INTEGER>",
+      description =
+          "Number of confirmations a block needs before its state is marked for pruning (default: ${DEFAULT-VALUE})")
+  int blockConfirmations;
+
+  @CommandLine.Option(
+      names = {SWEEP_BATCH_PAUSE_FLAG},
+      hidden = true,
+      defaultValue = "10",
+      paramLabel = "<LONG>",
+      description =
+          "Milliseconds to pause between batches of removed nodes so sweeping doesn't starve block import of disk bandwidth (default: ${DEFAULT-VALUE})")
+  long sweepBatchPauseMillis;
+
+  private PruningOptions() {}
+
+  public static PruningOptions create() {
+    return new PruningOptions();
+  }
+
+  public static PruningOptions fromConfig(final PrunerConfiguration config) {
+    final PruningOptions options = create();
+    options.blocksRetained = config.getBlocksRetained();
+    options.blockConfirmations = config.getBlockConfirmations();
+    options.sweepBatchPauseMillis = config.getSweepBatchPauseMillis();
+    return options;
+  }
+
+  public boolean isPruningEnabled() {
+    return pruningEnabled;
+  }
+
+  @Override
+  public PrunerConfiguration toDomainObject() {
+    return new PrunerConfiguration(blockConfirmations, blocksRetained, sweepBatchPauseMillis);
+  }
+
+  @Override
+  public List<String> getCLIOptions() {
+    return Arrays.asList(
+        PRUNING_ENABLED_FLAG,
+        Boolean.toString(pruningEnabled),
+        BLOCKS_RETAINED_FLAG,
+        OptionParser.format(blocksRetained),
+        BLOCK_CONFIRMATIONS_FLAG,
+        OptionParser.format(blockConfirmations),
+        SWEEP_BATCH_PAUSE_FLAG,
+        OptionParser.format(sweepBatchPauseMillis));
+  }
+}
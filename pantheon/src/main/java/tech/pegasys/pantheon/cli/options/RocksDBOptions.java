@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.cli.options;
 
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
+import tech.pegasys.pantheon.services.kvstore.RocksDbProfile;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,9 +23,13 @@ import picocli.CommandLine;
 public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder> {
   private static final String MAX_OPEN_FILES_FLAG = "--Xrocksdb-max-open-files";
   private static final String CACHE_CAPACITY_FLAG = "--Xrocksdb-cache-capacity";
+  private static final String TRIE_NODE_CACHE_CAPACITY_FLAG =
+      "--Xrocksdb-trie-node-cache-capacity";
   private static final String MAX_BACKGROUND_COMPACTIONS_FLAG =
       "--Xrocksdb-max-background-compactions";
   private static final String BACKGROUND_THREAD_COUNT_FLAG = "--Xrocksdb-background-thread-count";
+  private static final String USE_COLUMNS_FLAG = "--Xrocksdb-use-columns";
+  private static final String PROFILE_FLAG = "--Xrocksdb-profile";
 
   @CommandLine.Option(
       names = {MAX_OPEN_FILES_FLAG},
@@ -42,6 +47,15 @@ public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder>
       description = "Cache capacity of RocksDB (default: ${DEFAULT-VALUE})")
   long cacheCapacity;
 
+  @CommandLine.Option(
+      names = {TRIE_NODE_CACHE_CAPACITY_FLAG},
+      hidden = true,
+      defaultValue = "67108864",
+      paramLabel = "<LONG>",
+      description =
+          "Size in bytes of the trie node cache in front of RocksDB, 0 to disable (default: ${DEFAULT-VALUE})")
+  long trieNodeCacheCapacity;
+
   @CommandLine.Option(
       names = {MAX_BACKGROUND_COMPACTIONS_FLAG},
       hidden = true,
@@ -58,6 +72,25 @@ public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder>
       description = "Number of RocksDB background threads (default: ${DEFAULT-VALUE})")
   int backgroundThreadCount;
 
+  @CommandLine.Option(
+      names = {USE_COLUMNS_FLAG},
+      hidden = true,
+      defaultValue = "false",
+      paramLabel = "<BOOLEAN>",
+      arity = "1",
+      description =
+          "Store each kind of data in its own RocksDB column family, required for pruning (default: ${DEFAULT-VALUE})")
+  boolean useColumns;
+
+  @CommandLine.Option(
+      names = {PROFILE_FLAG},
+      hidden = true,
+      defaultValue = "DEFAULT",
+      paramLabel = "<PROFILE>",
+      description =
+          "RocksDB tuning profile: DEFAULT, FAST_LOOKUP (bloom filters, LZ4 for block data) or LOW_IO (also ZSTD and rate-limited compaction) (default: ${DEFAULT-VALUE})")
+  RocksDbProfile profile;
+
   private RocksDBOptions() {}
 
   public static RocksDBOptions create() {
@@ -68,8 +101,11 @@ public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder>
     final RocksDBOptions options = create();
     options.maxOpenFiles = config.getMaxOpenFiles();
     options.cacheCapacity = config.getCacheCapacity();
+    options.trieNodeCacheCapacity = config.getTrieNodeCacheCapacity();
     options.maxBackgroundCompactions = config.getMaxBackgroundCompactions();
     options.backgroundThreadCount = config.getBackgroundThreadCount();
+    options.useColumns = config.useColumns();
+    options.profile = config.getProfile();
     return options;
   }
 
@@ -78,8 +114,11 @@ public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder>
     return RocksDbConfiguration.builder()
         .maxOpenFiles(maxOpenFiles)
         .cacheCapacity(cacheCapacity)
+        .trieNodeCacheCapacity(trieNodeCacheCapacity)
         .maxBackgroundCompactions(maxBackgroundCompactions)
-        .backgroundThreadCount(backgroundThreadCount);
+        .backgroundThreadCount(backgroundThreadCount)
+        .useColumns(useColumns)
+        .profile(profile);
   }
 
   @Override
@@ -89,9 +128,15 @@ public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder>
         OptionParser.format(maxOpenFiles),
         CACHE_CAPACITY_FLAG,
         OptionParser.format(cacheCapacity),
+        TRIE_NODE_CACHE_CAPACITY_FLAG,
+        OptionParser.format(trieNodeCacheCapacity),
         MAX_BACKGROUND_COMPACTIONS_FLAG,
         OptionParser.format(maxBackgroundCompactions),
         BACKGROUND_THREAD_COUNT_FLAG,
-        OptionParser.format(backgroundThreadCount));
+        OptionParser.format(backgroundThreadCount),
+        USE_COLUMNS_FLAG,
+        Boolean.toString(useColumns),
+        PROFILE_FLAG,
+        profile.name());
   }
 }
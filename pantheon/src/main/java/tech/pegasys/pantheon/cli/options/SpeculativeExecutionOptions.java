@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.cli.options;
+
+import tech.pegasys.pantheon.ethereum.mainnet.SpeculativeExecutionConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import picocli.CommandLine;
+
+public class SpeculativeExecutionOptions implements CLIOptions<SpeculativeExecutionConfiguration> {
+  private static final String THREADS_FLAG = "--Xspeculative-execution-threads";
+  private static final String MAX_QUEUED_TRANSACTIONS_FLAG =
+      "--Xspeculative-execution-max-queued-transactions";
+
+  @CommandLine.Option(
+      names = {THREADS_FLAG},
+      hidden = true,
+      defaultValue = "0",
+      paramLabel = "<INTEGER>",
+      description =
+          "Number of threads executing block transactions speculatively ahead of the sequential execution, 0 to disable (default: ${DEFAULT-VALUE})")
+  int threads = SpeculativeExecutionConfiguration.DEFAULT_THREADS;
+
+  @CommandLine.Option(
+      names = {MAX_QUEUED_TRANSACTIONS_FLAG},
+      hidden = true,
+      defaultValue = "1024",
+      paramLabel = "<INTEGER>",
+      description =
+          "Maximum number of transactions waiting for a speculative execution thread (default: ${DEFAULT-VALUE})")
+  int maxQueuedTransactions = SpeculativeExecutionConfiguration.DEFAULT_MAX_QUEUED_TRANSACTIONS;
+
+  private SpeculativeExecutionOptions() {}
+
+  public static SpeculativeExecutionOptions create() {
+    return new SpeculativeExecutionOptions();
+  }
+
+  public static SpeculativeExecutionOptions fromConfig(
+      final SpeculativeExecutionConfiguration config) {
+    final SpeculativeExecutionOptions options = create();
+    options.threads = config.getThreads();
+    options.maxQueuedTransactions = config.getMaxQueuedTransactions();
+    return options;
+  }
+
+  public boolean isSpeculativeExecutionEnabled() {
+    return threads > 0;
+  }
+
+  @Override
+  public SpeculativeExecutionConfiguration toDomainObject() {
+    return new SpeculativeExecutionConfiguration(threads, maxQueuedTransactions);
+  }
+
+  @Override
+  public List<String> getCLIOptions() {
+    return Arrays.asList(
+        THREADS_FLAG,
+        OptionParser.format(threads),
+        MAX_QUEUED_TRANSACTIONS_FLAG,
+        OptionParser.format(maxQueuedTransactions));
+  }
+}
@@ -27,10 +27,15 @@ import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -86,6 +91,30 @@ public class MainnetPantheonControllerBuilder extends PantheonControllerBuilder<
   @Override
   protected ProtocolSchedule<Void> createProtocolSchedule() {
     return MainnetProtocolSchedule.fromConfig(
-        genesisConfig.getConfigOptions(), privacyParameters, isRevertReasonEnabled);
+        genesisConfig.getConfigOptions(),
+        privacyParameters,
+        isRevertReasonEnabled,
+        createSpeculativeExecutor());
+  }
+
+  private Optional<Executor> createSpeculativeExecutor() {
+    if (!speculativeExecutionConfiguration.isEnabled()) {
+      return Optional.empty();
+    }
+    final int threads = speculativeExecutionConfiguration.getThreads();
+    // Transactions that don't fit in the queue are rejected and only executed sequentially.
+    final ExecutorService speculativeExecutor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(speculativeExecutionConfiguration.getMaxQueuedTransactions()),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("SpeculativeExecution-%d")
+                .build());
+    addShutdownAction(speculativeExecutor::shutdownNow);
+    return Optional.of(speculativeExecutor);
   }
 }
@@ -34,6 +34,7 @@ import java.util.Map;
 public class PantheonController<C> implements java.io.Closeable {
 
   public static final String DATABASE_PATH = "database";
+  public static final String ANCIENT_STORE_PATH = "ancient";
   private final ProtocolSchedule<C> protocolSchedule;
   private final ProtocolContext<C> protocolContext;
   private final EthProtocolManager ethProtocolManager;
@@ -41,9 +41,18 @@ import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPoolConfigurat
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPoolFactory;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethodFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.SpeculativeExecutionConfiguration;
 import tech.pegasys.pantheon.ethereum.p2p.config.SubProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
+import tech.pegasys.pantheon.ethereum.storage.ancient.AncientStorageProvider;
+import tech.pegasys.pantheon.ethereum.storage.ancient.AncientStore;
+import tech.pegasys.pantheon.ethereum.storage.ancient.AncientStoreConfiguration;
+import tech.pegasys.pantheon.ethereum.storage.ancient.Freezer;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.RocksDbStorageProvider;
+import tech.pegasys.pantheon.ethereum.worldstate.FlatStateTracker;
+import tech.pegasys.pantheon.ethereum.worldstate.MarkSweepPruner;
+import tech.pegasys.pantheon.ethereum.worldstate.Pruner;
+import tech.pegasys.pantheon.ethereum.worldstate.PrunerConfiguration;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
@@ -76,6 +85,12 @@ public abstract class PantheonControllerBuilder<C> {
   protected Clock clock;
   protected KeyPair nodeKeys;
   protected boolean isRevertReasonEnabled;
+  protected boolean isPruningEnabled;
+  protected PrunerConfiguration prunerConfiguration = PrunerConfiguration.getDefault();
+  protected AncientStoreConfiguration ancientStoreConfiguration =
+      AncientStoreConfiguration.getDefault();
+  protected SpeculativeExecutionConfiguration speculativeExecutionConfiguration =
+      SpeculativeExecutionConfiguration.getDefault();
   private StorageProvider storageProvider;
   private final List<Runnable> shutdownActions = new ArrayList<>();
   private RocksDbConfiguration rocksDbConfiguration;
@@ -160,6 +175,29 @@ public abstract class PantheonControllerBuilder<C> {
     return this;
   }
 
+  public PantheonControllerBuilder<C> isPruningEnabled(final boolean pruningEnabled) {
+    this.isPruningEnabled = pruningEnabled;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> pruningConfiguration(
+      final PrunerConfiguration prunerConfiguration) {
+    this.prunerConfiguration = prunerConfiguration;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> ancientStoreConfiguration(
+      final AncientStoreConfiguration ancientStoreConfiguration) {
+    this.ancientStoreConfiguration = ancientStoreConfiguration;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> speculativeExecutionConfiguration(
+      final SpeculativeExecutionConfiguration speculativeExecutionConfiguration) {
+    this.speculativeExecutionConfiguration = speculativeExecutionConfiguration;
+    return this;
+  }
+
   public PantheonController<C> build() throws IOException {
     checkNotNull(genesisConfig, "Missing genesis config");
     checkNotNull(syncConfig, "Missing sync config");
@@ -183,6 +221,14 @@ public abstract class PantheonControllerBuilder<C> {
     if (storageProvider == null && rocksDbConfiguration != null) {
       storageProvider = RocksDbStorageProvider.create(rocksDbConfiguration, metricsSystem);
     }
+    AncientStorageProvider ancientStorageProvider = null;
+    if (ancientStoreConfiguration.isEnabled()) {
+      ancientStorageProvider =
+          new AncientStorageProvider(
+              storageProvider,
+              AncientStore.open(dataDirectory.resolve(PantheonController.ANCIENT_STORE_PATH)));
+      storageProvider = ancientStorageProvider;
+    }
 
     prepForBuild();
 
@@ -199,6 +245,62 @@ public abstract class PantheonControllerBuilder<C> {
 
     final MutableBlockchain blockchain = protocolContext.getBlockchain();
 
+    if (isPruningEnabled) {
+      if (rocksDbConfiguration != null && !rocksDbConfiguration.useColumns()) {
+        // Marks would share the world state's storage and wipe it when cleared.
+        LOG.warn("Pruning requires RocksDB columns, continuing without pruning");
+      } else {
+        final Pruner pruner =
+            new Pruner(
+                new MarkSweepPruner(
+                    protocolContext.getWorldStateArchive().getStorage(),
+                    storageProvider.createPruningStorage(),
+                    metricsSystem,
+                    prunerConfiguration.getSweepBatchPauseMillis()),
+                blockchain,
+                prunerConfiguration);
+        pruner.start();
+        addShutdownAction(
+            () -> {
+              try {
+                pruner.stop();
+              } catch (final InterruptedException ie) {
+                throw new RuntimeException(ie);
+              }
+            });
+      }
+    }
+
+    final FlatStateTracker flatStateTracker =
+        new FlatStateTracker(protocolContext.getWorldStateArchive().getStorage(), blockchain);
+    flatStateTracker.start();
+    addShutdownAction(
+        () -> {
+          try {
+            flatStateTracker.stop();
+          } catch (final InterruptedException ie) {
+            throw new RuntimeException(ie);
+          }
+        });
+
+    if (ancientStorageProvider != null) {
+      final Freezer freezer =
+          new Freezer(
+              ancientStorageProvider.createBlockchainStorage(protocolSchedule),
+              blockchain,
+              ancientStoreConfiguration.getBlockDepth(),
+              metricsSystem);
+      freezer.start();
+      addShutdownAction(
+          () -> {
+            try {
+              freezer.stop();
+            } catch (final InterruptedException ie) {
+              throw new RuntimeException(ie);
+            }
+          });
+    }
+
     final boolean fastSyncEnabled = syncConfig.getSyncMode().equals(SyncMode.FAST);
     ethProtocolManager = createEthProtocolManager(protocolContext, fastSyncEnabled);
     final SyncState syncState =
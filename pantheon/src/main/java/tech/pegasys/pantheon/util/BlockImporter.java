@@ -20,19 +20,18 @@ import tech.pegasys.pantheon.ethereum.ProtocolContext;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
-import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.eth.manager.SenderRecoveryService;
 import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
 import tech.pegasys.pantheon.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.util.RawBlockIterator;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStatePrefetcher;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -65,6 +64,10 @@ public class BlockImporter {
     final ProtocolSchedule<C> protocolSchedule = pantheonController.getProtocolSchedule();
     final ProtocolContext<C> context = pantheonController.getProtocolContext();
     final MutableBlockchain blockchain = context.getBlockchain();
+    final WorldStatePrefetcher prefetcher =
+        new WorldStatePrefetcher(context.getWorldStateArchive());
+    final SenderRecoveryService senderRecovery =
+        pantheonController.getProtocolManager().ethContext().getSenderRecovery();
     int count = 0;
 
     try (final RawBlockIterator iterator =
@@ -98,7 +101,7 @@ public class BlockImporter {
                 () -> validateBlock(protocolSpec, context, lastHeader, header), validationExecutor);
 
         final CompletableFuture<Void> extractingFuture =
-            CompletableFuture.runAsync(() -> extractSignatures(block));
+            senderRecovery.recoverSenders(block.getBody().getTransactions());
 
         final CompletableFuture<Void> calculationFutures;
         if (previousBlockFuture == null) {
@@ -106,6 +109,9 @@ public class BlockImporter {
         } else {
           calculationFutures = CompletableFuture.allOf(extractingFuture, previousBlockFuture);
         }
+        // Warm up the state the block touches from its parent's state alongside its execution.
+        calculationFutures.thenRunAsync(
+            () -> prefetcher.prefetch(lastHeader.getStateRoot(), block), validationExecutor);
 
         try {
           blockBacklog.acquire();
@@ -143,17 +149,6 @@ public class BlockImporter {
     }
   }
 
-  private void extractSignatures(final Block block) {
-    final List<CompletableFuture<Void>> futures =
-        new ArrayList<>(block.getBody().getTransactions().size());
-    for (final Transaction tx : block.getBody().getTransactions()) {
-      futures.add(CompletableFuture.runAsync(tx::getSender, validationExecutor));
-    }
-    for (final CompletableFuture<Void> future : futures) {
-      future.join();
-    }
-  }
-
   private <C> void validateBlock(
       final ProtocolSpec<C> protocolSpec,
       final ProtocolContext<C> context,
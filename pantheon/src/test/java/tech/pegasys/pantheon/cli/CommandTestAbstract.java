@@ -24,9 +24,12 @@ import static org.mockito.Mockito.when;
 import tech.pegasys.pantheon.Runner;
 import tech.pegasys.pantheon.RunnerBuilder;
 import tech.pegasys.pantheon.cli.config.EthNetworkConfig;
+import tech.pegasys.pantheon.cli.options.AncientStoreOptions;
 import tech.pegasys.pantheon.cli.options.EthProtocolOptions;
 import tech.pegasys.pantheon.cli.options.NetworkingOptions;
+import tech.pegasys.pantheon.cli.options.PruningOptions;
 import tech.pegasys.pantheon.cli.options.RocksDBOptions;
+import tech.pegasys.pantheon.cli.options.SpeculativeExecutionOptions;
 import tech.pegasys.pantheon.cli.options.SynchronizerOptions;
 import tech.pegasys.pantheon.cli.options.TransactionPoolOptions;
 import tech.pegasys.pantheon.cli.subcommands.PublicKeySubCommand.KeyLoader;
@@ -147,6 +150,11 @@ public abstract class CommandTestAbstract {
     when(mockControllerBuilder.privacyParameters(any())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.clock(any())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.isRevertReasonEnabled(false)).thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.isPruningEnabled(anyBoolean())).thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.pruningConfiguration(any())).thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.ancientStoreConfiguration(any())).thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.speculativeExecutionConfiguration(any()))
+        .thenReturn(mockControllerBuilder);
 
     // doReturn used because of generic PantheonController
     doReturn(mockController).when(mockControllerBuilder).build();
@@ -288,5 +296,17 @@ public abstract class CommandTestAbstract {
     public TransactionPoolOptions getTransactionPoolOptions() {
       return transactionPoolOptions;
     }
+
+    public PruningOptions getPruningOptions() {
+      return pruningOptions;
+    }
+
+    public AncientStoreOptions getAncientStoreOptions() {
+      return ancientStoreOptions;
+    }
+
+    public SpeculativeExecutionOptions getSpeculativeExecutionOptions() {
+      return speculativeExecutionOptions;
+    }
   }
 }
@@ -2480,6 +2480,26 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void speculativeExecutionCannotBeUsedWithPrivacy() {
+    final URL configFile = this.getClass().getResource("/orion_publickey.pub");
+
+    parseCommand(
+        "--privacy-enabled",
+        "--privacy-url",
+        ENCLAVE_URI,
+        "--privacy-public-key-file",
+        configFile.getPath(),
+        "--Xspeculative-execution-threads",
+        "2");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .contains("Speculative transaction execution can't be used with privacy");
+  }
+
   @Test
   public void mustVerifyPrivacyIsDisabled() throws IOException {
     parseCommand();
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.cli.options;
+
+import tech.pegasys.pantheon.ethereum.storage.ancient.AncientStoreConfiguration;
+
+public class AncientStoreOptionsTest
+    extends AbstractCLIOptionsTest<AncientStoreConfiguration, AncientStoreOptions> {
+
+  @Override
+  AncientStoreConfiguration createDefaultDomainObject() {
+    return AncientStoreConfiguration.getDefault();
+  }
+
+  @Override
+  AncientStoreConfiguration createCustomizedDomainObject() {
+    return new AncientStoreConfiguration(
+        !AncientStoreConfiguration.DEFAULT_ENABLED,
+        AncientStoreConfiguration.DEFAULT_BLOCK_DEPTH + 1);
+  }
+
+  @Override
+  AncientStoreOptions optionsFromDomainObject(final AncientStoreConfiguration domainObject) {
+    return AncientStoreOptions.fromConfig(domainObject);
+  }
+
+  @Override
+  AncientStoreOptions getOptionsFromPantheonCommand(final TestPantheonCommand command) {
+    return command.getAncientStoreOptions();
+  }
+}
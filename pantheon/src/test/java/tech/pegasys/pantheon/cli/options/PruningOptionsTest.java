@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.cli.options;
+
+import tech.pegasys.pantheon.ethereum.worldstate.PrunerConfiguration;
+
+public class PruningOptionsTest
+    extends AbstractCLIOptionsTest<PrunerConfiguration, PruningOptions> {
+
+  @Override
+  PrunerConfiguration createDefaultDomainObject() {
+    return PrunerConfiguration.getDefault();
+  }
+
+  @Override
+  PrunerConfiguration createCustomizedDomainObject() {
+    return new PrunerConfiguration(
+        PrunerConfiguration.DEFAULT_PRUNING_BLOCK_CONFIRMATIONS + 1,
+        PrunerConfiguration.DEFAULT_PRUNING_BLOCKS_RETAINED + 1,
+        PrunerConfiguration.DEFAULT_SWEEP_BATCH_PAUSE_MILLIS + 1);
+  }
+
+  @Override
+  PruningOptions optionsFromDomainObject(final PrunerConfiguration domainObject) {
+    return PruningOptions.fromConfig(domainObject);
+  }
+
+  @Override
+  PruningOptions getOptionsFromPantheonCommand(final TestPantheonCommand command) {
+    return command.getPruningOptions();
+  }
+}
@@ -13,8 +13,9 @@
 package tech.pegasys.pantheon.cli.options;
 
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
+import tech.pegasys.pantheon.services.kvstore.RocksDbProfile;
 
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public class RocksDBOptionsTest
@@ -30,8 +31,11 @@ public class RocksDBOptionsTest
     return RocksDbConfiguration.builder()
         .maxOpenFiles(RocksDbConfiguration.DEFAULT_MAX_OPEN_FILES + 1)
         .cacheCapacity(RocksDbConfiguration.DEFAULT_CACHE_CAPACITY + 1)
+        .trieNodeCacheCapacity(RocksDbConfiguration.DEFAULT_TRIE_NODE_CACHE_CAPACITY + 1)
         .maxBackgroundCompactions(RocksDbConfiguration.DEFAULT_MAX_BACKGROUND_COMPACTIONS + 1)
-        .backgroundThreadCount(RocksDbConfiguration.DEFAULT_BACKGROUND_THREAD_COUNT + 1);
+        .backgroundThreadCount(RocksDbConfiguration.DEFAULT_BACKGROUND_THREAD_COUNT + 1)
+        .useColumns(true)
+        .profile(RocksDbProfile.LOW_IO);
   }
 
   @Override
@@ -46,6 +50,6 @@ public class RocksDBOptionsTest
 
   @Override
   protected List<String> getFieldsToIgnore() {
-    return Arrays.asList("databaseDir", "useColumns");
+    return Collections.singletonList("databaseDir");
   }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.cli.options;
+
+import tech.pegasys.pantheon.ethereum.mainnet.SpeculativeExecutionConfiguration;
+
+public class SpeculativeExecutionOptionsTest
+    extends AbstractCLIOptionsTest<SpeculativeExecutionConfiguration, SpeculativeExecutionOptions> {
+
+  @Override
+  SpeculativeExecutionConfiguration createDefaultDomainObject() {
+    return SpeculativeExecutionConfiguration.getDefault();
+  }
+
+  @Override
+  SpeculativeExecutionConfiguration createCustomizedDomainObject() {
+    return new SpeculativeExecutionConfiguration(
+        SpeculativeExecutionConfiguration.DEFAULT_THREADS + 4,
+        SpeculativeExecutionConfiguration.DEFAULT_MAX_QUEUED_TRANSACTIONS + 1);
+  }
+
+  @Override
+  SpeculativeExecutionOptions optionsFromDomainObject(
+      final SpeculativeExecutionConfiguration domainObject) {
+    return SpeculativeExecutionOptions.fromConfig(domainObject);
+  }
+
+  @Override
+  SpeculativeExecutionOptions getOptionsFromPantheonCommand(final TestPantheonCommand command) {
+    return command.getSpeculativeExecutionOptions();
+  }
+}
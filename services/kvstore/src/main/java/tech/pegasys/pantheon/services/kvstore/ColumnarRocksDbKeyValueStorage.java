@@ -20,23 +20,26 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import java.io.Closeable;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
 import org.rocksdb.Env;
 import org.rocksdb.LRUCache;
+import org.rocksdb.RateLimiter;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.Statistics;
@@ -51,6 +54,10 @@ public class ColumnarRocksDbKeyValueStorage
   private static final String DEFAULT_COLUMN = "default";
 
   private final DBOptions options;
+  private final LRUCache blockCache;
+  private final Optional<BloomFilter> bloomFilter;
+  private final List<ColumnFamilyOptions> columnOptions = new ArrayList<>();
+  private final Optional<RateLimiter> rateLimiter;
   private final TransactionDBOptions txOptions;
   private final TransactionDB db;
   private final AtomicBoolean closed = new AtomicBoolean(false);
@@ -71,15 +78,22 @@ public class ColumnarRocksDbKeyValueStorage
       final MetricsSystem metricsSystem) {
     RocksDbUtil.loadNativeLibrary();
     try {
+      final RocksDbProfile profile = rocksDbConfiguration.getProfile();
+      // All columns share one block cache so its capacity bounds the whole database.
+      blockCache = new LRUCache(rocksDbConfiguration.getCacheCapacity());
+      bloomFilter = profile.createBloomFilter();
       final List<ColumnFamilyDescriptor> columnDescriptors =
           segments.stream()
-              .map(segment -> new ColumnFamilyDescriptor(segment.getId()))
+              .map(
+                  segment ->
+                      new ColumnFamilyDescriptor(
+                          segment.getId(),
+                          createColumnFamilyOptions(profile, segment.getAccessPattern())))
               .collect(Collectors.toList());
       columnDescriptors.add(
           new ColumnFamilyDescriptor(
               DEFAULT_COLUMN.getBytes(StandardCharsets.UTF_8),
-              new ColumnFamilyOptions()
-                  .setTableFormatConfig(createBlockBasedTableConfig(rocksDbConfiguration))));
+              createColumnFamilyOptions(profile, AccessPattern.MIXED)));
 
       final Statistics stats = new Statistics();
       options =
@@ -92,6 +106,8 @@ public class ColumnarRocksDbKeyValueStorage
               .setEnv(
                   Env.getDefault()
                       .setBackgroundThreads(rocksDbConfiguration.getBackgroundThreadCount()));
+      rateLimiter = profile.createCompactionRateLimiter();
+      rateLimiter.ifPresent(options::setRateLimiter);
 
       txOptions = new TransactionDBOptions();
       final List<ColumnFamilyHandle> columnHandles = new ArrayList<>(columnDescriptors.size());
@@ -125,9 +141,18 @@ public class ColumnarRocksDbKeyValueStorage
     }
   }
 
-  private BlockBasedTableConfig createBlockBasedTableConfig(final RocksDbConfiguration config) {
-    final LRUCache cache = new LRUCache(config.getCacheCapacity());
-    return new BlockBasedTableConfig().setBlockCache(cache);
+  private ColumnFamilyOptions createColumnFamilyOptions(
+      final RocksDbProfile profile, final AccessPattern accessPattern) {
+    final ColumnFamilyOptions columnFamilyOptions =
+        new ColumnFamilyOptions()
+            .setTableFormatConfig(
+                profile.createTableConfig(blockCache, bloomFilter, accessPattern));
+    profile.getCompressionType(accessPattern).ifPresent(columnFamilyOptions::setCompressionType);
+    profile
+        .getBottommostCompressionType(accessPattern)
+        .ifPresent(columnFamilyOptions::setBottommostCompressionType);
+    columnOptions.add(columnFamilyOptions);
+    return columnFamilyOptions;
   }
 
   @Override
@@ -148,6 +173,26 @@ public class ColumnarRocksDbKeyValueStorage
     }
   }
 
+  @Override
+  public List<Optional<BytesValue>> getAll(
+      final ColumnFamilyHandle segment, final List<BytesValue> keys) throws StorageException {
+    throwIfClosed();
+
+    final List<byte[]> keyArrays =
+        keys.stream().map(BytesValue::getArrayUnsafe).collect(Collectors.toList());
+    try (final OperationTimer.TimingContext ignored =
+        rocksDBMetricsHelper.getReadLatency().startTimer()) {
+      // Values are keyed by the identity of the key arrays passed in.
+      final Map<byte[], byte[]> values =
+          db.multiGet(Collections.nCopies(keyArrays.size(), segment), keyArrays);
+      return keyArrays.stream()
+          .map(key -> Optional.ofNullable(values.get(key)).map(BytesValue::wrap))
+          .collect(Collectors.toList());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public Transaction<ColumnFamilyHandle> startTransaction() throws StorageException {
     throwIfClosed();
@@ -175,6 +220,35 @@ public class ColumnarRocksDbKeyValueStorage
     return removedNodeCounter;
   }
 
+  @Override
+  public void removeAllWithPrefix(
+      final ColumnFamilyHandle segmentHandle, final BytesValue prefix) {
+    throwIfClosed();
+    try {
+      final Optional<byte[]> rangeEnd = RocksDbKeyValueStorage.prefixRangeEnd(prefix);
+      if (rangeEnd.isPresent()) {
+        db.deleteRange(segmentHandle, prefix.getArrayUnsafe(), rangeEnd.get());
+      } else {
+        // Every key from an all 0xff prefix onwards starts with that prefix.
+        try (final RocksIterator rocksIterator = db.newIterator(segmentHandle)) {
+          for (rocksIterator.seek(prefix.getArrayUnsafe());
+              rocksIterator.isValid();
+              rocksIterator.next()) {
+            db.delete(segmentHandle, rocksIterator.key());
+          }
+        }
+      }
+    } catch (final RocksDBException e) {
+      throw new KeyValueStorage.StorageException(e);
+    }
+  }
+
+  @Override
+  public Stream<BytesValue> streamKeys(final ColumnFamilyHandle segmentHandle) {
+    throwIfClosed();
+    return RocksDbKeyIterator.streamKeys(db.newIterator(segmentHandle));
+  }
+
   @Override
   public void clear(final ColumnFamilyHandle segmentHandle) {
     try (final RocksIterator rocksIterator = db.newIterator(segmentHandle)) {
@@ -196,8 +270,12 @@ public class ColumnarRocksDbKeyValueStorage
     if (closed.compareAndSet(false, true)) {
       txOptions.close();
       options.close();
+      rateLimiter.ifPresent(RateLimiter::close);
       columnHandlesByName.values().forEach(ColumnFamilyHandle::close);
       db.close();
+      columnOptions.forEach(ColumnFamilyOptions::close);
+      bloomFilter.ifPresent(BloomFilter::close);
+      blockCache.close();
     }
   }
 
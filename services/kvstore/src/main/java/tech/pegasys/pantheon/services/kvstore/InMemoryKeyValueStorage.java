@@ -14,9 +14,11 @@ package tech.pegasys.pantheon.services.kvstore;
 
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -24,6 +26,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class InMemoryKeyValueStorage implements KeyValueStorage {
 
@@ -66,19 +69,56 @@ public class InMemoryKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public List<Optional<BytesValue>> getAll(final List<BytesValue> keys) {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      final List<Optional<BytesValue>> values = new ArrayList<>(keys.size());
+      for (final BytesValue key : keys) {
+        values.add(Optional.ofNullable(hashValueStore.get(key)));
+      }
+      return values;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public long removeUnless(final Predicate<BytesValue> inUseCheck) {
     hashValueStore.keySet().removeIf(key -> !inUseCheck.test(key));
     return 0;
   }
 
+  @Override
+  public void removeAllWithPrefix(final BytesValue prefix) {
+    final Lock lock = rwLock.writeLock();
+    lock.lock();
+    try {
+      hashValueStore.keySet().removeIf(key -> key.commonPrefixLength(prefix) == prefix.size());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Stream<BytesValue> streamKeys() {
+    return keySet().stream();
+  }
+
   @Override
   public Transaction startTransaction() {
     return new InMemoryTransaction();
   }
 
   public Set<BytesValue> keySet() {
-    return Collections.unmodifiableSet(new HashSet<>(hashValueStore.keySet()));
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return Collections.unmodifiableSet(new HashSet<>(hashValueStore.keySet()));
+    } finally {
+      lock.unlock();
+    }
   }
 
   private class InMemoryTransaction extends AbstractTransaction {
@@ -17,8 +17,11 @@ import static com.google.common.base.Preconditions.checkState;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.io.Closeable;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /** Service provided by pantheon to facilitate persistent data storage. */
 public interface KeyValueStorage extends Closeable {
@@ -35,8 +38,35 @@ public interface KeyValueStorage extends Closeable {
    */
   Optional<BytesValue> get(BytesValue key) throws StorageException;
 
+  /**
+   * Looks up several keys at once, which is cheaper than separate calls to {@link
+   * #get(BytesValue)} for stores that can batch reads.
+   *
+   * @param keys The keys to look up.
+   * @return The value persisted at each key, in the same order as the keys.
+   */
+  default List<Optional<BytesValue>> getAll(final List<BytesValue> keys) throws StorageException {
+    return keys.stream().map(this::get).collect(Collectors.toList());
+  }
+
   long removeUnless(Predicate<BytesValue> inUseCheck);
 
+  /**
+   * Removes every entry whose key starts with the given prefix. The removal is applied directly
+   * rather than as part of a transaction, as a single range delete for stores that support it.
+   *
+   * @param prefix The prefix of the keys to remove.
+   */
+  void removeAllWithPrefix(BytesValue prefix) throws StorageException;
+
+  /**
+   * Streams the keys of every entry in the store. The stream holds on to resources of the
+   * underlying store, so it must be closed once done with.
+   *
+   * @return A stream of all the keys in the store.
+   */
+  Stream<BytesValue> streamKeys() throws StorageException;
+
   /**
    * Begins a transaction. Returns a transaction object that can be updated and committed.
    *
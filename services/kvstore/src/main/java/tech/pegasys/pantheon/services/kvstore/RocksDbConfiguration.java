@@ -21,6 +21,8 @@ public class RocksDbConfiguration {
   public static final long DEFAULT_CACHE_CAPACITY = 8388608;
   public static final int DEFAULT_MAX_BACKGROUND_COMPACTIONS = 4;
   public static final int DEFAULT_BACKGROUND_THREAD_COUNT = 4;
+  public static final long DEFAULT_TRIE_NODE_CACHE_CAPACITY = 67108864;
+  public static final RocksDbProfile DEFAULT_PROFILE = RocksDbProfile.DEFAULT;
 
   private final Path databaseDir;
   private final int maxOpenFiles;
@@ -29,6 +31,8 @@ public class RocksDbConfiguration {
   private final int backgroundThreadCount;
   private final boolean useColumns;
   private final long cacheCapacity;
+  private final long trieNodeCacheCapacity;
+  private final RocksDbProfile profile;
 
   private RocksDbConfiguration(
       final Path databaseDir,
@@ -37,6 +41,8 @@ public class RocksDbConfiguration {
       final int backgroundThreadCount,
       final boolean useColumns,
       final long cacheCapacity,
+      final long trieNodeCacheCapacity,
+      final RocksDbProfile profile,
       final String label) {
     this.maxBackgroundCompactions = maxBackgroundCompactions;
     this.backgroundThreadCount = backgroundThreadCount;
@@ -45,6 +51,8 @@ public class RocksDbConfiguration {
     this.databaseDir = databaseDir;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
+    this.trieNodeCacheCapacity = trieNodeCacheCapacity;
+    this.profile = profile;
     this.label = label;
   }
 
@@ -72,6 +80,14 @@ public class RocksDbConfiguration {
     return cacheCapacity;
   }
 
+  public long getTrieNodeCacheCapacity() {
+    return trieNodeCacheCapacity;
+  }
+
+  public RocksDbProfile getProfile() {
+    return profile;
+  }
+
   public String getLabel() {
     return label;
   }
@@ -87,9 +103,11 @@ public class RocksDbConfiguration {
 
     int maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
     long cacheCapacity = DEFAULT_CACHE_CAPACITY;
+    long trieNodeCacheCapacity = DEFAULT_TRIE_NODE_CACHE_CAPACITY;
     int maxBackgroundCompactions = DEFAULT_MAX_BACKGROUND_COMPACTIONS;
     int backgroundThreadCount = DEFAULT_BACKGROUND_THREAD_COUNT;
     boolean useColumns = false;
+    RocksDbProfile profile = DEFAULT_PROFILE;
 
     private Builder() {}
 
@@ -113,6 +131,11 @@ public class RocksDbConfiguration {
       return this;
     }
 
+    public Builder trieNodeCacheCapacity(final long trieNodeCacheCapacity) {
+      this.trieNodeCacheCapacity = trieNodeCacheCapacity;
+      return this;
+    }
+
     public Builder maxBackgroundCompactions(final int maxBackgroundCompactions) {
       this.maxBackgroundCompactions = maxBackgroundCompactions;
       return this;
@@ -128,6 +151,11 @@ public class RocksDbConfiguration {
       return this;
     }
 
+    public Builder profile(final RocksDbProfile profile) {
+      this.profile = profile;
+      return this;
+    }
+
     public RocksDbConfiguration build() {
       return new RocksDbConfiguration(
           databaseDir,
@@ -136,6 +164,8 @@ public class RocksDbConfiguration {
           backgroundThreadCount,
           useColumns,
           cacheCapacity,
+          trieNodeCacheCapacity,
+          profile,
           label);
     }
   }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.kvstore;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.rocksdb.RocksIterator;
+
+/** Exposes the keys seen by a {@link RocksIterator} as a stream that closes the iterator. */
+class RocksDbKeyIterator implements Iterator<BytesValue>, AutoCloseable {
+
+  private final RocksIterator rocksIterator;
+  private boolean closed = false;
+
+  private RocksDbKeyIterator(final RocksIterator rocksIterator) {
+    this.rocksIterator = rocksIterator;
+  }
+
+  static Stream<BytesValue> streamKeys(final RocksIterator rocksIterator) {
+    rocksIterator.seekToFirst();
+    final RocksDbKeyIterator keyIterator = new RocksDbKeyIterator(rocksIterator);
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                keyIterator, Spliterator.IMMUTABLE | Spliterator.DISTINCT | Spliterator.NONNULL),
+            false)
+        .onClose(keyIterator::close);
+  }
+
+  @Override
+  public boolean hasNext() {
+    checkState(!closed, "Attempt to read from a closed RocksDbKeyIterator.");
+    return rocksIterator.isValid();
+  }
+
+  @Override
+  public BytesValue next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final BytesValue key = BytesValue.wrap(rocksIterator.key());
+    rocksIterator.next();
+    return key;
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      rocksIterator.close();
+    }
+  }
+}
@@ -14,19 +14,26 @@ package tech.pegasys.pantheon.services.kvstore;
 
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage.AccessPattern;
 import tech.pegasys.pantheon.services.util.RocksDbUtil;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.io.Closeable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
 import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
+import org.rocksdb.RateLimiter;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.Statistics;
@@ -39,6 +46,9 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
   private static final Logger LOG = LogManager.getLogger();
 
   private final Options options;
+  private final LRUCache blockCache;
+  private final Optional<BloomFilter> bloomFilter;
+  private final Optional<RateLimiter> rateLimiter;
   private final TransactionDBOptions txOptions;
   private final TransactionDB db;
   private final AtomicBoolean closed = new AtomicBoolean(false);
@@ -54,15 +64,25 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
       final RocksDbConfiguration rocksDbConfiguration, final MetricsSystem metricsSystem) {
     RocksDbUtil.loadNativeLibrary();
     try {
+      final RocksDbProfile profile = rocksDbConfiguration.getProfile();
       final Statistics stats = new Statistics();
+      blockCache = new LRUCache(rocksDbConfiguration.getCacheCapacity());
+      bloomFilter = profile.createBloomFilter();
       options =
           new Options()
               .setCreateIfMissing(true)
               .setMaxOpenFiles(rocksDbConfiguration.getMaxOpenFiles())
-              .setTableFormatConfig(createBlockBasedTableConfig(rocksDbConfiguration))
+              .setTableFormatConfig(
+                  profile.createTableConfig(blockCache, bloomFilter, AccessPattern.MIXED))
               .setMaxBackgroundCompactions(rocksDbConfiguration.getMaxBackgroundCompactions())
               .setStatistics(stats);
       options.getEnv().setBackgroundThreads(rocksDbConfiguration.getBackgroundThreadCount());
+      profile.getCompressionType(AccessPattern.MIXED).ifPresent(options::setCompressionType);
+      profile
+          .getBottommostCompressionType(AccessPattern.MIXED)
+          .ifPresent(options::setBottommostCompressionType);
+      rateLimiter = profile.createCompactionRateLimiter();
+      rateLimiter.ifPresent(options::setRateLimiter);
 
       txOptions = new TransactionDBOptions();
       db = TransactionDB.open(options, txOptions, rocksDbConfiguration.getDatabaseDir().toString());
@@ -96,7 +116,10 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
     if (closed.compareAndSet(false, true)) {
       txOptions.close();
       options.close();
+      rateLimiter.ifPresent(RateLimiter::close);
       db.close();
+      bloomFilter.ifPresent(BloomFilter::close);
+      blockCache.close();
     }
   }
 
@@ -112,6 +135,24 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
     }
   }
 
+  @Override
+  public List<Optional<BytesValue>> getAll(final List<BytesValue> keys) throws StorageException {
+    throwIfClosed();
+
+    final List<byte[]> keyArrays =
+        keys.stream().map(BytesValue::getArrayUnsafe).collect(Collectors.toList());
+    try (final OperationTimer.TimingContext ignored =
+        rocksDBMetricsHelper.getReadLatency().startTimer()) {
+      // Values are keyed by the identity of the key arrays passed in.
+      final Map<byte[], byte[]> values = db.multiGet(keyArrays);
+      return keyArrays.stream()
+          .map(key -> Optional.ofNullable(values.get(key)).map(BytesValue::wrap))
+          .collect(Collectors.toList());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public long removeUnless(final Predicate<BytesValue> inUseCheck) throws StorageException {
     long removedNodeCounter = 0;
@@ -131,6 +172,47 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
     return removedNodeCounter;
   }
 
+  @Override
+  public void removeAllWithPrefix(final BytesValue prefix) throws StorageException {
+    throwIfClosed();
+    try {
+      final Optional<byte[]> rangeEnd = prefixRangeEnd(prefix);
+      if (rangeEnd.isPresent()) {
+        db.deleteRange(prefix.getArrayUnsafe(), rangeEnd.get());
+      } else {
+        // Every key from an all 0xff prefix onwards starts with that prefix.
+        try (final RocksIterator rocksIterator = db.newIterator()) {
+          for (rocksIterator.seek(prefix.getArrayUnsafe());
+              rocksIterator.isValid();
+              rocksIterator.next()) {
+            db.delete(rocksIterator.key());
+          }
+        }
+      }
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  // The smallest key greater than every key starting with the prefix, which is the exclusive end
+  // of the range the prefix covers. There is none if the prefix is all 0xff bytes.
+  static Optional<byte[]> prefixRangeEnd(final BytesValue prefix) {
+    final byte[] rangeEnd = prefix.extractArray();
+    for (int i = rangeEnd.length - 1; i >= 0; i--) {
+      if (rangeEnd[i] != (byte) 0xFF) {
+        rangeEnd[i]++;
+        return Optional.of(Arrays.copyOf(rangeEnd, i + 1));
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public Stream<BytesValue> streamKeys() throws StorageException {
+    throwIfClosed();
+    return RocksDbKeyIterator.streamKeys(db.newIterator());
+  }
+
   @Override
   public Transaction startTransaction() throws StorageException {
     throwIfClosed();
@@ -138,11 +220,6 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
     return new RocksDbTransaction(db.beginTransaction(options), options);
   }
 
-  private BlockBasedTableConfig createBlockBasedTableConfig(final RocksDbConfiguration config) {
-    final LRUCache cache = new LRUCache(config.getCacheCapacity());
-    return new BlockBasedTableConfig().setBlockCache(cache);
-  }
-
   private void throwIfClosed() {
     if (closed.get()) {
       LOG.error("Attempting to use a closed RocksDbKeyValueStorage");
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.kvstore;
+
+import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage.AccessPattern;
+
+import java.util.Optional;
+
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.CompressionType;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RateLimiter;
+
+/** Named sets of RocksDB tuning options, applied per column family based on its access pattern. */
+public enum RocksDbProfile {
+  /** RocksDB's own defaults, sharing a single block cache. */
+  DEFAULT(0, false, null, null, 0),
+  /**
+   * Bloom filters for point lookups with index and filter blocks held in the block cache, plus
+   * cheap LZ4 compression for bulk data.
+   */
+  FAST_LOOKUP(10, true, CompressionType.LZ4_COMPRESSION, null, 0),
+  /**
+   * As {@link #FAST_LOOKUP}, but compresses the bottommost level of bulk data with ZSTD and rate
+   * limits compaction so it doesn't starve foreground reads of disk bandwidth.
+   */
+  LOW_IO(
+      10, true, CompressionType.LZ4_COMPRESSION, CompressionType.ZSTD_COMPRESSION, 64L << 20);
+
+  private final int bloomFilterBitsPerKey;
+  private final boolean pinIndexAndFilterBlocks;
+  private final CompressionType compressionType;
+  private final CompressionType bottommostCompressionType;
+  private final long compactionBytesPerSecond;
+
+  RocksDbProfile(
+      final int bloomFilterBitsPerKey,
+      final boolean pinIndexAndFilterBlocks,
+      final CompressionType compressionType,
+      final CompressionType bottommostCompressionType,
+      final long compactionBytesPerSecond) {
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    this.pinIndexAndFilterBlocks = pinIndexAndFilterBlocks;
+    this.compressionType = compressionType;
+    this.bottommostCompressionType = bottommostCompressionType;
+    this.compactionBytesPerSecond = compactionBytesPerSecond;
+  }
+
+  Optional<BloomFilter> createBloomFilter() {
+    // Full (not block based) filters so a lookup checks one filter per file.
+    return bloomFilterBitsPerKey > 0
+        ? Optional.of(new BloomFilter(bloomFilterBitsPerKey, false))
+        : Optional.empty();
+  }
+
+  BlockBasedTableConfig createTableConfig(
+      final LRUCache blockCache,
+      final Optional<BloomFilter> bloomFilter,
+      final AccessPattern accessPattern) {
+    final BlockBasedTableConfig tableConfig = new BlockBasedTableConfig().setBlockCache(blockCache);
+    if (accessPattern != AccessPattern.BULK) {
+      bloomFilter.ifPresent(tableConfig::setFilter);
+    }
+    if (pinIndexAndFilterBlocks) {
+      tableConfig
+          .setCacheIndexAndFilterBlocks(true)
+          .setPinL0FilterAndIndexBlocksInCache(true);
+    }
+    return tableConfig;
+  }
+
+  Optional<CompressionType> getCompressionType(final AccessPattern accessPattern) {
+    return accessPattern == AccessPattern.POINT_LOOKUP
+        ? Optional.empty()
+        : Optional.ofNullable(compressionType);
+  }
+
+  Optional<CompressionType> getBottommostCompressionType(final AccessPattern accessPattern) {
+    return accessPattern == AccessPattern.POINT_LOOKUP
+        ? Optional.empty()
+        : Optional.ofNullable(bottommostCompressionType);
+  }
+
+  Optional<RateLimiter> createCompactionRateLimiter() {
+    return compactionBytesPerSecond > 0
+        ? Optional.of(new RateLimiter(compactionBytesPerSecond))
+        : Optional.empty();
+  }
+}
@@ -17,8 +17,11 @@ import static com.google.common.base.Preconditions.checkState;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.io.Closeable;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service provided by pantheon to facilitate persistent data storage.
@@ -36,6 +39,18 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
    */
   Optional<BytesValue> get(S segment, BytesValue key) throws StorageException;
 
+  /**
+   * Looks up several keys in a segment at once.
+   *
+   * @param segment the segment
+   * @param keys The keys to look up.
+   * @return The value persisted at each key, in the same order as the keys.
+   */
+  default List<Optional<BytesValue>> getAll(final S segment, final List<BytesValue> keys)
+      throws StorageException {
+    return keys.stream().map(key -> get(segment, key)).collect(Collectors.toList());
+  }
+
   default boolean containsKey(final S segment, final BytesValue key) throws StorageException {
     return get(segment, key).isPresent();
   }
@@ -49,6 +64,24 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
 
   long removeUnless(S segmentHandle, Predicate<BytesValue> inUseCheck);
 
+  /**
+   * Removes every entry in the segment whose key starts with the given prefix. The removal is
+   * applied directly rather than as part of a transaction.
+   *
+   * @param segmentHandle the segment to remove entries from
+   * @param prefix the prefix of the keys to remove
+   */
+  void removeAllWithPrefix(S segmentHandle, BytesValue prefix) throws StorageException;
+
+  /**
+   * Streams the keys of every entry in the segment. The stream holds on to resources of the
+   * underlying store, so it must be closed once done with.
+   *
+   * @param segmentHandle the segment to read keys from
+   * @return A stream of all the keys in the segment.
+   */
+  Stream<BytesValue> streamKeys(S segmentHandle) throws StorageException;
+
   void clear(S segmentHandle);
 
   class StorageException extends RuntimeException {
@@ -100,6 +133,19 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
     String getName();
 
     byte[] getId();
+
+    default AccessPattern getAccessPattern() {
+      return AccessPattern.MIXED;
+    }
+  }
+
+  /** How the data in a segment is read, used to tune how the segment is stored. */
+  enum AccessPattern {
+    MIXED,
+    /** Random lookups of small values by hash, such as trie nodes. */
+    POINT_LOOKUP,
+    /** Large values that are written once and rarely read, such as block bodies and receipts. */
+    BULK
   }
 
   abstract class AbstractTransaction<S> implements Transaction<S> {
@@ -16,8 +16,10 @@ import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage.Segment;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
 
@@ -50,11 +52,26 @@ public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
     return storage.get(segmentHandle, key);
   }
 
+  @Override
+  public List<Optional<BytesValue>> getAll(final List<BytesValue> keys) throws StorageException {
+    return storage.getAll(segmentHandle, keys);
+  }
+
   @Override
   public long removeUnless(final Predicate<BytesValue> inUseCheck) {
     return storage.removeUnless(segmentHandle, inUseCheck);
   }
 
+  @Override
+  public void removeAllWithPrefix(final BytesValue prefix) throws StorageException {
+    storage.removeAllWithPrefix(segmentHandle, prefix);
+  }
+
+  @Override
+  public Stream<BytesValue> streamKeys() throws StorageException {
+    return storage.streamKeys(segmentHandle);
+  }
+
   @Override
   public Transaction startTransaction() throws StorageException {
     final SegmentedKeyValueStorage.Transaction<S> transaction = storage.startTransaction();
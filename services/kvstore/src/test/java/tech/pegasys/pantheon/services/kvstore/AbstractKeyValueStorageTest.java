@@ -21,9 +21,12 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -93,6 +96,62 @@ public abstract class AbstractKeyValueStorageTest {
     assertEquals(Optional.empty(), store.get(BytesValue.fromHexString("0F")));
   }
 
+  @Test
+  public void streamKeys() throws Exception {
+    final KeyValueStorage store = createStore();
+    final Transaction tx = store.startTransaction();
+    tx.put(BytesValue.fromHexString("0F"), BytesValue.fromHexString("0ABC"));
+    tx.put(BytesValue.fromHexString("10"), BytesValue.fromHexString("0DEF"));
+    tx.commit();
+    try (final Stream<BytesValue> keys = store.streamKeys()) {
+      assertEquals(
+          new HashSet<>(
+              Arrays.asList(BytesValue.fromHexString("0F"), BytesValue.fromHexString("10"))),
+          keys.collect(Collectors.toSet()));
+    }
+  }
+
+  @Test
+  public void removeAllWithPrefix() throws Exception {
+    final KeyValueStorage store = createStore();
+    final Transaction tx = store.startTransaction();
+    tx.put(BytesValue.fromHexString("0F"), BytesValue.fromHexString("0ABC"));
+    tx.put(BytesValue.fromHexString("1000"), BytesValue.fromHexString("0DEF"));
+    tx.put(BytesValue.fromHexString("10FF"), BytesValue.fromHexString("0DEF"));
+    tx.put(BytesValue.fromHexString("11"), BytesValue.fromHexString("0123"));
+    tx.put(BytesValue.fromHexString("FF01"), BytesValue.fromHexString("0456"));
+    tx.commit();
+
+    store.removeAllWithPrefix(BytesValue.fromHexString("10"));
+    store.removeAllWithPrefix(BytesValue.fromHexString("FF"));
+
+    try (final Stream<BytesValue> keys = store.streamKeys()) {
+      assertEquals(
+          new HashSet<>(
+              Arrays.asList(BytesValue.fromHexString("0F"), BytesValue.fromHexString("11"))),
+          keys.collect(Collectors.toSet()));
+    }
+  }
+
+  @Test
+  public void getAll() throws Exception {
+    final KeyValueStorage store = createStore();
+    final Transaction tx = store.startTransaction();
+    tx.put(BytesValue.fromHexString("0F"), BytesValue.fromHexString("0ABC"));
+    tx.put(BytesValue.fromHexString("10"), BytesValue.fromHexString("0DEF"));
+    tx.commit();
+    assertEquals(
+        Arrays.asList(
+            Optional.of(BytesValue.fromHexString("0DEF")),
+            Optional.empty(),
+            Optional.of(BytesValue.fromHexString("0ABC"))),
+        store.getAll(
+            Arrays.asList(
+                BytesValue.fromHexString("10"),
+                BytesValue.fromHexString("11"),
+                BytesValue.fromHexString("0F"))));
+  }
+
   @Test
   public void concurrentUpdate() throws Exception {
     final int keyCount = 1000;
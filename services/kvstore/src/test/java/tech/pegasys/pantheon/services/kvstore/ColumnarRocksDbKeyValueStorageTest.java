@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.services.kvstore;
 import static org.junit.Assert.assertEquals;
 
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage.AccessPattern;
 import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage.Segment;
 import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage.Transaction;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -76,14 +77,39 @@ public class ColumnarRocksDbKeyValueStorageTest extends AbstractKeyValueStorageT
     assertEquals(Optional.empty(), store.get(barSegment, BytesValue.of(6)));
   }
 
-  public enum TestSegment implements Segment {
-    FOO(new byte[] {1}),
-    BAR(new byte[] {2});
+  @Test
+  public void segmentsWithDifferentAccessPatternsAreReadable() throws Exception {
+    final SegmentedKeyValueStorage<ColumnFamilyHandle> store =
+        ColumnarRocksDbKeyValueStorage.create(
+            RocksDbConfiguration.builder()
+                .databaseDir(folder.newFolder().toPath())
+                .profile(RocksDbProfile.LOW_IO)
+                .build(),
+            Arrays.asList(TestSegment.FOO, TestSegment.BAR),
+            new NoOpMetricsSystem());
+    final ColumnFamilyHandle fooSegment = store.getSegmentIdentifierByName(TestSegment.FOO);
+    final ColumnFamilyHandle barSegment = store.getSegmentIdentifierByName(TestSegment.BAR);
+
+    final Transaction<ColumnFamilyHandle> tx = store.startTransaction();
+    tx.put(fooSegment, BytesValue.of(1), BytesValue.of(1));
+    tx.put(barSegment, BytesValue.of(2), BytesValue.of(2));
+    tx.commit();
+
+    assertEquals(Optional.of(BytesValue.of(1)), store.get(fooSegment, BytesValue.of(1)));
+    assertEquals(Optional.of(BytesValue.of(2)), store.get(barSegment, BytesValue.of(2)));
+    store.close();
+  }
+
+    public enum TestSegment implements Segment {
+    FOO(new byte[] {1}, AccessPattern.POINT_LOOKUP),
+    BAR(new byte[] {2}, AccessPattern.BULK);
 
     private final byte[] id;
+    private final AccessPattern accessPattern;
 
-    TestSegment(final byte[] id) {
+    TestSegment(final byte[] id, final AccessPattern accessPattern) {
       this.id = id;
+      this.accessPattern = accessPattern;
     }
 
     @Override
@@ -95,6 +121,11 @@ public class ColumnarRocksDbKeyValueStorageTest extends AbstractKeyValueStorageT
     public byte[] getId() {
       return id;
     }
+
+    @Override
+    public AccessPattern getAccessPattern() {
+      return accessPattern;
+    }
   }
 
   private SegmentedKeyValueStorage<ColumnFamilyHandle> createSegmentedStore() throws Exception {
@@ -26,6 +26,7 @@ import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.OperationTimer;
 import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.function.LongSupplier;
 
@@ -120,7 +121,28 @@ public class RocksDbKeyValueStorageTest extends AbstractKeyValueStorageTest {
         .isEqualTo("Number of RocksDB transactions rolled back.");
   }
 
-  private RocksDbConfiguration config() throws Exception {
+  @Test
+  public void canReadAndWriteWithEachProfile() throws Exception {
+    for (final RocksDbProfile profile : RocksDbProfile.values()) {
+      final RocksDbConfiguration config =
+          RocksDbConfiguration.builder()
+              .databaseDir(folder.newFolder().toPath())
+              .profile(profile)
+              .build();
+      try (final KeyValueStorage store =
+          RocksDbKeyValueStorage.create(config, new NoOpMetricsSystem())) {
+        final KeyValueStorage.Transaction tx = store.startTransaction();
+        tx.put(BytesValue.fromHexString("0F"), BytesValue.fromHexString("0ABC"));
+        tx.commit();
+
+        assertThat(store.get(BytesValue.fromHexString("0F")))
+            .contains(BytesValue.fromHexString("0ABC"));
+        assertThat(store.get(BytesValue.fromHexString("10"))).isEmpty();
+      }
+    }
+  }
+
+    private RocksDbConfiguration config() throws Exception {
     return RocksDbConfiguration.builder()
         .databaseDir(folder.newFolder().toPath())
         .useColumns(false)
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the limb based 256-bit arithmetic against the equivalent {@link BigInteger} operations,
+ * including the conversions from and to bytes that the EVM would have to do.
+ */
+@State(Scope.Thread)
+public class UInt256ArithmeticBenchmark {
+
+  private static final BigInteger P256 = BigInteger.ONE.shiftLeft(256);
+
+  @Param({"64", "128", "256"})
+  public int bits;
+
+  private UInt256 a;
+  private UInt256 b;
+  private UInt256 modulo;
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(1);
+    a = UInt256.of(new BigInteger(bits, random));
+    // Keep the divisor and modulo smaller so that division has a non trivial quotient.
+    b = UInt256.of(new BigInteger(bits / 2, random).add(BigInteger.ONE));
+    modulo = UInt256.of(new BigInteger(bits, random).add(BigInteger.ONE));
+  }
+
+  @Benchmark
+  public UInt256 multiply() {
+    return a.times(b);
+  }
+
+  @Benchmark
+  public UInt256 multiplyBigInteger() {
+    return UInt256.of(big(a).multiply(big(b)).mod(P256));
+  }
+
+  @Benchmark
+  public UInt256 divide() {
+    return a.dividedBy(b);
+  }
+
+  @Benchmark
+  public UInt256 divideBigInteger() {
+    return UInt256.of(big(a).divide(big(b)));
+  }
+
+  @Benchmark
+  public UInt256 mod() {
+    return a.mod(b);
+  }
+
+  @Benchmark
+  public UInt256 modBigInteger() {
+    return UInt256.of(big(a).mod(big(b)));
+  }
+
+  @Benchmark
+  public Int256 signedDivide() {
+    return a.asSigned().dividedBy(b.asSigned());
+  }
+
+  @Benchmark
+  public UInt256 exponent() {
+    return a.pow(b);
+  }
+
+  @Benchmark
+  public UInt256 exponentBigInteger() {
+    return UInt256.of(big(a).modPow(big(b), P256));
+  }
+
+  @Benchmark
+  public UInt256 addModulo() {
+    return a.plusModulo(b, modulo);
+  }
+
+  @Benchmark
+  public UInt256 addModuloBigInteger() {
+    return UInt256.of(big(a).add(big(b)).mod(big(modulo)));
+  }
+
+  @Benchmark
+  public UInt256 multiplyModulo() {
+    return a.timesModulo(b, modulo);
+  }
+
+  @Benchmark
+  public UInt256 multiplyModuloBigInteger() {
+    return UInt256.of(big(a).multiply(big(b)).mod(big(modulo)));
+  }
+
+  private static BigInteger big(final UInt256 value) {
+    return BytesValues.asUnsignedBigInteger(value.getBytes());
+  }
+}
@@ -13,13 +13,8 @@
 package tech.pegasys.pantheon.util.uint;
 
 import tech.pegasys.pantheon.util.bytes.Bytes32;
-import tech.pegasys.pantheon.util.bytes.BytesValue;
-import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.bytes.MutableBytes32;
 
-import java.math.BigInteger;
-import java.util.function.BinaryOperator;
-
 /**
  * Static operations to work on bytes interpreted as 256 bytes signed integers.
  *
@@ -33,23 +28,13 @@ abstract class Int256Bytes {
 
   private Int256Bytes() {}
 
-  private static final byte ALL_ZERO_BYTE = (byte) 0x00;
-  private static final byte ALL_ONE_BYTE = (byte) 0xFF;
-
-  private static void copy(final BigInteger result, final MutableBytes32 destination) {
-    final byte padding = result.signum() < 0 ? ALL_ONE_BYTE : ALL_ZERO_BYTE;
-    UInt256Bytes.copyPadded(BytesValue.wrap(result.toByteArray()), destination, padding);
-  }
-
-  private static void doOnSignedBigInteger(
-      final Bytes32 v1,
-      final Bytes32 v2,
-      final MutableBytes32 dest,
-      final BinaryOperator<BigInteger> operator) {
-    final BigInteger i1 = BytesValues.asSignedBigInteger(v1);
-    final BigInteger i2 = BytesValues.asSignedBigInteger(v2);
-    final BigInteger result = operator.apply(i1, i2);
-    copy(result, dest);
+  // Loads the absolute value of v, which always fits 256 unsigned bits (even for -2^255).
+  private static long[] loadAbsolute(final Bytes32 v) {
+    final long[] limbs = UInt256Limbs.load(v);
+    if (UInt256Limbs.isNegative(limbs)) {
+      UInt256Limbs.negate(limbs);
+    }
+    return limbs;
   }
 
   // Tests if this value represents -2^255, that is the first byte is 1 followed by only 0. Used to
@@ -67,12 +52,18 @@ abstract class Int256Bytes {
   static void divide(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
     if (v2.isZero()) {
       result.clear();
-    } else if (v2.equals(Int256.MINUS_ONE.getBytes()) && isMinusP255(v2)) {
+    } else if (v2.equals(Int256.MINUS_ONE.getBytes()) && isMinusP255(v1)) {
       // Set to -2^255.
       result.clear();
       result.set(0, (byte) 0x80);
     } else {
-      doOnSignedBigInteger(v1, v2, result, BigInteger::divide);
+      // Divide the absolute values, rounding towards zero, and fix the sign of the quotient.
+      final long[] quotient = new long[UInt256Limbs.LIMBS];
+      UInt256Limbs.divide(loadAbsolute(v1), loadAbsolute(v2), quotient, null);
+      if ((v1.get(0) < 0) != (v2.get(0) < 0)) {
+        UInt256Limbs.negate(quotient);
+      }
+      UInt256Limbs.store(quotient, result);
     }
   }
 
@@ -80,14 +71,13 @@ abstract class Int256Bytes {
     if (v2.isZero()) {
       result.clear();
     } else {
-      doOnSignedBigInteger(
-          v1,
-          v2,
-          result,
-          (val, mod) -> {
-            final BigInteger absModulo = val.abs().mod(mod.abs());
-            return val.signum() < 0 ? absModulo.negate() : absModulo;
-          });
+      // The remainder takes the sign of the dividend.
+      final long[] remainder = new long[UInt256Limbs.LIMBS];
+      UInt256Limbs.divide(loadAbsolute(v1), loadAbsolute(v2), null, remainder);
+      if (v1.get(0) < 0) {
+        UInt256Limbs.negate(remainder);
+      }
+      UInt256Limbs.store(remainder, result);
     }
   }
 }
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Unsigned 256-bit arithmetic on primitive limbs.
+ *
+ * <p>Values are held as arrays of 64-bit limbs, least significant limb first, and all limbs are
+ * interpreted as unsigned. Multiplication works on full 64-bit limbs; division uses Knuth's
+ * algorithm D (TAOCP vol. 2, 4.3.1) on 32-bit digits so that every intermediate product fits in a
+ * long.
+ *
+ * <p>This backs the operations of {@link UInt256Bytes} and {@link Int256Bytes} that used to go
+ * through {@link java.math.BigInteger}.
+ */
+final class UInt256Limbs {
+
+  private UInt256Limbs() {}
+
+  static final int LIMBS = Bytes32.SIZE / 8;
+
+  private static final long DIGIT_MASK = 0xffffffffL;
+
+  private static final VarHandle LONG_VIEW =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+  static long[] load(final Bytes32 value) {
+    // For the common array backed values this reads straight from the backing array.
+    final byte[] bytes = value.getArrayUnsafe();
+    final long[] limbs = new long[LIMBS];
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[i] = (long) LONG_VIEW.get(bytes, Bytes32.SIZE - 8 * (i + 1));
+    }
+    return limbs;
+  }
+
+  static long[] load(final long value) {
+    checkArgument(value >= 0, "Argument must be positive, got %s", value);
+    return new long[] {value, 0, 0, 0};
+  }
+
+  /** Writes the 4 least significant limbs of {@code limbs} to {@code result}. */
+  static void store(final long[] limbs, final MutableBytes32 result) {
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    for (int i = 0; i < LIMBS; i++) {
+      LONG_VIEW.set(bytes, Bytes32.SIZE - 8 * (i + 1), limbs[i]);
+    }
+    Bytes32.wrap(bytes).copyTo(result);
+  }
+
+  static boolean isZero(final long[] value) {
+    for (final long limb : value) {
+      if (limb != 0) return false;
+    }
+    return true;
+  }
+
+  static boolean isNegative(final long[] value) {
+    return value[LIMBS - 1] < 0;
+  }
+
+  /** Two's complement negation, in place. */
+  static void negate(final long[] value) {
+    long carry = 1;
+    for (int i = 0; i < value.length; i++) {
+      final long sum = ~value[i] + carry;
+      carry = (carry != 0 && sum == 0) ? 1 : 0;
+      value[i] = sum;
+    }
+  }
+
+  /** Returns {@code a + b} over 5 limbs, so that the carry isn't lost. */
+  static long[] addFull(final long[] a, final long[] b) {
+    final long[] result = new long[LIMBS + 1];
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long sum = a[i] + b[i];
+      final long sumWithCarry = sum + carry;
+      carry =
+          (Long.compareUnsigned(sum, a[i]) < 0 ? 1 : 0)
+              + (Long.compareUnsigned(sumWithCarry, sum) < 0 ? 1 : 0);
+      result[i] = sumWithCarry;
+    }
+    result[LIMBS] = carry;
+    return result;
+  }
+
+  /** Returns {@code a * b mod 2^256}. */
+  static long[] multiply(final long[] a, final long[] b) {
+    return multiply(a, b, LIMBS);
+  }
+
+  /** Returns the full 512-bit product of {@code a} and {@code b}. */
+  static long[] multiplyFull(final long[] a, final long[] b) {
+    return multiply(a, b, 2 * LIMBS);
+  }
+
+  // Schoolbook multiplication, keeping only the resultLimbs least significant limbs.
+  private static long[] multiply(final long[] a, final long[] b, final int resultLimbs) {
+    final long[] result = new long[resultLimbs];
+    for (int i = 0; i < LIMBS; i++) {
+      if (a[i] == 0) continue;
+      long carry = 0;
+      for (int j = 0; j < LIMBS && i + j < resultLimbs; j++) {
+        final long low = a[i] * b[j];
+        final long high = unsignedMultiplyHigh(a[i], b[j]);
+        final long sum = result[i + j] + low;
+        final long sumWithCarry = sum + carry;
+        // a * b + r + c <= 2^128 - 1, so the new carry can't overflow.
+        carry =
+            high
+                + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0)
+                + (Long.compareUnsigned(sumWithCarry, sum) < 0 ? 1 : 0);
+        result[i + j] = sumWithCarry;
+      }
+      if (i + LIMBS < resultLimbs) {
+        result[i + LIMBS] = carry;
+      }
+    }
+    return result;
+  }
+
+  private static long unsignedMultiplyHigh(final long a, final long b) {
+    return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+  }
+
+  /** Returns {@code base ^ exponent mod 2^256}. */
+  static long[] exponent(final long[] base, final long[] exponent) {
+    final int baseBits = bitLength(base);
+    if (baseBits > 1 && baseBits - 1 == lowestSetBit(base)) {
+      // Powers of two are common (2**n, 256**n) and only need a shift.
+      final int exponentBits = bitLength(exponent);
+      final long shift = exponentBits > 8 ? Long.MAX_VALUE : (baseBits - 1) * exponent[0];
+      final long[] result = new long[LIMBS];
+      if (shift < 256) {
+        result[(int) shift / 64] = 1L << (shift % 64);
+      }
+      return result;
+    }
+
+    // Left to right square and multiply, starting from the highest set bit of the exponent.
+    long[] result = load(1);
+    for (int bit = bitLength(exponent) - 1; bit >= 0; bit--) {
+      result = multiply(result, result);
+      if ((exponent[bit / 64] >>> (bit % 64) & 1) != 0) {
+        result = multiply(result, base);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Divides {@code numerator} by {@code divisor}.
+   *
+   * @param numerator the numerator, of any number of limbs.
+   * @param divisor the divisor, of any number of limbs, which must not be zero.
+   * @param quotient if not null, receives the quotient. Must be at least as long as the numerator.
+   * @param remainder if not null, receives the remainder. Must be at least as long as the divisor.
+   */
+  static void divide(
+      final long[] numerator,
+      final long[] divisor,
+      final long[] quotient,
+      final long[] remainder) {
+    final int n = significantDigits(divisor);
+    final int m = significantDigits(numerator);
+    if (n == 0) {
+      throw new ArithmeticException("Division by zero");
+    }
+
+    if (m <= 2 && n <= 2) {
+      // Both fit a single limb.
+      if (quotient != null) {
+        clear(quotient);
+        quotient[0] = divideUnsigned(numerator[0], divisor[0]);
+      }
+      if (remainder != null) {
+        clear(remainder);
+        remainder[0] = numerator[0] - divideUnsigned(numerator[0], divisor[0]) * divisor[0];
+      }
+      return;
+    }
+
+    final int[] u = toDigits(numerator, m);
+    final int[] v = toDigits(divisor, n);
+    final int[] q = new int[Math.max(m - n + 1, 1)];
+    final int[] r = new int[n];
+    if (m < n) {
+      System.arraycopy(u, 0, r, 0, m);
+    } else if (n == 1) {
+      divideByDigit(u, v[0], q, r);
+    } else {
+      divideKnuth(u, v, q, r);
+    }
+
+    if (quotient != null) {
+      fromDigits(q, quotient);
+    }
+    if (remainder != null) {
+      fromDigits(r, remainder);
+    }
+  }
+
+  // Division by a single 32-bit digit.
+  private static void divideByDigit(final int[] u, final int v, final int[] q, final int[] r) {
+    final long divisor = v & DIGIT_MASK;
+    long rem = 0;
+    for (int j = u.length - 1; j >= 0; j--) {
+      // rem < divisor < 2^32, so this is at most 2^64 - 1 and needs unsigned arithmetic.
+      final long current = (rem << 32) | (u[j] & DIGIT_MASK);
+      final long digit = divideUnsigned(current, divisor);
+      q[j] = (int) digit;
+      rem = current - digit * divisor;
+    }
+    r[0] = (int) rem;
+  }
+
+  // Knuth's algorithm D, for a divisor of at least 2 digits and a numerator at least as long.
+  private static void divideKnuth(final int[] u, final int[] v, final int[] q, final int[] r) {
+    final int m = u.length;
+    final int n = v.length;
+
+    // Normalize so that the most significant digit of the divisor has its high bit set.
+    final int s = Integer.numberOfLeadingZeros(v[n - 1]);
+    final long[] vn = new long[n];
+    for (int i = n - 1; i > 0; i--) {
+      vn[i] = (((v[i] & DIGIT_MASK) << s) | ((v[i - 1] & DIGIT_MASK) >>> (32 - s))) & DIGIT_MASK;
+    }
+    vn[0] = ((v[0] & DIGIT_MASK) << s) & DIGIT_MASK;
+
+    final long[] un = new long[m + 1];
+    un[m] = (u[m - 1] & DIGIT_MASK) >>> (32 - s);
+    for (int i = m - 1; i > 0; i--) {
+      un[i] = (((u[i] & DIGIT_MASK) << s) | ((u[i - 1] & DIGIT_MASK) >>> (32 - s))) & DIGIT_MASK;
+    }
+    un[0] = ((u[0] & DIGIT_MASK) << s) & DIGIT_MASK;
+
+    for (int j = m - n; j >= 0; j--) {
+      // Estimate the quotient digit from the top two digits of the remainder.
+      final long top = (un[j + n] << 32) | un[j + n - 1];
+      long qhat = divideUnsigned(top, vn[n - 1]);
+      long rhat = top - qhat * vn[n - 1];
+      while (qhat > DIGIT_MASK
+          || Long.compareUnsigned(qhat * vn[n - 2], (rhat << 32) | un[j + n - 2]) > 0) {
+        qhat--;
+        rhat += vn[n - 1];
+        if (rhat > DIGIT_MASK) break;
+      }
+
+      // Multiply and subtract.
+      long borrow = 0;
+      long t;
+      for (int i = 0; i < n; i++) {
+        final long p = qhat * vn[i];
+        t = un[i + j] - borrow - (p & DIGIT_MASK);
+        un[i + j] = t & DIGIT_MASK;
+        borrow = (p >>> 32) - (t >> 32);
+      }
+      t = un[j + n] - borrow;
+      un[j + n] = t & DIGIT_MASK;
+
+      if (t < 0) {
+        // The estimate was one too large, add the divisor back.
+        qhat--;
+        long carry = 0;
+        for (int i = 0; i < n; i++) {
+          t = un[i + j] + vn[i] + carry;
+          un[i + j] = t & DIGIT_MASK;
+          carry = t >>> 32;
+        }
+        un[j + n] = (un[j + n] + carry) & DIGIT_MASK;
+      }
+      q[j] = (int) qhat;
+    }
+
+    // Unnormalize the remainder.
+    for (int i = 0; i < n; i++) {
+      r[i] = (int) ((un[i] >>> s) | ((un[i + 1] << (32 - s)) & DIGIT_MASK));
+    }
+  }
+
+  // Long.divideUnsigned falls back to BigInteger when the dividend is negative on some JDKs.
+  private static long divideUnsigned(final long dividend, final long divisor) {
+    if (divisor < 0) {
+      return Long.compareUnsigned(dividend, divisor) < 0 ? 0 : 1;
+    }
+    final long quotient = ((dividend >>> 1) / divisor) << 1;
+    final long remainder = dividend - quotient * divisor;
+    return quotient + (Long.compareUnsigned(remainder, divisor) >= 0 ? 1 : 0);
+  }
+
+  private static int lowestSetBit(final long[] value) {
+    for (int i = 0; i < value.length; i++) {
+      if (value[i] != 0) {
+        return 64 * i + Long.numberOfTrailingZeros(value[i]);
+      }
+    }
+    return -1;
+  }
+
+  private static int bitLength(final long[] value) {
+    for (int i = value.length - 1; i >= 0; i--) {
+      if (value[i] != 0) {
+        return 64 * i + 64 - Long.numberOfLeadingZeros(value[i]);
+      }
+    }
+    return 0;
+  }
+
+  private static int significantDigits(final long[] value) {
+    for (int i = value.length - 1; i >= 0; i--) {
+      if (value[i] != 0) {
+        return 2 * i + ((value[i] >>> 32) != 0 ? 2 : 1);
+      }
+    }
+    return 0;
+  }
+
+  private static int[] toDigits(final long[] value, final int digits) {
+    final int[] result = new int[digits];
+    for (int i = 0; i < digits; i++) {
+      result[i] = (int) (value[i / 2] >>> (32 * (i % 2)));
+    }
+    return result;
+  }
+
+  private static void fromDigits(final int[] digits, final long[] result) {
+    clear(result);
+    for (int i = 0; i < digits.length && i / 2 < result.length; i++) {
+      result[i / 2] |= (digits[i] & DIGIT_MASK) << (32 * (i % 2));
+    }
+  }
+
+  private static void clear(final long[] value) {
+    for (int i = 0; i < value.length; i++) {
+      value[i] = 0;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class UInt256LimbsTest {
+
+  private static final BigInteger P256 = BigInteger.ONE.shiftLeft(256);
+  private static final BigInteger P255 = BigInteger.ONE.shiftLeft(255);
+
+  private final Random random = new Random(1);
+
+  // Values that exercise carries, full limbs and the normalization steps of the division.
+  private List<BigInteger> values() {
+    final List<BigInteger> values = new ArrayList<>();
+    values.add(BigInteger.ZERO);
+    values.add(BigInteger.ONE);
+    values.add(BigInteger.valueOf(3));
+    values.add(P255);
+    values.add(P256.subtract(BigInteger.ONE));
+    for (int bits = 31; bits <= 256; bits += 32) {
+      values.add(BigInteger.ONE.shiftLeft(bits));
+      values.add(BigInteger.ONE.shiftLeft(bits).subtract(BigInteger.ONE));
+      values.add(BigInteger.ONE.shiftLeft(bits + 1).subtract(BigInteger.ONE));
+    }
+    for (int i = 0; i < 40; i++) {
+      values.add(new BigInteger(1 + random.nextInt(256), random));
+    }
+    return values;
+  }
+
+  @Test
+  public void unsignedOperationsMatchBigInteger() {
+    final List<BigInteger> values = values();
+    for (final BigInteger a : values) {
+      for (final BigInteger b : values) {
+        final UInt256 ua = UInt256.of(a);
+        final UInt256 ub = UInt256.of(b);
+
+        assertThat(unsigned(ua.times(ub))).isEqualTo(a.multiply(b).mod(P256));
+        if (b.signum() == 0) {
+          assertThat(ua.dividedBy(ub).isZero()).isTrue();
+          assertThat(ua.mod(ub).isZero()).isTrue();
+          assertThat(ua.plusModulo(ua, ub).isZero()).isTrue();
+          assertThat(ua.timesModulo(ua, ub).isZero()).isTrue();
+        } else {
+          assertThat(unsigned(ua.dividedBy(ub))).isEqualTo(a.divide(b));
+          assertThat(unsigned(ua.mod(ub))).isEqualTo(a.mod(b));
+          assertThat(unsigned(ua.plusModulo(ua, ub))).isEqualTo(a.add(a).mod(b));
+          assertThat(unsigned(ua.timesModulo(ua, ub))).isEqualTo(a.multiply(a).mod(b));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void exponentMatchesBigInteger() {
+    final List<BigInteger> values = values();
+    for (final BigInteger a : values) {
+      for (final BigInteger b : values) {
+        assertThat(unsigned(UInt256.of(a).pow(UInt256.of(b)))).isEqualTo(a.modPow(b, P256));
+      }
+    }
+  }
+
+  @Test
+  public void signedOperationsMatchBigInteger() {
+    final List<BigInteger> values = values();
+    for (final BigInteger a : values) {
+      for (final BigInteger b : values) {
+        if (b.signum() == 0) continue;
+        final Int256 sa = UInt256.of(a).asSigned();
+        final Int256 sb = UInt256.of(b).asSigned();
+        final BigInteger signedA = signed(a);
+        final BigInteger signedB = signed(b);
+
+        // Both round towards zero, and the remainder has the sign of the dividend.
+        assertThat(unsigned(sa.dividedBy(sb).asUnsigned()))
+            .isEqualTo(signedA.divide(signedB).mod(P256));
+        assertThat(unsigned(sa.mod(sb).asUnsigned()))
+            .isEqualTo(signedA.remainder(signedB).mod(P256));
+      }
+    }
+  }
+
+  @Test
+  public void signedDivisionOfMinimumByMinusOneOverflows() {
+    final Int256 min = UInt256.of(P255).asSigned();
+    assertThat(min.dividedBy(Int256.MINUS_ONE).getBytes()).isEqualTo(min.getBytes());
+  }
+
+  private static BigInteger unsigned(final UInt256 value) {
+    return BytesValues.asUnsignedBigInteger(value.getBytes());
+  }
+
+  private static BigInteger signed(final BigInteger value) {
+    return value.compareTo(P255) >= 0 ? value.subtract(P256) : value;
+  }
+}